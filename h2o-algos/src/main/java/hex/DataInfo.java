@@ -1333,34 +1333,41 @@ public class DataInfo extends Keyed<DataInfo> {
    * @return array of sparse rows
    */
   public final Row[] extractSparseRows(Chunk [] chunks) {
-    Row[] rows = new Row[chunks[0]._len];
+    final int len = chunks[0]._len;
+    Row[] rows = new Row[len];
     long startOff = chunks[0].start();
+    // bulk decode the per-row columns once instead of going through atd per row
+    double[] offsets = _offset ? chunks[offsetChunkId()].getDoubles(MemoryManager.malloc8d(len), 0, len) : null;
+    double[] weights = _weights ? chunks[weightChunkId()].getDoubles(MemoryManager.malloc8d(len), 0, len) : null;
     for (int i = 0; i < rows.length; ++i) {
       rows[i] = new Row(true, Math.min(_nums, 16), _cats, _responses, i, startOff);  // if sparse, _nums is the correct number of nonzero values! i.e., do not use numNums()
       rows[i].rid = chunks[0].start() + i;
       if(_offset)  {
-        rows[i].offset = chunks[offsetChunkId()].atd(i);
+        rows[i].offset = offsets[i];
         if(Double.isNaN(rows[i].offset)) {
           rows[i].predictors_bad = true;
           continue;
         }
       }
       if(_weights) {
-        rows[i].weight = chunks[weightChunkId()].atd(i);
+        rows[i].weight = weights[i];
         if(Double.isNaN(rows[i].weight))
           rows[i].predictors_bad = true;
       }
     }
     // categoricals
+    int[] levels = _cats > 0 ? MemoryManager.malloc4(len) : null;
+    long[] naMask = _cats > 0 ? Chunk.naMask(len) : null;
     for (int i = 0; i < _cats; ++i) {
-      for (int r = 0; r < chunks[0]._len; ++r) {
+      chunks[i].getIntegers(levels, naMask, 0, len);
+      for (int r = 0; r < len; ++r) {
         Row row = rows[r];
-        boolean isMissing = chunks[i].isNA(r);
+        boolean isMissing = Chunk.isNA(naMask, r);
         if(_skipMissing && isMissing){
           row.predictors_bad = true;
           continue;
         }         
-        int cid = getCategoricalId(i,isMissing? -1:(int)chunks[i].at8(r));
+        int cid = getCategoricalId(i,isMissing? -1:levels[r]);
         if(cid >=0)
           row.binIds[row.nBins++] = cid;
       }
@@ -1411,10 +1418,10 @@ public class DataInfo extends Keyed<DataInfo> {
     // response(s)
     for (int i = 1; i <= _responses; ++i) {
       int rid = responseChunkId(i-1);
-      Chunk rChunk = chunks[rid];
-      for (int r = 0; r < chunks[0]._len; ++r) {
+      double[] ys = chunks[rid].getDoubles(MemoryManager.malloc8d(len), 0, len);
+      for (int r = 0; r < len; ++r) {
         Row row = rows[r];
-        row.response[i-1] = rChunk.atd(r);
+        row.response[i-1] = ys[r];
         if(Double.isNaN(row.response[i-1])) {
           row.response_bad = true;
         }
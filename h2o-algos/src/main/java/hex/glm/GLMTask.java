@@ -59,8 +59,11 @@ public abstract class GLMTask  {
       Chunk r = chks[i];
       if(_glmf._family != Family.multinomial) {
         double ymu = _glmf.link(_ymu[0]);
+        double [] ws = w.getDoubles(MemoryManager.malloc8d(len),0,len);
+        double [] os = o.getDoubles(MemoryManager.malloc8d(len),0,len);
+        double [] ys = r.getDoubles(MemoryManager.malloc8d(len),0,len);
         for (int j = 0; j < len; ++j)
-          _nullDev += w.atd(j)*_glmf.deviance(r.atd(j), _glmf.linkInv(ymu + o.atd(j)));
+          _nullDev += ws[j]*_glmf.deviance(ys[j], _glmf.linkInv(ymu + os[j]));
       } else {
         throw H2O.unimpl();
       }
@@ -322,6 +325,7 @@ public abstract class GLMTask  {
        wsum += w;
      }
      _basicStats.setNobs(nobs,wsum);
+     double [] ys = response.getDoubles(MemoryManager.malloc8d(response._len),0,response._len);
      // compute the mean for the response
      // autoexpand categoricals into binary vecs
      for(int r = 0; r < response._len; ++r) {
@@ -335,7 +339,7 @@ public abstract class GLMTask  {
              numsResponse[i] = chunks[chunks.length - _nClasses + i].atd(r);
          } else {
            Arrays.fill(numsResponse,0);
-           double d = response.atd(r);
+           double d = ys[r];
            if(Double.isNaN(d))
              Arrays.fill(numsResponse,Double.NaN);
            else
@@ -343,7 +347,7 @@ public abstract class GLMTask  {
          }
          _basicStatsResponse.add(numsResponse,w);
        }
-       double d = response.atd(r);
+       double d = ys[r];
        if(!Double.isNaN(d)) {
          if (_nClasses > 2)
            _yMu[(int) d] += w;
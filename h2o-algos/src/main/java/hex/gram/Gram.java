@@ -600,6 +600,13 @@ public final class Gram extends Iced<Gram> {
     ArrayUtils.add(_diag,grm._diag);
   }
 
+  /** The arrays summed by {@link #add(Gram)}: the rows of _xx followed by _diag. */
+  public double[][] summableArrays() {
+    double[][] res = Arrays.copyOf(_xx, _xx.length + 1);
+    res[_xx.length] = _diag;
+    return res;
+  }
+
   public final boolean hasNaNsOrInfs() {
     for( int i = 0; i < _xx.length; ++i )
       for( int j = 0; j < _xx[i].length; ++j )
@@ -1021,6 +1028,11 @@ public final class Gram extends Iced<Gram> {
       _gram.add(gt._gram);
       _nobs += gt._nobs;
     }
+    // Unless standardizing, the Gram is a plain sum; let MRTask add it up
+    @Override protected double[][] summableResult() {
+      return _std || _gram == null ? null : _gram.summableArrays();
+    }
+    @Override protected void reduceRest(GramTask gt) { _nobs += gt._nobs; }
   }
   public static class NonSPDMatrixException extends RuntimeException {
     public NonSPDMatrixException(){}
@@ -59,6 +59,9 @@ public class GBMV3 extends SharedTreeV3<GBM,GBMV3,GBMV3.GBMParametersV3> {
       "histogram_type",
       "max_abs_leafnode_pred",
       "pred_noise_bandwidth",
+      "max_leaves",
+      "goss_top_rate",
+      "goss_other_rate",
       "categorical_encoding",
       "calibrate_model",
       "calibration_frame",
@@ -93,6 +96,15 @@ public class GBMV3 extends SharedTreeV3<GBM,GBMV3,GBMV3.GBMParametersV3> {
     @API(help="Bandwidth (sigma) of Gaussian multiplicative noise ~N(1,sigma) for tree node predictions", level = API.Level.expert, gridable = true)
     public double pred_noise_bandwidth;
 
+    @API(help="Maximum number of leaves of a tree. If positive the trees are grown best-first: the leaves with the largest improvement are split first, max_depth still applies (0 to grow the trees level by level)", level = API.Level.secondary, gridable = true)
+    public int max_leaves;
+
+    @API(help="Gradient-based one-side sampling: fraction (from 0.0 to 1.0) of the rows with the largest gradients which are kept for each tree (0 to disable). Replaces sample_rate.", level = API.Level.expert, gridable = true)
+    public double goss_top_rate;
+
+    @API(help="Gradient-based one-side sampling: fraction (from 0.0 to 1.0) of all the rows which is sampled from the rows with the smaller gradients, their weights are scaled up", level = API.Level.expert, gridable = true)
+    public double goss_other_rate;
+
 //    // TODO debug only, remove!
 //    @API(help="Internal flag, use new version of histo tsk if set", level = API.Level.expert, gridable = false)
 //    public boolean use_new_histo_tsk;
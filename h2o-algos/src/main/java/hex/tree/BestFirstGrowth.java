@@ -0,0 +1,106 @@
+package hex.tree;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Best-first (leaf-wise) growth of a single tree, limited by a number of leaves.
+ *
+ * Instead of splitting every leaf of a level, the leaves with the largest split gains are split first
+ * until the tree has the maximum number of leaves (or no leaf can be split). The histograms are still
+ * built for all the new leaves at once, in one pass over the data. Their best splits are found and the
+ * leaves are kept as candidates; each pass then splits the best candidates - at most half of the
+ * remaining leaf budget, and at least one - so that the children of a split can compete with the
+ * candidates left over while the number of passes grows only logarithmically with the budget.
+ *
+ * Candidates which are not split stay undecided, their rows keep their node ids, until they are split
+ * in a later pass or end up as leaves of the tree ({@link #finish()}). The children of the splits which
+ * use up the leaf budget, or which are at the maximum depth, are made leaves right away: they get no
+ * histograms and no pass over the data.
+ */
+public class BestFirstGrowth {
+
+  private final DTree _tree;
+  private final int _maxLeaves;
+  private final int _maxDepth;
+  private int _leaves = 1;
+  private boolean _lastSplits;      // The splits handed out by next() use up the leaf budget
+  private final List<Candidate> _candidates = new ArrayList<>();
+
+  static final class Candidate {
+    final DTree.UndecidedNode _udn;
+    final DHistogram[] _hs;       // Filled histograms of the leaf
+    final double _gain;           // Squared error improvement of the best split
+    final int _depth;
+
+    Candidate(DTree.UndecidedNode udn, DHistogram[] hs, double gain, int depth) {
+      _udn = udn; _hs = hs; _gain = gain; _depth = depth;
+    }
+  }
+
+  public BestFirstGrowth(DTree tree, int maxLeaves, int maxDepth) {
+    assert maxLeaves > 1;
+    _tree = tree;
+    _maxLeaves = maxLeaves;
+    _maxDepth = maxDepth;
+  }
+
+  /**
+   * Keeps a new leaf with filled histograms as a candidate if it can be split, a leaf at the maximum
+   * depth is not split.
+   * @return false if the leaf was not taken and has to be decided right away
+   */
+  boolean offer(DTree.UndecidedNode udn, DHistogram[] hs) {
+    int depth = depth(udn);
+    if (depth >= _maxDepth) { // Chopped off for depth
+      new DTree.DecidedNode(udn);
+      udn.doNotSplit();
+      return true;
+    }
+    DTree.Split s = DTree.DecidedNode.bestSplit(udn, hs, udn._cs);
+    if (s == null) return false;
+    _candidates.add(new Candidate(udn, hs, s.pre_split_se() - s.se(), depth));
+    return true;
+  }
+
+  /** Removes the candidates to be split in this pass, the best ones first */
+  List<Candidate> next() {
+    int splits = Math.min((_maxLeaves - _leaves + 1) / 2, _candidates.size());
+    if (splits <= 0) return new ArrayList<>();
+    _lastSplits = _leaves + splits >= _maxLeaves;
+    // Ties are broken by node id, so that the tree does not depend on the order of the leaves
+    _candidates.sort(Comparator.comparingDouble((Candidate c) -> -c._gain).thenComparingInt(c -> c._udn._nid));
+    List<Candidate> best = new ArrayList<>(_candidates.subList(0, splits));
+    _candidates.subList(0, splits).clear();
+    return best;
+  }
+
+  /** Whether the children of a candidate to be split are leaves, which are never split */
+  boolean childrenAreLeaves(Candidate c) {
+    return _lastSplits || c._depth + 1 >= _maxDepth;
+  }
+
+  /** Records a split made, one leaf replaced by two */
+  void split(Candidate c) {
+    _leaves++;
+    _tree._depth = Math.max(_tree._depth, c._depth + 1);
+  }
+
+  /** Turns the candidates which were never split into leaves */
+  public void finish() {
+    for (Candidate c : _candidates) {
+      new DTree.DecidedNode(c._udn);
+      c._udn.doNotSplit();
+    }
+    _candidates.clear();
+  }
+
+  private int depth(DTree.Node n) {
+    int depth = 0;
+    for (int pid = n._pid; pid != DTree.NO_PARENT; pid = _tree.node(pid)._pid)
+      depth++;
+    return depth;
+  }
+
+}
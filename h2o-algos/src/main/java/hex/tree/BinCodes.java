@@ -0,0 +1,151 @@
+package hex.tree;
+
+import water.Futures;
+import water.MRTask;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+
+import java.util.Arrays;
+
+/**
+ * Pre-binned predictors for histogram type "QuantilesGlobal".
+ *
+ * Every predictor with global split points is quantized once per model into a Vec of bin codes: the
+ * index of the interval between two global split points the value falls into (NAs stay NA). The codes
+ * are small integers and are stored in 1- or 2-byte chunks. Histograms built on the global split points
+ * then index their bins directly from the codes instead of searching the split points for every value
+ * on every level of every tree, see {@link DHistogram#updateHistoCodes}.
+ *
+ * The codes do not carry the values themselves, the smallest and the largest value of each bin over the
+ * whole frame are kept instead and bound the observed range of a histogram.
+ */
+class BinCodes {
+
+  final Vec[/*ncols*/] _codes;          // Bin codes of each predictor, null if the predictor is not binned
+  final double[/*ncols*/][] _binMin;    // Smallest value of each bin
+  final double[/*ncols*/][] _binMax;    // Largest value of each bin
+
+  private BinCodes(Vec[] codes, double[][] binMin, double[][] binMax) {
+    _codes = codes;
+    _binMin = binMin;
+    _binMax = binMax;
+  }
+
+  /**
+   * Quantizes the predictors which have global split points.
+   *
+   * @param fr (adapted) training frame
+   * @param splitPoints global split points of each column, null for columns without split points
+   * @param ncols number of predictors, the first ncols columns of the frame
+   * @return bin codes of the predictors, or null if no predictor has split points
+   */
+  static BinCodes encode(Frame fr, double[][] splitPoints, int ncols) {
+    int[] cols = new int[ncols];
+    int n = 0;
+    for (int i = 0; i < ncols; i++)
+      if (splitPoints[i] != null) cols[n++] = i;
+    if (n == 0) return null;
+    cols = Arrays.copyOf(cols, n);
+
+    double[][] pts = new double[n][];
+    Vec[] vecs = new Vec[n];
+    for (int j = 0; j < n; j++) {
+      pts[j] = canonicalZero(splitPoints[cols[j]]);
+      vecs[j] = fr.vec(cols[j]);
+    }
+    byte[] types = new byte[n];
+    Arrays.fill(types, Vec.T_NUM);
+    EncodeTask t = new EncodeTask(pts).doAll(types, new Frame(vecs));
+    Vec[] encoded = t.outputFrame().vecs();
+
+    Vec[] codes = new Vec[ncols];
+    double[][] binMin = new double[ncols][];
+    double[][] binMax = new double[ncols][];
+    for (int j = 0; j < n; j++) {
+      codes[cols[j]] = encoded[j];
+      binMin[cols[j]] = t._binMin[j];
+      binMax[cols[j]] = t._binMax[j];
+    }
+    return new BinCodes(codes, binMin, binMax);
+  }
+
+  /**
+   * Bin code of a (non-NA) value: index of the last split point which is not greater than the value.
+   * Values below the first split point go to the first bin.
+   * @param splitPts sorted split points, without negative zero
+   */
+  static int code(double[] splitPts, double value) {
+    if (value == 0) value = 0; // Negative zero, see DHistogram.init
+    int idx = Arrays.binarySearch(splitPts, value);
+    if (idx < 0) idx = -idx - 2;
+    return Math.max(idx, 0);
+  }
+
+  private static double[] canonicalZero(double[] splitPts) {
+    int nzPos = Arrays.binarySearch(splitPts, -0.0d);
+    if (nzPos < 0) return splitPts;
+    double[] res = splitPts.clone();
+    res[nzPos] = 0.0d;
+    return res;
+  }
+
+  void remove() {
+    Futures fs = new Futures();
+    for (Vec v : _codes)
+      if (v != null) v.remove(fs);
+    fs.blockForPending();
+  }
+
+  private static class EncodeTask extends MRTask<EncodeTask> {
+    final double[][] _splitPts;
+    double[][] _binMin;
+    double[][] _binMax;
+
+    EncodeTask(double[][] splitPts) { _splitPts = splitPts; }
+
+    @Override
+    public void map(Chunk[] cs, NewChunk[] ncs) {
+      _binMin = new double[cs.length][];
+      _binMax = new double[cs.length][];
+      for (int c = 0; c < cs.length; c++) {
+        final double[] pts = _splitPts[c];
+        final double[] mins = _binMin[c] = new double[pts.length];
+        final double[] maxs = _binMax[c] = new double[pts.length];
+        Arrays.fill(mins, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+        final Chunk chk = cs[c];
+        final NewChunk nc = ncs[c];
+        for (int r = 0; r < chk._len; r++) {
+          double d = chk.atd(r);
+          if (Double.isNaN(d)) {
+            nc.addNA();
+            continue;
+          }
+          int code = code(pts, d);
+          nc.addNum(code, 0);
+          if (d < mins[code]) mins[code] = d;
+          if (d > maxs[code]) maxs[code] = d;
+        }
+      }
+    }
+
+    @Override
+    public void reduce(EncodeTask t) {
+      if (t._binMin == null) return;
+      if (_binMin == null) {
+        _binMin = t._binMin;
+        _binMax = t._binMax;
+        return;
+      }
+      for (int c = 0; c < _binMin.length; c++) {
+        for (int b = 0; b < _binMin[c].length; b++) {
+          _binMin[c][b] = Math.min(_binMin[c][b], t._binMin[c][b]);
+          _binMax[c][b] = Math.max(_binMax[c][b], t._binMax[c][b]);
+        }
+      }
+    }
+  }
+
+}
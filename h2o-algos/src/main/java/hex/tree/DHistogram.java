@@ -5,6 +5,7 @@ import hex.genmodel.utils.DistributionFamily;
 import org.apache.log4j.Logger;
 import sun.misc.Unsafe;
 import water.*;
+import water.fvec.Chunk;
 import water.fvec.Frame;
 import water.fvec.Vec;
 import water.nbhm.UtilUnsafe;
@@ -134,6 +135,12 @@ public final class DHistogram extends Iced {
   public final long _seed;
   public transient boolean _hasQuantiles;
   public Key _globalQuantilesKey; //key under which original top-level quantiles are stored;
+  transient int _codeOffset; // bin code of the first split point, see BinCodes
+  transient double[] _binMin, _binMax; // bounds of the global bins if the column was pre-binned, otherwise null
+  // Set if the bins are computed from the parent's and the sibling's histograms instead of from the rows, see subtract()
+  boolean _bySubtraction;
+  transient DHistogram _parentHisto;
+  transient int _siblingNid;
 
 
 
@@ -163,10 +170,16 @@ public final class DHistogram extends Iced {
 
   static class HistoQuantiles extends Keyed<HistoQuantiles> {
     public HistoQuantiles(Key<HistoQuantiles> key, double[] splitPts) {
+      this(key, splitPts, null, null);
+    }
+    public HistoQuantiles(Key<HistoQuantiles> key, double[] splitPts, double[] binMin, double[] binMax) {
       super(key);
       this.splitPts = splitPts;
+      this.binMin = binMin;
+      this.binMax = binMax;
     }
     double[/*nbins*/] splitPts;
+    double[/*nbins*/] binMin, binMax; // Smallest/largest value in each bin if the column was pre-binned (see BinCodes), otherwise null
   }
 
   public void setMin( double min ) {
@@ -314,7 +327,9 @@ public final class DHistogram extends Iced {
           if (_splitPts!=null) {
             if (LOG.isTraceEnabled()) LOG.trace("Obtaining global splitPoints: " + Arrays.toString(_splitPts));
             _splitPts = ArrayUtils.limitToRange(_splitPts, _min, _maxEx);
-            if (_splitPts.length > 1 && _splitPts.length < _nbin)
+            // Pre-binned columns keep the global split points, so that the bins can be indexed by the bin codes
+            final boolean binCodes = hq.binMin != null;
+            if (_splitPts.length > 1 && _splitPts.length < _nbin && !binCodes)
               _splitPts = ArrayUtils.padUniformly(_splitPts, _nbin);
             if (_splitPts.length <= 1) {
               _splitPts = null; //abort, fall back to uniform binning
@@ -323,6 +338,12 @@ public final class DHistogram extends Iced {
             else {
               _hasQuantiles=true;
               _nbin = (char)_splitPts.length;
+              if (binCodes) {
+                _codeOffset = Arrays.binarySearch(hq.splitPts, _splitPts[0]);
+                assert _codeOffset >= 0;
+                _binMin = hq.binMin;
+                _binMax = hq.binMax;
+              }
               if (LOG.isTraceEnabled()) LOG.trace("Refined splitPoints: " + Arrays.toString(_splitPts));
             }
           }
@@ -379,6 +400,11 @@ public final class DHistogram extends Iced {
       init(dsh._vals);
     else
       ArrayUtils.add(_vals,dsh._vals);
+    addRange(dsh);
+  }
+
+  // Merge the observed range only, the bins are summed elsewhere
+  void addRange( DHistogram dsh ) {
     if (_min2 > dsh._min2) _min2 = dsh._min2;
     if (_maxIn < dsh._maxIn) _maxIn = dsh._maxIn;
   }
@@ -488,31 +514,201 @@ public final class DHistogram extends Iced {
       // these assertions hold for GBM, but not for DRF 
       // assert weight != 0 || y == 0;
       // assert !Double.isNaN(y);
-      double wy = weight * y;
-      double wyy = wy * y;
-      int b = bin(col_data);
-      final int binDimStart = _vals_dim*b;
-      _vals[binDimStart + 0] += weight;
-      _vals[binDimStart + 1] += wy;
-      _vals[binDimStart + 2] += wyy;
-      if (_vals_dim >= 5 && !Double.isNaN(resp[k])) {
-        if (_dist._family.equals(DistributionFamily.quantile)) {
-          _vals[binDimStart + 3] += _dist.deviance(weight, y, _pred1);
-          _vals[binDimStart + 4] += _dist.deviance(weight, y, _pred2);
-        } else {
-          _vals[binDimStart + 3] += weight * (_pred1 - y) * (_pred1 - y);
-          _vals[binDimStart + 4] += weight * (_pred2 - y) * (_pred2 - y);
-        }
-        if (_vals_dim >= 6) {
-          _vals[binDimStart + 5] += _dist.gammaDenom(weight, resp[k], y, preds[k]);
-          if (_vals_dim == 7) {
-            _vals[binDimStart + 6] += _dist.gammaNum(weight, resp[k], y, preds[k]);
-          }
+      updateBin(bin(col_data), k, weight, y, resp, preds);
+    }
+  }
+
+  /**
+   * Same as {@link #updateHisto} for a pre-binned column: the bins are indexed by the bin codes
+   * instead of binning the column values. Only valid if {@link #hasBinCodes()}.
+   * @param codes bin codes of the column, -1 for NAs
+   */
+  void updateHistoCodes(double[] ws, double resp[], int[] codes, double[] ys, double[] preds, int[] rows, int hi, int lo){
+    assert hasBinCodes();
+    int minCode = Integer.MAX_VALUE;
+    int maxCode = -1;
+    for(int r = lo; r< hi; ++r) {
+      final int k = rows[r];
+      final double weight = ws[k];
+      if (weight == 0)
+        continue; // Needed for DRF only
+      final int code = codes[k];
+      int b;
+      if (code < 0) {
+        b = _nbin; // NA bucket
+      } else {
+        if (code < minCode) minCode = code;
+        if (code > maxCode) maxCode = code;
+        b = code - _codeOffset;
+        if (b < 0) b = 0; else if (b >= _nbin) b = _nbin - 1; // Infinities, see bin()
+      }
+      updateBin(b, k, weight, ys[k], resp, preds);
+    }
+    // Observed range at the resolution of the global bins
+    if (maxCode >= 0) {
+      if (_binMin[minCode] < _min2) _min2 = _binMin[minCode];
+      if (_binMax[maxCode] > _maxIn) _maxIn = _binMax[maxCode];
+    }
+  }
+
+  /** True if this histogram can be updated from the bin codes of a pre-binned column */
+  boolean hasBinCodes() { return _binMin != null; }
+
+  /** True if this histogram will index its bins by the bin codes once initialized, see {@link #init} */
+  boolean willHaveBinCodes() {
+    if (_histoType != SharedTreeModel.SharedTreeParameters.HistogramType.QuantilesGlobal || _globalQuantilesKey == null)
+      return false;
+    HistoQuantiles hq = DKV.getGet(_globalQuantilesKey);
+    return hq != null && hq.splitPts != null && hq.binMin != null &&
+            ArrayUtils.limitToRange(hq.splitPts, _min, _maxEx).length > 1;
+  }
+
+  /**
+   * Whether the histogram of a child node can be computed from the (filled) histogram of the parent and
+   * the histogram of the sibling node, see {@link #subtract}. All three have to index their bins by the
+   * bin codes and collect the same statistics.
+   */
+  static boolean canSubtract(DHistogram parent, DHistogram sibling, DHistogram h) {
+    return parent != null && sibling != null && h != null &&
+            parent._vals != null && parent.hasBinCodes() && sibling.willHaveBinCodes() && h.willHaveBinCodes() &&
+            parent._vals_dim == h._vals_dim && sibling._vals_dim == h._vals_dim &&
+            sameFallbackPreds(parent, h) && sameFallbackPreds(sibling, h);
+  }
+
+  private static boolean sameFallbackPreds(DHistogram a, DHistogram b) {
+    return Double.compare(a._pred1, b._pred1) == 0 && Double.compare(a._pred2, b._pred2) == 0;
+  }
+
+  // Relative weight left in a bin after a subtraction, which is considered to be round-off
+  private static final double SUBTRACTION_EPS = 1e-9;
+
+  /**
+   * Computes the bins (including the NA bucket) as the bins of the parent less the bins of the sibling,
+   * instead of going over the rows. Bins with no weight left, up to the round-off, stay empty. The observed
+   * range is taken from the non-empty bins, at the resolution of the global bins like in {@link #updateHistoCodes}.
+   * @param parent histogram of the parent node, filled
+   * @param sibling histogram of the sibling node, filled (or never initialized if the sibling got no rows)
+   */
+  void subtract(DHistogram parent, DHistogram sibling) {
+    assert _vals == null;
+    init();
+    assert hasBinCodes() && parent.hasBinCodes() && (sibling._vals == null || sibling.hasBinCodes());
+    final double[] pvals = parent._vals;
+    final double[] svals = sibling._vals;
+    int minCode = Integer.MAX_VALUE;
+    int maxCode = -1;
+    for (int b = 0; b <= _nbin; b++) { // _nbin is the NA bucket
+      final int code = _codeOffset + b;
+      final int pb = b == _nbin ? parent._nbin : code - parent._codeOffset;
+      if (pb < 0 || pb > parent._nbin || (pb == parent._nbin && b != _nbin))
+        continue; // No rows of the parent in this bin
+      int sb = -1;
+      if (svals != null) {
+        sb = b == _nbin ? sibling._nbin : code - sibling._codeOffset;
+        if (sb < 0 || sb > sibling._nbin || (sb == sibling._nbin && b != _nbin)) sb = -1;
+      }
+      final double w = pvals[_vals_dim * pb] - (sb < 0 ? 0 : svals[_vals_dim * sb]);
+      if (w <= SUBTRACTION_EPS * pvals[_vals_dim * pb])
+        continue;
+      for (int i = 0; i < _vals_dim; i++)
+        _vals[_vals_dim * b + i] = pvals[_vals_dim * pb + i] - (sb < 0 ? 0 : svals[_vals_dim * sb + i]);
+      if (b < _nbin) {
+        if (code < minCode) minCode = code;
+        if (code > maxCode) maxCode = code;
+      }
+    }
+    if (maxCode >= 0) {
+      _min2 = _binMin[minCode];
+      _maxIn = _binMax[maxCode];
+    }
+  }
+
+  private void updateBin(final int b, final int k, final double weight, final double y, double[] resp, double[] preds) {
+    updateBin(_vals, _vals_dim*b, k, weight, y, resp, preds);
+  }
+
+  private void updateBin(final double[] vals, final int binDimStart, final int k, final double weight, final double y, double[] resp, double[] preds) {
+    double wy = weight * y;
+    double wyy = wy * y;
+    vals[binDimStart + 0] += weight;
+    vals[binDimStart + 1] += wy;
+    vals[binDimStart + 2] += wyy;
+    if (_vals_dim >= 5 && !Double.isNaN(resp[k])) {
+      if (_dist._family.equals(DistributionFamily.quantile)) {
+        vals[binDimStart + 3] += _dist.deviance(weight, y, _pred1);
+        vals[binDimStart + 4] += _dist.deviance(weight, y, _pred2);
+      } else {
+        vals[binDimStart + 3] += weight * (_pred1 - y) * (_pred1 - y);
+        vals[binDimStart + 4] += weight * (_pred2 - y) * (_pred2 - y);
+      }
+      if (_vals_dim >= 6) {
+        vals[binDimStart + 5] += _dist.gammaDenom(weight, resp[k], y, preds[k]);
+        if (_vals_dim == 7) {
+          vals[binDimStart + 6] += _dist.gammaNum(weight, resp[k], y, preds[k]);
         }
       }
     }
   }
 
+  /**
+   * Same as {@link #updateHisto} for a sparse column, visiting only the rows with a non-zero value. The rows
+   * with a zero are added later from the totals of the node, see {@link #updateTotals} and {@link #addZeros}.
+   * @param chk chunk of the column, without NAs
+   * @param leafs leaf of each row of the chunk, negative if the row is not in any leaf
+   * @param hs histograms of the column in each leaf
+   */
+  static void updateHistosNonZeros(DHistogram[] hs, double[] ws, double resp[], Chunk chk, int[] leafs, double[] ys, double[] preds) {
+    for (int k = chk.nextNZ(-1, true); k < chk._len; k = chk.nextNZ(k, true)) {
+      final int n = leafs[k];
+      if (n < 0) continue;
+      final DHistogram h = hs[n];
+      if (h == null) continue;
+      final double weight = ws[k];
+      if (weight == 0) continue;
+      final double col_data = chk.atd(k);
+      if (col_data == 0) continue;
+      if (h._vals == null) h.init();
+      if (col_data < h._min2) h._min2 = col_data;
+      if (col_data > h._maxIn) h._maxIn = col_data;
+      h.updateBin(h.bin(col_data), k, weight, ys[k], resp, preds);
+    }
+  }
+
+  /**
+   * Sums the statistics of the given rows of the node into a single bin, regardless of the column. This
+   * histogram only provides the statistics to collect (its dimensions, predictions and distribution).
+   * @param totals _vals_dim totals of the node
+   */
+  void updateTotals(double[] totals, double[] ws, double resp[], double[] ys, double[] preds, int[] rows, int hi, int lo) {
+    for (int r = lo; r < hi; ++r) {
+      final int k = rows[r];
+      final double weight = ws[k];
+      if (weight == 0)
+        continue;
+      updateBin(totals, 0, k, weight, ys[k], resp, preds);
+    }
+  }
+
+  /**
+   * Adds the rows with a zero value to a histogram built only from the non-zero values of a sparse column
+   * (see {@link #updateHistosNonZeros}): the zero bin gets the totals of the node less the sums of all the bins.
+   * @param totals _vals_dim totals of all the rows of the node
+   */
+  void addZeros(double[] totals) {
+    if (_vals == null) init();
+    final double[] zeros = totals.clone();
+    for (int b = 0; b <= _nbin; b++)
+      for (int i = 0; i < _vals_dim; i++)
+        zeros[i] -= _vals[_vals_dim * b + i];
+    if (zeros[0] <= SUBTRACTION_EPS * totals[0])
+      return; // No zeros in this node
+    final int b = bin(0);
+    for (int i = 0; i < _vals_dim; i++)
+      _vals[_vals_dim * b + i] += zeros[i];
+    if (0 < _min2) _min2 = 0;
+    if (0 > _maxIn) _maxIn = 0;
+  }
+
   /**
    * Cast bin values *except for sums of weights and Na-bucket counters to floats to drop least significant bits.
    * Improves reproducibility (drop bits most affected by floating point error).
@@ -50,8 +50,20 @@ public class DTree extends Iced {
   public final transient Random _rand; // RNG for split decisions & sampling
   public final transient int[] _cols; // Per-tree selection of columns to consider for splits
   public transient SharedTreeModel.SharedTreeParameters _parms;
+  // Rows sampled by gradient-based one-side sampling (see GossSample): gradients in the bins below the
+  // threshold bin were sampled and their weights are multiplied by the amplification
+  double _gossStep;
+  int _gossBin;
+  double _gossAmplification = 1;
 
 
+  /** Weight of a row with the given gradient (working response) in the training of this tree */
+  public final double gossWeight(double w, double gradient) {
+    return _gossAmplification != 1 && GossSample.bin(gradient, _gossStep) < _gossBin ? w * _gossAmplification : w;
+  }
+
+  public final boolean isGossSampled() { return _gossAmplification != 1; }
+
   // compute the effective number of columns to sample
   public int actual_mtries() {
     return Math.min(Math.max(1,(int)((double)_mtrys * Math.pow(_parms._col_sample_rate_change_per_level, _depth))),_ncols);
@@ -487,6 +499,14 @@ public class DTree extends Iced {
 
     // Pick the best column from the given histograms
     public Split bestCol(UndecidedNode u, DHistogram hs[], Constraints cs) {
+      return bestSplit(u, hs, cs);
+    }
+
+    /**
+     * Best split of an undecided node over all the columns of the given histograms. Unlike creating a
+     * DecidedNode this leaves the node undecided, see {@link BestFirstGrowth}.
+     */
+    static Split bestSplit(UndecidedNode u, DHistogram hs[], Constraints cs) {
       DTree.Split best = null;
       if( hs == null ) return null;
       final int maxCols = u._scoreCols == null /* all cols */ ? hs.length : u._scoreCols.length;
@@ -505,7 +525,7 @@ public class DTree extends Iced {
         int col = u._scoreCols == null ? i : u._scoreCols[i];
         if( hs[col]==null || hs[col].actNBins() <= 1 )
           continue;
-        FindSplits fs = new FindSplits(hs, cs, col, u._nid);
+        FindSplits fs = new FindSplits(hs, cs, col, u);
         findSplits.add(fs);
         if (isSmall) fs.compute();
       }
@@ -518,17 +538,15 @@ public class DTree extends Iced {
       return best;
     }
 
-    public final class FindSplits extends RecursiveAction {
+    public static final class FindSplits extends RecursiveAction {
       public FindSplits(DHistogram[] hs, Constraints cs, int col, UndecidedNode node) {
-        this(hs, cs, col, node._nid);
-      }
-      private FindSplits(DHistogram[] hs, Constraints cs, int col, int nid) {
-        _hs = hs; _cs = cs; _col = col; _nid = nid;
+        _hs = hs; _cs = cs; _col = col; _nid = node._nid; _tree = node._tree;
       }
       final DHistogram[] _hs;
       final Constraints _cs;
       final int _col;
       final int _nid;
+      final DTree _tree;
       DTree.Split _s;
       @Override public void compute() {
         computeSplit();
@@ -556,7 +574,21 @@ public class DTree extends Iced {
       }
     }
 
+    // A node which is not split although it might be, e.g. a leaf of a tree grown best-first
+    // which ran out of leaves (see BestFirstGrowth)
+    DecidedNode(UndecidedNode n) {
+      super(n._tree,n._pid,n._nid); // Replace Undecided with this DecidedNode
+      _nids = new int[]{ScoreBuildHistogram.UNDECIDED_CHILD_NODE_ID, ScoreBuildHistogram.UNDECIDED_CHILD_NODE_ID};
+      _split = null;
+      _splat = Float.NaN;
+    }
+
     public DecidedNode(UndecidedNode n, DHistogram hs[], Constraints cs) {
+      this(n, hs, cs, false);
+    }
+
+    // With leafChildren the children are not made, they are leaves which are never split
+    DecidedNode(UndecidedNode n, DHistogram hs[], Constraints cs, boolean leafChildren) {
       super(n._tree,n._pid,n._nid); // Replace Undecided with this DecidedNode
       _nids = new int[2];           // Split into 2 subsets
       _split = bestCol(n,hs,cs);  // Best split-point for this tree
@@ -569,6 +601,10 @@ public class DTree extends Iced {
         return;
       }
       _splat = _split._nasplit != DHistogram.NASplitDir.NAvsREST && (_split._equal == 0 || _split._equal == 1) ? _split.splat(hs) : -1f; // Split-at value (-1 for group-wise splits)
+      if (leafChildren) {
+        Arrays.fill(_nids,ScoreBuildHistogram.UNDECIDED_CHILD_NODE_ID);
+        return;
+      }
       for(int way = 0; way <2; way++ ) { // left / right
         // Create children histograms, not yet populated, but the ranges are set
         Constraints ncs = cs != null ? _split.nextLevelConstraints(cs, way, _splat, _tree._parms) : null;
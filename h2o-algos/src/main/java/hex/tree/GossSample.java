@@ -0,0 +1,135 @@
+package hex.tree;
+
+import water.MRTask;
+import water.fvec.C4VolatileChunk;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.util.RandomUtils;
+
+import java.util.Random;
+
+/**
+ * Gradient-based one-side sampling (GOSS) of the rows of a tree.
+ *
+ * The rows with the largest absolute gradients (the working response of the tree) carry most of the
+ * information gain, they are all kept. The rest of the rows is sampled at random and the sampled rows are
+ * given a larger weight to keep the sums of the gradients (nearly) unbiased. The rows which are not kept
+ * are marked out-of-bag like in {@link Sample}, so that building the histograms skips them.
+ *
+ * The threshold between the large and the small gradients is found on a histogram of the absolute
+ * gradients, all the rows of the bin which crosses the top rate are kept. The rows are told apart by
+ * their bin only, the bin step and the threshold bin are stored in the tree together with the weight
+ * multiplier of the sampled small-gradient rows, see {@link DTree#gossWeight}.
+ *
+ * Expects a frame of nids, working response, response and optionally weights.
+ */
+public class GossSample {
+  private static final int NBINS = 1024;
+
+  private final DTree _tree;
+  private final double _topRate;
+  private final double _otherRate;
+
+  public GossSample(DTree tree, double topRate, double otherRate) {
+    assert 0 < topRate && topRate < 1 && 0 < otherRate && topRate + otherRate <= 1;
+    _tree = tree;
+    _topRate = topRate;
+    _otherRate = otherRate;
+  }
+
+  public void doAll(Frame fr, boolean runLocal) {
+    double max = new MaxGradient().doAll(fr, runLocal)._max;
+    GradientHisto h = new GradientHisto(max).doAll(fr, runLocal);
+    if (h._bins == null) return; // No rows to sample
+    long n = 0;
+    for (long c : h._bins) n += c;
+    // Keep all the rows of the bins above the threshold
+    final long top = (long) Math.ceil(_topRate * n);
+    long ntop = 0;
+    int b = NBINS;
+    while (ntop < top && b > 0) ntop += h._bins[--b];
+    final long rest = n - ntop;
+    final double rate = rest == 0 ? 1 : Math.min(1, _otherRate * n / rest);
+    _tree._gossStep = h._step;
+    _tree._gossBin = b;
+    _tree._gossAmplification = 1 / rate;
+    new MarkOOB(_tree._seed, h._step, b, rate).doAll(fr, runLocal);
+  }
+
+  /** Bin of the absolute gradient, rows in the bins below the threshold bin are sampled */
+  static int bin(double g, double step) {
+    return step == 0 ? 0 : Math.min(NBINS - 1, (int) (Math.abs(g) / step));
+  }
+
+  // Rows which take part in the training of the tree
+  private static boolean isActive(Chunk[] cs, int row) {
+    return !cs[2].isNA(row) && (cs.length < 4 || cs[3].atd(row) != 0);
+  }
+
+  private static class MaxGradient extends MRTask<MaxGradient> {
+    double _max;
+
+    @Override
+    public void map(Chunk[] cs) {
+      for (int row = 0; row < cs[0]._len; row++)
+        if (isActive(cs, row))
+          _max = Math.max(_max, Math.abs(cs[1].atd(row)));
+    }
+
+    @Override
+    public void reduce(MaxGradient mrt) { _max = Math.max(_max, mrt._max); }
+  }
+
+  private static class GradientHisto extends MRTask<GradientHisto> {
+    final double _step;
+    long[] _bins;
+
+    GradientHisto(double max) { _step = max / NBINS; }
+
+    @Override
+    public void map(Chunk[] cs) {
+      long[] bins = new long[NBINS];
+      boolean any = false;
+      for (int row = 0; row < cs[0]._len; row++) {
+        if (!isActive(cs, row)) continue;
+        bins[bin(cs[1].atd(row), _step)]++;
+        any = true;
+      }
+      if (any) _bins = bins;
+    }
+
+    @Override
+    public void reduce(GradientHisto mrt) {
+      if (_bins == null) _bins = mrt._bins;
+      else if (mrt._bins != null)
+        for (int b = 0; b < NBINS; b++) _bins[b] += mrt._bins[b];
+    }
+  }
+
+  private static class MarkOOB extends MRTask<MarkOOB> {
+    final long _seed;
+    final double _step;
+    final int _bin;
+    final double _rate;
+
+    MarkOOB(long seed, double step, int bin, double rate) {
+      _seed = seed; _step = step; _bin = bin; _rate = rate;
+    }
+
+    @Override
+    public void map(Chunk[] cs) {
+      C4VolatileChunk nids = (C4VolatileChunk) cs[0];
+      Random rand = RandomUtils.getRNG(_seed);
+      int[] is = nids.getValues();
+      for (int row = 0; row < nids._len; row++) {
+        boolean skip = cs[2].isNA(row);
+        if (!skip && bin(cs[1].atd(row), _step) < _bin) {
+          rand.setSeed(_seed + row + nids.start()); //seeding is independent of chunking
+          skip = rand.nextFloat() >= _rate;
+        }
+        if (skip) is[row] = ScoreBuildHistogram.OUT_OF_BAG;     // Flag row as being ignored by sampling
+      }
+    }
+  }
+
+}
@@ -146,6 +146,37 @@ public class ScoreBuildHistogram extends MRTask<ScoreBuildHistogram> {
     }
   }
 
+  // With all bins allocated the histograms are summable: MRTask adds up the
+  // bins and reduceRest merges the observed ranges
+  @Override protected double[][] summableResult() {
+    int n = 0;
+    for( DHistogram hs[] : _hcs ) {
+      if( hs == null ) return null;
+      n += hs.length;
+    }
+    double[][] res = new double[n][];
+    int k = 0;
+    for( DHistogram hs[] : _hcs )
+      for( DHistogram h : hs ) {
+        if( h != null && !h._bySubtraction ) { // Subtracted ones are filled after the pass
+          if( h._vals == null ) return null;
+          res[k] = h._vals;
+        }
+        k++;
+      }
+    return res;
+  }
+
+  @Override protected void reduceRest( ScoreBuildHistogram sbh ) {
+    if( sbh._hcs == _hcs )
+      return;
+    for( int i=0; i<_hcs.length; i++ ) {
+      DHistogram hs1[] = _hcs[i], hs2[] = sbh._hcs[i];
+      for( int j=0; j<hs1.length; j++ )
+        if( hs1[j] != null ) hs1[j].addRange(hs2[j]);
+    }
+  }
+
   // Pass 1: Score a prior partially-built tree model, and make new Node
   // assignments to every row.  This involves pulling out the current
   // assigned DecidedNode, "scoring" the row against that Node's decision
@@ -161,6 +192,10 @@ public class ScoreBuildHistogram extends MRTask<ScoreBuildHistogram> {
       // Score row against current decisions & assign new split
       boolean oob = isOOBRow(nid);
       if( oob ) nid = oob2Nid(nid); // sampled away - we track the position in the tree
+      if( nid < _leaf && _tree.node(nid) instanceof DTree.UndecidedNode ) { // Leaf left for later by best-first growth
+        nnids[row] = nid - _leaf;
+        continue;
+      }
       DTree.DecidedNode dn = _tree.decided(nid);
       if( dn == null || dn._split == null ) { // Might have a leftover non-split
         if( DTree.isRootNode(dn) ) { nnids[row] = nid-_leaf; continue; }
@@ -69,13 +69,21 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
   final IcedBitSet _activeCols;
   final int _respIdx;
   final int _predsIdx;
+  final int[] _binCodeIdxs; // Index of the bin codes of each predictor (-1 if not pre-binned), null if there are no bin codes
+  transient DHistogram[][] _parentHcs; // [leaf][col] Parent of each histogram computed by subtraction, null if there are none
+  transient int[] _siblingLeafs;       // [leaf] Sibling of the leaf, for histograms computed by subtraction
+  final int[][] _bundles;              // [bundle][member] Sparse predictors histogrammed together from their non-zeros, null if there are none
+  transient int[][] _leafs;            // [chunk][row] Leaf of each row, negative if none, for the bundles
+  double[][][] _bundleTotals;          // [bundle][leaf][_vals_dim] Totals of the rows of each leaf, for the zero bins of the bundles
 
   public ScoreBuildHistogram2(H2O.H2OCountedCompleter cc, int k, int ncols, int nbins, int nbins_cats, DTree tree, int leaf, DHistogram[][] hcs, DistributionFamily family, 
-                              int respIdx, int weightIdx, int predsIdx, int workIdx, int nidIdxs) {
+                              int respIdx, int weightIdx, int predsIdx, int workIdx, int nidIdxs, int[] binCodeIdxs, int[][] bundles) {
     super(cc, k, ncols, nbins, nbins_cats, tree, leaf, hcs, family, weightIdx, workIdx, nidIdxs);
     _numLeafs = _hcs.length;
     _respIdx = respIdx;
     _predsIdx = predsIdx;
+    _binCodeIdxs = binCodeIdxs;
+    _bundles = bundles;
 
     int hcslen = _hcs.length;
     IcedBitSet activeCols = new IcedBitSet(ncols);
@@ -90,9 +98,50 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
       }
     }
     _activeCols = activeCols;
+    // Histograms of the larger children are computed from their parents and the smaller siblings, see DHistogram.subtract
+    for (int n = 0; n < hcslen; n++) {
+      if (_hcs[n] == null) continue;
+      for (int c = 0; c < _hcs[n].length; c++) {
+        DHistogram h = _hcs[n][c];
+        if (h == null || !h._bySubtraction) continue;
+        if (_parentHcs == null) {
+          _parentHcs = new DHistogram[hcslen][];
+          _siblingLeafs = new int[hcslen];
+        }
+        if (_parentHcs[n] == null) _parentHcs[n] = new DHistogram[_hcs[n].length];
+        _parentHcs[n][c] = h._parentHisto;
+        _siblingLeafs[n] = h._siblingNid - _leaf;
+      }
+    }
     _hcs = ArrayUtils.transpose(_hcs);
   }
 
+  // Predictors with at most this fraction of non-zeros are sparse
+  static final double SPARSE_MAX_DENSITY = 0.1;
+  // Number of sparse predictors histogrammed together
+  static final int BUNDLE_SIZE = 64;
+
+  /**
+   * Bundles of the sparse numeric predictors (e.g. one-hot encoded categoricals or columns of sparse chunks),
+   * which are histogrammed from their non-zero values only. The rows with a zero are not visited, the zero bin
+   * of a histogram is the totals of its leaf less its other bins. The predictors must not have NAs.
+   * @return bundles of up to BUNDLE_SIZE column indices, null if there are no sparse predictors
+   */
+  static int[][] sparseBundles(Frame fr, int ncols) {
+    int[] sparse = new int[ncols];
+    int n = 0;
+    for (int i = 0; i < ncols; i++) {
+      Vec v = fr.vec(i);
+      if (v.isNumeric() && v.naCnt() == 0 && v.nzCnt() > 0 && v.sparseRatio() <= SPARSE_MAX_DENSITY)
+        sparse[n++] = i;
+    }
+    if (n == 0) return null;
+    int[][] bundles = new int[(n + BUNDLE_SIZE - 1) / BUNDLE_SIZE][];
+    for (int b = 0; b < bundles.length; b++)
+      bundles[b] = Arrays.copyOfRange(sparse, b * BUNDLE_SIZE, Math.min(n, (b + 1) * BUNDLE_SIZE));
+    return bundles;
+  }
+
   @Override
   public ScoreBuildHistogram dfork2(byte[] types, Frame fr, boolean run_local) {
     _fr2 = fr;
@@ -131,6 +180,10 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
       // Score row against current decisions & assign new split
       boolean oob = isOOBRow(nid);
       if( oob ) nid = oob2Nid(nid); // sampled away - we track the position in the tree
+      if( nid < _leaf && _tree.node(nid) instanceof DTree.UndecidedNode ) { // Leaf left for later by best-first growth
+        res[row] = nid - _leaf;
+        continue;
+      }
       DTree.DecidedNode dn = _tree.decided(nid);
       if( dn._split == null ) { // Might have a leftover non-split
         if( DTree.isRootNode(dn) ) { res[row] = nid - _leaf; continue; }
@@ -164,6 +217,10 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
     _ws = new double[_cids.length][];
     _nhs = new int[_cids.length][];
     _rss = new int[_cids.length][];
+    if (_bundles != null) {
+      _leafs = new int[_cids.length][];
+      _bundleTotals = new double[_bundles.length][_numLeafs][];
+    }
     long [] espc = v.espc();
     int largestChunkSz = 0;
     for(int i = 1; i < espc.length; ++i){
@@ -212,6 +269,7 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
         for (int row = 0; row < nnids.length; row++)
           if (nnids[row] >= 0)
             rows[nh[nnids[row]]++] = row;
+        if (_leafs != null) _leafs[id] = nnids;
 
       }
       @Override
@@ -232,22 +290,31 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
           if(_weightIdx != -1){
             _ws[id] = chks[_weightIdx].getDoubles(MemoryManager.malloc8d(len), 0, len);
           }
+          if(_tree.isGossSampled()){ // Sampled rows with small gradients weigh more
+            double [] ws = _weightIdx != -1 ? _ws[id] : MemoryManager.malloc8d(len);
+            for(int row = 0; row < len; ++row)
+              ws[row] = _tree.gossWeight(_weightIdx != -1 ? ws[row] : 1, _ys[id][row]);
+            _ws[id] = ws;
+          }
         }
       }
     },new H2O.H2OCountedCompleter(this){
       public void onCompletion(CountedCompleter cc){
         final int ncols = _ncols;
-        final int [] active_cols = _activeCols == null?null:new int[Math.max(1,_activeCols.cardinality())];
-        int nactive_cols = active_cols == null?ncols:active_cols.length;
-        final int numWrks = _hcs.length*nactive_cols < 16*1024?H2O.NUMCPUS:Math.min(H2O.NUMCPUS,Math.max(4*H2O.NUMCPUS/nactive_cols,1));
-        final int rem = H2O.NUMCPUS-numWrks*ncols;
-        ScoreBuildHistogram2.this.addToPendingCount(1+nactive_cols);
-        if(active_cols != null) {
+        int [] cols = _activeCols == null?null:new int[Math.max(1,_activeCols.cardinality())];
+        if(cols != null) {
           int j = 0;
           for (int i = 0; i < ncols; ++i)
             if (_activeCols.contains(i))
-              active_cols[j++] = i;
+              cols[j++] = i;
         }
+        final int nbundles = _bundles == null ? 0 : _bundles.length;
+        if (nbundles > 0) cols = unbundledColumns(cols); // The sparse columns are histogrammed by their bundles
+        final int [] active_cols = cols;
+        final int nactive_cols = active_cols == null?ncols:active_cols.length;
+        final int numWrks = _hcs.length*nactive_cols < 16*1024?H2O.NUMCPUS:Math.min(H2O.NUMCPUS,Math.max(4*H2O.NUMCPUS/Math.max(nactive_cols,1),1));
+        final int rem = H2O.NUMCPUS-numWrks*ncols;
+        ScoreBuildHistogram2.this.addToPendingCount(1+nactive_cols+nbundles);
         // MRTask (over columns) launching MrTasks (over number of workers) for each column.
         // We want FJ to start processing all the columns before parallelizing within column to reduce memory overhead.
         // (running single column in n threads means n-copies of the histogram)
@@ -260,14 +327,49 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
         new LocalMR(new MrFun() {
           @Override
           protected void map(int c) {
+            if (c >= nactive_cols) {
+              int b = c - nactive_cols;
+              new LocalMR(new ComputeBundleThread(_bundles[b], bundleHistos(b), _bundleTotals[b], fLargestChunkSz, new AtomicInteger()),numWrks,ScoreBuildHistogram2.this).fork();
+              return;
+            }
             c = active_cols == null?c:active_cols[c];
             new LocalMR(new ComputeHistoThread(_hcs.length == 0?new DHistogram[0]:_hcs[c],c,fLargestChunkSz,new AtomicInteger()),numWrks + (c < rem?1:0),ScoreBuildHistogram2.this).fork();
           }
-        },nactive_cols,ScoreBuildHistogram2.this).fork();
+        },nactive_cols+nbundles,ScoreBuildHistogram2.this).fork();
       }
     }).fork();
   }
 
+  // Columns histogrammed one by one: the (active) columns which are not in any bundle
+  private int[] unbundledColumns(int[] activeCols) {
+    boolean[] bundled = new boolean[_ncols];
+    for (int[] bundle : _bundles)
+      for (int c : bundle) bundled[c] = true;
+    int[] cols = new int[activeCols == null ? _ncols : activeCols.length];
+    int n = 0;
+    for (int i = 0; i < cols.length; i++) {
+      int c = activeCols == null ? i : activeCols[i];
+      if (!bundled[c]) cols[n++] = c;
+    }
+    return Arrays.copyOf(cols, n);
+  }
+
+  // Histograms of the members of a bundle in each leaf, null where the member is not scored or is computed by subtraction
+  private DHistogram[][] bundleHistos(int b) {
+    final int[] members = _bundles[b];
+    DHistogram[][] hs = new DHistogram[members.length][_numLeafs];
+    if (_numLeafs == 0) return hs;
+    for (int m = 0; m < members.length; m++) {
+      for (int n = 0; n < _numLeafs; n++) {
+        DHistogram h = _hcs[members[m]][n];
+        int sCols[] = _tree.undecided(n + _leaf)._scoreCols;
+        if (h != null && !h._bySubtraction && (sCols == null || ArrayUtils.find(sCols, members[m]) >= 0))
+          hs[m][n] = h;
+      }
+    }
+    return hs;
+  }
+
   private static void mergeHistos(DHistogram [] hcs, DHistogram [] hcs2){
     // Distributed histograms need a little work
     for( int i=0; i< hcs.length; i++ ) {
@@ -301,21 +403,24 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
     @Override
     protected void map(int id){
       double[] cs = null;
+      int[] codes = null;
       double[] resp = null;
       double[] preds = null;
       for(int i = _cidx.getAndIncrement(); i < _cids.length; i = _cidx.getAndIncrement()) {
         if (cs == null) {
           cs = MemoryManager.malloc8d(_maxChunkSz);
+          if (_binCodeIdxs != null && _binCodeIdxs[_col] >= 0)
+            codes = MemoryManager.malloc4(_maxChunkSz);
           if (_respIdx >= 0)
             resp = MemoryManager.malloc8d(_maxChunkSz);
           if (_predsIdx >= 0)
             preds = MemoryManager.malloc8d(_maxChunkSz);
         }
-        computeChunk(i, cs, _ws[i], resp, preds);
+        computeChunk(i, cs, codes, _ws[i], resp, preds);
       }
     }
 
-    private void computeChunk(int id, double[] cs, double[] ws, double[] resp, double[] preds){
+    private void computeChunk(int id, double[] cs, int[] codes, double[] ws, double[] resp, double[] preds){
       int [] nh = _nhs[id];
       int [] rs = _rss[id];
       Chunk resChk = _chks[id][_workIdx];
@@ -323,6 +428,8 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
       double [] ys = ScoreBuildHistogram2.this._ys[id];
       final int hcslen = _lh.length;
       boolean extracted = false;
+      boolean extractedCol = false;
+      boolean extractedCodes = false;
       for (int n = 0; n < hcslen; n++) {
         int sCols[] = _tree.undecided(n + _leaf)._scoreCols; // Columns to score (null, or a list of selected cols)
         if (sCols == null || ArrayUtils.find(sCols, _col) >= 0) {
@@ -330,9 +437,9 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
           int hi = nh[n];
           int lo = (n == 0 ? 0 : nh[n - 1]);
           if (hi == lo || h == null) continue; // Ignore untracked columns in this split
+          if (h._bySubtraction) continue; // Filled in postGlobal
           if (h._vals == null) h.init();
           if (! extracted) {
-            _chks[id][_col].getDoubles(cs, 0, len);
             if (h._vals_dim >= 6) {
               _chks[id][_respIdx].getDoubles(resp, 0, len);
               if (h._vals_dim == 7) {
@@ -341,7 +448,21 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
             }
             extracted = true;
           }
-          h.updateHisto(ws, resp, cs, ys, preds, rs, hi, lo);
+          // Pre-binned histograms index the bins by the bin codes, the others (e.g. narrowed down to a single
+          // global bin) bin the column values
+          if (codes != null && h.hasBinCodes()) {
+            if (! extractedCodes) {
+              _chks[id][_binCodeIdxs[_col]].getIntegers(codes, 0, len, -1);
+              extractedCodes = true;
+            }
+            h.updateHistoCodes(ws, resp, codes, ys, preds, rs, hi, lo);
+          } else {
+            if (! extractedCol) {
+              _chks[id][_col].getDoubles(cs, 0, len);
+              extractedCol = true;
+            }
+            h.updateHisto(ws, resp, cs, ys, preds, rs, hi, lo);
+          }
         }
       }
     }
@@ -353,12 +474,139 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
     }
   }
 
+  /**
+   * Histograms of a bundle of sparse columns. Only the non-zero values of the columns are visited, plus one
+   * pass over the rows of each leaf (regardless of the columns) to get the totals of the leaf. The zero bins
+   * are filled in postGlobal from the totals, see {@link DHistogram#addZeros}.
+   */
+  private class ComputeBundleThread extends MrFun<ComputeBundleThread> {
+    final int[] _members;
+    final DHistogram[][] _lh;   // [member][leaf]
+    final double[][] _totals;   // [leaf]
+    final int _maxChunkSz;
+    final AtomicInteger _cidx;
+
+    ComputeBundleThread(int[] members, DHistogram[][] lh, double[][] totals, int maxChunkSz, AtomicInteger cidx) {
+      _members = members; _lh = lh; _totals = totals; _maxChunkSz = maxChunkSz; _cidx = cidx;
+    }
+
+    @Override
+    public ComputeBundleThread makeCopy() {
+      DHistogram[][] lh = new DHistogram[_lh.length][];
+      for (int m = 0; m < lh.length; m++)
+        lh[m] = ArrayUtils.deepClone(_lh[m]);
+      return new ComputeBundleThread(_members, lh, new double[_totals.length][], _maxChunkSz, _cidx);
+    }
+
+    @Override
+    protected void map(int id) {
+      double[] resp = null;
+      double[] preds = null;
+      boolean allocated = false;
+      for (int i = _cidx.getAndIncrement(); i < _cids.length; i = _cidx.getAndIncrement()) {
+        if (! allocated) {
+          if (_respIdx >= 0)
+            resp = MemoryManager.malloc8d(_maxChunkSz);
+          if (_predsIdx >= 0)
+            preds = MemoryManager.malloc8d(_maxChunkSz);
+          allocated = true;
+        }
+        computeChunk(i, resp, preds);
+      }
+    }
+
+    private void computeChunk(int id, double[] resp, double[] preds) {
+      int [] nh = _nhs[id];
+      int [] rs = _rss[id];
+      int len = _chks[id][_workIdx]._len;
+      double [] ys = _ys[id];
+      double [] ws = _ws[id];
+      boolean extracted = false;
+      for (int n = 0; n < _numLeafs; n++) {
+        int hi = nh[n];
+        int lo = (n == 0 ? 0 : nh[n - 1]);
+        if (hi == lo) continue;
+        DHistogram template = null; // All the histograms of a leaf collect the same statistics
+        for (int m = 0; m < _lh.length && template == null; m++) template = _lh[m][n];
+        if (template == null) continue;
+        if (! extracted) {
+          if (template._vals_dim >= 6) {
+            _chks[id][_respIdx].getDoubles(resp, 0, len);
+            if (template._vals_dim == 7) {
+              _chks[id][_predsIdx].getDoubles(preds, 0, len);
+            }
+          }
+          extracted = true;
+        }
+        if (_totals[n] == null) _totals[n] = new double[template._vals_dim];
+        template.updateTotals(_totals[n], ws, resp, ys, preds, rs, hi, lo);
+      }
+      if (! extracted) return; // No rows in the leaves of the bundle
+      for (int m = 0; m < _members.length; m++)
+        DHistogram.updateHistosNonZeros(_lh[m], ws, resp, _chks[id][_members[m]], _leafs[id], ys, preds);
+    }
+
+    @Override
+    protected void reduce(ComputeBundleThread cc) {
+      assert _lh != cc._lh;
+      for (int m = 0; m < _lh.length; m++)
+        mergeHistos(_lh[m], cc._lh[m]);
+      addTotals(_totals, cc._totals);
+    }
+  }
+
+  private static void addTotals(double[][] totals, double[][] totals2) {
+    for (int n = 0; n < totals.length; n++) {
+      if (totals[n] == null) totals[n] = totals2[n];
+      else if (totals2[n] != null) ArrayUtils.add(totals[n], totals2[n]);
+    }
+  }
+
+  @Override public void reduce(ScoreBuildHistogram sbh) {
+    super.reduce(sbh);
+    reduceBundleTotals((ScoreBuildHistogram2) sbh);
+  }
+
+  @Override protected void reduceRest(ScoreBuildHistogram sbh) {
+    super.reduceRest(sbh);
+    reduceBundleTotals((ScoreBuildHistogram2) sbh);
+  }
+
+  private void reduceBundleTotals(ScoreBuildHistogram2 sbh) {
+    if (_bundleTotals == null) _bundleTotals = sbh._bundleTotals;
+    else if (sbh._bundleTotals != null && sbh._bundleTotals != _bundleTotals)
+      for (int b = 0; b < _bundleTotals.length; b++)
+        addTotals(_bundleTotals[b], sbh._bundleTotals[b]);
+  }
+
   @Override public void postGlobal(){
+    // Zero bins of the sparse columns
+    if (_bundleTotals != null) {
+      for (int b = 0; b < _bundles.length; b++) {
+        DHistogram[][] hs = bundleHistos(b);
+        for (int m = 0; m < hs.length; m++)
+          for (int n = 0; n < _numLeafs; n++)
+            if (hs[m][n] != null && _bundleTotals[b][n] != null)
+              hs[m][n].addZeros(_bundleTotals[b][n]);
+      }
+    }
     _hcs = ArrayUtils.transpose(_hcs);
     for(DHistogram [] ary:_hcs)
       for(DHistogram dh:ary) {
         if(dh == null) continue;
         dh.reducePrecision();
       }
+    if (_parentHcs != null) {
+      for (int n = 0; n < _parentHcs.length; n++) {
+        if (_parentHcs[n] == null) continue;
+        for (int c = 0; c < _parentHcs[n].length; c++) {
+          DHistogram parent = _parentHcs[n][c];
+          if (parent == null) continue;
+          DHistogram h = _hcs[n][c];
+          h.subtract(parent, _hcs[_siblingLeafs[n]][c]);
+          h.reducePrecision();
+        }
+      }
+    }
   }
 }
@@ -40,6 +40,11 @@ public abstract class SharedTree<
            && v.cardinality() > _parms._nbins_cats;  // no need to sort categoricals with fewer than nbins_cats - they will be sorted in every leaf anyway
   }
 
+  // Histogram subtraction needs the bin codes of the pre-binned predictors, see ScoreBuildOneTree.markSubtractions
+  private boolean subtractHistograms() {
+    return _binCodes != null && _parms._histogram_subtraction;
+  }
+
   protected int _mtry;
   protected int _mtry_per_tree;
 
@@ -65,6 +70,12 @@ public abstract class SharedTree<
   // Sum of variable empirical improvement in squared-error.  The value is not scaled.
   private transient float[/*nfeatures*/] _improvPerVar;
 
+  // Pre-binned predictors, null if the training frame is not pre-binned
+  private transient BinCodes _binCodes;
+
+  // Bundles of sparse predictors, null if there are none
+  private transient int[][] _sparseBundles;
+
   protected Random _rand;
 
   private transient Frame _calib;
@@ -285,16 +296,26 @@ public abstract class SharedTree<
                 || _parms._histogram_type == SharedTreeModel.SharedTreeParameters.HistogramType.RoundRobin) {
           _job.update(1, "Computing top-level histogram split-points.");
           final double[][] splitPoints = GlobalQuantilesCalc.splitPoints(_train, _parms._weights_column, _parms._nbins, _parms._nbins_top_level);
+          if (_parms._prebin && _parms._histogram_type == SharedTreeModel.SharedTreeParameters.HistogramType.QuantilesGlobal) {
+            _job.update(0, "Pre-binning the training frame.");
+            _binCodes = BinCodes.encode(_train, splitPoints, _ncols);
+          }
           Futures fs = new Futures();
-          for (int i = 0; i < splitPoints.length; i++) {
+          for (int i = 0; i < _ncols; i++) { // only the predictors, see getGlobalQuantilesKeys
             Key<DHistogram.HistoQuantiles> key = getGlobalQuantilesKey(i);
             if (splitPoints[i] != null && key != null) {
-              DKV.put(new DHistogram.HistoQuantiles(key, splitPoints[i]), fs);
+              if (_binCodes != null)
+                DKV.put(new DHistogram.HistoQuantiles(key, splitPoints[i], _binCodes._binMin[i], _binCodes._binMax[i]), fs);
+              else
+                DKV.put(new DHistogram.HistoQuantiles(key, splitPoints[i]), fs);
             }
           }
           fs.blockForPending();
         }
 
+        if (_parms._bundle_sparse)
+          _sparseBundles = ScoreBuildHistogram2.sparseBundles(_train, _ncols);
+
         // Also add to the basic working Frame these sets:
         //   nclass Vecs of current forest results (sum across all trees)
         //   nclass Vecs of working/temp data
@@ -342,6 +363,10 @@ public abstract class SharedTree<
       } finally {
         if( _model!=null ) _model.unlock(_job);
         for (Key<?> k : getGlobalQuantilesKeys()) Keyed.remove(k);
+        if (_binCodes != null) {
+          _binCodes.remove();
+          _binCodes = null;
+        }
         if (_validWorkspace != null) {
           _validWorkspace.remove();
           _validWorkspace = null;
@@ -449,6 +474,13 @@ public abstract class SharedTree<
   // --------------------------------------------------------------------------
   // Build an entire layer of all K trees
   protected DHistogram[][][] buildLayer(final Frame fr, final int nbins, int nbins_cats, final DTree ktrees[], final int leafs[], final DHistogram hcs[][][], boolean build_tree_one_node) {
+    return buildLayer(fr, nbins, nbins_cats, ktrees, leafs, hcs, build_tree_one_node, null);
+  }
+
+  // Build the next splits of all K trees; with growth given (one per tree) the trees are grown best-first
+  // and only the best leaves are split, see BestFirstGrowth
+  protected DHistogram[][][] buildLayer(final Frame fr, final int nbins, int nbins_cats, final DTree ktrees[], final int leafs[], final DHistogram hcs[][][], boolean build_tree_one_node,
+                                        BestFirstGrowth[] growth) {
     // Build K trees, one per class.
 
     // Build up the next-generation tree splits from the current histograms.
@@ -494,12 +526,21 @@ public abstract class SharedTree<
       int predsIdx = fr2.numCols(); fr2.add(fr._names[idx_tree(k)],vecs[idx_tree(k)]); //tree predictions
       int workIdx =  fr2.numCols(); fr2.add(fr._names[idx_work(k)],vecs[idx_work(k)]); //target value to fit (copy of actual response for DRF, residual for GBM)
       int nidIdx  =  fr2.numCols(); fr2.add(fr._names[idx_nids(k)],vecs[idx_nids(k)]); //node indices for tree construction
+      int[] binCodeIdxs = null;
+      if (_binCodes != null) { //bin codes of the pre-binned predictors
+        binCodeIdxs = new int[_ncols];
+        for (int i = 0; i < _ncols; i++) {
+          Vec codes = _binCodes._codes[i];
+          binCodeIdxs[i] = codes == null ? -1 : fr2.numCols();
+          if (codes != null) fr2.add("BinCodes_" + fr._names[i], codes);
+        }
+      }
       if (LOG.isTraceEnabled()) LOG.trace("Building a layer for class " + k + ":\n" + fr2.toTwoDimTable());
       // Async tree building
       // step 1: build histograms
       // step 2: split nodes
       H2O.submitTask(sb1ts[k] = new ScoreBuildOneTree(this,k,nbins, nbins_cats, tree, leafs, hcs, fr2, build_tree_one_node, _improvPerVar, _model._parms._distribution, 
-              respIdx, weightIdx, predsIdx, workIdx, nidIdx));
+              respIdx, weightIdx, predsIdx, workIdx, nidIdx, binCodeIdxs, growth == null ? null : growth[k]));
     }
     // Block for all K trees to complete.
     boolean did_split=false;
@@ -507,7 +548,8 @@ public abstract class SharedTree<
       final DTree tree = ktrees[k]; // Tree for class K
       if( tree == null ) continue;
       sb1ts[k].join();
-      if( sb1ts[k]._did_split ) did_split=true;
+      // Best-first growth can split without making new leaves to build histograms for
+      if( sb1ts[k]._did_split && (growth == null || leafs[k] < tree.len()) ) did_split=true;
       if (LOG.isTraceEnabled()) {
         LOG.trace("Done with this layer for class " + k + ":\n" + new Frame(
                 new String[]{"TREE", "WORK", "NIDS"},
@@ -540,11 +582,13 @@ public abstract class SharedTree<
     final int _predsIdx;
     final int _workIdx;
     final int _nidIdx;
+    final int[] _binCodeIdxs;
+    final BestFirstGrowth _growth;    // Null for level-wise growth
 
     boolean _did_split;
 
     ScoreBuildOneTree(SharedTree st, int k, int nbins, int nbins_cats, DTree tree, int leafs[], DHistogram hcs[][][], Frame fr2, boolean build_tree_one_node, float[] improvPerVar, DistributionFamily family,
-                      int respIdx, int weightIdx, int predsIdx, int workIdx, int nidIdx) {
+                      int respIdx, int weightIdx, int predsIdx, int workIdx, int nidIdx, int[] binCodeIdxs, BestFirstGrowth growth) {
       _st   = st;
       _k    = k;
       _nbins= nbins;
@@ -561,6 +605,8 @@ public abstract class SharedTree<
       _predsIdx = predsIdx;
       _workIdx = workIdx;
       _nidIdx = nidIdx;
+      _binCodeIdxs = binCodeIdxs;
+      _growth = growth;
     }
     @Override public void compute2() {
       // Fuse 2 conceptual passes into one:
@@ -573,7 +619,7 @@ public abstract class SharedTree<
       // per column.
 //      new ScoreBuildHistogram(this,_k, _st._ncols, _nbins, _nbins_cats, _tree, _leafOffsets[_k], _hcs[_k], _family, _weightIdx, _workIdx, _nidIdx).dfork2(null,_fr2,_build_tree_one_node);
       new ScoreBuildHistogram2(this,_k, _st._ncols, _nbins, _nbins_cats, _tree, _leafOffsets[_k], _hcs[_k], _family, 
-              _respIdx, _weightIdx, _predsIdx, _workIdx, _nidIdx).dfork2(null,_fr2,_build_tree_one_node);
+              _respIdx, _weightIdx, _predsIdx, _workIdx, _nidIdx, _binCodeIdxs, _st._sparseBundles).dfork2(null,_fr2,_build_tree_one_node);
     }
     @Override public void onCompletion(CountedCompleter caller) {
       ScoreBuildHistogram sbh = (ScoreBuildHistogram) caller;
@@ -582,17 +628,21 @@ public abstract class SharedTree<
       for (int leaf = leafOffset; leaf < tmax; leaf++) { // Visit all the new splits (leaves)
         DTree.UndecidedNode udn = _tree.undecided(leaf);
         if (LOG.isTraceEnabled()) LOG.trace((_st._nclass==1?"Regression":("Class "+_st._response.domain()[_k]))+",\n  Undecided node:"+udn);
-        // Replace the Undecided with the Split decision
-        DTree.DecidedNode dn = _st.makeDecided(udn, sbh._hcs[leaf - leafOffset], udn._cs);
-        if (LOG.isTraceEnabled()) LOG.trace(dn + "\n" + dn._split);
-        if (dn._split == null) udn.doNotSplit();
-        else {
-          _did_split = true;
-          DTree.Split s = dn._split; // Accumulate squared error improvements per variable
-          float improvement = (float) (s.pre_split_se() - s.se());
-          assert (improvement >= 0);
-          AtomicUtils.FloatArray.add(_improvPerVar, s.col(), improvement);
-        }
+        DHistogram[] hs = sbh._hcs[leaf - leafOffset];
+        if (_growth != null && _growth.offer(udn, hs))
+          continue; // Best-first: the leaf stays undecided until it is one of the best to split
+        decide(udn, hs, false);
+      }
+      if (_growth != null) {
+        // Splits into leaves need no pass over the data, split the next best candidates right away then
+        List<BestFirstGrowth.Candidate> best;
+        do {
+          best = _growth.next();
+          for (BestFirstGrowth.Candidate c : best) {
+            decide(c._udn, c._hs, _growth.childrenAreLeaves(c));
+            _growth.split(c);
+          }
+        } while (!best.isEmpty() && _tree.len() == tmax);
       }
       _leafOffsets[_k] = tmax;          // Setup leafs for next tree level
       int new_leafs = _tree.len() - tmax; //new_leafs can be 0 if no actual splits were made
@@ -600,7 +650,46 @@ public abstract class SharedTree<
       for (int nl = tmax; nl < _tree.len(); nl++)
         _hcs[_k][nl - tmax] = _tree.undecided(nl)._hs;
 //      if (_did_split && new_leafs > 0) _tree._depth++;
-      if (_did_split) _tree._depth++; //
+      if (_did_split && _growth == null) _tree._depth++; //
+    }
+
+    // Replace the Undecided with the Split decision
+    private void decide(DTree.UndecidedNode udn, DHistogram[] hs, boolean leafChildren) {
+      DTree.DecidedNode dn = leafChildren ? new DTree.DecidedNode(udn, hs, udn._cs, true) : _st.makeDecided(udn, hs, udn._cs);
+      if (LOG.isTraceEnabled()) LOG.trace(dn + "\n" + dn._split);
+      if (dn._split == null) udn.doNotSplit();
+      else {
+        _did_split = true;
+        DTree.Split s = dn._split; // Accumulate squared error improvements per variable
+        float improvement = (float) (s.pre_split_se() - s.se());
+        assert (improvement >= 0);
+        AtomicUtils.FloatArray.add(_improvPerVar, s.col(), improvement);
+        if (_st.subtractHistograms())
+          markSubtractions(dn, hs);
+      }
+    }
+
+    // Histogram subtraction: only the rows of the smaller child of a split are scanned, the histograms of the
+    // larger child are computed from the histograms of the parent and of the smaller child (see DHistogram.subtract)
+    private void markSubtractions(DTree.DecidedNode dn, DHistogram[] phs) {
+      if (phs == null || dn._nids[0] < 0 || dn._nids[1] < 0) return;
+      boolean leftSmaller = dn._split.n0() <= dn._split.n1();
+      DTree.UndecidedNode small = _tree.undecided(dn._nids[leftSmaller ? 0 : 1]);
+      DTree.UndecidedNode large = _tree.undecided(dn._nids[leftSmaller ? 1 : 0]);
+      if (small._hs == null || large._hs == null) return;
+      for (int c = 0; c < phs.length; c++) {
+        if (!scores(small, c) || !scores(large, c)) continue;
+        DHistogram h = large._hs[c];
+        if (DHistogram.canSubtract(phs[c], small._hs[c], h)) {
+          h._bySubtraction = true;
+          h._parentHisto = phs[c];
+          h._siblingNid = small._nid;
+        }
+      }
+    }
+
+    private static boolean scores(DTree.UndecidedNode udn, int col) {
+      return udn._scoreCols == null || ArrayUtils.find(udn._scoreCols, col) >= 0;
     }
   }
 
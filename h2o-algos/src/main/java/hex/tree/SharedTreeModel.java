@@ -87,6 +87,11 @@ public abstract class SharedTreeModel<
     public double _col_sample_rate_change_per_level = 1.0f; //relative change of the column sampling rate for every level
     public double _col_sample_rate_per_tree = 1.0f; //fraction of columns to sample for each tree
 
+    // Internal switches (not exposed in the REST API), the defaults can be changed by system properties
+    public boolean _prebin = H2O.getSysBoolProperty("tree.prebin", false); // Quantize the predictors into bin codes once per model for histogram type QuantilesGlobal, see BinCodes
+    public boolean _histogram_subtraction = true; // Compute the histograms of the larger child of a split from its parent and sibling, only with _prebin
+    public boolean _bundle_sparse = H2O.getSysBoolProperty("tree.bundle_sparse", false); // Histogram the sparse predictors from their non-zero values only, see ScoreBuildHistogram2.sparseBundles
+
     /** Fields which can NOT be modified if checkpoint is specified.
      * FIXME: should be defined in Schema API annotation
      */
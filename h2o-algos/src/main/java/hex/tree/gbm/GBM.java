@@ -183,6 +183,19 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
       error("_max_abs_leafnode_pred", "max_abs_leafnode_pred must be larger than 0.");
     if (_parms._pred_noise_bandwidth < 0)
       error("_pred_noise_bandwidth", "pred_noise_bandwidth must be >= 0.");
+    if (_parms._goss_top_rate != 0 || _parms._goss_other_rate != 0) {
+      if (!(0 < _parms._goss_top_rate && _parms._goss_top_rate < 1))
+        error("_goss_top_rate", "goss_top_rate must be between 0 and 1.");
+      if (!(0 < _parms._goss_other_rate && _parms._goss_top_rate + _parms._goss_other_rate <= 1))
+        error("_goss_other_rate", "goss_other_rate must be positive and goss_top_rate + goss_other_rate must not exceed 1.");
+      if (_parms._sample_rate < 1 || _parms._sample_rate_per_class != null)
+        error("_sample_rate", "Row sampling cannot be combined with gradient-based one-side sampling (goss_top_rate).");
+      if (_parms._distribution == DistributionFamily.laplace || _parms._distribution == DistributionFamily.quantile
+              || _parms._distribution == DistributionFamily.huber)
+        error("_goss_top_rate", "Gradient-based one-side sampling is not supported for " + _parms._distribution + " distribution.");
+    }
+    if (_parms._max_leaves < 0 || _parms._max_leaves == 1)
+      error("_max_leaves", "max_leaves must be 0 (level-wise trees) or at least 2.");
 
     if ((_train != null) && (_parms._monotone_constraints != null)) {
       TreeUtils.checkMonotoneConstraints(this, _train, _parms._monotone_constraints);
@@ -564,7 +577,15 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
       }
 
       // Sample - mark the lines by putting 'OUT_OF_BAG' into nid(<klass>) vector
-      if (_parms._sample_rate < 1 || _parms._sample_rate_per_class != null) {
+      if (_parms._goss_top_rate > 0) {
+        // Gradient-based one-side sampling - keep the rows with large residuals, sample the rest
+        for (int k = 0; k < _nclass; k++) {
+          if (ktrees[k] == null) continue;
+          Frame fr = new Frame(vec_nids(_train, k), vec_work(_train, k), _response);
+          if (hasWeightCol()) fr.add(_parms._weights_column, vec_weight(_train));
+          new GossSample(ktrees[k], _parms._goss_top_rate, _parms._goss_other_rate).doAll(fr, _parms._build_tree_one_node);
+        }
+      } else if (_parms._sample_rate < 1 || _parms._sample_rate_per_class != null) {
         Sample ss[] = new Sample[_nclass];
         for (int k = 0; k < _nclass; k++)
           if (ktrees[k] != null)
@@ -583,11 +604,23 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
       // ESL2, page 387.  Step 2b ii.
       // One Big Loop till the ktrees are of proper depth.
       // Adds a layer to the trees each pass.
-      int depth = 0;
-      for (; depth < _parms._max_depth; depth++) {
-        hcs = buildLayer(_train, _parms._nbins, _parms._nbins_cats, ktrees, leaves, hcs, _parms._build_tree_one_node);
-        // If we did not make any new splits, then the tree is split-to-death
-        if (hcs == null) break;
+      if (_parms._max_leaves > 0) {
+        // Best-first: the depth of the leaves is limited by the growth itself, grow till the leaves run out
+        BestFirstGrowth[] growth = new BestFirstGrowth[_nclass];
+        for (int k = 0; k < _nclass; k++)
+          if (ktrees[k] != null)
+            growth[k] = new BestFirstGrowth(ktrees[k], _parms._max_leaves, _parms._max_depth);
+        while (hcs != null)
+          hcs = buildLayer(_train, _parms._nbins, _parms._nbins_cats, ktrees, leaves, hcs, _parms._build_tree_one_node, growth);
+        for (BestFirstGrowth g : growth)
+          if (g != null) g.finish();
+      } else {
+        int depth = 0;
+        for (; depth < _parms._max_depth; depth++) {
+          hcs = buildLayer(_train, _parms._nbins, _parms._nbins_cats, ktrees, leaves, hcs, _parms._build_tree_one_node);
+          // If we did not make any new splits, then the tree is split-to-death
+          if (hcs == null) break;
+        }
       }
 
       // Each tree bottomed-out in a DecidedNode; go 1 more level and insert
@@ -1317,6 +1350,7 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
 
           double z = ress.atd(row);  // residual
           double f = preds.atd(row) + offset.atd(row);
+          w = tree.gossWeight(w, z);
           int idx = leafnid - leaf;
           num[idx] += _dist.gammaNum(w, y, z, f);
           denom[idx] += _dist.gammaDenom(w, y, z, f);
@@ -27,6 +27,9 @@ public class GBMModel extends SharedTreeModelWithContributions<GBMModel, GBMMode
     public double _col_sample_rate;
     public double _max_abs_leafnode_pred;
     public double _pred_noise_bandwidth;
+    public int _max_leaves; // Maximum number of leaves of a tree grown best-first, 0 to grow the trees level by level
+    public double _goss_top_rate;   // Gradient-based one-side sampling: fraction of rows with the largest gradients kept, 0 to disable
+    public double _goss_other_rate; // Gradient-based one-side sampling: fraction of rows sampled from the rest
     public KeyValue[] _monotone_constraints;
 
     public GBMParameters() {
@@ -6,6 +6,9 @@ import water.DKV;
 import water.Key;
 import water.Scope;
 import water.TestUtil;
+import water.fvec.Frame;
+import water.fvec.TestFrameBuilder;
+import water.fvec.Vec;
 
 import java.util.Arrays;
 
@@ -115,4 +118,174 @@ public class DHistogramTest extends TestUtil {
     }
   }
 
+  // Column of the bin code tests: the values, NAs and -0.0 included, and their global split points
+  private static final double[] SPLIT_PTS = new double[]{-1.0d, -0.3, -0.0d, 1.0, 1.2, 1.8};
+  private static final double[] VALUES = new double[]{-1.0, -0.5, -0.3, -0.0d, 0.0, 0.5, 1.0, 1.1, 1.5, 1.8, 1.9, Double.NaN, 0.9, 1.2};
+
+  private static BinCodes encodeValues() {
+    Frame fr = Scope.track(new TestFrameBuilder()
+            .withColNames("x")
+            .withVecTypes(Vec.T_NUM)
+            .withDataForCol(0, VALUES)
+            .build());
+    BinCodes bc = BinCodes.encode(fr, new double[][]{SPLIT_PTS}, 1);
+    assertNotNull(bc);
+    Scope.track(bc._codes[0]);
+    return bc;
+  }
+
+  private static int[] codes(BinCodes bc) {
+    int[] codes = new int[VALUES.length];
+    for (int i = 0; i < VALUES.length; i++) {
+      codes[i] = bc._codes[0].isNA(i) ? -1 : (int) bc._codes[0].at8(i);
+    }
+    return codes;
+  }
+
+  private static double[] unitWeights() {
+    double[] ws = new double[VALUES.length];
+    Arrays.fill(ws, 1);
+    return ws;
+  }
+
+  private static double[] responses() {
+    double[] ys = new double[VALUES.length];
+    for (int i = 0; i < VALUES.length; i++) {
+      ys[i] = i * 0.25;
+    }
+    return ys;
+  }
+
+  @Test
+  public void binCodesIndexTheSameBinsAsTheValues() {
+    Scope.enter();
+    try {
+      BinCodes bc = encodeValues();
+      int[] codes = codes(bc);
+      assertArrayEquals(new int[]{0, 0, 1, 2, 2, 2, 3, 3, 4, 5, 5, -1, 2, 4}, codes);
+      assertEquals(1.5, bc._binMax[0][4], 0);
+      assertEquals(-1.0, bc._binMin[0][0], 0);
+
+      DHistogram.HistoQuantiles hq = new DHistogram.HistoQuantiles(Key.make(), SPLIT_PTS);
+      DKV.put(hq);
+      Scope.track_generic(hq);
+      DHistogram.HistoQuantiles hqBinned = new DHistogram.HistoQuantiles(Key.make(), SPLIT_PTS, bc._binMin[0], bc._binMax[0]);
+      DKV.put(hqBinned);
+      Scope.track_generic(hqBinned);
+
+      // histograms of a node with range [-0.3, 1.5) - 4 global bins, no padding
+      DHistogram histo = new DHistogram("test", 4, 1024, (byte) 0, -0.3, 1.5, true, -0.001,
+              SharedTreeModel.SharedTreeParameters.HistogramType.QuantilesGlobal, 42L, hq._key, null);
+      histo.init();
+      DHistogram histoBinned = new DHistogram("test", 4, 1024, (byte) 0, -0.3, 1.5, true, -0.001,
+              SharedTreeModel.SharedTreeParameters.HistogramType.QuantilesGlobal, 42L, hqBinned._key, null);
+      histoBinned.init();
+      assertFalse(histo.hasBinCodes());
+      assertTrue(histoBinned.hasBinCodes());
+      assertEquals(histo.nbins(), histoBinned.nbins());
+
+      int[] rows = new int[]{2, 3, 4, 5, 6, 7, 11, 12, 13};
+      double[] ws = unitWeights();
+      double[] ys = responses();
+      histo.updateHisto(ws, null, VALUES, ys, null, rows, rows.length, 0);
+      histoBinned.updateHistoCodes(ws, null, codes, ys, null, rows, rows.length, 0);
+      assertArrayEquals(histo._vals, histoBinned._vals, 0);
+      // observed range at the resolution of the global bins
+      assertEquals(-0.3, histo.find_min(), 0);
+      assertEquals(1.2, histo.find_maxIn(), 0);
+      assertEquals(-0.3, histoBinned.find_min(), 0);
+      assertEquals(1.5, histoBinned.find_maxIn(), 0);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void histogramBySubtractionEqualsHistogramOfRows() {
+    Scope.enter();
+    try {
+      BinCodes bc = encodeValues();
+      int[] codes = codes(bc);
+      DHistogram.HistoQuantiles hq = new DHistogram.HistoQuantiles(Key.make(), SPLIT_PTS, bc._binMin[0], bc._binMax[0]);
+      DKV.put(hq);
+      Scope.track_generic(hq);
+      double[] ws = unitWeights();
+      double[] ys = responses();
+
+      // parent [-0.3, 1.5) split at 1.0, NAs go left
+      DHistogram parent = new DHistogram("test", 4, 1024, (byte) 0, -0.3, 1.5, true, -0.001,
+              SharedTreeModel.SharedTreeParameters.HistogramType.QuantilesGlobal, 42L, hq._key, null);
+      parent.init();
+      int[] rows = new int[]{2, 3, 4, 5, 6, 7, 11, 12, 13};
+      parent.updateHistoCodes(ws, null, codes, ys, null, rows, rows.length, 0);
+      DHistogram left = new DHistogram("test", 4, 1024, (byte) 0, -0.3, 1.0, true, -0.001,
+              SharedTreeModel.SharedTreeParameters.HistogramType.QuantilesGlobal, 42L, hq._key, null);
+      left.init();
+      int[] leftRows = new int[]{2, 3, 4, 5, 11, 12};
+      left.updateHistoCodes(ws, null, codes, ys, null, leftRows, leftRows.length, 0);
+
+      DHistogram right = new DHistogram("test", 4, 1024, (byte) 0, 1.0, 1.5, false, -0.001,
+              SharedTreeModel.SharedTreeParameters.HistogramType.QuantilesGlobal, 42L, hq._key, null);
+      assertTrue(DHistogram.canSubtract(parent, left, right));
+      right.subtract(parent, left);
+
+      DHistogram expected = new DHistogram("test", 4, 1024, (byte) 0, 1.0, 1.5, false, -0.001,
+              SharedTreeModel.SharedTreeParameters.HistogramType.QuantilesGlobal, 42L, hq._key, null);
+      expected.init();
+      int[] rightRows = new int[]{6, 7, 13};
+      expected.updateHistoCodes(ws, null, codes, ys, null, rightRows, rightRows.length, 0);
+      assertEquals(expected.nbins(), right.nbins());
+      assertArrayEquals(expected._vals, right._vals, 1e-12);
+      assertEquals(0, right.wNA(), 0);
+      assertEquals(expected.find_min(), right.find_min(), 0);
+      assertEquals(expected.find_maxIn(), right.find_maxIn(), 0);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void histogramOfNonZerosAndTotalsEqualsHistogramOfRows() {
+    Scope.enter();
+    try {
+      final double[] values = new double[]{0, 0, 1.5, 0, 0, -2, 0, 0, 0, 2.5, 0, 0, 0.5, 0};
+      Frame fr = Scope.track(new TestFrameBuilder()
+              .withColNames("x")
+              .withVecTypes(Vec.T_NUM)
+              .withDataForCol(0, values)
+              .build());
+      double[] ws = new double[values.length];
+      double[] ys = new double[values.length];
+      for (int i = 0; i < values.length; i++) {
+        ws[i] = i == 7 ? 0 : 1 + i % 3;
+        ys[i] = i * 0.25 - 1;
+      }
+      // rows 0-9 are in leaf 0, rows 10-13 in leaf 1
+      int[] leafs = new int[values.length];
+      for (int i = 10; i < values.length; i++) leafs[i] = 1;
+      int[][] rows = new int[][]{{0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, {10, 11, 12, 13}};
+
+      DHistogram[] sparse = new DHistogram[2];
+      for (int n = 0; n < 2; n++)
+        sparse[n] = new DHistogram("test", 10, 1024, (byte) 0, -2, 3, false, -0.001,
+                SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, 42L, null, null);
+      DHistogram.updateHistosNonZeros(sparse, ws, null, fr.vec(0).chunkForChunkIdx(0), leafs, ys, null);
+      for (int n = 0; n < 2; n++) {
+        double[] totals = new double[3];
+        sparse[n].updateTotals(totals, ws, null, ys, null, rows[n], rows[n].length, 0);
+        sparse[n].addZeros(totals);
+
+        DHistogram expected = new DHistogram("test", 10, 1024, (byte) 0, -2, 3, false, -0.001,
+                SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, 42L, null, null);
+        expected.init();
+        expected.updateHisto(ws, null, values, ys, null, rows[n], rows[n].length, 0);
+        assertArrayEquals(expected._vals, sparse[n]._vals, 1e-12);
+        assertEquals(expected.find_min(), sparse[n].find_min(), 0);
+        assertEquals(expected.find_maxIn(), sparse[n].find_maxIn(), 0);
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
 }
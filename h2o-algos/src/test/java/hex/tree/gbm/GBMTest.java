@@ -3081,6 +3081,88 @@ public class GBMTest extends TestUtil {
     }
   }
 
+  @Test
+  public void testMaxLeaves() {
+    Scope.enter();
+    try {
+      Frame tfr = Scope.track(parse_test_file("./smalldata/gbm_test/BostonHousing.csv"));
+      GBMModel.GBMParameters parms = makeGBMParameters();
+      parms._train = tfr._key;
+      parms._response_column = tfr.lastVecName();
+      parms._seed = 0xdecaf;
+      parms._ntrees = 10;
+      parms._max_depth = 0;
+      parms._max_leaves = 12;
+
+      GBMModel gbm = new GBM(parms).trainModel().get();
+      Scope.track_generic(gbm);
+      assertEquals(12, gbm._output._treeStats._max_leaves);
+      assertTrue(gbm._output._treeStats._max_depth > 3); // 12 leaves do not fit in 3 levels
+
+      parms._max_depth = 3;
+      GBMModel limited = new GBM(parms).trainModel().get();
+      Scope.track_generic(limited);
+      assertTrue(limited._output._treeStats._max_leaves <= 8);
+      assertTrue(limited._output._treeStats._max_depth <= 3);
+
+      // Two leaves give the same stumps as level-wise trees of depth one
+      parms._max_depth = 5;
+      parms._max_leaves = 2;
+      GBMModel stumps = new GBM(parms).trainModel().get();
+      Scope.track_generic(stumps);
+      parms._max_depth = 1;
+      parms._max_leaves = 0;
+      GBMModel levelWise = new GBM(parms).trainModel().get();
+      Scope.track_generic(levelWise);
+      assertEquals(((ModelMetricsRegression) levelWise._output._training_metrics)._MSE,
+              ((ModelMetricsRegression) stumps._output._training_metrics)._MSE, 1e-10);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testGoss() {
+    Scope.enter();
+    try {
+      Frame tfr = Scope.track(parse_test_file("./smalldata/gbm_test/BostonHousing.csv"));
+      GBMModel.GBMParameters parms = makeGBMParameters();
+      parms._train = tfr._key;
+      parms._response_column = tfr.lastVecName();
+      parms._seed = 0xdecaf;
+      parms._ntrees = 20;
+
+      GBMModel full = new GBM(parms).trainModel().get();
+      Scope.track_generic(full);
+      double fullMSE = ((ModelMetricsRegression) full._output._training_metrics)._MSE;
+
+      parms._goss_top_rate = 0.2;
+      parms._goss_other_rate = 0.1;
+      GBMModel goss = new GBM(parms).trainModel().get();
+      Scope.track_generic(goss);
+      double gossMSE = ((ModelMetricsRegression) goss._output._training_metrics)._MSE;
+      assertTrue(Math.abs(fullMSE - gossMSE) > 1e-10);
+      assertTrue(gossMSE < 1.5 * fullMSE);
+
+      // Nothing is left out when the rates add up to one
+      parms._goss_other_rate = 0.8;
+      GBMModel all = new GBM(parms).trainModel().get();
+      Scope.track_generic(all);
+      assertEquals(fullMSE, ((ModelMetricsRegression) all._output._training_metrics)._MSE, 1e-10);
+
+      // The leaf values of these distributions are not fitted on the sampled weights
+      for (DistributionFamily dist : new DistributionFamily[]{laplace, quantile, huber}) {
+        parms._distribution = dist;
+        try {
+          new GBM(parms).trainModel().get();
+          Assert.fail("Should toss H2OModelBuilderIllegalArgumentException instead of reaching here");
+        } catch(H2OModelBuilderIllegalArgumentException e) {}
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
   @Test
   public void testDeviances() {
     for (DistributionFamily dist : DistributionFamily.values()) {
@@ -4351,4 +4433,105 @@ public class GBMTest extends TestUtil {
     }
   }
 
+  private static Frame makeHistogramTestFrame(double missingFraction, int factors, long seed) {
+    CreateFrame cf = new CreateFrame();
+    cf.rows = 5000;
+    cf.cols = 10;
+    cf.categorical_fraction = 0.2;
+    cf.factors = factors;
+    cf.integer_fraction = 0.3;
+    cf.integer_range = 50;
+    cf.binary_fraction = 0.1;
+    cf.missing_fraction = missingFraction;
+    cf.response_factors = 1; // regression
+    cf.has_response = true;
+    cf.seed = seed;
+    cf.seed_for_column_types = seed;
+    return cf.execImpl().get();
+  }
+
+  private GBMModel.GBMParameters makeHistogramTestParameters(Frame fr, DistributionFamily distribution, boolean prebin, boolean subtraction) {
+    GBMModel.GBMParameters parms = makeGBMParameters();
+    parms._train = fr._key;
+    parms._response_column = "response";
+    parms._distribution = distribution;
+    parms._histogram_type = SharedTreeModel.SharedTreeParameters.HistogramType.QuantilesGlobal;
+    parms._ntrees = 10;
+    parms._max_depth = 6;
+    parms._seed = 42;
+    parms._prebin = prebin;
+    parms._histogram_subtraction = subtraction;
+    return parms;
+  }
+
+  private static GBMModel trainHistogramTestModel(GBMModel.GBMParameters parms) {
+    GBMModel gbm = new GBM(parms).trainModel().get();
+    Scope.track_generic(gbm);
+    assertEquals(parms._ntrees, gbm._output._ntrees);
+    return gbm;
+  }
+
+  @Test
+  public void testPrebinnedQuantilesGlobal() {
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(makeHistogramTestFrame(0.05, 5, 1234));
+      GBMModel reference = trainHistogramTestModel(makeHistogramTestParameters(fr, gaussian, false, false));
+      GBMModel prebinned = trainHistogramTestModel(makeHistogramTestParameters(fr, gaussian, true, false));
+      // splits below the root are limited to the global bin boundaries, the models are close but not the same
+      double refMSE = reference._output._training_metrics.mse();
+      assertEquals(refMSE, prebinned._output._training_metrics.mse(), 0.01 * refMSE);
+      // the training metrics of the pre-binned model are the metrics of scoring the raw values
+      Frame preds = Scope.track(prebinned.score(fr));
+      assertEquals(prebinned._output._training_metrics.mse(), ModelMetricsRegression.make(preds.vec(0), fr.vec("response"), gaussian).mse(), 1e-6);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testHistogramSubtraction() {
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(makeHistogramTestFrame(0.05, 5, 1234));
+      Frame frNAs = Scope.track(makeHistogramTestFrame(0.4, 5, 4321));
+      for (Frame f : new Frame[]{fr, frNAs}) {
+        for (DistributionFamily distribution : new DistributionFamily[]{gaussian, huber, quantile}) {
+          GBMModel scanned = trainHistogramTestModel(makeHistogramTestParameters(f, distribution, true, false));
+          GBMModel subtracted = trainHistogramTestModel(makeHistogramTestParameters(f, distribution, true, true));
+          // the histograms of the larger children are subtracted from their parents (rounded to floats) and siblings
+          // instead of scanned, they only differ by rounding
+          double mse = scanned._output._training_metrics.mse();
+          assertEquals(distribution.name(), mse, subtracted._output._training_metrics.mse(), 1e-6 * mse);
+        }
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testSparseBundles() {
+    Scope.enter();
+    try {
+      // the one-hot encoded categoricals are sparse predictors without NAs
+      Frame fr = Scope.track(makeHistogramTestFrame(0.05, 30, 1234));
+      for (boolean prebin : new boolean[]{false, true}) {
+        GBMModel[] models = new GBMModel[2];
+        for (int i = 0; i < models.length; i++) {
+          GBMModel.GBMParameters parms = makeHistogramTestParameters(fr, gaussian, prebin, true);
+          parms._categorical_encoding = Model.Parameters.CategoricalEncodingScheme.OneHotExplicit;
+          parms._col_sample_rate = 0.7; // only some of the bundled predictors are scored in a leaf
+          parms._bundle_sparse = i == 1;
+          models[i] = trainHistogramTestModel(parms);
+        }
+        // the zero bins of the bundled predictors are the totals of their leafs less the other bins
+        double mse = models[0]._output._training_metrics.mse();
+        assertEquals("prebin=" + prebin, mse, models[1]._output._training_metrics.mse(), 1e-6 * mse);
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
 }
@@ -94,6 +94,18 @@ public class ChunkBench {
     return sum;
   }
 
+  @Benchmark
+  public double colsRowsWithMaskedBulkRead() {
+    double sum = 0;
+    // Preallocate arrays for storing unpacked chunk data and the missing-value mask
+    double [] vals = new double[chunks[0]._len];
+    long [] naMask = Chunk.naMask(chunks[0]._len);
+    for (int col = 0; col < cols; ++col) {
+      sum += walkChunkMaskedBulk(rows, chunks[col], vals, naMask);
+    }
+    return sum;
+  }
+
   @Benchmark
   public double colsRowsReadWithFinalChunk() {
     double sum = 0;
@@ -122,6 +134,19 @@ public class ChunkBench {
     return sum;
   }
 
+  private static double walkChunkMaskedBulk(int rows, final Chunk c, double [] vals, long [] naMask) {
+    double sum = 0;
+    if (c.getDoubles(vals, naMask, 0, c._len) == 0) {
+      for (int i = 0; i < rows; ++i)
+        sum += vals[i];
+    } else {
+      for (int i = 0; i < rows; ++i)
+        if (!Chunk.isNA(naMask, i))
+          sum += vals[i];
+    }
+    return sum;
+  }
+
   @Setup
   public void setup() {
     raw = new double[cols][rows];
@@ -137,7 +162,7 @@ public class ChunkBench {
   }
 
   private static double get(int j, int i) {
-    switch (j % 4) { // do 4 chunk types
+    switch (j % 8) { // do 8 chunk types
       case 0:
         return i % 200; //C1NChunk - 1 byte integer
       case 1:
@@ -146,6 +171,14 @@ public class ChunkBench {
         return  i*Integer.MAX_VALUE;
       case 3:
         return i == 17 ? 1 : 0; //CX0Chunk - sparse
+      case 4:
+        return i & 1; //CBSChunk - bits
+      case 5:
+        return 7; //C0LChunk - constant
+      case 6:
+        return (i % 100) / 10.0; //C1SChunk - scaled decimal
+      case 7:
+        return i % 3 == 0 ? Double.NaN : i % 200; //C1Chunk - 1 byte integer with NAs
       default:
         throw H2O.unimpl();
     }
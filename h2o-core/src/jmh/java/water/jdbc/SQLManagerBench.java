@@ -10,6 +10,7 @@ import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.profile.StackProfiler;
 import org.openjdk.jmh.runner.Runner;
@@ -18,7 +19,14 @@ import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
 import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.concurrent.TimeUnit;
@@ -27,7 +35,8 @@ import water.fvec.NewChunk;
 import water.parser.BufferedString;
 
 /**
- * Chunk access patterns benchmark
+ * Benchmark of writing JDBC values to NewChunks: boxed values (writeItem_*) and whole result sets of an
+ * embedded Derby table (readResultSet), either with getObject (useRef) or with the typed getters of writeRow.
  */
 @State(Scope.Thread)
 //@Fork(value = 1, jvmArgsAppend = "-XX:+PrintCompilation")
@@ -47,14 +56,28 @@ public class SQLManagerBench {
   private Double[] doubles;
   private String[] strings;
 
+  private Connection conn;
+  private int[] columnSqlTypes;
+  private NewChunk[] ncs;
+
   @Setup
-  public void setup() {
+  public void setup() throws Exception {
     nc = new NewChunk(new double[0]) {
       @Override
       public void addNum(double d) {
         // do nothing
       }
 
+      @Override
+      public void addNum(long val, int exp) {
+        // do nothing
+      }
+
+      @Override
+      public void addNA() {
+        // do nothing
+      }
+
       @Override
       public void addStr(Object str) {
         // do nothing
@@ -66,6 +89,39 @@ public class SQLManagerBench {
       doubles[i] = i / (double) rows;
       strings[i] = doubles[i].toString();
     }
+
+    Class.forName("org.apache.derby.jdbc.EmbeddedDriver");
+    conn = DriverManager.getConnection("jdbc:derby:memory:SQLManagerBench_" + rows + "_" + useRef + ";create=true");
+    try (Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("CREATE TABLE BenchData (ID BIGINT, VAL DOUBLE, NAME VARCHAR(32), TS TIMESTAMP)");
+    }
+    try (PreparedStatement insert = conn.prepareStatement("INSERT INTO BenchData VALUES (?, ?, ?, ?)")) {
+      for (int i = 0; i < rows; i++) {
+        insert.setLong(1, i);
+        insert.setDouble(2, doubles[i]);
+        insert.setString(3, strings[i]);
+        insert.setTimestamp(4, new Timestamp(1500000000000L + i));
+        insert.addBatch();
+      }
+      insert.executeBatch();
+    }
+    try (Statement stmt = conn.createStatement();
+         ResultSet rs = stmt.executeQuery("SELECT * FROM BenchData")) {
+      ResultSetMetaData rsmd = rs.getMetaData();
+      columnSqlTypes = new int[rsmd.getColumnCount()];
+      for (int i = 0; i < columnSqlTypes.length; i++) {
+        columnSqlTypes[i] = rsmd.getColumnType(i + 1);
+      }
+    }
+    ncs = new NewChunk[columnSqlTypes.length];
+    for (int i = 0; i < ncs.length; i++) {
+      ncs[i] = nc;
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    conn.close();
   }
 
   @Benchmark
@@ -99,6 +155,27 @@ public class SQLManagerBench {
     return sum;
   }
 
+  @Benchmark
+  public int readResultSet() throws SQLException {
+    int n = 0;
+    try (Statement stmt = conn.createStatement()) {
+      stmt.setFetchSize(rows);
+      try (ResultSet rs = stmt.executeQuery("SELECT * FROM BenchData")) {
+        while (rs.next()) {
+          if (useRef) {
+            for (int i = 0; i < ncs.length; i++) {
+              SQLManager.SqlTableToH2OFrame.writeItem(rs.getObject(i + 1), ncs[i]);
+            }
+          } else {
+            SQLManager.SqlTableToH2OFrame.writeRow(rs, columnSqlTypes, ncs);
+          }
+          n++;
+        }
+      }
+    }
+    return n;
+  }
+
   private void writeItem(Object res, NewChunk nc) {
     if (useRef) {
       writeItem_ref(res, nc);
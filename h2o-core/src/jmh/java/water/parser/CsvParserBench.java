@@ -0,0 +1,101 @@
+package water.parser;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import water.Iced;
+import water.fvec.NewChunk;
+import water.util.StringUtils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV chunk parse benchmark - the state machine vs. the SWAR fast path, parsing
+ * numeric data into NewChunks.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CsvParserBench {
+
+  private static final int NCOLS = 10;
+
+  @Param({"ints", "doubles", "mixed"})
+  private String data;
+  @Param({"false", "true"})
+  private boolean fastPath;
+
+  private CsvParser parser;
+  private byte[] bits;
+
+  // Minimal writer appending straight into NewChunks, like FVecParseWriter
+  private static class NewChunkWriter extends Iced implements ParseWriter {
+    final NewChunk[] _nvs = new NewChunk[NCOLS];
+    long _nlines;
+    NewChunkWriter() { for (int i = 0; i < NCOLS; i++) _nvs[i] = new NewChunk(null, 0); }
+    @Override public void setColumnNames(String[] names) {}
+    @Override public void newLine() { _nlines++; }
+    @Override public boolean isString(int colIdx) { return false; }
+    @Override public void addNumCol(int colIdx, long number, int exp) { _nvs[colIdx].addNum(number, exp); }
+    @Override public void addNumCol(int colIdx, double d) { _nvs[colIdx].addNum(d); }
+    @Override public void addInvalidCol(int colIdx) { _nvs[colIdx].addNA(); }
+    @Override public void addNAs(int colIdx, int nrow) { _nvs[colIdx].addNAs(nrow); }
+    @Override public void addStrCol(int colIdx, BufferedString str) { _nvs[colIdx].addNA(); }
+    @Override public void rollbackLine() {}
+    @Override public void invalidLine(ParseErr err) {}
+    @Override public void addError(ParseErr err) {}
+    @Override public void setIsAllASCII(int colIdx, boolean b) {}
+    @Override public boolean hasErrors() { return false; }
+    @Override public ParseErr[] removeErrors() { return new ParseErr[0]; }
+    @Override public long lineNum() { return _nlines; }
+  }
+
+  @Setup
+  public void setup() {
+    Random r = new Random(42);
+    StringBuilder sb = new StringBuilder();
+    while (sb.length() < 4 << 20) { // About one default sized chunk
+      for (int col = 0; col < NCOLS; col++) {
+        if (col > 0) sb.append(',');
+        switch (data) {
+          case "ints": sb.append(r.nextInt(100000)); break;
+          case "doubles": sb.append(r.nextDouble() * 1000); break;
+          default:
+            if (r.nextInt(10) == 0) sb.append('"').append(r.nextInt(100)).append('"');
+            else if (r.nextInt(10) == 0) sb.append("NA");
+            else sb.append(r.nextFloat());
+        }
+      }
+      sb.append('\n');
+    }
+    bits = StringUtils.bytesOf(sb);
+    ParseSetup setup = new ParseSetup();
+    setup._parse_type = DefaultParserProviders.CSV_INFO;
+    setup._check_header = ParseSetup.NO_HEADER;
+    setup._separator = ',';
+    setup._number_columns = NCOLS;
+    parser = new CsvParser(setup, null);
+    parser._fastPath = fastPath;
+  }
+
+  @Benchmark
+  public long parseChunk() {
+    NewChunkWriter writer = new NewChunkWriter();
+    parser.parseChunk(0, new Parser.ByteAryData(bits, 0), writer);
+    return writer.lineNum();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(CsvParserBench.class.getSimpleName())
+            .build();
+
+    new Runner(opt).run();
+  }
+}
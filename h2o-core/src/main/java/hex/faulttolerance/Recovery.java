@@ -214,7 +214,8 @@ public class Recovery<T extends Keyed> {
         referencesMap.forEach((key, type) -> {
             switch (ReferenceType.valueOf(type)) {
                 case FRAME: 
-                    FramePersist.loadFrom(Key.make(key), storagePath).get();
+                    // eager load, the recovery files get deleted once the job is done
+                    FramePersist.loadFrom(Key.make(key), storagePath, false).get();
                     break;
                 case KEYED:
                     PersistUtils.read(URI.create(storagePath + "/" + key), ab -> ab.getKey(Key.make(key), fs));
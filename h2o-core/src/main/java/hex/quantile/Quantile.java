@@ -163,11 +163,11 @@ public class Quantile extends ModelBuilder<QuantileModel,QuantileModel.QuantileP
           h.doAll(_response, newWeights);
           while (Double.isNaN(_quantiles[i] = h.findQuantile(_prob, _combine_method)))
             h = h.refinePass(_prob).doAll(_response, newWeights);
-          newWeights.remove();
           //sanity check quantiles
           assert (_quantiles[i] <= _response.max() + 1e-6);
           assert (_quantiles[i] >= _response.min() - 1e-6);
         }
+        newWeights.remove(); // also of the empty strata
       }
       if (_weights != weights) weights.remove();
       tryComplete();
@@ -7,6 +7,7 @@ import java.nio.*;
 import java.nio.channels.*;
 import java.util.ArrayList;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 import water.network.SocketChannelUtils;
 import water.util.Log;
@@ -665,9 +666,13 @@ public final class AutoBuffer implements AutoCloseable {
 
   // Do something with partial results, because the ByteBuffer is full.
   // If we are doing I/O, ship the bytes we have now and flip the ByteBuffer.
-  private ByteBuffer sendPartial() {
+  private ByteBuffer sendPartial() { return sendPartial(null); }
+
+  // Same, followed by the remaining bytes of an extra buffer.  On a gathering
+  // channel both go out in one write, the extra bytes are never copied.
+  private ByteBuffer sendPartial( ByteBuffer extra ) {
     // Doing I/O with the full ByteBuffer - ship partial results
-    _size += _bb.position();
+    _size += _bb.position() + (extra == null ? 0 : extra.remaining());
     if( _chan == null )
       TimeLine.record_send(this, true);
 
@@ -677,10 +682,21 @@ public final class AutoBuffer implements AutoCloseable {
         tcpOpen(); // This is a big operation.  Open a TCP socket as-needed.
       //for( int i=0; i < _bb.limit(); i++ ) if( _bb.get(i)==0 ) _zeros++;
       long ns = System.nanoTime();
-      while( _bb.hasRemaining() ) {
-        ((WritableByteChannel) _chan).write(_bb);
-        if( RANDOM_TCP_DROP != null && SocketChannelUtils.isSocketChannel(_chan) && RANDOM_TCP_DROP.nextInt(100) == 0 )
-          throw new IOException("Random TCP Write Fail");
+      if( extra != null && _chan instanceof GatheringByteChannel ) {
+        ByteBuffer[] bbs = new ByteBuffer[]{_bb, extra};
+        while( extra.hasRemaining() ) {
+          ((GatheringByteChannel) _chan).write(bbs);
+          if( RANDOM_TCP_DROP != null && SocketChannelUtils.isSocketChannel(_chan) && RANDOM_TCP_DROP.nextInt(100) == 0 )
+            throw new IOException("Random TCP Write Fail");
+        }
+      } else {
+        while( _bb.hasRemaining() ) {
+          ((WritableByteChannel) _chan).write(_bb);
+          if( RANDOM_TCP_DROP != null && SocketChannelUtils.isSocketChannel(_chan) && RANDOM_TCP_DROP.nextInt(100) == 0 )
+            throw new IOException("Random TCP Write Fail");
+        }
+        while( extra != null && extra.hasRemaining() )
+          ((WritableByteChannel) _chan).write(extra);
       }
       _time_io_ns += (System.nanoTime()-ns);
     } catch( IOException e ) {  // Some kind of TCP fail?
@@ -1301,6 +1317,36 @@ public final class AutoBuffer implements AutoCloseable {
     }
     return this;
   }
+
+  /** Raw bytes, no length prefix, from the remaining part of the given
+   *  buffer; the buffer's position is advanced.  Large direct buffers (e.g.
+   *  off-heap chunk payloads) bound for a TCP or file channel are not copied
+   *  into this AutoBuffer, but written straight to the channel by one
+   *  gathering write together with the bytes pending before them. */
+  public AutoBuffer putDirect( ByteBuffer src ) {
+    assert !_read;
+    if( src.isDirect() && src.remaining() >= ZERO_COPY_MIN && (_h2o != null || _chan != null) ) {
+      _zeroCopyBytes.addAndGet(src.remaining());
+      sendPartial(src);
+      return this;
+    }
+    if( src.remaining() > _bb.remaining() ) expandByteBuffer(src.remaining());
+    while( src.hasRemaining() ) {
+      int len = Math.min(src.remaining(), _bb.remaining());
+      ByteBuffer slice = src.duplicate();
+      slice.limit(slice.position() + len);
+      _bb.put(slice);
+      src.position(src.position() + len);
+      if( src.hasRemaining() ) sendPartial();
+    }
+    return this;
+  }
+  // Smallest payload written by putDirect without a copy, smaller ones are cheaper to copy
+  static final int ZERO_COPY_MIN = 16*1024;
+  private static final AtomicLong _zeroCopyBytes = new AtomicLong();
+  /** Total bytes written without a copy through {@link #putDirect}. */
+  public static long zeroCopyBytes() { return _zeroCopyBytes.get(); }
+
   AutoBuffer putA2( short[] ary ) {
     //_arys++;
     if( ary == null ) return putInt(-1);
@@ -0,0 +1,132 @@
+package water;
+
+import water.fvec.Vec;
+import water.util.Log;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-ahead of Chunks for MRTask map calls.
+ *
+ * MRTask splits its local chunk range divide-and-conquer style; a range of
+ * at most {@code sys.ai.h2o.mr.prefetch.depth} chunks is then mostly mapped
+ * by a single F/J thread, one chunk after the other.  When such a range
+ * starts, the prefetcher starts loading all its chunks which are not in
+ * memory: Values swapped out by the Cleaner are loaded from disk in the
+ * background, remote Values (run-local tasks) are fetched by a non-blocking
+ * {@link DKV#prefetch}.  The map calls then find their chunks loaded instead
+ * of blocking on I/O one chunk at a time.
+ *
+ * Statistics per MRTask class - chunks prefetched, prefetched chunks found in
+ * memory by the map call (hits) or not yet (misses), and chunks the map call
+ * had to load without any prefetch - are available from {@link #stats()}.
+ *
+ * A depth of 0 turns prefetching off.
+ */
+public final class ChunkPrefetcher {
+
+  static final int DEPTH = Integer.parseInt(H2O.getSysProperty("mr.prefetch.depth", "4"));
+
+  /** Statistics of one MRTask class. */
+  public static final class Stats {
+    final AtomicLong _issued = new AtomicLong();  // Loads started by the prefetcher
+    final AtomicLong _hits = new AtomicLong();    // Prefetched and in memory when mapped
+    final AtomicLong _misses = new AtomicLong();  // Prefetched but still loading when mapped
+    final AtomicLong _cold = new AtomicLong();    // Not prefetched and not in memory when mapped
+    public long issued() { return _issued.get(); }
+    public long hits() { return _hits.get(); }
+    public long misses() { return _misses.get(); }
+    public long coldMisses() { return _cold.get(); }
+    /** Fraction of the prefetched chunks which were in memory when needed */
+    public double hitRate() {
+      long h = hits(), n = h + misses();
+      return n == 0 ? Double.NaN : (double) h / n;
+    }
+    @Override public String toString() {
+      return _issued + " prefetched, " + _hits + " hits, " + _misses + " misses, " + _cold + " cold misses";
+    }
+  }
+
+  private static final ConcurrentHashMap<String, Stats> STATS = new ConcurrentHashMap<>();
+
+  private static Stats stats(MRTask task) {
+    String name = task.getClass().getName();
+    Stats s = STATS.get(name);
+    if (s == null) {
+      Stats s2 = STATS.putIfAbsent(name, s = new Stats());
+      if (s2 != null) s = s2;
+    }
+    return s;
+  }
+
+  /** Snapshot of the per task statistics, by MRTask class name. */
+  public static Map<String, Stats> stats() { return new TreeMap<>(STATS); }
+
+  private final Stats _stats;
+  private final int _lo, _hi;
+  private final boolean[] _issued; // Per chunk of the range and vec: a load was started
+
+  private ChunkPrefetcher(Stats stats, int lo, int hi, int nvecs) {
+    _stats = stats;
+    _lo = lo;
+    _hi = hi;
+    _issued = new boolean[(hi - lo) * nvecs];
+  }
+
+  /** Start loading the chunks [lo,hi) of the given Vecs which the task maps
+   *  on this node and which are not in memory. */
+  static ChunkPrefetcher start(MRTask task, Vec[] vecs, int lo, int hi, boolean runLocal) {
+    ChunkPrefetcher pf = new ChunkPrefetcher(stats(task), lo, hi, vecs.length);
+    Vec v0 = task._fr.anyVec();
+    byte prior = (byte) Math.min(task.priority() + 1, H2O.MIN_HI_PRIORITY - 1);
+    for (int cidx = lo; cidx < hi; cidx++) {
+      if (!runLocal && !v0.chunkKey(cidx).home()) continue; // Mapped by another node
+      for (int i = 0; i < vecs.length; i++) {
+        if (vecs[i] == null) continue;
+        Key k = vecs[i].chunkKey(cidx);
+        Value val = Value.STORE_get(k);
+        if (val == null || val.isEmpty()) {
+          if (k.home()) continue; // Not created yet, e.g. a lazily made file chunk
+          DKV.prefetch(k);
+        } else if (val.rawMem() == null && val.rawPOJO() == null && val.isPersisted()) {
+          H2O.submitTask(new LoadValue(val, prior));
+        } else {
+          continue; // In memory
+        }
+        pf._issued[(cidx - lo) * vecs.length + i] = true;
+        pf._stats._issued.incrementAndGet();
+      }
+    }
+    return pf;
+  }
+
+  /** Record whether the chunks of the given chunk index were found in memory,
+   *  called right before the map call fetches them. */
+  void onAccess(Vec[] vecs, int cidx) {
+    if (cidx < _lo || cidx >= _hi) return;
+    for (int i = 0; i < vecs.length; i++) {
+      if (vecs[i] == null) continue;
+      Value val = Value.STORE_get(vecs[i].chunkKey(cidx));
+      boolean loaded = val != null && (val.rawMem() != null || val.rawPOJO() != null);
+      if (_issued[(cidx - _lo) * vecs.length + i]) (loaded ? _stats._hits : _stats._misses).incrementAndGet();
+      else if (!loaded) _stats._cold.incrementAndGet();
+    }
+  }
+
+  // Loads a swapped-out Value back into memory
+  private static class LoadValue extends H2O.H2OCountedCompleter<LoadValue> {
+    private final transient Value _val;
+    LoadValue(Value val, byte prior) { super(prior); _val = val; }
+    @Override public void compute2() {
+      try {
+        _val.memOrLoad();
+      } catch (Throwable t) { // The map call loads it again and reports the failure
+        Log.debug("Prefetch of " + _val._key + " failed: " + t);
+      }
+      tryComplete();
+    }
+  }
+}
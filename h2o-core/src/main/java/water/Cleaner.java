@@ -4,6 +4,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Arrays;
 import water.fvec.Chunk;
+import water.fvec.OffHeapChunk;
+import water.persist.PersistFS;
 import water.util.Log;
 import water.util.PrettyPrint;
 
@@ -130,6 +132,13 @@ class Cleaner extends Thread {
         if( m == null && p == null ) continue; // Nothing to throw out
         if( val.isLockable() ) continue; // we do not want to throw out Lockables.
         boolean isChunk = p instanceof Chunk && !((Chunk)p).isVolatile();
+        // Off-heap Chunks do not share their payload with the serialized
+        // byte[] form; the byte[] can always be rebuilt from the POJO.
+        if( m != null && p instanceof OffHeapChunk ) {
+          val.freeMem();
+          freed += val._max;
+          m = null;
+        }
         // Ignore things younger than the required age.  In particular, do
         // not spill-to-disk all dirty things we find.
         long touched = val._lastAccessedTime;
@@ -186,6 +195,10 @@ class Cleaner extends Thread {
         force = (h._cached >= DESIRED || !MemoryManager.CAN_ALLOC); // Forced to clean
       }
 
+      // Reclaim disk space held by dead payloads in the segmented swap tier
+      if( H2O.ARGS.cleaner && H2O.getPM().getIce() instanceof PersistFS )
+        ((PersistFS)H2O.getPM().getIce()).compactSwap();
+
       String s1 = "Cleaner pass took: "+PrettyPrint.msecs(System.currentTimeMillis()-now,true)+
                   ", spilled "+PrettyPrint.bytes(cleaned)+" in "+PrettyPrint.usecs(io_ns>>10);
       h = Histo.current(true); // Force a new histogram
@@ -267,7 +280,8 @@ class Cleaner extends Thread {
         Object p = val.rawPOJO();
         if( m != null ) len += val._max;
         if( p != null ) len += val._max;
-        if( m != null && p instanceof Chunk ) len -= val._max; // Do not double-count Chunks
+        if( p instanceof OffHeapChunk ) len -= val._max; // Payload is not on the heap
+        else if( m != null && p instanceof Chunk ) len -= val._max; // Do not double-count Chunks
         if( len == 0 ) continue;
         cached += len; // Accumulate total amount of cached keys
 
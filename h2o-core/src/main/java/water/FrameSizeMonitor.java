@@ -44,7 +44,7 @@ public class FrameSizeMonitor implements Runnable, Thread.UncaughtExceptionHandl
     }
     
     public static void get(Key<Job> jobKey, Consumer<FrameSizeMonitor> c) {
-        if (!ENABLED) return;
+        if (!ENABLED || jobKey == null) return; // Nothing to monitor outside of a parse job
         FrameSizeMonitor monitor = registry.computeIfAbsent(jobKey, key -> {
             if (jobKey.get().stop_requested()) {
                 // throw an exception to stop the parsing
@@ -1828,6 +1828,7 @@ final public class H2O {
     // Create the starter Cloud with 1 member
     SELF._heartbeat._jar_md5 = JarHash.JARHASH;
     SELF._heartbeat._client = ARGS.client;
+    SELF._heartbeat._rpc_compression = RPCCompression.ENABLED;
     SELF._heartbeat._cloud_name_hash = ARGS.name.hashCode();
   }
 
@@ -18,6 +18,7 @@ public class HeartBeat extends Iced<HeartBeat> {
   byte[] _jar_md5;              // JAR file digest
 
   public boolean _client;       // This is a client node: no keys homed here
+  boolean _rpc_compression;     // Wants large RPC payloads compressed, see RPCCompression
 
   public int _pid;              // Process ID
 
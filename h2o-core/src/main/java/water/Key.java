@@ -131,21 +131,28 @@ final public class Key<T extends Keyed> extends Iced<Key<T>> implements Comparab
       // (every node will have it's own chunk, plus a cached next-chunk).
       // Above 16-chunks-in-a-row we hit diminishing returns.
       int cidx = UnsafeUtils.get4(_kb, 1 + 1 + 4); // Chunk index
-      int x = cidx/hsz; // Multiples of cluster size
-      // 0 -> 1st trip around the cluster;            nidx= (cidx- 0*hsz)>>0
-      // 1,2 -> 2nd & 3rd trip; allocate in pairs:    nidx= (cidx- 1*hsz)>>1
-      // 3,4,5,6 -> next 4 rounds; allocate in quads: nidx= (cidx- 3*hsz)>>2
-      // 7-14 -> next 8 rounds in octets:             nidx= (cidx- 7*hsz)>>3
-      // 15+ -> remaining rounds in groups of 16:     nidx= (cidx-15*hsz)>>4
-      int z = x==0 ? 0 : (x<=2 ? 1 : (x<=6 ? 2 : (x<=14 ? 3 : 4)));
-      int nidx = (cidx-((1<<z)-1)*hsz)>>z;
-      return ((nidx+repl)&0x7FFFFFFF) % hsz;
+      return chunkD(cidx, repl, hsz);
     }
 
     // Easy Cheesy Stupid:
     return ((_hash+repl)&0x7FFFFFFF) % hsz;
   }
 
+  /** Node index of the given replica of Chunk #cidx in a Cloud of hsz
+   *  Nodes, without making the Chunk Key; see D.
+   *  @return Node index of the replica */
+  public static int chunkD( int cidx, int repl, int hsz ) {
+    int x = cidx/hsz; // Multiples of cluster size
+    // 0 -> 1st trip around the cluster;            nidx= (cidx- 0*hsz)>>0
+    // 1,2 -> 2nd & 3rd trip; allocate in pairs:    nidx= (cidx- 1*hsz)>>1
+    // 3,4,5,6 -> next 4 rounds; allocate in quads: nidx= (cidx- 3*hsz)>>2
+    // 7-14 -> next 8 rounds in octets:             nidx= (cidx- 7*hsz)>>3
+    // 15+ -> remaining rounds in groups of 16:     nidx= (cidx-15*hsz)>>4
+    int z = x==0 ? 0 : (x<=2 ? 1 : (x<=6 ? 2 : (x<=14 ? 3 : 4)));
+    int nidx = (cidx-((1<<z)-1)*hsz)>>z;
+    return ((nidx+repl)&0x7FFFFFFF) % hsz;
+  }
+
 
   /** List of illegal characters which are not allowed in user keys. */
   static final CharSequence ILLEGAL_USER_KEY_CHARS = " !@#$%^&*()+={}[]|\\;:\"'<>,/?";
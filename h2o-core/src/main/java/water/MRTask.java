@@ -3,6 +3,7 @@ package water;
 import jsr166y.CountedCompleter;
 import jsr166y.ForkJoinPool;
 import water.fvec.*;
+import water.util.ArrayUtils;
 import water.util.DistributedException;
 import water.util.PrettyPrint;
 import water.fvec.Vec.VectorGroup;
@@ -71,7 +72,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   *
   *    internal "top-level" fields
   *    ---------------------------
-  *     - RPC<T> _nleft, _nrite: "child" node/JVMs that are doing work
+  *     - RPC<T> _nrpcs[]      : "child" node/JVMs that are doing work (nodeFanout() of them)
   *     - boolean _topLocal    : "root" MRTask on a local machine
   *     - boolean _topGlobal   : "root" MRTask on the "root" node
   *     - T _left, _rite       : "child" MRTasks on a local machine
@@ -84,7 +85,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   *              3 node cloud              Inside one of the 'N' nodes:
   *                   N1                               T  _topLocal**
   *                 /   \                            /  \
-  *         N2 (_nleft)  N3 (_nrite)         T (_left)   T (_rite)
+  *     N2 (_nrpcs[0])  N3 (_nrpcs[1])       T (_left)   T (_rite)
   *
   *                  **: T is also _topGlobal if N==N1
   *
@@ -102,9 +103,9 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   *                ==>       setupLocal0 on N1
   *                            - topLocal=true
   *                            - _fs = new Futures()
-  *                            - nmid = (_nlo + _nhi) >> 1 => split the range of nodes (divide-conquer)
-  *                            - _nleft = remote_compute(_nlo,nmid) => chooses a node in range and does new RPC().call()
-  *                            - _nrite = remote_compute(nmid,_nhi)    serializing MRTask and call dinvoke on remote.
+  *                            - split the range of nodes into nodeFanout() parts (divide-conquer, 2 by default)
+  *                            - _nrpcs[i] = remote_compute(lo_i,hi_i) => chooses a node in range and does new RPC().call()
+  *                                                                     serializing MRTask and call dinvoke on remote.
   *                           /                                 \
   *                         /                                     \
   *                       /                                         \
@@ -150,8 +151,16 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
    *  style, can not be passed via K/V store).*/
   protected AppendableVec[] _appendables;
 
-  /** Internal field to track the left &amp; right remote nodes/JVMs to work on */
-  transient protected RPC<T> _nleft, _nrite;
+  /** Internal field to track the child remote nodes/JVMs to work on */
+  transient protected RPC<T>[] _nrpcs;
+
+  /** Remote results are reduced as soon as they arrive, but in child order:
+   *  the arrived results, which children exist, the remote result so far and
+   *  the number of children reduced into it.  Guarded by _narrived. */
+  transient private MRTask[] _narrived;
+  transient private boolean[] _nchild;
+  transient private T _nres;
+  transient private int _nreduced;
 
   /** Internal field to track if this is a top-level local call */
   transient protected boolean _topLocal; // Top-level local call, returning results over the wire
@@ -171,6 +180,9 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   /** Internal field to track a range of local Chunks to work on */
   transient protected int _lo, _hi;
 
+  // Read-ahead of the range of Chunks this task is part of, or null
+  transient private ChunkPrefetcher _prefetch;
+
   /** We can add more things to block on - in case we want a bunch of lazy
    *  tasks produced by children to all end before this top-level task ends.
    *  Semantically, these will all complete before we return from the top-level
@@ -305,6 +317,28 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
    *  this object, for disposing of node-local shared data structures.  */
   protected void closeLocal() { }
 
+  /** Default fan-out of the node tree, see {@link #nodeFanout()}. */
+  static final int NODE_FANOUT = Integer.parseInt(H2O.getSysProperty("mr.fanout", "2"));
+
+  /** Number of child nodes every node forwards the task to (and reduces the
+   *  results of).  2 makes a binary tree; a larger fan-out makes a shallower
+   *  tree - fewer hops for large results, but more results merged per node.
+   *  Defaults to the {@code sys.ai.h2o.mr.fanout} system property. */
+  protected int nodeFanout() { return NODE_FANOUT; }
+
+  /** Optional fast path for results that are (mostly) a sum of large double
+   *  arrays, e.g. histograms or Gram matrices.  Return the arrays of this
+   *  result (entries may be null).  If both sides of a reduction return
+   *  arrays of the same shape, MRTask sums them itself - large arrays split
+   *  by segment over several threads - and calls {@link #reduceRest} instead
+   *  of {@link #reduce}; otherwise {@link #reduce} does the whole merge.
+   *  @return the summable arrays, or null (default) for a plain reduce */
+  protected double[][] summableResult() { return null; }
+
+  /** Merge the part of the result not returned by {@link #summableResult},
+   *  after the summable arrays were added up. */
+  protected void reduceRest( T mrt ) { }
+
   /** Compute a permissible node index on which to launch remote work. */
   private int addShift( int x ) { x += _nlo; int sz = H2O.CLOUD.size(); return x < sz ? x : x-sz; }
   private int subShift( int x ) { x -= _nlo; int sz = H2O.CLOUD.size(); return x <  0 ? x+sz : x; }
@@ -700,16 +734,30 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     int selfidx = selfidx();
     int nlo = subShift(selfidx);
     assert nlo < _nhi;
-    final int nmid = (nlo+_nhi)>>>1; // Mid-point
 
     // Run remote IF:
     // - Not forced to run local (no remote jobs allowed) AND
     // - - There's remote work, or Client mode (always remote work)
     if( (!_run_local) && ((nlo+1 < _nhi) || H2O.ARGS.client) ) {
       if(_profile!=null) _profile._rpcLstart = System.currentTimeMillis();
-      _nleft = remote_compute(H2O.ARGS.client ? nlo : nlo+1,nmid);
-      if(_profile!=null) _profile._rpcRstart = System.currentTimeMillis();
-      _nrite = remote_compute( nmid,_nhi);
+      // Split the node range into fan-out parts; the first one starts right
+      // after self (or at self in Client mode, client is not in the range)
+      final int k = Math.max(2, nodeFanout());
+      final int lo = H2O.ARGS.client ? nlo : nlo+1;
+      int[] bounds = new int[k+1];
+      for( int i=0; i<=k; i++ )
+        bounds[i] = Math.max(lo, nlo + (int)((long)i*(_nhi-nlo)/k));
+      _nrpcs = new RPC[k];
+      _narrived = new MRTask[k];
+      _nchild = new boolean[k];
+      _nres = null;
+      _nreduced = 0;
+      for( int i=0; i<k; i++ )
+        _nchild[i] = bounds[i] < bounds[i+1];
+      for( int i=0; i<k; i++ ) {
+        if(_profile!=null && i==k-1) _profile._rpcRstart = System.currentTimeMillis();
+        _nrpcs[i] = remote_compute(bounds[i],bounds[i+1],i);
+      }
       if(_profile!=null) _profile._rpcRdone  = System.currentTimeMillis();
     } else {
       if(_profile!=null)
@@ -718,6 +766,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
 
     if( _fr != null ) {                       // Doing a Frame
       _lo = 0;  _hi = _fr.numCols()==0 ? 0 : _fr.anyVec().nChunks(); // Do All Chunks
+      _prefetch = null;
       // get the Vecs from the K/V store, to avoid racing fetches from the map calls
       _fr.vecs();
     } else if( _keys != null ) {    // Else doing a set of Keys
@@ -731,7 +780,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
 
   // Make an RPC call to some node in the middle of the given range.  Add a
   // pending completion to self, so that we complete when the RPC completes.
-  private RPC<T> remote_compute( int nlo, int nhi ) {
+  private RPC<T> remote_compute( int nlo, int nhi, int child ) {
     if( nlo < nhi ) {  // have remote work
       int node = addShift(nlo);
       assert node != H2O.SELF.index(); // Not the same as selfidx() if this is a client
@@ -747,17 +796,51 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
       // - when launched on the local (right here, in this next line of code)
       //   the completed RPC calls our self completion.  i.e. the completed RPC
       //   calls MRTask.onCompletion
-      return new RPC<>(H2O.CLOUD._memary[node], mrt).addCompleter(this).call();
+      // - the completed RPC first reduces the remote result (RemoteReduce),
+      //   which then completes us: RemoteReduce must be the only completer
+      //   the RPC knows about, else we would be completed twice
+      mrt.setCompleter(null);
+      return new RPC<>(H2O.CLOUD._memary[node], mrt).addCompleter(new RemoteReduce(child)).call();
     }
     return null; // nlo >= nhi => no remote work
   }
 
+  // Reduces a remote result as soon as it arrives, then completes the MRTask
+  private final class RemoteReduce extends H2O.H2OCountedCompleter<RemoteReduce> {
+    private final int _child;
+    RemoteReduce( int child ) { super(MRTask.this, MRTask.this.priority()); _child = child; }
+    @Override public void compute2() { throw H2O.fail(); }
+    @Override public void onCompletion( CountedCompleter caller ) { reduceRemote(_child, (T)caller); }
+  }
+
+  // Reduce the remote results in child order, so floating point results do
+  // not depend on the arrival order, but without waiting for the local work
+  private void reduceRemote( int child, T mrt ) {
+    final MRTask[] arrived = _narrived;
+    synchronized( arrived ) {
+      arrived[child] = mrt;
+      while( _nreduced < arrived.length && (!_nchild[_nreduced] || arrived[_nreduced] != null) ) {
+        T r = (T)arrived[_nreduced];
+        arrived[_nreduced++] = null;
+        // Unlike reduce2, results are in mrt directly not mrt._res.
+        if( r != null && r._nhi != -1L ) { // Any results at all?
+          if( _nres == null ) _nres = r;
+          else _nres.reduce4(r);
+        }
+      }
+    }
+  }
+
   /** Called from FJ threads to do local work.  The first called Task (which is
    *  also the last one to Complete) also reduces any global work.  Called
    *  internal by F/J.  Not expected to be user-called.  */
   @Override public final void compute2() {
     assert _left == null && _rite == null && _res == null;
     if(_profile!=null) _profile._mapstart = System.currentTimeMillis();
+    // A small enough range gets mapped mostly by this thread: start loading
+    // its chunks now.  The split-off parts inherit the prefetcher.
+    if( _fr != null && _prefetch == null && _hi > _lo && _hi-_lo <= ChunkPrefetcher.DEPTH )
+      _prefetch = ChunkPrefetcher.start(this, _fr.vecs(), _lo, _hi, _run_local);
     if( (_hi-_lo) >= 2 ) { // Multi-chunk case: just divide-and-conquer to 1 chunk
       final int mid = (_lo+_hi)>>>1; // Mid-point
       _left = copyAndInit();
@@ -789,6 +872,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
 
         // Make decompression chunk headers for these chunks
         Vec vecs[] = _fr.vecs();
+        if( _prefetch != null ) _prefetch.onAccess(vecs, _lo);
         Chunk bvs[] = new Chunk[vecs.length];
         NewChunk [] appendableChunks = null;
         for( int i=0; i<vecs.length; i++ )
@@ -889,8 +973,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   private void postLocal0() {
     closeLocal();               // User's node-local cleanup
     if(_profile!=null) _profile._closeLocalDone = System.currentTimeMillis();
-    reduce3(_nleft);            // Reduce global results from neighbors.
-    reduce3(_nrite);
+    reduce3();                  // Reduce global results from neighbors.
     if(_profile!=null) _profile._remoteBlkDone = System.currentTimeMillis();
     _fs.blockForPending();      // Block any pending user tasks
     if(_profile!=null) _profile._localBlkDone = System.currentTimeMillis();
@@ -909,18 +992,21 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
 
   }
 
-  // Block for RPCs to complete, then reduce global results into self results
-  private void reduce3( RPC<T> rpc ) {
-    if( rpc == null ) return;
-    T mrt = rpc.get();          // This is a blocking remote call
-    // Note: because _fs is transient it is not set or cleared by the RPC.
-    // Because the MRT object is a clone of 'self' it's likely to contain a ptr
-    // to the self _fs which will be not-null and still have local pending
-    // blocks.  Not much can be asserted there.
+  // Reduce the global results of the (completed) RPCs into self results
+  private void reduce3() {
+    RPC<T>[] rpcs = _nrpcs;
+    if( rpcs == null ) return;
     if(_profile!=null)
-      _profile.gather(mrt._profile, rpc.size_rez());
-    // Unlike reduce2, results are in mrt directly not mrt._res.
-    if( mrt._nhi != -1L ) {     // Any results at all?
+      for( RPC<T> rpc : rpcs )
+        if( rpc != null )
+          _profile.gather(rpc.get()._profile, rpc.size_rez());
+    T mrt;
+    synchronized( _narrived ) {
+      assert _nreduced == rpcs.length;
+      mrt = _nres;
+      _nres = null;
+    }
+    if( mrt != null ) {
       if( _res == null ) _res = mrt;
       else _res.reduce4(mrt);
     }
@@ -935,7 +1021,80 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
         _appendables[i].reduce(mrt._appendables[i]);
     if( _ex == null ) _ex = mrt._ex;
     // User's reduction
-    reduce(mrt);
+    double[][] dst = summableResult();
+    double[][] src = dst == null ? null : mrt.summableResult();
+    if( src != null && sameShape(dst,src) ) {
+      sumSegments(dst,src);
+      reduceRest(mrt);
+    } else
+      reduce(mrt);
+  }
+
+  private static boolean sameShape( double[][] a, double[][] b ) {
+    if( a.length != b.length ) return false;
+    for( int i=0; i<a.length; i++ )
+      if( a[i] == null ? b[i] != null : b[i] == null || a[i].length != b[i].length )
+        return false;
+    return true;
+  }
+
+  // Below this many elements a plain loop beats forking the sum
+  static final int PAR_SUM_MIN = 1<<18;
+
+  // dst += src over all arrays; large sums are split by segment over threads
+  static void sumSegments( double[][] dst, double[][] src ) {
+    long n = 0;
+    for( double[] d : dst ) if( d != null ) n += d.length;
+    if( n < PAR_SUM_MIN || !(Thread.currentThread() instanceof H2O.FJWThr) ) {
+      for( int i=0; i<dst.length; i++ )
+        if( dst[i] != null && dst[i] != src[i] ) ArrayUtils.add(dst[i],src[i]);
+      return;
+    }
+    int nsegs = (int)Math.min(H2O.NUMCPUS, n/(PAR_SUM_MIN>>2));
+    // Runs in this thread and this pool: the segments are forked as completer
+    // children, this thread sums one of them and helps with the rest
+    new SumSegments(dst,src,n,nsegs).invoke();
+  }
+
+  // Sums the segments [lo,hi) of the concatenated arrays; halves of the range
+  // are forked off like the chunk ranges of the local map tree
+  private static class SumSegments extends H2O.H2OCountedCompleter<SumSegments> {
+    final double[][] _dst, _src;
+    final long _n;
+    final int _nsegs, _lo, _hi;
+    // The root is invoked in the current thread, so it keeps the current
+    // priority (a task without completer would get the next higher one)
+    SumSegments( double[][] dst, double[][] src, long n, int nsegs ) {
+      super(null,currThrPriority()); _dst = dst; _src = src; _n = n; _nsegs = nsegs; _lo = 0; _hi = nsegs;
+    }
+    SumSegments( SumSegments parent, double[][] dst, double[][] src, long n, int nsegs, int lo, int hi ) {
+      super(parent); _dst = dst; _src = src; _n = n; _nsegs = nsegs; _lo = lo; _hi = hi;
+    }
+    @Override public void compute2() {
+      int hi = _hi;
+      while( hi-_lo > 1 ) {
+        int mid = (_lo+hi)>>>1;
+        addToPendingCount(1);
+        new SumSegments(this,_dst,_src,_n,_nsegs,mid,hi).fork();
+        hi = mid;
+      }
+      sum(_lo);
+      tryComplete();
+    }
+    private void sum( int id ) {
+      long lo = _n*id/_nsegs, hi = _n*(id+1)/_nsegs;
+      long off = 0;                 // Offset of array i in the concatenation
+      for( int i=0; i<_dst.length && off < hi; i++ ) {
+        double[] d = _dst[i], s = _src[i];
+        if( d == null ) continue;
+        long end = off + d.length;
+        if( end > lo && d != s ) {
+          for( int j = (int)(Math.max(lo,off)-off), e = (int)(Math.min(hi,end)-off); j < e; j++ )
+            d[j] += s[j];
+        }
+        off = end;
+      }
+    }
   }
 
   // Full local work-tree cancellation
@@ -958,8 +1117,11 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
 
     // Since blocking can throw (generally the same exception, again and again)
     // catch & ignore, keeping only the first one we already got.
-    RPC<T> nl = _nleft; if( nl != null ) try { nl.get(); } catch( Throwable ignore ) { } _nleft = null;
-    RPC<T> nr = _nrite; if( nr != null ) try { nr.get(); } catch( Throwable ignore ) { } _nrite = null;
+    RPC<T>[] rpcs = _nrpcs;
+    if( rpcs != null )
+      for( RPC<T> rpc : rpcs )
+        if( rpc != null ) try { rpc.get(); } catch( Throwable ignore ) { }
+    _nrpcs = null;
     return true;
   }
 
@@ -969,7 +1131,12 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     x._topGlobal = false;
     x.setCompleter(this); // Set completer, what used to be a final field
     x._topLocal = false;  // Not a top job
-    x._nleft = x._nrite = null;
+    x._nrpcs = null;
+    MRTask<T> m = x;      // Private fields are not visible through T
+    m._narrived = null;
+    m._nchild = null;
+    m._nres = null;
+    m._nreduced = 0;
     x. _left = x. _rite = null;
     x._fs = _fs;
     if( _profile!=null )  x._profile = new MRProfile(this);
@@ -8,7 +8,15 @@ import water.util.PrettyPrint;
 import javax.management.Notification;
 import javax.management.NotificationEmitter;
 import java.lang.management.*;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -153,7 +161,7 @@ abstract public class MemoryManager {
     }
 
     // No logging if under memory pressure: can deadlock the cleaner thread
-    String s = m+msg+", (K/V:"+PrettyPrint.bytes(cacheUsageGC)+" + POJO:"+PrettyPrint.bytes(pojoUsedGC)+" + FREE:"+PrettyPrint.bytes(freeHeap)+" == MEM_MAX:"+PrettyPrint.bytes(MEM_MAX)+"), desiredKV="+PrettyPrint.bytes(Cleaner.DESIRED)+(oom?" OOM!":" NO-OOM");
+    String s = m+msg+", (K/V:"+PrettyPrint.bytes(cacheUsageGC)+" + POJO:"+PrettyPrint.bytes(pojoUsedGC)+" + FREE:"+PrettyPrint.bytes(freeHeap)+" == MEM_MAX:"+PrettyPrint.bytes(MEM_MAX)+"), desiredKV="+PrettyPrint.bytes(Cleaner.DESIRED)+", offheap="+PrettyPrint.bytes(_offHeapUsed.get())+(oom?" OOM!":" NO-OOM");
     if( CAN_ALLOC ) { if( oom ) Log.warn(s); else Log.debug(s); }
     else            System.err.println(s);
   }
@@ -314,6 +322,53 @@ abstract public class MemoryManager {
   public static float  [] arrayCopyOf( float [] orig, int sz) { return arrayCopyOfRange(orig,0,sz); }
   public static double [] arrayCopyOf( double[] orig, int sz) { return arrayCopyOfRange(orig,0,sz); }
 
+  // Off-heap memory handed out by mallocDirect.  Direct buffers are freed by
+  // the JVM once unreachable; a phantom reference per buffer gives the bytes
+  // back to the budget.
+  static final long OFFHEAP_MAX = Long.parseLong(H2O.getSysProperty("offheap.max", String.valueOf(MEM_MAX)));
+  private static final AtomicLong _offHeapUsed = new AtomicLong();
+  private static final ReferenceQueue<ByteBuffer> _offHeapQueue = new ReferenceQueue<>();
+  private static final Set<DirectRef> _offHeapRefs = Collections.newSetFromMap(new ConcurrentHashMap<DirectRef, Boolean>());
+
+  private static final class DirectRef extends PhantomReference<ByteBuffer> {
+    final int _bytes;
+    DirectRef(ByteBuffer bb, int bytes) { super(bb, _offHeapQueue); _bytes = bytes; }
+  }
+
+  /** Off-heap bytes currently held by buffers from {@link #mallocDirect}. */
+  public static long offHeapUsed() { drainOffHeap(); return _offHeapUsed.get(); }
+
+  private static void drainOffHeap() {
+    Reference<? extends ByteBuffer> r;
+    while( (r = _offHeapQueue.poll()) != null ) {
+      DirectRef ref = (DirectRef)r;
+      if( _offHeapRefs.remove(ref) ) _offHeapUsed.addAndGet(-ref._bytes);
+    }
+  }
+
+  /**
+   * Allocate a zeroed direct buffer in native byte order, accounted against
+   * the off-heap budget ({@code sys.ai.h2o.offheap.max}, defaults to the max
+   * heap size).
+   * @return the buffer, or null if the budget is exhausted or the JVM is out of direct memory
+   */
+  public static ByteBuffer mallocDirect(int bytes) {
+    drainOffHeap();
+    if( _offHeapUsed.addAndGet(bytes) > OFFHEAP_MAX ) {
+      _offHeapUsed.addAndGet(-bytes);
+      return null;
+    }
+    ByteBuffer bb;
+    try {
+      bb = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    } catch( OutOfMemoryError e ) { // Out of direct memory, caller falls back to the heap
+      _offHeapUsed.addAndGet(-bytes);
+      return null;
+    }
+    _offHeapRefs.add(new DirectRef(bb, bytes));
+    return bb;
+  }
+
   // Memory available for tasks (we assume 3/4 of the heap is available for tasks)
   static final AtomicLong _taskMem = new AtomicLong(MEM_MAX-(MEM_MAX>>2));
 
@@ -198,7 +198,7 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
           try {
             final boolean t;
             ab.putTask(UDP.udp.exec, _tasknum).put1(CLIENT_UDP_SEND);
-            ab.put(_dt);
+            RPCCompression.write(ab, _dt, true);
             t = ab.hasTCP();
             assert sz_check(ab) : "Resend of " + _dt.getClass() + " changes size from " + _size + " to " + ab.size() + " for task#" + _tasknum;
             ab.close();        // Then close; send final byte
@@ -326,7 +326,8 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
     // Pretty-print bytes 1-15; byte 0 is the udp_type enum
     @Override String print16( AutoBuffer ab ) {
       int flag = ab.getFlag();
-      String clazz = (flag == CLIENT_UDP_SEND) ? TypeMap.className(ab.getInt()) : "";
+      String clazz = flag != CLIENT_UDP_SEND ? "" :
+          ab.get1() == RPCCompression.CODEC_PLAIN ? TypeMap.className(ab.getInt()) : "(compressed)";
       return "task# "+ab.getTask()+" "+ clazz+" "+COOKIES[flag-SERVER_UDP_SEND];
     }
   }
@@ -404,7 +405,7 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
           UDP.udp udp = dt.priority()==H2O.FETCH_ACK_PRIORITY ? UDP.udp.fetchack : UDP.udp.ack;
           ab = new AutoBuffer(_client,udp._prior).putTask(udp,_tsknum).put1(SERVER_UDP_SEND);
           assert ab.position() == 1+2+2+4+1;
-          dt.write(ab);         // Write the DTask - could be very large write
+          RPCCompression.write(ab, dt, false); // Write the DTask - could be very large write
           dt._repliedTcp = ab.hasTCP(); // Resends do not need to repeat TCP result
           ab.close();                   // Then close; send final byte
           _computedAndReplied = true;   // After the final handshake, set computed+replied bit
@@ -447,7 +448,7 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
       else {
         rab.put1(RPC.SERVER_UDP_SEND); // Original reply sent via UDP
         assert rab.position() == 1+2+2+4+1;
-        dt.write(rab);
+        RPCCompression.write(rab, dt, false);
       }
       assert sz_check(rab) : "Resend of " + _dt.getClass() + " changes size from "+_size+" to "+rab.size();
       assert dt._repliedTcp==wasTCP;
@@ -507,7 +508,7 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
       try {
         // Read the DTask Right Now.  If we are the TCPReceiver thread, then we
         // are reading in that thread... and thus TCP reads are single-threaded.
-        rpc = new RPCCall(ab.get(water.DTask.class),ab._h2o,task);
+        rpc = new RPCCall(RPCCompression.readTask(ab),ab._h2o,task);
       } catch( AutoBuffer.AutoBufferException e ) {
         // Here we assume it's a TCP fail on read - and ignore the remote_exec
         // request.  The caller will send it again.  NOTE: this case is
@@ -618,7 +619,7 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
           ab.drainClose();
         } else {
 //          UDPTimeOutThread.PENDING.remove(_tasknum);
-          _dt.read(ab);             // Read the answer (under lock?)
+          RPCCompression.readInto(ab, _dt); // Read the answer (under lock?)
           _size_rez = ab.size();    // Record received size
           ab.close();               // Also finish the read (under lock?  even if canceled, since need to drain TCP)
           if (!isCancelled())       // Can be canceled already (locally by MRTask while recieving remote answer)
@@ -0,0 +1,203 @@
+package water;
+
+import water.util.PrettyPrint;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression of large RPC payloads: the DTasks shipped by {@link RPC} and
+ * their replies (MRTask reduce results, TaskGetKey replies, TaskPutKey puts
+ * e.g. from RebalanceDataSet, ...).
+ *
+ * Every DTask on the wire is preceded by a single codec byte.  A node
+ * advertises in its heartbeat whether it wants compressed payloads; a
+ * payload is compressed only if both ends enabled it, it is at least
+ * {@code sys.ai.h2o.rpc.compression.threshold} bytes long and compression
+ * saves at least 1/8 of the bytes.  Receivers always understand both codecs.
+ *
+ * Only the message types which were ever near the threshold are serialized
+ * into a side buffer to learn their size, the rest are written straight into
+ * the outgoing AutoBuffer.  The threshold is above the UDP packet size, so
+ * the small payloads which get resent are never compressed and a resend
+ * produces the very same bytes whichever way it is written.
+ *
+ * Enabled with the {@code sys.ai.h2o.rpc.compression.enabled} system property.
+ */
+public final class RPCCompression {
+
+  static final boolean ENABLED = H2O.getSysBoolProperty("rpc.compression.enabled", false);
+  static final int THRESHOLD = Math.max(AutoBuffer.MTU,
+      Integer.parseInt(H2O.getSysProperty("rpc.compression.threshold", String.valueOf(32 << 10))));
+
+  static final byte CODEC_PLAIN = 0;
+  static final byte CODEC_DEFLATE = 1;
+
+  private RPCCompression() {}
+
+  /** Statistics of one message type (the DTask class). */
+  public static final class Stats {
+    final AtomicLong _msgs = new AtomicLong();       // Messages sent
+    final AtomicLong _compressed = new AtomicLong(); // Messages sent compressed
+    final AtomicLong _rawBytes = new AtomicLong();   // Serialized bytes sent
+    final AtomicLong _wireBytes = new AtomicLong();  // Bytes actually sent
+    final AtomicLong _maxRawBytes = new AtomicLong(); // Largest serialized message
+    final AtomicLong _compressNs = new AtomicLong();
+    final AtomicLong _decompressNs = new AtomicLong();
+    public long messages() { return _msgs.get(); }
+    public long compressedMessages() { return _compressed.get(); }
+    public long rawBytes() { return _rawBytes.get(); }
+    public long wireBytes() { return _wireBytes.get(); }
+    public long savedBytes() { return _rawBytes.get() - _wireBytes.get(); }
+    public long compressNanos() { return _compressNs.get(); }
+    public long decompressNanos() { return _decompressNs.get(); }
+    void maxRawBytes(long len) {
+      long max;
+      while (len > (max = _maxRawBytes.get()) && !_maxRawBytes.compareAndSet(max, len)) ;
+    }
+    @Override public String toString() {
+      return _msgs + " msgs (" + _compressed + " compressed), " + PrettyPrint.bytes(rawBytes()) +
+          " -> " + PrettyPrint.bytes(wireBytes()) + ", compress " + PrettyPrint.msecs(compressNanos() / 1000000, true) +
+          ", decompress " + PrettyPrint.msecs(decompressNanos() / 1000000, true);
+    }
+  }
+
+  private static final ConcurrentHashMap<String, Stats> STATS = new ConcurrentHashMap<>();
+
+  private static Stats stats(DTask dt) {
+    String name = dt.getClass().getName();
+    Stats s = STATS.get(name);
+    if (s == null) {
+      Stats s2 = STATS.putIfAbsent(name, s = new Stats());
+      if (s2 != null) s = s2;
+    }
+    return s;
+  }
+
+  /** Snapshot of the per message type statistics, by DTask class name. */
+  public static Map<String, Stats> stats() { return new TreeMap<>(STATS); }
+
+  /** Whether payloads sent to the given node get compressed. */
+  static boolean compressFor(H2ONode target) {
+    if (!ENABLED || target == null || target == H2O.SELF) return false;
+    HeartBeat hb = target._heartbeat;
+    return hb != null && hb._rpc_compression;
+  }
+
+  /** Write the codec byte and the DTask (including its type id if
+   *  {@code withType}) into an AutoBuffer going to {@code ab._h2o}. */
+  static AutoBuffer write(AutoBuffer ab, DTask dt, boolean withType) {
+    if (!compressFor(ab._h2o)) {
+      ab.put1(CODEC_PLAIN);
+      return withType ? ab.put(dt) : dt.write(ab);
+    }
+    Stats s = stats(dt);
+    s._msgs.incrementAndGet();
+    if (s._maxRawBytes.get() < THRESHOLD >> 1) {
+      // This message type stays well below the threshold, write it as it is
+      ab.put1(CODEC_PLAIN);
+      long start = ab.size() + ab.position();
+      if (withType) ab.put(dt); else dt.write(ab);
+      int len = (int) (ab.size() + ab.position() - start);
+      s._rawBytes.addAndGet(len);
+      s._wireBytes.addAndGet(len);
+      s.maxRawBytes(len);
+      return ab;
+    }
+    // Serialize once to learn the size, then compress or copy the bytes
+    AutoBuffer raw = new AutoBuffer();
+    byte[] bytes = (withType ? raw.put(dt) : dt.write(raw)).buf();
+    s._rawBytes.addAndGet(bytes.length);
+    s.maxRawBytes(bytes.length);
+    if (bytes.length >= THRESHOLD) {
+      long ns = System.nanoTime();
+      byte[] z = deflate(bytes);
+      s._compressNs.addAndGet(System.nanoTime() - ns);
+      if (z != null) {
+        s._compressed.incrementAndGet();
+        s._wireBytes.addAndGet(4 + 4 + z.length);
+        return ab.put1(CODEC_DEFLATE).putInt(bytes.length).putA1(z);
+      }
+    }
+    s._wireBytes.addAndGet(bytes.length);
+    return ab.put1(CODEC_PLAIN).putA1(bytes, bytes.length);
+  }
+
+  /** Read a DTask written by {@code write(ab, dt, true)}. */
+  static DTask readTask(AutoBuffer ab) {
+    int codec = ab.get1();
+    if (codec == CODEC_PLAIN) return ab.get(DTask.class);
+    long ns = System.nanoTime();
+    AutoBuffer raw = inflate(ab, codec);
+    ns = System.nanoTime() - ns;
+    DTask dt = raw.get(DTask.class);
+    stats(dt)._decompressNs.addAndGet(ns);
+    return dt;
+  }
+
+  /** Read the fields of the given DTask written by {@code write(ab, dt, false)}. */
+  static void readInto(AutoBuffer ab, DTask dt) {
+    int codec = ab.get1();
+    if (codec == CODEC_PLAIN) {
+      dt.read(ab);
+      return;
+    }
+    long ns = System.nanoTime();
+    AutoBuffer raw = inflate(ab, codec);
+    stats(dt)._decompressNs.addAndGet(System.nanoTime() - ns);
+    dt.read(raw);
+  }
+
+  // Compressed bytes, or null if compression does not save at least 1/8
+  static byte[] deflate(byte[] bytes) {
+    byte[] buf = new byte[bytes.length - (bytes.length >> 3)];
+    Deflater def = new Deflater(Deflater.BEST_SPEED);
+    try {
+      def.setInput(bytes);
+      def.finish();
+      int n = 0;
+      while (!def.finished() && n < buf.length)
+        n += def.deflate(buf, n, buf.length - n);
+      return def.finished() ? MemoryManager.arrayCopyOf(buf, n) : null;
+    } finally {
+      def.end();
+    }
+  }
+
+  private static AutoBuffer inflate(AutoBuffer ab, int codec) {
+    try {
+      if (codec != CODEC_DEFLATE)
+        throw new IOException("Unknown RPC payload codec " + codec + " from " + ab._h2o);
+      int len = ab.getInt();
+      byte[] bytes = inflate(ab.getA1(), len);
+      if (bytes == null)
+        throw new IOException("Corrupted RPC payload from " + ab._h2o);
+      return new AutoBuffer(ab._h2o, bytes, 0, len);
+    } catch (IOException e) { // Retried like any other failed TCP read
+      throw new AutoBuffer.AutoBufferException(e);
+    }
+  }
+
+  // Uncompressed bytes, or null if the input does not inflate to exactly len bytes
+  static byte[] inflate(byte[] z, int len) {
+    byte[] bytes = MemoryManager.malloc1(len);
+    Inflater inf = new Inflater();
+    try {
+      inf.setInput(z);
+      int n = 0;
+      while (n < len && !inf.finished() && !inf.needsInput() && !inf.needsDictionary())
+        n += inf.inflate(bytes, n, len - n);
+      return n == len ? bytes : null;
+    } catch (DataFormatException dfe) {
+      return null;
+    } finally {
+      inf.end();
+    }
+  }
+}
@@ -6,6 +6,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import jsr166y.ForkJoinPool;
 import water.fvec.Frame;
+import water.fvec.OffHeapChunk;
 import water.fvec.Vec;
 import water.util.Log;
 import water.util.StringUtils;
@@ -382,7 +383,11 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
   // and the normal serializer then might ship over a null instead of the
   // intended byte[].  Also, the value is NOT on the deserialize'd machines disk
   public final AutoBuffer write_impl( AutoBuffer ab ) {
-    return ab.put1(_persist).put2(_type).putA1(memOrLoad());
+    ab.put1(_persist).put2(_type);
+    Freezable pojo = _pojo;     // Read once!
+    if( _mem == null && pojo instanceof OffHeapChunk ) // Ship the off-heap payload without a heap copy
+      return ((OffHeapChunk)pojo).writeSerialized(ab);
+    return ab.putA1(memOrLoad());
   }
   // Custom serializer: set _max from _mem length; set replicas & timestamp.
   public final Value read_impl(AutoBuffer bb) {
@@ -1,6 +1,7 @@
 package water.api;
 
 import water.DKV;
+import water.Job;
 import water.Key;
 import water.api.schemas3.JobV3;
 import water.api.schemas3.ParseSVMLightV3;
@@ -41,19 +42,34 @@ class ParseHandler extends Handler {
       setup.setSyntheticColumns(parse.partition_by, partitionValues, Vec.T_CAT);
     }
 
-    if ((setup.getParseType().name().toLowerCase().equals("svmlight") ||
-            (setup.getParseType().name().toLowerCase().equals("avro") ))
+    if (parse.pushdown_predicate != null) {
+      PushdownPredicate.parse(parse.pushdown_predicate); // fail early on a syntax error
+      setup.setPushdownPredicate(parse.pushdown_predicate);
+    }
+
+    if (setup.getParseType().name().toLowerCase().equals("svmlight")
             && ((setup.getSkippedColumns() != null) && (setup.getSkippedColumns().length >0)))
-      throw new H2OIllegalArgumentException("Parser: skipped_columns are not supported for SVMlight or Avro parsers.");
+      throw new H2OIllegalArgumentException("Parser: skipped_columns are not supported for SVMlight parser.");
 
     if (setup.getSkippedColumns() !=null &&
             ((setup.get_parse_columns_indices()==null) || (setup.get_parse_columns_indices().length==0)))
       throw new H2OIllegalArgumentException("Parser:  all columns in the file are skipped and no H2OFrame" +
               " can be returned."); // Need this to send error message to R
 
-    parse.job = new JobV3(ParseDataset.parse(
-            parse.destination_frame.key(), srcs, parse.delete_on_done, setup, parse.blocking
-    )._job);
+    if (parse.append && parse.lazy)
+      throw new H2OIllegalArgumentException("Parser: append and lazy cannot be combined.");
+
+    if (parse.append || parse.lazy) {
+      Job<Frame> job = parse.append
+              ? ParseDataset.forkAppend(parse.destination_frame.key(), srcs, setup, parse.delete_on_done)
+              : ParseDataset.forkParseLazy(parse.destination_frame.key(), srcs, setup);
+      if (parse.blocking)
+        job.get();
+      parse.job = new JobV3(job);
+    } else
+      parse.job = new JobV3(ParseDataset.parse(
+              parse.destination_frame.key(), srcs, parse.delete_on_done, setup, parse.blocking
+      )._job);
     if (parse.blocking) {
       Frame fr = DKV.getGet(parse.destination_frame.key());
       parse.rows = fr.numRows();
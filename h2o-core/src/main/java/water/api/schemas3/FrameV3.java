@@ -12,6 +12,7 @@ import water.fvec.Frame;
 import water.fvec.Frame.VecSpecifier;
 import water.fvec.Vec;
 import water.parser.BufferedString;
+import water.parser.LazyParseVec;
 import water.util.ChunkSummary;
 import water.util.FrameUtils;
 import water.util.Log;
@@ -21,6 +22,8 @@ import water.util.PrettyPrint;
  * All the details on a Frame.  Note that inside ColV3 there are fields which won't be
  * populated if we don't compute rollups, e.g. via
  * the REST API endpoint /Frames/<frameid>/columns/<colname>/summary.
+ * The rollups of columns of a lazily parsed frame which were not parsed yet are
+ * never computed here, that would parse them; their stats are left empty.
  */
 public class FrameV3 extends FrameBaseV3<Frame, FrameV3> {
 
@@ -153,26 +156,19 @@ public class FrameV3 extends FrameBaseV3<Frame, FrameV3> {
     ColV3(String name, Vec vec, long off, int len, boolean is_full_column) {
       label = name;
 
-      missing_count = vec.naCnt();
-      zero_count = vec.length() - vec.nzCnt() - missing_count;
-      positive_infinity_count = vec.pinfs();
-      negative_infinity_count = vec.ninfs();
-      mins = vec.mins();
-      maxs = vec.maxs();
-      mean = vec.mean();
-      sigma = vec.sigma();
-      // Histogram data is only computed on-demand.  By default here we do NOT
-      // compute it, but will return any prior computed & cached histogram.
-      histogram_bins = vec.lazy_bins();
-      histogram_base = histogram_bins == null ? 0 : vec.base();
-      histogram_stride = histogram_bins == null ? 0 : vec.stride();
-      percentiles = histogram_bins == null ? null : vec.pctiles();
+      boolean rollups = !LazyParseVec.isUnparsed(vec);
+      if (rollups)
+        fillRollups(vec);
+      else {                    // Not computed
+        mean = Double.NaN;
+        sigma = Double.NaN;
+      }
 
       type = vec.isUUID() ? "uuid" :
               vec.isString() ? "string" :
                       vec.isCategorical() ? "enum" :
                               vec.isTime() ? "time" :
-                                      vec.isInt() ? "int" : "real";
+                                      rollups && vec.isInt() ? "int" : "real";
       domain = vec.domain();
       if (vec.isCategorical()) {
         domain_cardinality = domain.length;
@@ -210,6 +206,23 @@ public class FrameV3 extends FrameBaseV3<Frame, FrameV3> {
       this(name, vec, off, len, true);
     }
 
+    private void fillRollups(Vec vec) {
+      missing_count = vec.naCnt();
+      zero_count = vec.length() - vec.nzCnt() - missing_count;
+      positive_infinity_count = vec.pinfs();
+      negative_infinity_count = vec.ninfs();
+      mins = vec.mins();
+      maxs = vec.maxs();
+      mean = vec.mean();
+      sigma = vec.sigma();
+      // Histogram data is only computed on-demand.  By default here we do NOT
+      // compute it, but will return any prior computed & cached histogram.
+      histogram_bins = vec.lazy_bins();
+      histogram_base = histogram_bins == null ? 0 : vec.base();
+      histogram_stride = histogram_bins == null ? 0 : vec.stride();
+      percentiles = histogram_bins == null ? null : vec.pctiles();
+    }
+
     public void clearBinsField() {
       this.histogram_bins = null;
     }
@@ -265,7 +278,9 @@ public class FrameV3 extends FrameBaseV3<Frame, FrameV3> {
     column_count = Math.min(column_count, column_offset + f.numCols());
 
     this.frame_id = new FrameKeyV3(f._key);
-    if (expensive) {
+    // Columns of a lazily parsed frame are not parsed just to be listed
+    Frame parsed = parsedColumns(f);
+    if (expensive && parsed == f) {
       this.checksum = f.checksum();
       this.byte_size = f.byteSize();
     }
@@ -288,7 +303,7 @@ public class FrameV3 extends FrameBaseV3<Frame, FrameV3> {
     for( int i = 0; i < column_count; i++ )
       if (null == DKV.get(vecs[column_offset + i]._key))
         Log.warn("For Frame: " + f._key + ", Vec number: " + (column_offset + i) + " (" + f.name((column_offset + i))+ ") is missing; not returning it.");
-      else
+      else if (!LazyParseVec.isUnparsed(vecs[column_offset + i]))
         vecs[column_offset + i].startRollupStats(fs);
 
 
@@ -302,8 +317,8 @@ public class FrameV3 extends FrameBaseV3<Frame, FrameV3> {
     this.is_text = f.numCols()==1 && vecs[0] instanceof ByteVec;
     this.default_percentiles = Vec.PERCENTILES;
 
-    if (expensive) {
-      ChunkSummary cs = FrameUtils.chunkSummary(f);
+    if (expensive && parsed.numCols() > 0) {
+      ChunkSummary cs = FrameUtils.chunkSummary(parsed);
 
       this.chunk_summary = new TwoDimTableV3(cs.toTwoDimTableChunkTypes());
       this.distribution_summary = new TwoDimTableV3(cs.toTwoDimTableDistribution());
@@ -316,6 +331,19 @@ public class FrameV3 extends FrameBaseV3<Frame, FrameV3> {
 
 
 
+  // The frame without the columns of a lazily parsed frame which were not parsed yet, f itself if there are none
+  private static Frame parsedColumns(Frame f) {
+    Vec[] vecs = f.vecs();
+    int n = 0;
+    for (Vec v : vecs)
+      if (!LazyParseVec.isUnparsed(v)) n++;
+    if (n == vecs.length) return f;
+    Frame parsed = new Frame();
+    for (int i = 0; i < vecs.length; i++)
+      if (!LazyParseVec.isUnparsed(vecs[i])) parsed.add(f.name(i), vecs[i]);
+    return parsed;
+  }
+
   public void clearBinsField() {
     for (ColV3 col: columns)
       if (col != null)
@@ -38,4 +38,7 @@ public class ImportSQLTableV99 extends RequestSchemaV3<Iced,ImportSQLTableV99> {
   @API(help = "Desired number of chunks for the target Frame. Optional.")
   public String num_chunks_hint;
 
+  @API(help = "Numeric or date column to split the table on into range queries, required by the 'PARTITIONED' fetch mode.")
+  public String partition_column;
+
 }
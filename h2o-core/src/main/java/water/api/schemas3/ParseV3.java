@@ -62,6 +62,22 @@ public class ParseV3 extends RequestSchemaV3<Iced, ParseV3> {
   @API(help = "Name of the column the persisted dataset has been partitioned by.")
   public String[] partition_by;
 
+  @API(help="Predicate on column values, e.g. 'year >= 2017 & country == \"CZ\"'; the Parquet and ORC parsers skip row groups " +
+          "whose statistics show no row can match. Rows of the other row groups are all imported.",
+          direction=API.Direction.INPUT)
+  public String pushdown_predicate;
+
+  @API(help="Append the parsed rows to the existing destination frame instead of creating a new one; the columns are " +
+          "parsed with the types of the frame's columns and categorical domains grow by the new levels.",
+          direction=API.Direction.INPUT)
+  public boolean append;
+
+  @API(help="Parse the columns on demand: only the first column and the categorical columns are parsed up front, the " +
+          "other columns are parsed when they are used the first time; the source files are kept (delete_on_done " +
+          "is ignored). Supported for uncompressed CSV files.",
+          direction=API.Direction.INPUT)
+  public boolean lazy;
+
   // Output fields
   @API(help="Parse job", direction=API.Direction.OUTPUT)
   public JobV3 job;
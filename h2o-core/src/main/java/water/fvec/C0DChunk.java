@@ -3,6 +3,7 @@ package water.fvec;
 import water.parser.BufferedString;
 import water.util.UnsafeUtils;
 
+import java.util.Arrays;
 import java.util.UUID;
 
 /**
@@ -71,6 +72,18 @@ public class C0DChunk extends Chunk {
     return _len;
   }
 
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA){
+    Arrays.fill(vals,0,to-from,Double.isNaN(_con)?NA:_con);
+    return vals;
+  }
+  @Override public int getDoubles(double [] vals, long [] naMask, int from, int to){
+    int n = to-from;
+    boolean isNA = Double.isNaN(_con);
+    Arrays.fill(vals,0,n,isNA?0:_con);
+    Arrays.fill(naMask,0,(n+63)>>6,isNA?-1L:0);
+    if(isNA && (n & 63) != 0) naMask[n >> 6] = (1L << n) - 1;
+    return isNA?n:0;
+  }
 
   @Override
   public <T extends ChunkVisitor> T processRows(T v, int from, int to){
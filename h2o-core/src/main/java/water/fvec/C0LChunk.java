@@ -2,6 +2,8 @@ package water.fvec;
 
 import water.util.UnsafeUtils;
 
+import java.util.Arrays;
+
 /**
  * The constant 'long' column.
  */
@@ -40,6 +42,26 @@ public class C0LChunk extends Chunk {
     return _len;
   }
 
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA){
+    Arrays.fill(vals,0,to-from,_con);
+    return vals;
+  }
+  @Override public int [] getIntegers(int [] vals, int from, int to, int NA){
+    if((int)_con != _con) throw new RuntimeException(_con + " does not fit into int");
+    Arrays.fill(vals,0,to-from,(int)_con);
+    return vals;
+  }
+  @Override public long [] getLongs(long [] vals, int from, int to, long NA){
+    Arrays.fill(vals,0,to-from,_con);
+    return vals;
+  }
+  // No NAs, the mask stays empty
+  @Override public int getDoubles(double [] vals, long [] naMask, int from, int to){
+    getDoubles(vals,from,to,Double.NaN);
+    Arrays.fill(naMask,0,(to-from+63)>>6,0);
+    return 0;
+  }
+
   @Override
   public <T extends ChunkVisitor> T processRows(T v, int from, int to){
     if(_con == 0)
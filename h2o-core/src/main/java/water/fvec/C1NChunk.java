@@ -1,5 +1,7 @@
 package water.fvec;
 
+import java.util.Arrays;
+
 /**
  * The empty-compression function, if all elements fit directly on UNSIGNED bytes.
  * [In particular, this is the compression style for data read in from files.]
@@ -37,6 +39,22 @@ public class C1NChunk extends Chunk {
       vals[i-from] = _mem[i]&0xFF;
     return vals;
   }
+  @Override public int [] getIntegers(int [] vals, int from, int to, int NA){
+    for(int i = from; i < to; ++i)
+      vals[i-from] = _mem[i]&0xFF;
+    return vals;
+  }
+  // No NAs, the mask stays empty
+  @Override public int getDoubles(double [] vals, long [] naMask, int from, int to){
+    getDoubles(vals,from,to,Double.NaN);
+    Arrays.fill(naMask,0,(to-from+63)>>6,0);
+    return 0;
+  }
+  @Override public int getIntegers(int [] vals, long [] naMask, int from, int to){
+    getIntegers(vals,from,to,0);
+    Arrays.fill(naMask,0,(to-from+63)>>6,0);
+    return 0;
+  }
   @Override
   public <T extends ChunkVisitor> T processRows(T v, int from, int to) {
     for(int i = from; i < to; i++) v.addValue(0xFF&_mem[i]);
@@ -120,6 +120,40 @@ public class CBSChunk extends Chunk {
     return v;
   }
 
+  // Bulk decode, 1-bit chunks are unpacked a whole byte (8 values) at a time
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA){
+    int i = from;
+    if(_bpv == 1) {
+      for(; i < to && (i & 7) != 0; ++i) vals[i-from] = read(i);
+      for(; i + 8 <= to; i += 8) {
+        int b = _mem[_OFF + (i >> 3)];
+        int k = i - from;
+        for(int j = 0; j < 8; ++j) vals[k + j] = (b >> j) & 1;
+      }
+    }
+    for(; i < to; ++i) {
+      byte b = read(i);
+      vals[i-from] = b == _NA?NA:b;
+    }
+    return vals;
+  }
+  @Override public int [] getIntegers(int [] vals, int from, int to, int NA){
+    int i = from;
+    if(_bpv == 1) {
+      for(; i < to && (i & 7) != 0; ++i) vals[i-from] = read(i);
+      for(; i + 8 <= to; i += 8) {
+        int b = _mem[_OFF + (i >> 3)];
+        int k = i - from;
+        for(int j = 0; j < 8; ++j) vals[k + j] = (b >> j) & 1;
+      }
+    }
+    for(; i < to; ++i) {
+      byte b = read(i);
+      vals[i-from] = b == _NA?NA:b;
+    }
+    return vals;
+  }
+
 //  /** Writes 1bit from value into b at given offset and return b */
 //  public static byte write1b(byte b, byte val, int off) {
 //    val = (byte) ((val & 0x1) << (7-off));
@@ -0,0 +1,151 @@
+package water.fvec;
+
+import water.MemoryManager;
+import water.util.UnsafeUtils;
+
+import java.util.Arrays;
+
+/**
+ * The dictionary compression function, for columns with few distinct values
+ * spread over a range too wide for the bias/scale encodings.
+ *
+ * Layout: 4B len, 4B number of values, 1B index size (1 or 2), 1B integer
+ * flag, 6B padding, then the distinct values as doubles followed by one
+ * index into them per row.  Missing values are a NaN entry.
+ */
+public class CDictChunk extends Chunk {
+  static final int _OFF = 16;
+  public static final int MAX_VALUES = 1 << 16;
+  private transient int _nvals;
+  private transient int _idxSz;
+  private transient boolean _isInt;
+  private transient int _idxOff;
+
+  public CDictChunk() {}
+
+  /** Encode the given values against the given sorted, distinct dictionary. */
+  CDictChunk(double[] vals, int len, double[] dict, boolean isInt) {
+    int nvals = dict.length;
+    int idxSz = idxSize(nvals);
+    _mem = MemoryManager.malloc1(computeByteSize(nvals, len));
+    UnsafeUtils.set4(_mem, 0, len);
+    UnsafeUtils.set4(_mem, 4, nvals);
+    _mem[8] = (byte) idxSz;
+    _mem[9] = (byte) (isInt ? 1 : 0);
+    for (int j = 0; j < nvals; j++)
+      UnsafeUtils.set8d(_mem, _OFF + (j << 3), dict[j]);
+    int idxOff = _OFF + (nvals << 3);
+    for (int i = 0; i < len; i++) {
+      int j = Arrays.binarySearch(dict, vals[i]); // Finds NaN too, it sorts last
+      assert j >= 0;
+      if (idxSz == 1) _mem[idxOff + i] = (byte) j;
+      else UnsafeUtils.set2(_mem, idxOff + (i << 1), (short) j);
+    }
+    initFromBytes();
+  }
+
+  private static int idxSize(int nvals) { return nvals <= 256 ? 1 : 2; }
+
+  public static int computeByteSize(int nvals, int len) {
+    return _OFF + (nvals << 3) + len * idxSize(nvals);
+  }
+
+  private int index(int i) {
+    return _idxSz == 1 ? 0xFF & _mem[_idxOff + i] : 0xFFFF & UnsafeUtils.get2(_mem, _idxOff + (i << 1));
+  }
+  private double value(int j) { return UnsafeUtils.get8d(_mem, _OFF + (j << 3)); }
+
+  // Binary search of the sorted dictionary in Arrays.sort order (NaN last), -1 if d is not in it
+  private int find(double d) {
+    int lo = 0, hi = _nvals - 1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      int cmp = Double.compare(value(mid), d);
+      if (cmp < 0) lo = mid + 1;
+      else if (cmp > 0) hi = mid - 1;
+      else return mid;
+    }
+    return -1;
+  }
+
+  public int numValues() { return _nvals; }
+
+  @Override protected final double atd_impl(int i) { return value(index(i)); }
+  @Override protected final long at8_impl(int i) {
+    double d = atd_impl(i);
+    if (Double.isNaN(d)) throw new IllegalArgumentException("at8_abs but value is missing");
+    return (long) d;
+  }
+  @Override protected final boolean isNA_impl(int i) { return Double.isNaN(atd_impl(i)); }
+
+  // Writes succeed only for values already in the dictionary
+  @Override boolean set_impl(int idx, long l) { return set_impl(idx, (double) l); }
+  @Override boolean set_impl(int idx, double d) {
+    int j = find(d);
+    if (j < 0) return false;
+    if (_idxSz == 1) _mem[_idxOff + idx] = (byte) j;
+    else UnsafeUtils.set2(_mem, _idxOff + (idx << 1), (short) j);
+    return true;
+  }
+  @Override boolean set_impl(int idx, float f) { return set_impl(idx, (double) f); }
+  @Override boolean setNA_impl(int idx) { return set_impl(idx, Double.NaN); }
+
+  @Override public boolean hasFloat() { return !_isInt; }
+
+  // Decoded dictionary with NAs replaced
+  private double[] dictionary(double NA) {
+    double[] dict = new double[_nvals];
+    for (int j = 0; j < _nvals; j++) {
+      double d = value(j);
+      dict[j] = Double.isNaN(d) ? NA : d;
+    }
+    return dict;
+  }
+
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA) {
+    double[] dict = dictionary(NA);
+    if (_idxSz == 1) {
+      for (int i = from; i < to; i++)
+        vals[i - from] = dict[0xFF & _mem[_idxOff + i]];
+    } else {
+      for (int i = from; i < to; i++)
+        vals[i - from] = dict[0xFFFF & UnsafeUtils.get2(_mem, _idxOff + (i << 1))];
+    }
+    return vals;
+  }
+
+  @Override public double [] getDoubles(double [] vals, int [] ids) {
+    double[] dict = dictionary(Double.NaN);
+    int k = 0;
+    for (int i : ids) vals[k++] = dict[index(i)];
+    return vals;
+  }
+
+  private void processRow(int r, ChunkVisitor v) {
+    double d = atd_impl(r);
+    if (Double.isNaN(d)) v.addNAs(1);
+    else if (_isInt) v.addValue((long) d);
+    else v.addValue(d);
+  }
+
+  @Override
+  public <T extends ChunkVisitor> T processRows(T v, int from, int to) {
+    for (int i = from; i < to; i++) processRow(i, v);
+    return v;
+  }
+
+  @Override
+  public <T extends ChunkVisitor> T processRows(T v, int[] ids) {
+    for (int i : ids) processRow(i, v);
+    return v;
+  }
+
+  @Override protected final void initFromBytes() {
+    _start = -1;  _cidx = -1;
+    set_len(UnsafeUtils.get4(_mem, 0));
+    _nvals = UnsafeUtils.get4(_mem, 4);
+    _idxSz = _mem[8];
+    _isInt = _mem[9] != 0;
+    _idxOff = _OFF + (_nvals << 3);
+  }
+}
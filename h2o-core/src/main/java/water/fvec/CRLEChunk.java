@@ -0,0 +1,142 @@
+package water.fvec;
+
+import water.MemoryManager;
+import water.util.UnsafeUtils;
+
+import java.util.Arrays;
+
+/**
+ * The run-length compression function, for columns with long runs of
+ * repeated values (sorted time columns, flags, ...).
+ *
+ * Layout: 4B len, 4B number of runs, 1B integer flag, 7B padding, then the
+ * (exclusive) end row of every run as ints followed by the run values as
+ * doubles.  Missing values are NaN runs.
+ */
+public class CRLEChunk extends Chunk {
+  static final int _OFF = 16;
+  private transient int _nruns;
+  private transient boolean _isInt;
+  private transient int _valOff;
+  private transient int _prevRun; // Last run looked up, rows are mostly read in order
+
+  public CRLEChunk() {}
+
+  /** Encode the given values; the caller counted the runs. */
+  CRLEChunk(double[] vals, int len, int nruns, boolean isInt) {
+    _mem = MemoryManager.malloc1(computeByteSize(nruns));
+    UnsafeUtils.set4(_mem, 0, len);
+    UnsafeUtils.set4(_mem, 4, nruns);
+    _mem[8] = (byte) (isInt ? 1 : 0);
+    int valOff = _OFF + (nruns << 2);
+    int r = 0;
+    for (int i = 1; i <= len; i++) {
+      if (i == len || Double.doubleToLongBits(vals[i]) != Double.doubleToLongBits(vals[i - 1])) {
+        UnsafeUtils.set4(_mem, _OFF + (r << 2), i);
+        UnsafeUtils.set8d(_mem, valOff + (r << 3), vals[i - 1]);
+        r++;
+      }
+    }
+    assert r == nruns;
+    initFromBytes();
+  }
+
+  public static int computeByteSize(int nruns) {
+    return _OFF + nruns * (4 + 8);
+  }
+
+  /** Number of runs of equal values (NaNs included) in the first len values. */
+  static int countRuns(double[] vals, int len, int max) {
+    if (len == 0) return 0;
+    int runs = 1;
+    long prev = Double.doubleToLongBits(vals[0]);
+    for (int i = 1; i < len && runs <= max; i++) {
+      long x = Double.doubleToLongBits(vals[i]);
+      if (x != prev) runs++;
+      prev = x;
+    }
+    return runs;
+  }
+
+  private int end(int run) { return UnsafeUtils.get4(_mem, _OFF + (run << 2)); }
+  private double val(int run) { return UnsafeUtils.get8d(_mem, _valOff + (run << 3)); }
+
+  // Index of the run holding row i
+  private int findRun(int i) {
+    int r = _prevRun;
+    if ((r == 0 || end(r - 1) <= i) && i < end(r)) return r;
+    if (r + 1 < _nruns && end(r) <= i && i < end(r + 1)) return _prevRun = r + 1;
+    int lb = 0, ub = _nruns - 1;
+    while (lb < ub) { // First run ending past i
+      int mid = (lb + ub) >>> 1;
+      if (end(mid) <= i) lb = mid + 1;
+      else ub = mid;
+    }
+    return _prevRun = lb;
+  }
+
+  public int numRuns() { return _nruns; }
+
+  @Override protected final double atd_impl(int i) { return val(findRun(i)); }
+  @Override protected final long at8_impl(int i) {
+    double d = atd_impl(i);
+    if (Double.isNaN(d)) throw new IllegalArgumentException("at8_abs but value is missing");
+    return (long) d;
+  }
+  @Override protected final boolean isNA_impl(int i) { return Double.isNaN(atd_impl(i)); }
+  @Override boolean set_impl(int idx, long l) { return atd_impl(idx) == l; }
+  @Override boolean set_impl(int idx, double d) {
+    double x = atd_impl(idx);
+    return x == d || Double.isNaN(x) && Double.isNaN(d);
+  }
+  @Override boolean set_impl(int idx, float f) { return set_impl(idx, (double) f); }
+  @Override boolean setNA_impl(int idx) { return isNA_impl(idx); }
+
+  @Override public boolean hasFloat() { return !_isInt; }
+
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA) {
+    if (from >= to) return vals;
+    for (int r = findRun(from), i = from; i < to; r++) {
+      int e = Math.min(end(r), to);
+      double d = val(r);
+      Arrays.fill(vals, i - from, e - from, Double.isNaN(d) ? NA : d);
+      i = e;
+    }
+    return vals;
+  }
+
+  @Override
+  public <T extends ChunkVisitor> T processRows(T v, int from, int to) {
+    if (from >= to) return v;
+    for (int r = findRun(from), i = from; i < to; r++) {
+      int e = Math.min(end(r), to);
+      double d = val(r);
+      if (Double.isNaN(d)) v.addNAs(e - i);
+      else if (d == 0) v.addZeros(e - i);
+      else if (_isInt) for (long l = (long) d; i < e; i++) v.addValue(l);
+      else for (; i < e; i++) v.addValue(d);
+      i = e;
+    }
+    return v;
+  }
+
+  @Override
+  public <T extends ChunkVisitor> T processRows(T v, int[] ids) {
+    for (int i : ids) {
+      double d = atd_impl(i);
+      if (Double.isNaN(d)) v.addNAs(1);
+      else if (_isInt) v.addValue((long) d);
+      else v.addValue(d);
+    }
+    return v;
+  }
+
+  @Override protected final void initFromBytes() {
+    _start = -1;  _cidx = -1;
+    set_len(UnsafeUtils.get4(_mem, 0));
+    _nruns = UnsafeUtils.get4(_mem, 4);
+    _isInt = _mem[8] != 0;
+    _valOff = _OFF + (_nruns << 2);
+    _prevRun = 0;
+  }
+}
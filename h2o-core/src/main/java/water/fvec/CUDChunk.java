@@ -14,7 +14,7 @@ public class CUDChunk extends Chunk {
   public static int computeByteSize(int uniques, int len) {
     return 4 + 4 // _len + numUniques
             + (uniques << 3) //unique double values
-            + (len << 1); //mapping of row -> unique value index (0...255)
+            + len; //mapping of row -> unique value index (0...255)
   }
   int numUniques;
   CUDChunk() {}
@@ -56,8 +56,8 @@ public class CUDChunk extends Chunk {
       if(Double.isNaN(uniques[i]))
         uniques[i] = NA;
     }
-    for(int i = 0; i < _len; ++i)
-      vals[i] = uniques[(UnsafeUtils.get1(_mem, 8 + (numUniques << 3) + i)+128)];
+    for(int i = from; i < to; ++i)
+      vals[i-from] = uniques[(UnsafeUtils.get1(_mem, 8 + (numUniques << 3) + i)+128)];
     return vals;
   }
 
@@ -17,6 +17,8 @@ public class CXFChunk extends CXIChunk {
     }
   }
 
+  @Override double getDVal(int x){return getVal(x);}
+
   @Override public long at8_impl(int idx){
     int x = findOffset(idx);
     if(x < 0) {
@@ -3,6 +3,8 @@ package water.fvec;
 import water.H2O;
 import water.util.UnsafeUtils;
 
+import java.util.Arrays;
+
 // Sparse chunk.
 public class CXIChunk extends Chunk {
   private static long [] _NAS = new long[]{-1/* not used, binary chunks can't have NAs */,/* not used*/-1,C2Chunk._NA,-1,C4Chunk._NA,-1,-1,-1,C8Chunk._NA};
@@ -47,6 +49,9 @@ public class CXIChunk extends Chunk {
     return ival == _NAS[_val_sz]?Double.NaN:ival;
   }
 
+  // Value of the element at offset x as a double, NaN if missing
+  double getDVal(int x){return getFVal(x);}
+
   @Override
   public final boolean isSparseNA(){return _isNA;}
 
@@ -157,6 +162,20 @@ public class CXIChunk extends Chunk {
     return onlyTrueZero && _isNA ? rid + 1 : nextNZ(rid);
   }
 
+  // Bulk decode: fill the range with the sparse value and scatter the stored elements over it
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA){
+    Arrays.fill(vals,0,to-from,_isNA?NA:0);
+    int x = from == 0?_OFF: findOffset(from);
+    if(x < 0) x = -x-1;
+    for(; x < _mem.length; x += _elem_sz){
+      int id = getId(x);
+      if(id >= to) break;
+      double d = getDVal(x);
+      vals[id-from] = Double.isNaN(d)?NA:d;
+    }
+    return vals;
+  }
+
   @Override
   public <T extends ChunkVisitor> T processRows(T v, int from, int to){
     int prevId = from-1;
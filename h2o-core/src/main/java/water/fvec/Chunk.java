@@ -3,6 +3,7 @@ package water.fvec;
 import water.*;
 import water.parser.BufferedString;
 
+import java.util.Arrays;
 import java.util.UUID;
 
 /** A compression scheme, over a chunk of data - a single array of bytes.
@@ -547,9 +548,13 @@ public abstract class Chunk extends Iced<Chunk> implements Vec.Holder {
   public Futures close( int cidx, Futures fs ) {
     if( this  instanceof NewChunk ) _chk2 = this;
     if( _chk2 == null ) return fs;          // No change?
-    if( _chk2 instanceof NewChunk ) _chk2 = ((NewChunk)_chk2).new_close();
+    if( _chk2 instanceof NewChunk ) _chk2 = OffHeapChunk.offload(((NewChunk)_chk2).new_close());
 
-    DKV.put(_vec.chunkKey(cidx),_chk2,fs,true); // Write updated chunk back into K/V
+    Key k = _vec.chunkKey(cidx);
+    if( _chk2 instanceof OffHeapChunk ) // Do not cache a serialized copy of an off-heap payload on the heap
+      DKV.put(k,new Value(k,_chk2,((OffHeapChunk)_chk2).serializedSize(),Value.ICE),fs,true);
+    else
+      DKV.put(k,_chk2,fs,true); // Write updated chunk back into K/V
     return fs;
   }
 
@@ -687,7 +692,7 @@ public abstract class Chunk extends Iced<Chunk> implements Vec.Holder {
 
   /** Custom serializers implemented by Chunk subclasses: the _mem field
    *  contains ALL the fields already. */
-  public final  AutoBuffer write_impl(AutoBuffer bb) {return bb.putA1(_mem);}
+  public final  AutoBuffer write_impl(AutoBuffer bb) {return bb.putA1(asBytes());}
 
   @Override
   public byte [] asBytes(){return _mem;}
@@ -789,6 +794,46 @@ public abstract class Chunk extends Iced<Chunk> implements Vec.Holder {
   public int [] getIntegers(int [] vals, int from, int to, int NA){
     return processRows(new ChunkVisitor.IntAryVisitor(vals,NA),from,to).vals;
   }
+  public long [] getLongs(long [] vals, int from, int to, long NA){
+    return processRows(new ChunkVisitor.LongAryVisitor(vals,NA),from,to).vals;
+  }
+
+  /**
+   * Dense bulk interface with a separate missing-value mask. Fetches values from the given range,
+   * missing values are stored as 0 and flagged in the mask (bit i-from, see {@link #isNA(long[], int)}).
+   * Unlike a NaN (or sentinel) fill, the mask stays exact for integer columns and lets the caller
+   * skip missing rows a word at a time.
+   * @param vals holds extracted values, length must be >= to-from
+   * @param naMask holds the missing-value bits, length must be >= (to-from+63)/64, see {@link #naMask(int)}
+   * @return number of missing values in the range
+   */
+  public int getDoubles(double [] vals, long [] naMask, int from, int to){
+    getDoubles(vals, from, to, Double.NaN);
+    int n = to - from;
+    Arrays.fill(naMask, 0, (n + 63) >> 6, 0);
+    int nas = 0;
+    for (int i = 0; i < n; i++) {
+      if (Double.isNaN(vals[i])) {
+        vals[i] = 0;
+        naMask[i >> 6] |= 1L << i;
+        nas++;
+      }
+    }
+    return nas;
+  }
+  public int getIntegers(int [] vals, long [] naMask, int from, int to){
+    Arrays.fill(naMask, 0, (to - from + 63) >> 6, 0);
+    return processRows(new ChunkVisitor.IntAryVisitor(vals,naMask),from,to)._nas;
+  }
+  public int getLongs(long [] vals, long [] naMask, int from, int to){
+    Arrays.fill(naMask, 0, (to - from + 63) >> 6, 0);
+    return processRows(new ChunkVisitor.LongAryVisitor(vals,naMask),from,to)._nas;
+  }
+
+  /** Allocate a missing-value mask for n rows. */
+  public static long [] naMask(int n){ return MemoryManager.malloc8((n + 63) >> 6); }
+  /** True if row i is flagged as missing in the given mask. */
+  public static boolean isNA(long [] naMask, int i){ return (naMask[i >> 6] & (1L << i)) != 0; }
   /**
    * Dense bulk interface, fetch values from the given ids
    * @param vals
@@ -157,8 +157,11 @@ public abstract class ChunkVisitor {
     public final int [] vals;
     private int _k = 0;
     private final int _na;
+    private final long [] _naMask; // optional, missing rows are flagged here instead of using _na
+    int _nas;
     IntAryVisitor(int [] vals){this(vals,(int)C4Chunk._NA);}
-    IntAryVisitor(int [] vals, int NA){this.vals = vals; _na = NA;}
+    IntAryVisitor(int [] vals, int NA){this.vals = vals; _na = NA; _naMask = null;}
+    IntAryVisitor(int [] vals, long [] naMask){this.vals = vals; _na = 0; _naMask = naMask;}
     @Override
     public void addValue(int val) {vals[_k++] = val;}
     @Override
@@ -170,7 +173,7 @@ public abstract class ChunkVisitor {
     @Override
     public void addValue(double val) {
       if (Double.isNaN(val)) {
-        vals[_k++] = _na;
+        addNAs(1);
       } else {
         int i = (int) val;
         if (i != val)
@@ -189,7 +192,57 @@ public abstract class ChunkVisitor {
     public void addNAs(int nas) {
       int k = _k;
       int kmax = k + nas;
-      for(;k < kmax; k++)vals[k] = _na;
+      for(;k < kmax; k++) {
+        vals[k] = _na;
+        if(_naMask != null) _naMask[k >> 6] |= 1L << k;
+      }
+      _nas += nas;
+      _k = kmax;
+    }
+  }
+
+  /**
+   * Simple chunk visitor for extracting rows from chunks into a long array.
+   */
+  public static final class LongAryVisitor extends ChunkVisitor {
+    public final long [] vals;
+    private int _k = 0;
+    private final long _na;
+    private final long [] _naMask; // optional, missing rows are flagged here instead of using _na
+    int _nas;
+    LongAryVisitor(long [] vals, long NA){this.vals = vals; _na = NA; _naMask = null;}
+    LongAryVisitor(long [] vals, long [] naMask){this.vals = vals; _na = 0; _naMask = naMask;}
+    @Override
+    public void addValue(int val) {vals[_k++] = val;}
+    @Override
+    public void addValue(long val) {vals[_k++] = val;}
+    @Override
+    public void addValue(double val) {
+      if (Double.isNaN(val)) {
+        addNAs(1);
+      } else {
+        long l = (long) val;
+        if (l != val)
+          throw new RuntimeException(val + " does not fit into long");
+        vals[_k++] = l;
+      }
+    }
+    @Override
+    public void addZeros(int zeros) {
+      int k = _k;
+      int kmax = k +zeros;
+      for(;k < kmax; k++)vals[k] = 0;
+      _k = kmax;
+    }
+    @Override
+    public void addNAs(int nas) {
+      int k = _k;
+      int kmax = k + nas;
+      for(;k < kmax; k++) {
+        vals[k] = _na;
+        if(_naMask != null) _naMask[k >> 6] |= 1L << k;
+      }
+      _nas += nas;
       _k = kmax;
     }
   }
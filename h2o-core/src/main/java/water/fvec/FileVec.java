@@ -261,4 +261,90 @@ public abstract class FileVec extends ByteVec {
       return (int)chunkSize;
     }
   }
+
+  /** Smallest Chunk, in compressed bytes of one column, worth a map() call */
+  public static final int MIN_COLUMN_CHUNK_BYTES = 1 << 13;
+  /** Largest Chunk, in compressed bytes of one column */
+  public static final int MAX_COLUMN_CHUNK_BYTES = 1 << 22;
+  /** Shortest parse of one chunk worth a task, in nanoseconds */
+  public static final long MIN_PARSE_TASK_NANOS = 10 * 1000 * 1000;
+  /** Chunks per core, if nothing else limits the chunk size */
+  public static final int CHUNKS_PER_CORE = 4;
+
+  /**
+   * Calculates the parse chunk size from measurements taken on a sample of the data (see
+   * {@link #balancedChunksPerNode}), instead of guessing the rows from the line length and the
+   * Chunk sizes from the column count like {@link #calcOptimalChunkSize}.
+   *
+   * @param totalSize - parse size in bytes (across all files to be parsed)
+   * @param numCols - number of parsed columns
+   * @param maxLineLength - length of the longest line seen
+   * @param cores - number of processing cores per node
+   * @param cloudsize - number of compute nodes
+   * @param inBytesPerRow - measured input bytes per row
+   * @param chunkBytesPerRow - measured compressed Chunk bytes per row, all columns together
+   * @param nanosPerByte - measured parse time per input byte, 0 if unknown
+   * @param verbose - print the parse heuristics
+   * @return - chunk size in bytes
+   */
+  public static int calcAdaptiveChunkSize(long totalSize, int numCols, long maxLineLength, int cores, int cloudsize,
+                                          double inBytesPerRow, double chunkBytesPerRow, double nanosPerByte,
+                                          boolean verbose) {
+    final int minParseChunkSize = 1<<12; // don't read less than this many bytes
+    final int maxParseChunkSize = (1<<28)-1; // needs to fit into a Value object
+    final long rows = Math.max(1, (long) (totalSize / inBytesPerRow));
+    final double minRowsPerTask = nanosPerByte > 0 ? MIN_PARSE_TASK_NANOS / (nanosPerByte * inBytesPerRow) : 0;
+    final int chunksPerNode = balancedChunksPerNode(rows, numCols, chunkBytesPerRow, cores, cloudsize, minRowsPerTask);
+    long chunkSize = (long) Math.ceil((double) totalSize / cloudsize / chunksPerNode);
+    chunkSize = Math.max(chunkSize, Math.max(minParseChunkSize, 10 * maxLineLength)); // at least 10 lines
+    chunkSize = Math.min(chunkSize, maxParseChunkSize);
+    if (verbose)
+      Log.info("ParseSetup adaptive heuristic: "
+              + "cloudSize: " + cloudsize
+              + ", cores: " + cores
+              + ", numCols: " + numCols
+              + ", totalSize: " + totalSize
+              + ", bytes/row: " + inBytesPerRow
+              + ", chunk bytes/row: " + chunkBytesPerRow
+              + ", ns/byte: " + nanosPerByte
+              + ", chunks/node: " + chunksPerNode
+              + ", chunkSize: " + chunkSize
+      );
+    return (int) chunkSize;
+  }
+
+  /**
+   * Number of chunks per node for data of the given shape, such that
+   * <ul>
+   * <li>every core gets the same number of chunks (the count is a multiple of cores),</li>
+   * <li>about {@value #CHUNKS_PER_CORE} chunks per core, but</li>
+   * <li>Chunks of a column are at least {@value #MIN_COLUMN_CHUNK_BYTES} bytes (wide data) and at most
+   * {@value #MAX_COLUMN_CHUNK_BYTES} bytes (narrow data),</li>
+   * <li>no more than 2M Chunk POJOs per node.</li>
+   * </ul>
+   * Used both to size parse chunks and to rebalance parsed frames.
+   *
+   * @param rows - total number of rows
+   * @param numCols - number of columns
+   * @param chunkBytesPerRow - compressed Chunk bytes per row, all columns together
+   * @param cores - number of processing cores per node
+   * @param cloudsize - number of compute nodes
+   * @param minRowsPerChunk - smallest chunk in rows, e.g. to make a parse task long enough; 0 for no limit
+   * @return - number of chunks per node
+   */
+  public static int balancedChunksPerNode(long rows, int numCols, double chunkBytesPerRow, int cores, int cloudsize,
+                                          double minRowsPerChunk) {
+    final int perNodeChunkCountLimit = 1<<21; // don't create more than 2M Chunk POJOs per node
+    final double localRows = Math.max(1, (double) rows / cloudsize);
+    final double columnBytesPerRow = Math.max(chunkBytesPerRow / Math.max(1, numCols), 1e-3);
+    double minRows = Math.max(minRowsPerChunk, MIN_COLUMN_CHUNK_BYTES / columnBytesPerRow);
+    minRows = Math.max(minRows, localRows * numCols / perNodeChunkCountLimit);
+    final double maxRows = MAX_COLUMN_CHUNK_BYTES / columnBytesPerRow;
+    // Preferred size, capped for narrow data; the lower limits win over the upper one
+    final double rowsPerChunk = Math.max(Math.min(localRows / (CHUNKS_PER_CORE * cores), maxRows), minRows);
+    long chunks = Math.max(1, (long) Math.ceil(localRows / rowsPerChunk));
+    if (chunks > cores) // Round to a multiple of cores, so that no core gets an extra chunk to process at the end
+      chunks = cores * Math.max(1, Math.round((double) chunks / cores));
+    return (int) Math.min(chunks, Math.max(1, perNodeChunkCountLimit / Math.max(1, numCols)));
+  }
 }
@@ -0,0 +1,177 @@
+package water.fvec;
+
+import water.*;
+import water.exceptions.H2OIllegalArgumentException;
+import water.parser.Categorical;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Appends the rows of one Frame to the end of another Frame, in place.
+ *
+ * Unlike rbind, the old data is neither copied nor read: the Chunks of the appended rows become
+ * new Chunks at the end of the existing Vecs, which keep their keys and only get a longer row
+ * layout (the old espc followed by the espc of the new rows). Categorical domains grow by
+ * adding the unseen levels at the end, so the codes of the old Chunks stay valid and only the
+ * new Chunks are recoded. Rollups of the Vecs are updated from the rollups of the new Chunks.
+ *
+ * The Vecs are modified in place; every Frame sharing them sees the appended rows.
+ */
+public final class FrameAppender {
+
+  private FrameAppender() {}
+
+  /**
+   * Appends the rows to the target frame. The caller holds the write lock of the target and
+   * is responsible for the DKV update of the target frame; the rows frame is left untouched.
+   *
+   * @param target frame to append to, all its Vecs need to be plain Vecs
+   * @param rows rows to append; same number of columns, column types need to match, all-NA
+   *             columns are compatible with any type
+   * @return number of rows appended
+   */
+  public static long append(Frame target, Frame rows) {
+    final Vec[] vecs = target.vecs();
+    final Vec[] added = rows.vecs();
+    if (vecs.length != added.length)
+      throw new H2OIllegalArgumentException("Cannot append " + added.length + " columns to frame " + target._key +
+              " with " + vecs.length + " columns.");
+    if (vecs.length == 0 || rows.numRows() == 0)
+      return 0;
+    final int ncols = vecs.length;
+    final byte[] types = new byte[ncols];
+    final String[][] domains = new String[ncols][];
+    final int[][] cmaps = new int[ncols][];
+    for (int i = 0; i < ncols; i++) {
+      if (vecs[i].getClass() != Vec.class)
+        throw new H2OIllegalArgumentException("Column '" + target.name(i) + "' is a " + vecs[i].getClass().getSimpleName() +
+                ", only plain Vecs can be appended to.");
+      types[i] = appendedType(target.name(i), vecs[i], added[i]);
+      if (types[i] == Vec.T_CAT)
+        domains[i] = growDomain(target.name(i), vecs[i], added[i], cmaps, i);
+    }
+
+    // New row layout: the old chunks followed by the chunks of the new rows
+    final long[] espc = vecs[0].espc();
+    final long[] addedEspc = added[0].espc();
+    final int chunkOffset = espc.length - 1;
+    final long[] newEspc = Arrays.copyOf(espc, espc.length + addedEspc.length - 1);
+    for (int j = 1; j < addedEspc.length; j++)
+      newEspc[chunkOffset + j] = espc[chunkOffset] + addedEspc[j];
+    final int rowLayout = Vec.ESPC.rowLayout(vecs[0]._key, newEspc);
+    final Vec[] appended = new Vec[ncols];
+    for (int i = 0; i < ncols; i++)
+      appended[i] = new Vec(vecs[i]._key, rowLayout, domains[i], types[i]);
+
+    // Rollups of the old data, fetched (not computed) before the Vecs change
+    final RollupStats[] oldRollups = new RollupStats[ncols];
+    for (int i = 0; i < ncols; i++)
+      oldRollups[i] = RollupStats.getOrNull(vecs[i], vecs[i].rollupStatsKey());
+
+    AppendChunksTask task = new AppendChunksTask(appended, chunkOffset, cmaps).doAll(rows);
+
+    Futures fs = new Futures();
+    for (int i = 0; i < ncols; i++) {
+      DKV.put(appended[i]._key, appended[i], fs);
+      Key rskey = appended[i].rollupStatsKey();
+      if (oldRollups[i] != null)
+        DKV.put(rskey, RollupStats.appended(oldRollups[i], vecs[i], task._rollups[i], appended[i]), fs);
+      else
+        DKV.remove(rskey, fs); // Not computed before, stay lazy
+    }
+    fs.blockForPending();
+    target.reloadVecs();
+    return rows.numRows();
+  }
+
+  private static byte appendedType(String name, Vec vec, Vec added) {
+    if (added.isBad() || vec.get_type() == added.get_type())
+      return vec.get_type();
+    // The old rows are all NA, they can take the type of the new rows
+    if (vec.isBad() && (added.isNumeric() || added.isCategorical() || added.isTime()))
+      return added.get_type();
+    throw new H2OIllegalArgumentException("Cannot append a column of type " + added.get_type_str() + " to column '" +
+            name + "' of type " + vec.get_type_str() + ".");
+  }
+
+  // Old levels keep their codes, unseen levels are added at the end; sets the code map of the new rows (null if identity)
+  private static String[] growDomain(String name, Vec vec, Vec added, int[][] cmaps, int col) {
+    String[] domain = vec.isCategorical() ? vec.domain() : new String[0];
+    if (!added.isCategorical())
+      return domain;            // All NAs
+    String[] addedDomain = added.domain();
+    HashMap<String, Integer> codes = new HashMap<>();
+    for (int j = 0; j < domain.length; j++)
+      codes.put(domain[j], j);
+    String[] grown = Arrays.copyOf(domain, domain.length + addedDomain.length);
+    int len = domain.length;
+    int[] cmap = new int[addedDomain.length];
+    boolean identity = true;
+    for (int j = 0; j < addedDomain.length; j++) {
+      Integer code = codes.get(addedDomain[j]);
+      if (code == null) {
+        codes.put(addedDomain[j], code = len);
+        grown[len++] = addedDomain[j];
+      }
+      cmap[j] = code;
+      identity &= code == j;
+    }
+    if (len > Categorical.MAX_CATEGORICAL_COUNT)
+      throw new H2OIllegalArgumentException("Appending to column '" + name + "' would exceed the maximum number of " +
+              "categorical levels (" + Categorical.MAX_CATEGORICAL_COUNT + ").");
+    cmaps[col] = identity ? null : cmap;
+    return Arrays.copyOf(grown, len);
+  }
+
+  // Copies (recodes) the chunks of the new rows under the chunk keys of the target Vecs, and rolls them up
+  private static class AppendChunksTask extends MRTask<AppendChunksTask> {
+    private final Vec[] _vecs;
+    private final int _chunkOffset;
+    private final int[][] _cmaps;
+    RollupStats[] _rollups;
+
+    AppendChunksTask(Vec[] vecs, int chunkOffset, int[][] cmaps) {
+      _vecs = vecs;
+      _chunkOffset = chunkOffset;
+      _cmaps = cmaps;
+    }
+
+    @Override
+    public void map(Chunk[] cs) {
+      _rollups = new RollupStats[cs.length];
+      for (int i = 0; i < cs.length; i++) {
+        final Vec vec = _vecs[i];
+        final int cidx = _chunkOffset + cs[i].cidx();
+        final Chunk chk = _cmaps[i] == null ? cs[i].deepCopy() : recode(cs[i], _cmaps[i]);
+        chk._vec = vec;
+        chk._start = vec.espc()[cidx];
+        chk._cidx = cidx;
+        _rollups[i] = RollupStats.ofChunk(chk);
+        Key k = vec.chunkKey(cidx);
+        if (chk instanceof OffHeapChunk) // Do not cache a serialized copy of an off-heap payload on the heap
+          DKV.put(k, new Value(k, chk, ((OffHeapChunk) chk).serializedSize(), Value.ICE), _fs, true);
+        else
+          DKV.put(k, chk, _fs, true);
+      }
+    }
+
+    private static Chunk recode(Chunk c, int[] cmap) {
+      NewChunk nc = new NewChunk(null, -1);
+      for (int r = 0; r < c._len; r++) {
+        if (c.isNA(r)) nc.addNA();
+        else nc.addNum(cmap[(int) c.at8(r)], 0);
+      }
+      return OffHeapChunk.offload(nc.compress());
+    }
+
+    @Override
+    public void reduce(AppendChunksTask mrt) {
+      if (_rollups == null) _rollups = mrt._rollups;
+      else if (mrt._rollups != null)
+        for (int i = 0; i < _rollups.length; i++)
+          _rollups[i].merge(mrt._rollups[i]);
+    }
+  }
+
+}
@@ -1131,7 +1131,7 @@ public class NewChunk extends Chunk {
   // Study this NewVector and determine an appropriate compression scheme.
   // Return the data so compressed.
   public Chunk compress() {
-    Chunk res = compress2();
+    Chunk res = recode(compress2());
     byte type = type();
     assert _vec == null ||  // Various testing scenarios do not set a Vec
       type == _vec._type || // Equal types
@@ -1159,6 +1159,83 @@ public class NewChunk extends Chunk {
     return res;
   }
 
+  // Opt-in: the value-based encodings are slower to read than the fixed-width ones
+  // they replace. Not final so that tests can enable them on the node they run on.
+  static boolean RECODE_ENABLED = H2O.getSysBoolProperty("chunks.recode.enabled", false);
+  static final int MIN_RECODE_LEN = 1 << 10;
+  private static final double MAX_EXACT_LONG = 1L << 53; // Longs beyond this do not round-trip through doubles
+
+  // Dense fixed-width encodings the value-based encodings below can replace
+  private static boolean isRecodable(Chunk c) {
+    Class<?> clz = c.getClass();
+    return clz == C1NChunk.class || clz == C1Chunk.class || clz == C2Chunk.class || clz == C4Chunk.class ||
+           clz == C8Chunk.class || clz == C1SChunk.class || clz == C2SChunk.class || clz == C4SChunk.class ||
+           clz == C4FChunk.class || clz == C8DChunk.class || clz == CBSChunk.class || clz == CUDChunk.class;
+  }
+
+  /**
+   * Cost model for the value-based encodings: a dense numeric chunk is
+   * re-encoded as runs ({@link CRLEChunk}) or against a dictionary of its
+   * distinct values ({@link CDictChunk}) if that at least halves its size.
+   * The chunk is decoded once in bulk; counting runs and distinct values
+   * gives up as soon as the encoding can no longer win.
+   */
+  static Chunk recode(Chunk c) {
+    final int len = c._len;
+    if (!RECODE_ENABLED || len < MIN_RECODE_LEN || !isRecodable(c)) return c;
+    final int budget = c._mem.length >> 1;
+    final boolean isInt = !c.hasFloat();
+    double[] vals = c.getDoubles(MemoryManager.malloc8d(len), 0, len);
+    if (isInt)
+      for (double d : vals)
+        if (Math.abs(d) > MAX_EXACT_LONG) return c;
+    int best = budget;
+    int maxRuns = (budget - CRLEChunk._OFF) / 12;
+    int runs = maxRuns > 0 ? CRLEChunk.countRuns(vals, len, maxRuns) : Integer.MAX_VALUE;
+    if (runs <= maxRuns) best = CRLEChunk.computeByteSize(runs);
+    // Dictionary needs at least 1 byte per row plus the values
+    int maxVals = Math.max(Math.min(256, (best - CDictChunk._OFF - len) >> 3),
+                           Math.min(CDictChunk.MAX_VALUES, (best - CDictChunk._OFF - 2 * len) >> 3));
+    double[] dict = maxVals > 0 ? distinct(vals, len, maxVals) : null;
+    if (dict != null && CDictChunk.computeByteSize(dict.length, len) < best)
+      return new CDictChunk(vals, len, dict, isInt);
+    if (runs <= maxRuns)
+      return new CRLEChunk(vals, len, runs, isInt);
+    return c;
+  }
+
+  // Sorted distinct values, or null if there are more than max of them
+  private static double[] distinct(double[] vals, int len, int max) {
+    int cap = Integer.highestOneBit(Math.max(max, 8)) << 2; // Open addressing, load factor <= .5
+    int shift = Integer.numberOfLeadingZeros(cap) + 1;
+    long[] keys = new long[cap];
+    boolean hasZero = false; // +0.0 has all bits zero, the empty slot marker
+    int n = 0;
+    for (int i = 0; i < len; i++) {
+      long x = Double.doubleToLongBits(vals[i]); // Canonical NaN
+      if (x == 0) {
+        if (!hasZero) { hasZero = true; if (++n > max) return null; }
+        continue;
+      }
+      int h = (int) (x ^ (x >>> 32)) * 0x9E3779B9;
+      for (int k = h >>> shift; ; k = (k + 1) & (cap - 1)) {
+        if (keys[k] == x) break;
+        if (keys[k] == 0) {
+          if (++n > max) return null;
+          keys[k] = x;
+          break;
+        }
+      }
+    }
+    double[] dict = new double[n];
+    int j = 0;
+    if (hasZero) dict[j++] = 0;
+    for (long x : keys)
+      if (x != 0) dict[j++] = Double.longBitsToDouble(x);
+    Arrays.sort(dict);
+    return dict;
+  }
+
   private static long leRange(long lemin, long lemax){
     if(lemin < 0 && lemax >= (Long.MAX_VALUE + lemin))
       return Long.MAX_VALUE; // if overflow return 64 as the max possible value
@@ -0,0 +1,269 @@
+package water.fvec;
+
+import water.AutoBuffer;
+import water.H2O;
+import water.MemoryManager;
+import water.util.PrettyPrint;
+import water.util.UnsafeUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * A fixed-width numeric Chunk whose payload lives outside of the Java heap.
+ *
+ * Wraps the compressed payload of one of the plain numeric chunk types
+ * (C1N, C1, C2, C4, C8, C4F, C8D and the scaled C1S, C2S, C4S) in a direct
+ * buffer obtained from {@link MemoryManager#mallocDirect}.  The encoding is
+ * kept as-is, so reads decode exactly like the original chunk type, only from
+ * off-heap memory.  The chunk is read-only; any write inflates it into a
+ * NewChunk.
+ *
+ * The serialized form is one byte of the original kind followed by the
+ * original chunk bytes, so remote nodes and the swap rebuild the same chunk.
+ *
+ * Opt-in with the {@code sys.ai.h2o.chunks.offheap.enabled} system property.
+ */
+public final class OffHeapChunk extends Chunk {
+
+  static final boolean ENABLED = H2O.getSysBoolProperty("chunks.offheap.enabled", false);
+
+  static final byte C1N = 0, C1 = 1, C2 = 2, C4 = 3, C8 = 4, C4F = 5, C8D = 6, C1S = 7, C2S = 8, C4S = 9;
+
+  private transient byte _kind;
+  private transient byte[] _hdr;     // CSChunk header (bias, scale, size), empty for unscaled kinds
+  private transient ByteBuffer _buf; // The payload, native byte order
+  private transient long _bias;
+  private transient double _scale;
+  private transient boolean _isDecimal;
+
+  public OffHeapChunk() {}
+
+  /**
+   * Move the payload of a freshly compressed chunk off-heap, if off-heap
+   * chunks are enabled and the chunk type is supported.
+   * @return an OffHeapChunk, or the original chunk
+   */
+  static Chunk offload(Chunk c) {
+    return ENABLED ? wrap(c) : c;
+  }
+
+  static Chunk wrap(Chunk c) {
+    byte kind = kindOf(c);
+    if (kind < 0) return c;
+    int off = kind >= C1S ? CSChunk._OFF : 0;
+    ByteBuffer buf = MemoryManager.mallocDirect(c._mem.length - off);
+    if (buf == null) return c; // Off-heap budget exhausted, stay on the heap
+    buf.put(c._mem, off, c._mem.length - off);
+    OffHeapChunk oc = new OffHeapChunk();
+    oc.init(kind, Arrays.copyOf(c._mem, off), buf);
+    assert oc._len == c._len;
+    return oc;
+  }
+
+  private static byte kindOf(Chunk c) {
+    Class<?> clz = c.getClass();
+    if (clz == C1NChunk.class) return C1N;
+    if (clz == C1Chunk.class) return C1;
+    if (clz == C2Chunk.class) return C2;
+    if (clz == C4Chunk.class) return C4;
+    if (clz == C8Chunk.class) return C8;
+    if (clz == C4FChunk.class) return C4F;
+    if (clz == C8DChunk.class) return C8D;
+    if (clz == C1SChunk.class) return C1S;
+    if (clz == C2SChunk.class) return C2S;
+    if (clz == C4SChunk.class) return C4S;
+    return -1;
+  }
+
+  private static int szLog(byte kind) {
+    switch (kind) {
+      case C1N: case C1: case C1S: return 0;
+      case C2: case C2S: return 1;
+      case C4: case C4F: case C4S: return 2;
+      case C8: case C8D: return 3;
+      default: throw H2O.fail("Unknown off-heap chunk kind " + kind);
+    }
+  }
+
+  private void init(byte kind, byte[] hdr, ByteBuffer buf) {
+    _start = -1;  _cidx = -1;
+    _kind = kind;
+    _hdr = hdr;
+    _buf = buf;
+    _mem = null;
+    set_len(buf.capacity() >> szLog(kind));
+    if (kind >= C1S) { // Same as CSChunk.initFromBytes
+      _bias = UnsafeUtils.get8(hdr, 0);
+      int x = UnsafeUtils.get4(hdr, 8);
+      _isDecimal = UnsafeUtils.get4(hdr, 12) < 0;
+      _scale = PrettyPrint.pow10(1, _isDecimal ? -x : x);
+    }
+  }
+
+  /** Size of the serialized form, without building it. */
+  public int serializedSize() { return 1 + _hdr.length + _buf.capacity(); }
+
+  /** True if the payload is really off-heap (and not a heap fallback). */
+  public boolean isDirect() { return _buf.isDirect(); }
+
+  @Override public byte[] asBytes() {
+    byte[] res = new byte[serializedSize()];
+    res[0] = _kind;
+    System.arraycopy(_hdr, 0, res, 1, _hdr.length);
+    ByteBuffer bb = _buf.duplicate();
+    bb.clear();
+    bb.get(res, 1 + _hdr.length, bb.capacity());
+    return res;
+  }
+
+  /** Write the serialized form as a length-prefixed byte array, the same as
+   *  {@code ab.putA1(asBytes())}, but the payload goes to the AutoBuffer
+   *  straight from the direct buffer. */
+  public AutoBuffer writeSerialized(AutoBuffer ab) {
+    ab.putInt(serializedSize()).put1(_kind).putA1(_hdr, _hdr.length);
+    ByteBuffer bb = _buf.duplicate();
+    bb.clear();
+    return ab.putDirect(bb);
+  }
+
+  @Override protected void initFromBytes() {
+    byte[] mem = _mem;
+    byte kind = mem[0];
+    int off = 1 + (kind >= C1S ? CSChunk._OFF : 0);
+    int n = mem.length - off;
+    ByteBuffer buf = MemoryManager.mallocDirect(n);
+    if (buf == null) buf = ByteBuffer.allocate(n).order(ByteOrder.nativeOrder());
+    buf.put(mem, off, n);
+    init(kind, Arrays.copyOfRange(mem, 1, off), buf);
+  }
+
+  @Override public Chunk deepCopy() {
+    Chunk c2 = clone();
+    c2._vec = null;
+    c2._start = -1;
+    c2._cidx = -1;
+    c2._mem = asBytes();
+    c2.initFromBytes();
+    return c2;
+  }
+
+  @Override public long byteSize() {
+    return super.byteSize() + _hdr.length + _buf.capacity();
+  }
+
+  private double scaled(int x, int NA) {
+    return x == NA ? Double.NaN : _isDecimal ? (_bias + x) / _scale : (_bias + x) * _scale;
+  }
+
+  @Override double atd_impl(int i) {
+    switch (_kind) {
+      case C1N: return 0xFF & _buf.get(i);
+      case C1: { int x = 0xFF & _buf.get(i); return x == C1Chunk._NA ? Double.NaN : x; }
+      case C2: { int x = _buf.getShort(i << 1); return x == C2Chunk._NA ? Double.NaN : x; }
+      case C4: { int x = _buf.getInt(i << 2); return x == C4Chunk._NA ? Double.NaN : x; }
+      case C8: { long x = _buf.getLong(i << 3); return x == C8Chunk._NA ? Double.NaN : x; }
+      case C4F: return _buf.getFloat(i << 2);
+      case C8D: return _buf.getDouble(i << 3);
+      case C1S: return scaled(0xFF & _buf.get(i), C1Chunk._NA);
+      case C2S: return scaled(_buf.getShort(i << 1), C2Chunk._NA);
+      case C4S: return scaled(_buf.getInt(i << 2), C4Chunk._NA);
+      default: throw H2O.fail();
+    }
+  }
+
+  @Override long at8_impl(int i) {
+    if (_kind == C8) { // Longs do not round-trip through doubles
+      long x = _buf.getLong(i << 3);
+      if (x == C8Chunk._NA) throw new IllegalArgumentException("at8_abs but value is missing");
+      return x;
+    }
+    double d = atd_impl(i);
+    if (Double.isNaN(d)) throw new IllegalArgumentException("at8_abs but value is missing");
+    return (long) d;
+  }
+
+  @Override boolean isNA_impl(int i) {
+    return _kind == C8 ? _buf.getLong(i << 3) == C8Chunk._NA : Double.isNaN(atd_impl(i));
+  }
+
+  @Override public boolean hasFloat() {
+    switch (_kind) {
+      case C4F: case C8D: return true;
+      case C1S: case C2S: case C4S: return _isDecimal || _scale < 1;
+      default: return false;
+    }
+  }
+
+  @Override public boolean hasNA() { return _kind != C1N; }
+
+  @Override public byte precision() {
+    return _kind >= C1S ? (byte) Math.max(UnsafeUtils.get4(_hdr, 8), 0) : -1;
+  }
+
+  // Read-only: any write inflates into a NewChunk
+  @Override boolean set_impl(int idx, long l) { return false; }
+  @Override boolean set_impl(int idx, double d) { return false; }
+  @Override boolean set_impl(int idx, float f) { return false; }
+  @Override boolean setNA_impl(int idx) { return false; }
+
+  private boolean isInteger() { return _kind <= C8; }
+
+  private void processRow(int r, ChunkVisitor v) {
+    if (_kind == C8) {
+      long x = _buf.getLong(r << 3);
+      if (x == C8Chunk._NA) v.addNAs(1);
+      else v.addValue(x);
+    } else if (isInteger()) {
+      double d = atd_impl(r);
+      if (Double.isNaN(d)) v.addNAs(1);
+      else v.addValue((long) d);
+    } else {
+      double d = atd_impl(r);
+      if (Double.isNaN(d)) v.addNAs(1);
+      else v.addValue(d);
+    }
+  }
+
+  @Override
+  public <T extends ChunkVisitor> T processRows(T v, int from, int to) {
+    for (int i = from; i < to; i++) processRow(i, v);
+    return v;
+  }
+
+  @Override
+  public <T extends ChunkVisitor> T processRows(T v, int[] ids) {
+    for (int i : ids) processRow(i, v);
+    return v;
+  }
+
+  @Override public double[] getDoubles(double[] vals, int from, int to, double NA) {
+    switch (_kind) {
+      case C8D:
+        for (int i = from; i < to; i++) {
+          double d = _buf.getDouble(i << 3);
+          vals[i - from] = Double.isNaN(d) ? NA : d;
+        }
+        break;
+      case C4:
+        for (int i = from; i < to; i++) {
+          int x = _buf.getInt(i << 2);
+          vals[i - from] = x == C4Chunk._NA ? NA : x;
+        }
+        break;
+      default:
+        for (int i = from; i < to; i++) {
+          double d = atd_impl(i);
+          vals[i - from] = Double.isNaN(d) ? NA : d;
+        }
+    }
+    return vals;
+  }
+
+  @Override public double[] getDoubles(double[] vals, int[] ids) {
+    int k = 0;
+    for (int i : ids) vals[k++] = atd_impl(i);
+    return vals;
+  }
+}
@@ -247,6 +247,80 @@ final class RollupStats extends Iced {
     _checksum ^= rs._checksum;
   }
 
+  // Turn the reduced sum of squares into sigma
+  private void finishMoments() {
+    _sigma = Math.sqrt(_sigma/(_rows-1));
+    if (_rows == 1) _sigma = 0;
+    if (_rows < 5) for (int i=0; i<5-_rows; i++) {  // Fix PUBDEV-150 for files under 5 rows
+      _maxs[4-i] = Double.NaN;
+      _mins[4-i] = Double.NaN;
+    }
+  }
+
+  // Vec-level adjustments, done after all Chunks were reduced
+  private void finishVec( Vec vec ) {
+    // mean & sigma not allowed on more than 2 classes; for 2 classes the assumption is that it's true/false
+    String[] ss = vec.domain();
+    if( vec.isCategorical() && ss.length > 2 )
+      _mean = _sigma = Double.NaN;
+    _size += vecOverhead(vec);
+  }
+
+  // Size of the domain and of the Chunk keys, accounted for in the Vec size
+  private static long vecOverhead( Vec vec ) {
+    String[] ss = vec.domain();
+    if( ss == null ) return 0;
+    long dsz = (2/*hdr*/+1/*len*/+ss.length)*8;  // Size of base domain array
+    for( String s : ss )
+      if( s != null )
+        dsz += 2*s.length() + (2/*hdr*/+1/*value*/+1/*hash*/+2/*hdr*/+1/*len*/)*8;
+    // Account for Chunk key size
+    int keysize = (2/*hdr*/+1/*kb*/+1/*hash*/+2/*hdr*/+1/*len*/)*8+ vec._key._kb.length;
+    return dsz + vec.nChunks()*(keysize*4/*key+value ptr in DKV, plus 50% fill rate*/);
+  }
+
+  /** Rollups of a single Chunk, not finished yet; combine them with {@link #merge}. */
+  static RollupStats ofChunk( Chunk c ) { return new RollupStats(0).map(c); }
+
+  /** Add the rollups of more Chunks, see {@link #ofChunk}. */
+  void merge( RollupStats rs ) { reduce(rs); }
+
+  /** Rollups of a Vec which got new Chunks appended at its end, computed from
+   *  the rollups of the Vec before the append and the merged rollups of the
+   *  new Chunks only; the old Chunks are not looked at.  The histogram and
+   *  percentiles are dropped and get computed again on demand.
+   *  @param old ready rollups of the Vec before the append
+   *  @param oldVec the Vec before the append
+   *  @param added rollups of the new Chunks, see {@link #ofChunk}
+   *  @param vec the Vec after the append  */
+  static RollupStats appended( RollupStats old, Vec oldVec, RollupStats added, Vec vec ) {
+    assert old.isReady();
+    // Undo the finishing of the old rollups
+    RollupStats rs = new RollupStats(0);
+    for( double d : old._mins ) if( !Double.isNaN(d) ) rs.min(d);
+    for( double d : old._maxs ) if( !Double.isNaN(d) ) rs.max(d);
+    rs._naCnt = old._naCnt;
+    rs._nzCnt = old._nzCnt;
+    rs._pinfs = old._pinfs;
+    rs._ninfs = old._ninfs;
+    rs._rows  = old._rows;
+    rs._mean  = old._mean;
+    rs._sigma = old._rows > 1 ? old._sigma*old._sigma*(old._rows-1) : 0;
+    rs._isInt = old._isInt;
+    rs._size  = old._size - vecOverhead(oldVec);
+    rs._checksum = old._checksum ^ oldVec.length();
+    rs.reduce(added);
+    rs.finishMoments();
+    if( vec.isUUID() || vec.isString() ) {
+      Arrays.fill(rs._mins,Double.NaN);
+      Arrays.fill(rs._maxs,Double.NaN);
+      rs._mean = rs._sigma = Double.NaN;
+    }
+    rs.finishVec(vec);
+    rs._checksum ^= vec.length();
+    return rs;
+  }
+
   double min( double d ) {
     assert(!Double.isNaN(d));
     for( int i=0; i<_mins.length; i++ )
@@ -275,29 +349,9 @@ final class RollupStats extends Iced {
     @Override public void postGlobal() {
       if( _rs == null )
         _rs = new RollupStats(0);
-      else {
-        _rs._sigma = Math.sqrt(_rs._sigma/(_rs._rows-1));
-        if (_rs._rows == 1) _rs._sigma = 0;
-        if (_rs._rows < 5) for (int i=0; i<5-_rs._rows; i++) {  // Fix PUBDEV-150 for files under 5 rows
-          _rs._maxs[4-i] = Double.NaN;
-          _rs._mins[4-i] = Double.NaN;
-        }
-      }
-      // mean & sigma not allowed on more than 2 classes; for 2 classes the assumption is that it's true/false
-      Vec vec = _fr.anyVec();
-      String[] ss = vec.domain();
-      if( vec.isCategorical() && ss.length > 2 )
-        _rs._mean = _rs._sigma = Double.NaN;
-      if( ss != null ) {
-        long dsz = (2/*hdr*/+1/*len*/+ss.length)*8;  // Size of base domain array
-        for( String s : vec.domain() )
-          if( s != null )
-            dsz += 2*s.length() + (2/*hdr*/+1/*value*/+1/*hash*/+2/*hdr*/+1/*len*/)*8;
-        _rs._size += dsz;             // Account for domain size in Vec size
-        // Account for Chunk key size
-        int keysize = (2/*hdr*/+1/*kb*/+1/*hash*/+2/*hdr*/+1/*len*/)*8+ vec._key._kb.length;
-        _rs._size += vec.nChunks()*(keysize*4/*key+value ptr in DKV, plus 50% fill rate*/);
-      }
+      else
+        _rs.finishMoments();
+      _rs.finishVec(_fr.anyVec());
     }
     // Just toooo common to report always.  Drowning in multi-megabyte log file writes.
     @Override public boolean logVerbose() { return false; }
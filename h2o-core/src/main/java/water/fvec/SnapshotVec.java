@@ -0,0 +1,75 @@
+package water.fvec;
+
+import water.*;
+import water.fvec.persist.SnapshotFile;
+
+/**
+ * A Vec loaded lazily from a columnar frame snapshot, see
+ * {@link water.fvec.persist.FramePersist}.
+ *
+ * Chunks are read from the snapshot by their home node and put into the DKV
+ * the first time they are asked for, typically by the first MRTask touching
+ * them; from then on the Vec behaves like any other Vec.  The snapshot files
+ * must stay in place until all chunks were loaded; overwriting the snapshot
+ * loads all chunks of its SnapshotVecs before deleting the files.
+ */
+public class SnapshotVec extends Vec {
+  private final String _dataPrefix; // Data files of the snapshot, one per node
+  private final int _col;           // Column of this Vec in the snapshot
+
+  public SnapshotVec(Key<Vec> key, int rowLayout, String[] domain, byte type, String dataPrefix, int col) {
+    super(key, rowLayout, domain, type);
+    _dataPrefix = dataPrefix;
+    _col = col;
+  }
+
+  /** Prefix of the snapshot data files the chunks are read from */
+  public String dataPrefix() { return _dataPrefix; }
+
+  // Convert a chunk# into a chunk - does lazy chunk loading.  The snapshot
+  // file holding a chunk can be on the local disk of the chunk's home node,
+  // so only the home node reads it; other nodes ask the home node to load it.
+  @Override Value chunkIdx( int cidx ) {
+    Key dkey = chunkKey(cidx);
+    Value val1 = DKV.get(dkey); // Check for an existing one... will fetch data as needed
+    if( val1 != null ) return val1;
+    if( !dkey.home() ) {
+      new RPC<>(dkey.home_node(), new LoadChunkTask(_key, cidx)).call().get();
+      return super.chunkIdx(cidx);
+    }
+    Value val2 = SnapshotFile.readChunk(SnapshotFile.dataUri(_dataPrefix, H2O.SELF.index()), dkey, _col, cidx);
+    // Atomically insert: fails on a race (or if the chunk was written to
+    // meanwhile), but then return the existing version
+    Value val3 = DKV.DputIfMatch(dkey, val2, null, null);
+    return val3 == null ? val2 : val3;
+  }
+
+  private static class LoadChunkTask extends DTask<LoadChunkTask> {
+    final Key<Vec> _vecKey;
+    final int _cidx;
+    LoadChunkTask(Key<Vec> vecKey, int cidx) {
+      super((byte)(Thread.currentThread() instanceof H2O.FJWThr ? currThrPriority()+1 : H2O.MIN_HI_PRIORITY-3));
+      _vecKey = vecKey;
+      _cidx = cidx;
+    }
+    @Override public void compute2() {
+      Vec vec = DKV.getGet(_vecKey);
+      if( vec == null ) throw new IllegalStateException("Missing vector " + _vecKey);
+      vec.chunkIdx(_cidx);
+      tryComplete();
+    }
+  }
+
+  /** Rollup stats of the given Vec, to be stored in a snapshot; null if not
+   *  computed. */
+  public static Iced rollupStatsOf(Vec vec) {
+    return RollupStats.getOrNull(vec, vec.rollupStatsKey());
+  }
+
+  /** Install rollup stats read from a snapshot, so they need not be
+   *  recomputed - which would load every chunk. */
+  public static void installRollupStats(Vec vec, Iced rs, Futures fs) {
+    if( rs != null )
+      DKV.put(vec.rollupStatsKey(), (RollupStats) rs, fs);
+  }
+}
@@ -924,6 +924,10 @@ public class Vec extends Keyed<Vec> {
    */
   public void startRollupStats(Futures fs, boolean doHisto) { RollupStats.start(this,fs,doHisto); }
 
+  /** Check if the basic Vec stats are computed, without computing them.
+   *  @return true if the roll-up stats are ready */
+  public boolean hasRollupStats() { return RollupStats.getOrNull(this,rollupStatsKey()) != null; }
+
   /** A high-quality 64-bit checksum of the Vec's content, useful for
    *  establishing dataset identity.
    *  @return Checksum of the Vec's content  */
@@ -1010,9 +1014,48 @@ public class Vec extends Keyed<Vec> {
   }
 
   public transient int [] _cids; // local chunk ids
+
+  // Keys of the Chunks homed on this node.  Every Chunk access goes through
+  // chunkKey, which otherwise builds a fresh Key and looks up the interned
+  // copy in the K/V store.  One slot per home Chunk, allocated on first use
+  // and dropped when the Vec is removed.  The slots are filled in lazily and
+  // racily, like the rollup stats key; all writers write an equal Key.
+  private transient HomeChunkKeys _homeChunkKeys;
+
+  private static final class HomeChunkKeys {
+    final Key _vecKey;          // Vec Key the Chunk Keys are made from
+    final int[] _cidxs;         // Ascending indices of the home Chunks, null if all Chunks are home
+    final Key[] _keys;          // Chunk Keys, in the order of _cidxs
+    HomeChunkKeys( Key vecKey, int nchunks ) {
+      _vecKey = vecKey;
+      int hsz = H2O.CLOUD.size(), self = H2O.SELF.index();
+      int[] cidxs = new int[self < 0 ? 0 : nchunks];
+      int n = 0;
+      for( int i = 0; i < cidxs.length; i++ )
+        if( Key.chunkD(i,0,hsz) == self ) cidxs[n++] = i;
+      _cidxs = n == nchunks ? null : Arrays.copyOf(cidxs,n);
+      _keys = new Key[n];
+    }
+    // Slot of Chunk #cidx, negative if it is not a home Chunk
+    int slot( int cidx ) {
+      if( _cidxs != null ) return Arrays.binarySearch(_cidxs,cidx);
+      return cidx < _keys.length ? cidx : -1;
+    }
+  }
+
   /** Get a Chunk Key from a chunk-index.  Basically the index-to-key map.
    *  @return Chunk Key from a chunk-index */
-  public Key chunkKey(int cidx ) { return chunkKey(_key,cidx); }
+  public Key chunkKey(int cidx ) {
+    if( cidx < 0 || _rowLayout == -1 ) return chunkKey(_key,cidx); // Rollups and other special keys, or no fixed Chunks
+    HomeChunkKeys hck = _homeChunkKeys;
+    if( hck == null || hck._vecKey != _key ) // Not made yet, or the Vec was re-keyed
+      _homeChunkKeys = hck = new HomeChunkKeys(_key,nChunks());
+    int i = hck.slot(cidx);
+    if( i < 0 ) return chunkKey(_key,cidx); // Homed elsewhere
+    Key k = hck._keys[i];
+    if( k == null ) hck._keys[i] = k = chunkKey(_key,cidx);
+    return k;
+  }
 
   /** Get a Chunk Key from a chunk-index and a Vec Key, without needing the
    *  actual Vec object.  Basically the index-to-key map.
@@ -1339,6 +1382,7 @@ public class Vec extends Keyed<Vec> {
    *  @return Passed in Futures for flow-coding  */
   @Override public Futures remove_impl(Futures fs, boolean cascade) {
     bulk_remove(new Key[]{_key}, nChunks());
+    _homeChunkKeys = null;
     return fs;
   }
 
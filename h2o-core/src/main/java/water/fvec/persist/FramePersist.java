@@ -4,20 +4,39 @@ import jsr166y.CountedCompleter;
 import water.*;
 import water.fvec.Chunk;
 import water.fvec.Frame;
+import water.fvec.SnapshotVec;
 import water.fvec.Vec;
+import water.util.ArrayUtils;
 import water.util.FileUtils;
+import water.util.Log;
 
 import java.net.URI;
-import java.util.HashSet;
-import java.util.Set;
 
 import static water.fvec.persist.PersistUtils.*;
 
+/**
+ * Saves frames to and loads them from a directory.
+ *
+ * A saved frame is a meta file with the frame's names, column types, domains,
+ * row layout and rollup stats, plus one columnar data file per node holding
+ * the chunks homed on that node (see {@link SnapshotFile}). Loading only reads
+ * the meta file: the frame's Vecs are {@link SnapshotVec}s, which read chunks
+ * from the data files the first time they are used. A lazily loaded frame
+ * needs the data files until all its chunks were touched; load eagerly when
+ * the files are about to be deleted by other means. Overwriting a snapshot
+ * writes new data files and deletes the previous ones once the new meta file
+ * is in place: the frames still loading lazily from the previous data files
+ * get all their chunks loaded first, from then on they do not need the files.
+ *
+ * Frames saved in the older format, one file per chunk index, are still
+ * loaded (eagerly).
+ */
 public class FramePersist {
     
     static {
-        // make sure FrameMeta is registered in TypeMap
+        // make sure the metas are registered in TypeMap
         TypeMap.onIce(FrameMeta.class.getName());
+        TypeMap.onIce(ColumnarFrameMeta.class.getName());
     }
 
     private final Frame frame;
@@ -42,6 +61,29 @@ public class FramePersist {
         }
     }
 
+    private static class ColumnarFrameMeta extends Iced<ColumnarFrameMeta> {
+        Key<Frame> key;
+        String[] names;
+        Vec[] vecs;       // Column types and domains
+        long[] espc;
+        int numNodes;
+        Iced[] rollups;   // Rollup stats of the columns, entries are null if not computed
+        String dataPrefix;
+
+        ColumnarFrameMeta(Frame f, String dataPrefix) {
+            key = f._key;
+            names = f.names();
+            vecs = f.vecs();
+            espc = f.anyVec().espc();
+            numNodes = H2O.CLOUD.size();
+            rollups = new Iced[vecs.length];
+            for (int i = 0; i < vecs.length; i++) {
+                rollups[i] = SnapshotVec.rollupStatsOf(vecs[i]);
+            }
+            this.dataPrefix = dataPrefix;
+        }
+    }
+
     private static URI getMetaUri(Key key, String dest) {
         return FileUtils.getURI(dest + "/" + key);
     }
@@ -55,20 +97,32 @@ public class FramePersist {
         if (exists(metaUri) && !overwrite) {
             throw new IllegalArgumentException("File already exists at " + metaUri);
         }
-        FrameMeta frameMeta = new FrameMeta(frame);
-        write(metaUri, ab -> ab.put(frameMeta));
+        // Data files get fresh names, so that a failed overwrite leaves the
+        // previous snapshot intact; its data files are deleted after the new
+        // meta file was written
+        String oldDataPrefix = exists(metaUri) ? previousDataPrefix(metaUri) : null;
+        String dataPrefix = metaUri + Key.rand();
         Job<Frame> job = new Job<>(frame._key, "water.fvec.Frame", "Save frame");
-        return new SaveFrameDriver(job, frame, metaUri);
+        return new SaveFrameDriver(job, frame, metaUri, dataPrefix, oldDataPrefix);
+    }
+
+    private static String previousDataPrefix(URI metaUri) {
+        Freezable anyMeta = read(metaUri, AutoBuffer::get);
+        return anyMeta instanceof ColumnarFrameMeta ? ((ColumnarFrameMeta) anyMeta).dataPrefix : null;
+    }
+
+    private int saveWork() {
+        return frame.anyVec().nChunks() * frame.numCols();
     }
     
     public Job<Frame> saveTo(String uri, boolean overwrite) {
         SaveFrameDriver driver = setupDriver(uri, overwrite);
-        return driver.job.start(driver, frame.anyVec().nChunks());
+        return driver.job.start(driver, saveWork());
     }
     
     public String[] saveToAndWait(String uri, boolean overwrite) {
         SaveFrameDriver driver = setupDriver(uri, overwrite);
-        driver.job.start(driver, frame.anyVec().nChunks());
+        driver.job.start(driver, saveWork());
         driver.job.get();
         String[] allWrittenFiles = new String[driver.task.writtenFiles.length+1];
         allWrittenFiles[0] = driver.metaUri.toString();
@@ -81,23 +135,42 @@ public class FramePersist {
         private final Job<Frame> job;
         private final Frame frame;
         public final URI metaUri;
-        public final SaveChunksTask task;
+        private final String dataPrefix;
+        private final String oldDataPrefix;
+        public final SaveColumnsTask task;
 
         public SaveFrameDriver(
             Job<Frame> job, 
             Frame frame,
-            URI metaUri
+            URI metaUri,
+            String dataPrefix,
+            String oldDataPrefix
         ) {
             this.job = job;
             this.frame = frame;
             this.metaUri = metaUri;
-            this.task = new SaveChunksTask(job, frame, metaUri.toString());
+            this.dataPrefix = dataPrefix;
+            this.oldDataPrefix = oldDataPrefix;
+            this.task = new SaveColumnsTask(job, frame, dataPrefix);
         }
 
         @Override
         public void compute2() {
             frame.read_lock(job._key);
-            task.doAll(frame).join();
+            // Rollups are stored with the frame, a loaded frame should not need a pass over the data for them
+            Futures fs = new Futures();
+            for (Vec v : frame.vecs()) {
+                v.startRollupStats(fs);
+            }
+            fs.blockForPending();
+            task.doAllNodes();
+            // The meta goes last, a snapshot is complete once it is there
+            ColumnarFrameMeta frameMeta = new ColumnarFrameMeta(frame, dataPrefix);
+            PersistUtils.write(metaUri, ab -> ab.put(frameMeta));
+            if (oldDataPrefix != null) {
+                detachSnapshotVecs(oldDataPrefix);
+                new DeleteDataFilesTask(oldDataPrefix).doAllNodes();
+            }
             tryComplete();
         }
 
@@ -113,34 +186,29 @@ public class FramePersist {
         }
     }
 
-    static class SaveChunksTask extends MRTask<SaveChunksTask> {
+    static class SaveColumnsTask extends MRTask<SaveColumnsTask> {
 
         private final Job<Frame> job;
-        private final String metaUri;
+        private final Frame frame;
+        private final String dataPrefix;
         public String[] writtenFiles;
         
-        SaveChunksTask(Job<Frame> job, Frame frame, String metaUri) {
+        SaveColumnsTask(Job<Frame> job, Frame frame, String dataPrefix) {
             this.job = job;
-            this.metaUri = metaUri;
-            this.writtenFiles = new String[frame.anyVec().nChunks()];
+            this.frame = frame;
+            this.dataPrefix = dataPrefix;
+            this.writtenFiles = new String[H2O.CLOUD.size()];
         }
 
         @Override
-        public void map(Chunk[] cs) {
-            URI dataUri = getDataUri(metaUri, cs[0].cidx());
-            writtenFiles[cs[0].cidx()] = dataUri.toString();
-            PersistUtils.write(dataUri, ab -> writeChunks(ab, cs));
-            job.update(1);
-        }
-
-        private void writeChunks(AutoBuffer autoBuffer, Chunk[] chunks) {
-            for (Chunk c : chunks) {
-                autoBuffer.put(c);
-            }
+        protected void setupLocal() {
+            URI dataUri = FileUtils.getURI(SnapshotFile.dataUri(dataPrefix, H2O.SELF.index()));
+            SnapshotFile.write(dataUri, frame, job);
+            writtenFiles[H2O.SELF.index()] = dataUri.toString();
         }
 
         @Override
-        public void reduce(SaveChunksTask mrt) {
+        public void reduce(SaveColumnsTask mrt) {
             for (int i = 0; i < writtenFiles.length; i++) {
                 if (mrt.writtenFiles[i] != null) {
                     assert writtenFiles[i] == null || writtenFiles[i].equals(mrt.writtenFiles[i]) :
@@ -152,16 +220,147 @@ public class FramePersist {
         }
     }
 
+    // Loads all chunks of the Vecs still reading the given data files
+    private static void detachSnapshotVecs(String dataPrefix) {
+        Key[] vecKeys = new FindSnapshotVecsTask(dataPrefix).doAllNodes().vecKeys;
+        if (vecKeys == null) return;
+        for (Key k : vecKeys) {
+            Vec v = DKV.getGet(k);
+            if (v != null) new LoadAllChunksTask(null).doAll(v);
+        }
+    }
+
+    static class FindSnapshotVecsTask extends MRTask<FindSnapshotVecsTask> {
+
+        private final String dataPrefix;
+        Key[] vecKeys;
+
+        FindSnapshotVecsTask(String dataPrefix) {
+            this.dataPrefix = dataPrefix;
+        }
+
+        @Override
+        protected void setupLocal() {
+            // Vec headers are found on their home nodes
+            for (Key k : H2O.localKeySet()) {
+                if (!k.isVec() || !k.home()) continue;
+                Value val = DKV.get(k);
+                Object v = val == null ? null : val.get();
+                if (v instanceof SnapshotVec && dataPrefix.equals(((SnapshotVec) v).dataPrefix())) {
+                    vecKeys = ArrayUtils.append(vecKeys, k);
+                }
+            }
+        }
+
+        @Override
+        public void reduce(FindSnapshotVecsTask mrt) {
+            if (mrt.vecKeys != null) vecKeys = ArrayUtils.append(vecKeys, mrt.vecKeys);
+        }
+    }
+
+    static class DeleteDataFilesTask extends MRTask<DeleteDataFilesTask> {
+
+        private final String dataPrefix;
+
+        DeleteDataFilesTask(String dataPrefix) {
+            this.dataPrefix = dataPrefix;
+        }
+
+        @Override
+        protected void setupLocal() {
+            // Every node deletes the data file it wrote
+            String uri = SnapshotFile.dataUri(dataPrefix, H2O.SELF.index());
+            SnapshotFile.forget(uri);
+            URI dataUri = FileUtils.getURI(uri);
+            if (exists(dataUri) && !delete(dataUri)) {
+                Log.warn("Failed to delete the previous snapshot data file " + dataUri);
+            }
+        }
+    }
+
     public static Job<Frame> loadFrom(Key<Frame> key, String uri) {
+        return loadFrom(key, uri, true);
+    }
+
+    /**
+     * @param lazy if true, chunks are read from the data files when first used,
+     *             otherwise all chunks are read before the job finishes
+     */
+    public static Job<Frame> loadFrom(Key<Frame> key, String uri, boolean lazy) {
         URI metaUri = getMetaUri(key, sanitizeUri(uri));
-        FrameMeta meta = read(metaUri, AutoBuffer::get);
-        if (meta.numNodes != H2O.CLOUD.size()) {
-            throw new IllegalArgumentException("To load this frame a cluster with " + meta.numNodes + " nodes is needed.");
+        Freezable anyMeta = read(metaUri, AutoBuffer::get);
+        if (anyMeta instanceof ColumnarFrameMeta) {
+            ColumnarFrameMeta meta = (ColumnarFrameMeta) anyMeta;
+            checkNumNodes(meta.numNodes);
+            Job<Frame> job = new Job<>(meta.key, "water.fvec.Frame", "Load frame");
+            return job.start(new LoadColumnarFrameDriver(job, meta, lazy), lazy ? 1 : meta.espc.length-1);
         }
+        FrameMeta meta = (FrameMeta) anyMeta;
+        checkNumNodes(meta.numNodes);
         Job<Frame> job = new Job<>(meta.key, "water.fvec.Frame", "Load frame");
         return job.start(new LoadFrameDriver(job, metaUri.toString(), meta), meta.espc.length-1);
     }
 
+    private static void checkNumNodes(int numNodes) {
+        // Chunks are homed by chunk index and cluster size, a node reads the data file it wrote itself
+        if (numNodes != H2O.CLOUD.size()) {
+            throw new IllegalArgumentException("To load this frame a cluster with " + numNodes + " nodes is needed.");
+        }
+    }
+
+    public static class LoadColumnarFrameDriver extends H2O.H2OCountedCompleter<LoadColumnarFrameDriver> {
+
+        private final Job<Frame> job;
+        private final ColumnarFrameMeta meta;
+        private final boolean lazy;
+
+        LoadColumnarFrameDriver(Job<Frame> job, ColumnarFrameMeta meta, boolean lazy) {
+            this.job = job;
+            this.meta = meta;
+            this.lazy = lazy;
+        }
+
+        @Override
+        public void compute2() {
+            Key<Vec>[] vecKeys = new Vec.VectorGroup().addVecs(meta.vecs.length);
+            int rowLayout = Vec.ESPC.rowLayout(vecKeys[0], meta.espc);
+            Vec[] vecs = new Vec[meta.vecs.length];
+            Futures fs = new Futures();
+            for (int i = 0; i < vecs.length; i++) {
+                Vec v = meta.vecs[i];
+                vecs[i] = new SnapshotVec(vecKeys[i], rowLayout, v.domain(), v.get_type(), meta.dataPrefix, i);
+                DKV.put(vecs[i], fs);
+                SnapshotVec.installRollupStats(vecs[i], meta.rollups[i], fs);
+            }
+            fs.blockForPending();
+            Frame frame = new Frame(meta.key, meta.names, vecs);
+            if (lazy) {
+                job.update(1);
+            } else {
+                new LoadAllChunksTask(job).doAll(frame);
+            }
+            DKV.put(frame);
+            tryComplete();
+        }
+
+    }
+
+    static class LoadAllChunksTask extends MRTask<LoadAllChunksTask> {
+
+        private final Job<Frame> job;
+
+        LoadAllChunksTask(Job<Frame> job) {
+            this.job = job;
+        }
+
+        @Override
+        public void map(Chunk[] cs) {
+            // Fetching the chunks for the map call loaded them
+            if (job != null) job.update(1);
+        }
+
+    }
+
     public static class LoadFrameDriver extends H2O.H2OCountedCompleter<LoadFrameDriver> {
 
         private final Job<Frame> job;
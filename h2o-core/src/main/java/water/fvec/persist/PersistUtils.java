@@ -2,6 +2,7 @@ package water.fvec.persist;
 
 import water.AutoBuffer;
 import water.H2O;
+import water.MemoryManager;
 import water.persist.Persist;
 
 import java.io.*;
@@ -64,11 +65,47 @@ public class PersistUtils {
         }
     }
 
+    /**
+     * Reads len bytes starting at the given offset. Only the requested range
+     * is read, the stream is skipped (seeked) to the offset.
+     */
+    public static byte[] readRange(URI uri, long off, int len) {
+        final Persist persist = H2O.getPM().getPersistForURI(uri);
+        try (final InputStream inputStream = persist.open(uri.toString())) {
+            long skip = off;
+            while (skip > 0) {
+                long n = inputStream.skip(skip);
+                if (n <= 0) throw new EOFException("Offset " + off + " is past the end of " + uri);
+                skip -= n;
+            }
+            byte[] bytes = MemoryManager.malloc1(len);
+            int n = 0;
+            while (n < len) {
+                int r = inputStream.read(bytes, n, len - n);
+                if (r < 0) throw new EOFException("Unexpected end of " + uri);
+                n += r;
+            }
+            return bytes;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read from " + uri, e);
+        }
+    }
+
+    public static long length(URI uri) {
+        final Persist persist = H2O.getPM().getPersistForURI(uri);
+        return persist.length(uri.toString());
+    }
+
     public static boolean exists(URI uri) {
         final Persist persist = H2O.getPM().getPersistForURI(uri);
         return persist.exists(uri.toString());
     }
 
+    public static boolean delete(URI uri) {
+        final Persist persist = H2O.getPM().getPersistForURI(uri);
+        return persist.delete(uri.toString());
+    }
+
     public interface Reader<T> {
         T read(AutoBuffer ab);
     }
@@ -0,0 +1,164 @@
+package water.fvec.persist;
+
+import water.*;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.Vec;
+import water.nbhm.NonBlockingHashMap;
+import water.persist.Persist;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One node's data file of a columnar frame snapshot.
+ *
+ * The file holds the chunks homed on the node, column after column and within
+ * a column ordered by chunk index, as the plain chunk bytes. It ends with a
+ * footer index and a trailer of 8B footer offset and 4B magic number. The
+ * footer lists the chunk indices in the file, the class of every chunk and the
+ * file offset of every chunk, so that a single chunk can be read without
+ * touching the rest of the file.
+ */
+public final class SnapshotFile {
+
+    static final int MAGIC = 0x48324F43; // "H2OC"
+    static final int VERSION = 1;
+    private static final int TRAILER_SIZE = 8 + 4;
+
+    // Footers of the files read by this node, by file URI; dropped when a file
+    // is deleted, and all of them once there are too many (they are re-read)
+    private static final int MAX_INDEXES = 1024;
+    private static final NonBlockingHashMap<String, Index> INDEXES = new NonBlockingHashMap<>();
+
+    private SnapshotFile() {}
+
+    public static String dataUri(String dataPrefix, int nodeIdx) {
+        return dataPrefix + "_n" + nodeIdx + ".cols";
+    }
+
+    static final class Index {
+        final int[] cidxs;     // Chunk indices in the file, ascending
+        final String[] types;  // Chunk class names
+        final byte[] typeOf;   // Per chunk, column-major: index into types
+        final long[] offsets;  // Per chunk, column-major: file offset; the last one is the footer offset
+
+        Index(int[] cidxs, String[] types, byte[] typeOf, long[] offsets) {
+            this.cidxs = cidxs;
+            this.types = types;
+            this.typeOf = typeOf;
+            this.offsets = offsets;
+        }
+
+        // Position of the chunk in the column-major order, or -1
+        int find(int col, int cidx) {
+            int i = Arrays.binarySearch(cidxs, cidx);
+            return i < 0 ? -1 : col * cidxs.length + i;
+        }
+
+        byte[] toBytes() {
+            return new AutoBuffer().put4(VERSION).putA4(cidxs).putAStr(types).putA1(typeOf).putA8(offsets).buf();
+        }
+
+        static Index fromBytes(byte[] bytes, URI uri) {
+            AutoBuffer ab = new AutoBuffer(bytes);
+            int version = ab.get4();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot file version " + version + " of " + uri);
+            }
+            return new Index(ab.getA4(), ab.getAStr(), ab.getA1(), ab.getA8());
+        }
+    }
+
+    /**
+     * Writes the chunks of the frame homed on this node.
+     *
+     * @return number of chunks written
+     */
+    static int write(URI uri, Frame frame, Job<Frame> job) {
+        Vec[] vecs = frame.vecs();
+        Vec anyVec = frame.anyVec();
+        int nchunks = anyVec.nChunks();
+        int nlocal = 0;
+        int[] cidxs = new int[nchunks];
+        for (int cidx = 0; cidx < nchunks; cidx++) {
+            if (anyVec.chunkKey(cidx).home()) cidxs[nlocal++] = cidx;
+        }
+        cidxs = Arrays.copyOf(cidxs, nlocal);
+        Map<String, Byte> types = new LinkedHashMap<>();
+        byte[] typeOf = new byte[vecs.length * nlocal];
+        long[] offsets = new long[vecs.length * nlocal + 1];
+        final Persist persist = H2O.getPM().getPersistForURI(uri);
+        try (final OutputStream os = persist.create(uri.toString(), true)) {
+            long off = 0;
+            int k = 0;
+            for (Vec v : vecs) {
+                for (int cidx : cidxs) {
+                    Chunk c = v.chunkForChunkIdx(cidx);
+                    byte[] mem = c.asBytes();
+                    String type = c.getClass().getName();
+                    Byte t = types.get(type);
+                    if (t == null) types.put(type, t = (byte) types.size());
+                    typeOf[k] = t;
+                    offsets[k++] = off;
+                    os.write(mem);
+                    off += mem.length;
+                }
+                if (job != null) job.update(nlocal);
+            }
+            offsets[k] = off;
+            Index index = new Index(cidxs, types.keySet().toArray(new String[0]), typeOf, offsets);
+            os.write(index.toBytes());
+            os.write(new AutoBuffer().put8(off).put4(MAGIC).buf());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write to " + uri, e);
+        }
+        return nlocal * vecs.length;
+    }
+
+    private static Index index(String uri) {
+        Index index = INDEXES.get(uri);
+        if (index == null) {
+            URI u = URI.create(uri);
+            long len = PersistUtils.length(u);
+            AutoBuffer trailer = new AutoBuffer(PersistUtils.readRange(u, len - TRAILER_SIZE, TRAILER_SIZE));
+            long footerOff = trailer.get8();
+            if (trailer.get4() != MAGIC) {
+                throw new IllegalArgumentException("Not a frame snapshot file: " + uri);
+            }
+            index = Index.fromBytes(PersistUtils.readRange(u, footerOff, (int) (len - TRAILER_SIZE - footerOff)), u);
+            if (INDEXES.size() >= MAX_INDEXES) INDEXES.clear();
+            Index old = INDEXES.putIfAbsent(uri, index);
+            if (old != null) index = old;
+        }
+        return index;
+    }
+
+    /** Drops the footer of a file about to be deleted */
+    static void forget(String uri) {
+        INDEXES.remove(uri);
+    }
+
+    /**
+     * Reads one chunk of the given column.
+     *
+     * @return an uncached Value for the chunk key
+     */
+    public static Value readChunk(String uri, Key chunkKey, int col, int cidx) {
+        Index index = index(uri);
+        int k = index.find(col, cidx);
+        if (k < 0) {
+            throw new IllegalStateException("Chunk " + cidx + " of column " + col + " is not in snapshot file " + uri);
+        }
+        long off = index.offsets[k];
+        int len = (int) (index.offsets[k + 1] - off);
+        byte[] mem = PersistUtils.readRange(URI.create(uri), off, len);
+        short type = (short) TypeMap.onIce(index.types[index.typeOf[k]]);
+        return new Value(chunkKey, len, mem, type, Value.ICE);
+    }
+
+}
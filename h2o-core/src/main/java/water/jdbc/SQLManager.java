@@ -8,7 +8,11 @@ import water.util.Log;
 import java.sql.*;
 import java.util.Objects;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class SQLManager {
 
@@ -29,6 +33,7 @@ public class SQLManager {
   private static final String HIVE_JDBC_DRIVER_CLASS = "org.apache.hive.jdbc.HiveDriver";
 
   private static final String TMP_TABLE_ENABLED = H2O.OptArgs.SYSTEM_PROP_PREFIX + "sql.tmp_table.enabled";
+  private static final String FETCH_SIZE_KEY = H2O.OptArgs.SYSTEM_PROP_PREFIX + "sql.fetch_size";
 
   private static AtomicLong NEXT_TABLE_NUM = new AtomicLong(0);
   
@@ -58,6 +63,29 @@ public class SQLManager {
       final String username, final String password, final String columns,
       final Boolean useTempTable, final String tempTableName,
       final SqlFetchMode fetchMode, final Integer numChunksHint) {
+    return importSqlTable(connection_url, table, select_query, username, password, columns,
+            useTempTable, tempTableName, fetchMode, numChunksHint, null);
+  }
+
+  /**
+   * @param connection_url (Input)
+   * @param table (Input)
+   * @param select_query (Input)
+   * @param username (Input)
+   * @param password (Input)
+   * @param columns (Input)
+   * @param fetchMode (Input)
+   * @param numChunksHint (optional) Specifies the desired number of chunks for the target Frame
+   * @param partitionColumn numeric or date column to split the table on, required by {@link SqlFetchMode#PARTITIONED}
+   */
+  public static Job<Frame> importSqlTable(
+      final String connection_url, final String table, final String select_query,
+      final String username, final String password, final String columns,
+      final Boolean useTempTable, final String tempTableName,
+      final SqlFetchMode fetchMode, final Integer numChunksHint, final String partitionColumn) {
+
+    if (SqlFetchMode.PARTITIONED.equals(fetchMode) && (partitionColumn == null || partitionColumn.isEmpty()))
+      throw new IllegalArgumentException("Fetch mode " + fetchMode + " requires a partition column.");
 
     final Key<Frame> destination_key = nextTableKey(table, "sql_to_hex");
     final Job<Frame> j = new Job<>(destination_key, Frame.class.getName(), "Import SQL Table");
@@ -69,7 +97,7 @@ public class SQLManager {
         j, destination_key, databaseType, connection_url, 
         table, select_query, username, password, columns, 
         useTempTable, tempTableName,
-        fetchMode, numChunksHint
+        fetchMode, numChunksHint, partitionColumn
     );
     j.start(importDriver, Job.WORK_UNKNOWN);
 
@@ -92,11 +120,13 @@ public class SQLManager {
     final String _tempTableName;
     final SqlFetchMode _fetch_mode;
     final Integer _num_chunks_hint;
+    final String _partition_column;
 
     SQLImportDriver(
         Job<Frame> job, Key<Frame> destination_key, String database_type, 
         String connection_url, String table, String select_query, String username, String password, String columns,
-        Boolean useTempTable, String tempTableName, SqlFetchMode fetch_mode, Integer numChunksHint
+        Boolean useTempTable, String tempTableName, SqlFetchMode fetch_mode, Integer numChunksHint,
+        String partitionColumn
     ) {
       _j = job;
       _destination_key = destination_key;
@@ -111,6 +141,7 @@ public class SQLManager {
       _tempTableName = getTempTableName(tempTableName);
       _fetch_mode = fetch_mode;
       _num_chunks_hint = numChunksHint;
+      _partition_column = partitionColumn;
     }
 
     /*
@@ -146,6 +177,8 @@ public class SQLManager {
       String source_table = _table;
       final String[] columnNames;
       final byte[] columnH2OTypes;
+      final int[] columnSqlTypes;
+      ColumnPartitioning partitioning = null;
       try {
         conn = getConnectionSafe(_connection_url, _username, _password);
         stmt = conn.createStatement();
@@ -190,12 +223,14 @@ public class SQLManager {
 
         columnNames = new String[numCol];
         columnH2OTypes = new byte[numCol];
+        columnSqlTypes = new int[numCol];
 
         rs.next();
         for (int i = 0; i < numCol; i++) {
           columnNames[i] = rsmd.getColumnName(i + 1);
+          columnSqlTypes[i] = rsmd.getColumnType(i + 1);
           //must iterate through sql types instead of getObject bc object could be null
-          switch (rsmd.getColumnType(i + 1)) {
+          switch (columnSqlTypes[i]) {
             case Types.NUMERIC:
             case Types.REAL:
             case Types.DOUBLE:
@@ -237,6 +272,12 @@ public class SQLManager {
           }
         }
 
+        if (SqlFetchMode.PARTITIONED.equals(_fetch_mode)) {
+          rs.close();
+          stmt.setMaxRows(0);
+          _j.update(0L, "Getting range of the partition column");
+          partitioning = ColumnPartitioning.make(stmt, source_table, _partition_column);
+        }
       } catch (SQLException ex) {
         throw new RuntimeException("SQLException: " + ex.getMessage() + "\nFailed to connect and read from SQL database with connection_url: " + _connection_url, ex);
       } finally {
@@ -284,6 +325,23 @@ public class SQLManager {
         Log.info("Using user-specified target number of chunks: " + num_chunks);
       }
 
+      final Frame fr;
+      if (SqlFetchMode.PARTITIONED.equals(_fetch_mode)) {
+        fr = readPartitioned(source_table, numRow, num_chunks, columnNames, columnSqlTypes, columnH2OTypes, partitioning);
+      } else {
+        fr = readChunks(source_table, numRow, numCol, num_chunks, columnNames, columnSqlTypes, columnH2OTypes);
+      }
+
+      DKV.put(fr);
+      ParseDataset.logParseResults(fr);
+      if (source_table.equals(_tempTableName))
+        dropTempTable(_connection_url, _username, _password, source_table);
+      tryComplete();
+    }
+
+    private Frame readChunks(String source_table, long numRow, int numCol, int num_chunks,
+                             String[] columnNames, int[] columnSqlTypes, byte[] columnH2OTypes) {
+      final Vec vec;
       if (SqlFetchMode.DISTRIBUTED.equals(_fetch_mode)) {
         final int num_retrieval_chunks = ConnectionPoolProvider.estimateConcurrentConnections(H2O.getCloudSize(), H2O.ARGS.nthreads);
         vec = num_retrieval_chunks >= num_chunks
@@ -302,20 +360,32 @@ public class SQLManager {
       final Frame fr;
 
       if (SqlFetchMode.DISTRIBUTED.equals(_fetch_mode)) {
-        fr = new SqlTableToH2OFrame(source_table, _database_type, _columns, columnNames, numCol, _j, provider)
+        fr = new SqlTableToH2OFrame(source_table, _database_type, _columns, columnNames, columnSqlTypes, numCol, _j, provider)
                 .doAll(columnH2OTypes, vec)
                 .outputFrame(_destination_key, columnNames, null);
       } else {
-        fr = new SqlTableToH2OFrameStreaming(source_table, _database_type, _columns, columnNames, numCol, _j, provider)
+        fr = new SqlTableToH2OFrameStreaming(source_table, _database_type, _columns, columnNames, columnSqlTypes, numCol, _j, provider)
                 .readTable(vec, columnH2OTypes, _destination_key);
       }
       vec.remove();
+      return fr;
+    }
 
-      DKV.put(fr);
-      ParseDataset.logParseResults(fr);
-      if (source_table.equals(_tempTableName))
-        dropTempTable(_connection_url, _username, _password, source_table);
-      tryComplete();
+    private Frame readPartitioned(String source_table, long numRow, int num_chunks,
+                                  String[] columnNames, int[] columnSqlTypes, byte[] columnH2OTypes,
+                                  ColumnPartitioning partitioning) {
+      final int rows_per_chunk = (int) Math.min(Math.max((numRow + num_chunks - 1) / Math.max(num_chunks, 1), 1), Integer.MAX_VALUE);
+      final int num_fetchers = ConnectionPoolProvider.getMaxConnectionsPerNode(1, H2O.ARGS.nthreads, num_chunks);
+      // more ranges than fetchers - a fetcher done with its ranges takes over the rest of a skewed column
+      partitioning.split(Math.max(num_chunks, 4 * num_fetchers));
+      Log.info("Partitions of column " + _partition_column + ": " + partitioning.numPartitions() +
+              ", concurrent fetchers: " + num_fetchers + ", rows per chunk: " + rows_per_chunk + ", number of rows: " + numRow);
+      _j.setWork(partitioning.numPartitions());
+
+      _j.update(0L, "Importing data");
+      final ConnectionPoolProvider provider = new ConnectionPoolProvider(_connection_url, _username, _password, num_fetchers);
+      return new SqlTableToH2OFramePartitioned(source_table, _columns, columnNames, columnSqlTypes, _j, provider, partitioning)
+              .readTable(rows_per_chunk, num_fetchers, numRow, columnH2OTypes, _destination_key);
     }
 
   }
@@ -586,14 +656,16 @@ public class SQLManager {
     final Job _job;
     final ConnectionPoolProvider _poolProvider;
     final String[] _columnNames;
+    final int[] _columnSqlTypes;
 
     SqlTableToH2OFrameStreaming(final String table, final String databaseType,
-                                final String columns, final String[] columnNames, final int numCol,
-                                final Job job, final ConnectionPoolProvider poolProvider) {
+                                final String columns, final String[] columnNames, final int[] columnSqlTypes,
+                                final int numCol, final Job job, final ConnectionPoolProvider poolProvider) {
       _table = table;
       _databaseType = databaseType;
       _columns = columns;
       _columnNames = columnNames;
+      _columnSqlTypes = columnSqlTypes;
       _numCol = numCol;
       _job = job;
       _poolProvider = poolProvider;
@@ -626,7 +698,7 @@ public class SQLManager {
           }
           final int len = blueprint.chunkLen(cidx);
           for (int r = 0; r < len && rs.next(); r++) {
-            SqlTableToH2OFrame.writeRow(rs, ncs);
+            SqlTableToH2OFrame.writeRow(rs, _columnSqlTypes, ncs);
           }
           fs.add(H2O.submitTask(new FinalizeNewChunkTask(cidx, ncs)));
           _job.update(1);
@@ -655,6 +727,302 @@ public class SQLManager {
 
   }
 
+  /**
+   * Splits a table into ranges of values of a numeric or date column, each range is then fetched by a separate
+   * query {@code SELECT ... WHERE column >= lo AND column < hi} (the last range includes the maximum). Rows with
+   * a null value in the column form an extra partition. Unlike the LIMIT/OFFSET queries of the distributed mode
+   * the database doesn't need to skip any rows, an index on the column makes each query a range scan.
+   */
+  static class ColumnPartitioning {
+    final String _column;
+    final Object _min, _max; // Long, Double or Timestamp; null if there are only nulls in the column
+    Object[] _bounds;        // bounds of the ranges, bound to the queries as parameters
+
+    ColumnPartitioning(String column, Object min, Object max) {
+      _column = column;
+      _min = min;
+      _max = max;
+      _bounds = min == null ? new Object[0] : new Object[]{min, max};
+    }
+
+    static ColumnPartitioning make(Statement stmt, String table, String column) throws SQLException {
+      try (ResultSet rs = stmt.executeQuery("SELECT MIN(" + column + "), MAX(" + column + ") FROM " + table)) {
+        rs.next();
+        final int type = rs.getMetaData().getColumnType(1);
+        switch (type) {
+          case Types.INTEGER:
+          case Types.TINYINT:
+          case Types.SMALLINT:
+          case Types.BIGINT: {
+            long min = rs.getLong(1);
+            return new ColumnPartitioning(column, rs.wasNull() ? null : min, rs.getLong(2));
+          }
+          case Types.NUMERIC:
+          case Types.REAL:
+          case Types.DOUBLE:
+          case Types.FLOAT:
+          case Types.DECIMAL: {
+            double min = rs.getDouble(1);
+            return new ColumnPartitioning(column, rs.wasNull() ? null : min, rs.getDouble(2));
+          }
+          case Types.DATE:
+          case Types.TIMESTAMP:
+            return new ColumnPartitioning(column, rs.getTimestamp(1), rs.getTimestamp(2));
+          default:
+            throw new IllegalArgumentException("Partition column " + column + " needs to be numeric or a date, " +
+                    "but it is " + rs.getMetaData().getColumnTypeName(1));
+        }
+      }
+    }
+
+    /**
+     * Splits the range between the minimum and maximum into (at most) n ranges of the same width. Integer
+     * columns are never split into more ranges than there are distinct values.
+     */
+    void split(int n) {
+      if (_min == null)
+        return;
+      if (_min instanceof Double) {
+        final double min = (Double) _min, max = (Double) _max;
+        final int parts = min < max ? n : 1;
+        _bounds = new Object[parts + 1];
+        for (int i = 0; i < parts; i++)
+          _bounds[i] = min + (max - min) * i / parts;
+        _bounds[parts] = max;
+      } else {
+        final boolean time = _min instanceof Timestamp;
+        final long min = time ? ((Timestamp) _min).getTime() : (Long) _min;
+        final long max = time ? ((Timestamp) _max).getTime() : (Long) _max;
+        final double width = (double) max - min;
+        final int parts = (int) Math.max(Math.min(n, width), 1);
+        _bounds = new Object[parts + 1];
+        for (int i = 0; i < parts; i++) {
+          long bound = min + (long) (width * i / parts);
+          _bounds[i] = time ? new Timestamp(bound) : bound;
+        }
+        _bounds[parts] = _max;
+      }
+    }
+
+    /** Number of the ranges including the partition of nulls */
+    int numPartitions() {
+      return Math.max(_bounds.length - 1, 0) + 1;
+    }
+
+    /**
+     * @param columns columns to select
+     * @param p index of the partition, the last one is the partition of nulls
+     * @return statement selecting the rows of the partition
+     */
+    PreparedStatement prepare(Connection conn, String table, String columns, int p) throws SQLException {
+      final String select = "SELECT " + columns + " FROM " + table + " WHERE " + _column;
+      if (p == numPartitions() - 1)
+        return conn.prepareStatement(select + " IS NULL");
+      final boolean last = p == _bounds.length - 2;
+      PreparedStatement stmt = conn.prepareStatement(select + " >= ? AND " + _column + (last ? " <= ?" : " < ?"));
+      stmt.setObject(1, _bounds[p]);
+      stmt.setObject(2, _bounds[p + 1]);
+      return stmt;
+    }
+  }
+
+  /**
+   * Fetches the partitions of a table concurrently, each fetcher with its own connection and range queries. The
+   * fetched rows are cut into chunks which go through a bounded queue to a single writer compressing them and
+   * putting them into the DKV. A full queue blocks the fetchers - the memory taken by the uncompressed rows is
+   * bounded no matter how fast the database is.
+   *
+   * The order of the rows in the resulting frame follows neither the table nor the partition column.
+   */
+  static class SqlTableToH2OFramePartitioned {
+    final String _table, _columns;
+    final Job _job;
+    final ConnectionPoolProvider _poolProvider;
+    final String[] _columnNames;
+    final int[] _columnSqlTypes;
+    final ColumnPartitioning _partitioning;
+
+    SqlTableToH2OFramePartitioned(final String table, final String columns, final String[] columnNames,
+                                  final int[] columnSqlTypes, final Job job, final ConnectionPoolProvider poolProvider,
+                                  final ColumnPartitioning partitioning) {
+      _table = table;
+      _columns = columns;
+      _columnNames = columnNames;
+      _columnSqlTypes = columnSqlTypes;
+      _job = job;
+      _poolProvider = poolProvider;
+      _partitioning = partitioning;
+    }
+
+    Frame readTable(final int rowsPerChunk, final int numFetchers, final long expectedRows,
+                    final byte[] columnTypes, final Key<Frame> destinationKey) {
+      final Vec.VectorGroup vg = new Vec.VectorGroup();
+      final int vecIdStart = vg.reserveKeys(columnTypes.length);
+      final AppendableVec[] res = new AppendableVec[columnTypes.length];
+      // chunks of a partition are only known while fetching, the espc grows when needed
+      final long[] espc = MemoryManager.malloc8((int) Math.min(expectedRows / rowsPerChunk + _partitioning.numPartitions(), 1 << 20));
+      for (int i = 0; i < res.length; ++i) {
+        res[i] = new AppendableVec(vg.vecKey(vecIdStart + i), espc, columnTypes[i], 0);
+      }
+
+      final int fetchSize = Integer.getInteger(FETCH_SIZE_KEY,
+              Math.min(rowsPerChunk, Math.max(1000, 1000000 / Math.max(columnTypes.length, 1))));
+      final ArrayBlockingQueue<NewChunk[]> queue = new ArrayBlockingQueue<>(2 * numFetchers);
+      final PartitionFetcher.State state = new PartitionFetcher.State(numFetchers);
+      for (int i = 0; i < numFetchers; i++) {
+        H2O.submitTask(new PartitionFetcher(this, res, rowsPerChunk, fetchSize, queue, state));
+      }
+
+      Futures fs = new Futures();
+      boolean written = false;
+      try {
+        while (state._running.get() > 0 || !queue.isEmpty()) {
+          NewChunk[] ncs = queue.poll(100, TimeUnit.MILLISECONDS);
+          if (_job.stop_requested() || state._error.get() != null)
+            state._stop.set(true); // fetchers stop after their current chunk, what was already fetched is written
+          if (ncs == null)
+            continue;
+          for (NewChunk nc : ncs) {
+            nc.close(fs);
+          }
+        }
+        written = true;
+      } catch (InterruptedException e) {
+        throw new RuntimeException("Interrupted while waiting for fetched rows", e);
+      } finally {
+        if (!written) { // fetchers waiting for the queue give up, nothing reads it anymore
+          state._stop.set(true);
+          queue.clear();
+          removeChunks(res, state, fs);
+        }
+      }
+      if (state._error.get() != null) {
+        removeChunks(res, state, fs);
+        Throwable t = state._error.get();
+        throw new RuntimeException("SQLException: " + t.getMessage() + "\nFailed to read SQL data", t);
+      }
+      if (state._nextChunk.get() == 0) { // empty table, the frame still needs one (empty) chunk
+        for (AppendableVec av : res) {
+          av.chunkForChunkIdx(0).close(fs);
+        }
+      }
+      fs.blockForPending();
+
+      Vec[] vecs = AppendableVec.closeAll(res);
+      if (vecs.length > 0 && vecs[0].length() != expectedRows) {
+        Log.warn("Partitioned import of `" + _table + "` returned a different number of rows than expected. " +
+                "Actual: " + vecs[0].length() + ", expected: " + expectedRows);
+      }
+      return new Frame(destinationKey, _columnNames, vecs);
+    }
+
+    /** Removes the chunks written by a failed import, only this thread puts chunks into the DKV */
+    private static void removeChunks(AppendableVec[] avs, PartitionFetcher.State state, Futures fs) {
+      fs.blockForPending();
+      final int nchunks = state._nextChunk.get();
+      for (int cidx = 0; cidx < nchunks; cidx++) {
+        for (AppendableVec av : avs) {
+          DKV.remove(av.chunkKey(cidx), fs);
+        }
+      }
+      fs.blockForPending();
+    }
+  }
+
+  private static class PartitionFetcher extends H2O.H2OCountedCompleter<PartitionFetcher> {
+
+    /** Shared by all fetchers of one import */
+    static class State {
+      final AtomicInteger _nextPartition = new AtomicInteger();
+      final AtomicInteger _nextChunk = new AtomicInteger();
+      final AtomicInteger _running;
+      final AtomicBoolean _stop = new AtomicBoolean();
+      final AtomicReference<Throwable> _error = new AtomicReference<>();
+
+      State(int numFetchers) {
+        _running = new AtomicInteger(numFetchers);
+      }
+    }
+
+    private final transient SqlTableToH2OFramePartitioned _import;
+    private final transient AppendableVec[] _avs;
+    private final int _rowsPerChunk;
+    private final int _fetchSize;
+    private final transient ArrayBlockingQueue<NewChunk[]> _queue;
+    private final transient State _state;
+
+    PartitionFetcher(SqlTableToH2OFramePartitioned imp, AppendableVec[] avs, int rowsPerChunk, int fetchSize,
+                     ArrayBlockingQueue<NewChunk[]> queue, State state) {
+      _import = imp;
+      _avs = avs;
+      _rowsPerChunk = rowsPerChunk;
+      _fetchSize = fetchSize;
+      _queue = queue;
+      _state = state;
+    }
+
+    @Override
+    public void compute2() {
+      try (Connection conn = _import._poolProvider.createConnection()) {
+        final ColumnPartitioning partitioning = _import._partitioning;
+        int p;
+        while (!_state._stop.get() && (p = _state._nextPartition.getAndIncrement()) < partitioning.numPartitions()) {
+          fetchPartition(conn, partitioning, p);
+          _import._job.update(1);
+        }
+      } catch (SQLException | InterruptedException | RuntimeException e) {
+        _state._error.compareAndSet(null, e);
+      } finally {
+        _state._running.decrementAndGet();
+      }
+      tryComplete();
+    }
+
+    private void fetchPartition(Connection conn, ColumnPartitioning partitioning, int p)
+            throws SQLException, InterruptedException {
+      try (PreparedStatement stmt = partitioning.prepare(conn, _import._table, _import._columns, p)) {
+        stmt.setFetchSize(_fetchSize);
+        try (ResultSet rs = stmt.executeQuery()) {
+          NewChunk[] ncs = null;
+          int rows = 0;
+          while (rs.next()) {
+            if (ncs == null) {
+              if (_state._stop.get())
+                return;
+              ncs = newChunks(_state._nextChunk.getAndIncrement());
+            }
+            SqlTableToH2OFrame.writeRow(rs, _import._columnSqlTypes, ncs);
+            if (++rows == _rowsPerChunk) {
+              if (!put(ncs)) // blocks while the writer is behind
+                return;
+              ncs = null;
+              rows = 0;
+            }
+          }
+          if (ncs != null)
+            put(ncs);
+        }
+      }
+    }
+
+    /** Hands the chunks over to the writer, gives up when the import is stopped (e.g. the writer failed) */
+    private boolean put(NewChunk[] ncs) throws InterruptedException {
+      while (!_queue.offer(ncs, 100, TimeUnit.MILLISECONDS)) {
+        if (_state._stop.get())
+          return false;
+      }
+      return true;
+    }
+
+    private NewChunk[] newChunks(int cidx) {
+      NewChunk[] ncs = new NewChunk[_avs.length];
+      for (int i = 0; i < ncs.length; i++) {
+        ncs[i] = _avs[i].chunkForChunkIdx(cidx);
+      }
+      return ncs;
+    }
+  }
+
   private static class FinalizeNewChunkTask extends H2O.H2OCountedCompleter<FinalizeNewChunkTask> {
     private final int _cidx;
     private transient NewChunk[] _ncs;
@@ -685,16 +1053,18 @@ public class SQLManager {
     final Job _job;
     final ConnectionPoolProvider _poolProvider;
     final String[] _columnNames;
+    final int[] _columnSqlTypes;
 
     transient ArrayBlockingQueue<Connection> sqlConn;
 
     public SqlTableToH2OFrame(final String table, final String databaseType,
-                              final String columns, final String[] columnNames, final int numCol,
-                              final Job job, final ConnectionPoolProvider poolProvider) {
+                              final String columns, final String[] columnNames, final int[] columnSqlTypes,
+                              final int numCol, final Job job, final ConnectionPoolProvider poolProvider) {
       _table = table;
       _databaseType = databaseType;
       _columns = columns;
       _columnNames = columnNames;
+      _columnSqlTypes = columnSqlTypes;
       _numCol = numCol;
       _job = job;
       _poolProvider = poolProvider;
@@ -721,7 +1091,7 @@ public class SQLManager {
         stmt.setFetchSize(c0._len);
         rs = stmt.executeQuery(sqlText);
         while (rs.next()) {
-          writeRow(rs, ncs);
+          writeRow(rs, _columnSqlTypes, ncs);
         }
       } catch (SQLException ex) {
         throw new RuntimeException("SQLException: " + ex.getMessage() + "\nFailed to read SQL data", ex);
@@ -754,13 +1124,73 @@ public class SQLManager {
       if (_job != null) _job.update(1);
     }
 
-    static void writeRow(ResultSet rs, NewChunk[] ncs) throws SQLException {
+    /**
+     * Writes the current row of the result set. Values are read by the getter matching the SQL type
+     * of the column, only columns of other types go through {@link ResultSet#getObject} and {@link #writeItem}.
+     *
+     * @param columnSqlTypes {@link Types} of the columns, as reported by the result set metadata
+     */
+    static void writeRow(ResultSet rs, int[] columnSqlTypes, NewChunk[] ncs) throws SQLException {
       for (int i = 0; i < ncs.length; i++) {
-        Object res = rs.getObject(i + 1);
-        writeItem(res, ncs[i]);
+        final int col = i + 1;
+        final NewChunk nc = ncs[i];
+        switch (columnSqlTypes[i]) {
+          case Types.INTEGER:
+          case Types.TINYINT:
+          case Types.SMALLINT:
+          case Types.BIGINT: {
+            long l = rs.getLong(col);
+            if (rs.wasNull()) nc.addNA();
+            else nc.addNum(l, 0);
+            break;
+          }
+          case Types.NUMERIC:
+          case Types.REAL:
+          case Types.DOUBLE:
+          case Types.FLOAT:
+          case Types.DECIMAL: {
+            double d = rs.getDouble(col);
+            if (rs.wasNull()) nc.addNA();
+            else nc.addNum(d);
+            break;
+          }
+          case Types.BOOLEAN: {
+            boolean b = rs.getBoolean(col);
+            if (rs.wasNull()) nc.addNA();
+            else nc.addNum(b ? 1 : 0, 0);
+            break;
+          }
+          case Types.VARCHAR:
+          case Types.NVARCHAR:
+          case Types.CHAR:
+          case Types.NCHAR:
+          case Types.LONGVARCHAR:
+          case Types.LONGNVARCHAR: {
+            String s = rs.getString(col);
+            if (s == null) nc.addNA();
+            else nc.addStr(s);
+            break;
+          }
+          case Types.DATE:
+            writeTime(rs.getDate(col), nc);
+            break;
+          case Types.TIME:
+            writeTime(rs.getTime(col), nc);
+            break;
+          case Types.TIMESTAMP:
+            writeTime(rs.getTimestamp(col), nc);
+            break;
+          default: // BIT is not always a boolean (eg. BIT(n) in MySQL), leave the conversion to the driver
+            writeItem(rs.getObject(col), nc);
+        }
       }
     }
 
+    private static void writeTime(java.util.Date d, NewChunk nc) {
+      if (d == null) nc.addNA();
+      else nc.addNum(d.getTime(), 0);
+    }
+
     static void writeItem(Object res, NewChunk nc) {
       if (res == null)
         nc.addNA();
@@ -2,5 +2,7 @@ package water.jdbc;
 
 public enum SqlFetchMode {
     SINGLE,
-    DISTRIBUTED
+    DISTRIBUTED,
+    /** Concurrent range queries on a partition column, see {@link SQLManager.ColumnPartitioning} */
+    PARTITIONED
 }
@@ -1,6 +1,7 @@
 package water.parser;
 
 import org.apache.commons.lang.math.NumberUtils;
+import water.H2O;
 import water.Key;
 import water.fvec.FileVec;
 import water.fvec.Vec;
@@ -22,6 +23,10 @@ public class CsvParser extends Parser {
 
   private final byte[] _nonDataLineMarkers; 
 
+  /** Parse plain numeric lines with the {@link SwarCsvTokenizer}, see {@link #fastTokenizer} */
+  static final boolean FAST_PATH = H2O.getSysBoolProperty("parse.csv.fastpath", true);
+  boolean _fastPath = FAST_PATH;
+
   CsvParser( ParseSetup ps, Key jobKey ) {
     this(ps, NON_DATA_LINE_MARKERS_DEFAULT, jobKey);
   }
@@ -90,8 +95,20 @@ public class CsvParser extends Parser {
       _setup.setParseColumnIndices(_setup.getNumberColumns(), _setup.getSkippedColumns());
     }
     int parseIndexNum = _setup._parse_columns_indices.length-1;
+    final SwarCsvTokenizer fast = fastTokenizer(forceable);
 MAIN_LOOP:
     while (true) {
+      // At the start of a line try the fast path first.  It either parses the
+      // whole line and leaves us at its CR/LF, as if it was an empty line, or
+      // does nothing and the line goes through the state machine.
+      if (fast != null && state == POSSIBLE_EMPTY_LINE && firstChunk &&
+          !ArrayUtils.contains(_nonDataLineMarkers, c)) {
+        int eol = fast.parseLine(bits, offset, dout);
+        if (eol >= 0) {
+          offset = eol;
+          c = bits[offset];
+        }
+      }
       final boolean forcedCategorical = forceable && colIdx < _setup._column_types.length &&
               _setup._column_types[_setup._parse_columns_indices[parsedColumnCounter]] == Vec.T_CAT;
       final boolean forcedString = forceable && colIdx  < _setup._column_types.length &&
@@ -516,6 +533,24 @@ MAIN_LOOP:
     return dout;
   }
 
+  // Fast path tokenizer, or null if the setup has features it does not handle:
+  // skipped columns or a separator which can be part of a number
+  private SwarCsvTokenizer fastTokenizer(boolean forceable) {
+    if (!_fastPath || !SwarCsvTokenizer.SUPPORTED || !SwarCsvTokenizer.canSplitOn(CHAR_SEPARATOR))
+      return null;
+    if (_keepColumns == null || _setup._parse_columns_indices.length != _keepColumns.length)
+      return null;
+    for (boolean keep : _keepColumns)
+      if (!keep) return null;
+    boolean[] strCols = null;
+    if (forceable) {
+      strCols = new boolean[_keepColumns.length];
+      for (int i = 0; i < strCols.length && i < _setup._column_types.length; i++)
+        strCols[i] = _setup._column_types[i] == Vec.T_CAT || _setup._column_types[i] == Vec.T_STR;
+    }
+    return new SwarCsvTokenizer(CHAR_SEPARATOR, _setup._single_quotes, _keepColumns.length, strCols);
+  }
+
   @Override protected int fileHasHeader(byte[] bits, ParseSetup ps) {
     boolean hasHdr = true;
     String[] lines = getFirstLines(bits, ps._single_quotes, _nonDataLineMarkers);
@@ -0,0 +1,199 @@
+package water.parser;
+
+import water.H2O;
+import water.util.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decompresses a stream ahead of its reader in a task on the H2O pool, so that the inflating of a
+ * gzip file overlaps with the tokenizing of the parser instead of alternating with it.
+ *
+ * The decompressed data is handed over in blocks through a bounded queue, at most
+ * {@code depth} blocks are decompressed ahead of the reader. Together with every block the
+ * chunk index of the underlying ByteVec stream is recorded at the time the block was read; the
+ * parser gets it through the back-channel read of {@link #chunkIndexStream()} and so cuts its
+ * output chunks at the same places as if it was reading the compressed stream directly.
+ */
+final class DecompressAheadInputStream extends InputStream {
+
+  static final int DEFAULT_BLOCK_SIZE = 1 << 18;
+  static final int DEFAULT_DEPTH = 8;
+
+  private static final Block EOF = new Block(null, 0, -1);
+
+  private static final long PUT_TIMEOUT_MS = 100;
+
+  private final InputStream _is;    // Decompressing stream, read and closed by the producer only
+  private final InputStream _bvs;   // Underlying ByteVec stream, back-channel read by the producer only
+  private final BlockingQueue<Block> _queue;
+  private volatile boolean _closed;
+  private IOException _error;       // Failure of the producer, rethrown to the reader
+  private Block _block;             // Block being read
+  private int _pos;                 // Read position in the current block
+  private int _cidx;                // Chunk index of the current block
+
+  private static final class Block {
+    final byte[] _bits;
+    final int _len;
+    final int _cidx;
+    Block(byte[] bits, int len, int cidx) { _bits = bits; _len = len; _cidx = cidx; }
+  }
+
+  DecompressAheadInputStream(InputStream is, InputStream bvs) {
+    this(is, bvs, DEFAULT_BLOCK_SIZE, DEFAULT_DEPTH);
+  }
+
+  /**
+   * @param is decompressing stream
+   * @param bvs stream of the compressed ByteVec which supports the back-channel read of the chunk index, or null
+   * @param blockSize size of the decompressed blocks
+   * @param depth number of blocks decompressed ahead
+   */
+  DecompressAheadInputStream(InputStream is, InputStream bvs, int blockSize, int depth) {
+    _is = is;
+    _bvs = bvs;
+    _queue = new ArrayBlockingQueue<>(depth);
+    _cidx = chunkIndex();
+    // The reader blocks on the producer, so it runs at the next priority like any other blocked-on task
+    H2O.submitTask(new Producer(blockSize));
+  }
+
+  private int chunkIndex() {
+    try {
+      return _bvs == null ? -1 : _bvs.read(null, 0, 0);
+    } catch (IOException e) {
+      return -1;
+    }
+  }
+
+  private final class Producer extends H2O.H2OCountedCompleter<Producer> {
+    private final int _blockSize;
+
+    Producer(int blockSize) { _blockSize = blockSize; }
+
+    @Override
+    public void compute2() {
+      try {
+        produce(_blockSize);
+      } finally {
+        try {
+          _is.close(); // Only the producer reads the decompressing stream
+        } catch (IOException e) {
+          Log.debug("Failed to close the decompressed stream: " + e.getMessage());
+        }
+      }
+      tryComplete();
+    }
+  }
+
+  private void produce(int blockSize) {
+    try {
+      while (!_closed) {
+        byte[] bits = new byte[blockSize];
+        int off = 0;
+        while (off < bits.length) {
+          int len = _is.read(bits, off, bits.length - off);
+          if (len < 0) break;
+          off += len;
+        }
+        if (off > 0 && !put(new Block(bits, off, chunkIndex())))
+          return;
+        if (off < bits.length)
+          break;
+      }
+    } catch (IOException e) {
+      _error = e;
+    } catch (InterruptedException e) {
+      return;
+    } catch (RuntimeException e) {
+      _error = new IOException(e);
+    }
+    try {
+      put(EOF);
+    } catch (InterruptedException ignore) {
+      // Nobody is waiting for more blocks
+    }
+  }
+
+  // Waits for room in the queue until the reader closes the stream, false if it did
+  private boolean put(Block block) throws InterruptedException {
+    while (!_closed)
+      if (_queue.offer(block, PUT_TIMEOUT_MS, TimeUnit.MILLISECONDS))
+        return true;
+    return false;
+  }
+
+  // Makes sure there is data to read in the current block, false at the end of the stream
+  private boolean fill() throws IOException {
+    while (_block == null || _pos == _block._len) {
+      if (_block == EOF) {
+        if (_error != null) throw _error;
+        return false;
+      }
+      try {
+        _block = _queue.take();
+      } catch (InterruptedException e) {
+        throw new InterruptedIOException("Interrupted while waiting for decompressed data.");
+      }
+      _pos = 0;
+      if (_block != EOF) _cidx = _block._cidx;
+    }
+    return true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    return fill() ? 0xFF & _block._bits[_pos++] : -1;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) return 0;
+    if (!fill()) return -1;
+    len = Math.min(len, _block._len - _pos);
+    System.arraycopy(_block._bits, _pos, b, off, len);
+    _pos += len;
+    return len;
+  }
+
+  /** Like GZIPInputStream, 0 only at the end of the stream */
+  @Override
+  public int available() throws IOException {
+    return fill() ? _block._len - _pos : 0;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (_closed) return;
+    _closed = true; // The producer stops within PUT_TIMEOUT_MS and closes the decompressing stream
+    _queue.clear();
+  }
+
+  /**
+   * Stream to be used by the parser in place of the ByteVec stream: its back-channel read
+   * ({@code read(null, 0, 0)}) returns the chunk index of the data being read from this stream,
+   * closing it closes this stream.
+   */
+  InputStream chunkIndexStream() {
+    return new InputStream() {
+      @Override
+      public int read() { throw new UnsupportedOperationException(); }
+
+      @Override
+      public int read(byte[] b, int off, int len) {
+        if (b != null) throw new UnsupportedOperationException();
+        return _cidx;
+      }
+
+      @Override
+      public void close() throws IOException { DecompressAheadInputStream.this.close(); }
+    };
+  }
+
+}
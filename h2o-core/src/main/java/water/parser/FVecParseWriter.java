@@ -181,20 +181,27 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
       } else if( _ctypes[colIdx] == Vec.T_STR ) {
         _nvs[_col = colIdx].addStr(str);
       } else { // categoricals
-        if(!_categoricals[colIdx].isMapFull()) {
-          int id = _categoricals[_col = colIdx].addKey(str);
-          if (_ctypes[colIdx] == Vec.T_BAD && id > 1) _ctypes[colIdx] = Vec.T_CAT;
-          if(_ctypes[colIdx] == Vec.T_CAT) {
-            _nvs[colIdx].addNum(id, 0); // if we are sure we have a categorical column, we can only store the integer (more efficient than remembering this value was categorical)
-          } else
-            _nvs[colIdx].addCategorical(id);
-        } else { // maxed out categorical map
-          throw new ParseDataset.H2OParseException("Exceeded categorical limit on column #"+(colIdx+1)+" (using 1-based indexing).  Consider reparsing this column as a string.");
-        }
+        int id = categoricalId(_col = colIdx, str);
+        if (_ctypes[colIdx] == Vec.T_BAD && id > 1) _ctypes[colIdx] = Vec.T_CAT;
+        if(_ctypes[colIdx] == Vec.T_CAT) {
+          _nvs[colIdx].addNum(id, 0); // if we are sure we have a categorical column, we can only store the integer (more efficient than remembering this value was categorical)
+        } else
+          _nvs[colIdx].addCategorical(id);
       }
     }
   }
 
+  /**
+   * Id of the string in the categorical map of the column, the string is added to the map if
+   * not there yet.  Parsers of dictionary encoded formats use it to look each dictionary entry
+   * up once and append the ids to the column's NewChunk themselves.
+   */
+  public int categoricalId(int colIdx, BufferedString str) {
+    if(_categoricals[colIdx].isMapFull()) // maxed out categorical map
+      throw new ParseDataset.H2OParseException("Exceeded categorical limit on column #"+(colIdx+1)+" (using 1-based indexing).  Consider reparsing this column as a string.");
+    return _categoricals[colIdx].addKey(str);
+  }
+
   /** Adds double value to the column. */
   @Override public void addNumCol(int colIdx, double value) {
     if (Double.isNaN(value) || Double.isInfinite(value)) {
@@ -0,0 +1,121 @@
+package water.parser;
+
+import water.DKV;
+import water.Futures;
+import water.Key;
+import water.fvec.AppendableVec;
+import water.fvec.ByteVec;
+import water.fvec.Chunk;
+import water.fvec.Vec;
+
+import java.util.Arrays;
+
+/**
+ * A column of a lazily parsed frame, see {@link ParseDataset#forkParseLazy}.  Its Chunks are
+ * parsed from the source files the first time they are read and then stored in the DKV like the
+ * Chunks of any other Vec; Chunks nobody reads are never parsed and never take any memory.
+ *
+ * The row layout is known up front: the first parsed column of the file is parsed eagerly and
+ * defines the rows of every Chunk.  A Chunk of this Vec is parsed together with that column so
+ * the lines are counted the same way, the result is checked against the layout.
+ *
+ * The source files have to stay in the DKV, unchanged and with the same chunk size, as long as
+ * the frame has columns which were not read yet.
+ */
+public class LazyParseVec extends Vec {
+  private final Key[] _srcKeys;            // Source files
+  private final int[] _fileChunkOffsets;   // Index of the first Chunk of each file
+  private final int[] _checkHeaders;       // Whether each file starts with the header
+  private final ParserInfo _parseType;
+  private final byte _separator;
+  private final boolean _singleQuotes;
+  private final byte[] _nonDataLineMarkers;
+  private final int _chunkSize;
+  private final int _ncols;                // Columns of the file
+  private final int _rowCol;               // File column defining the rows
+  private final int _col;                  // File column of this Vec
+  private final byte[] _ctypes;            // Types of the row column and of this column
+  private final String[][] _naStrings;     // NA strings of the row column and of this column
+
+  LazyParseVec(Key<Vec> key, int rowLayout, ParseSetup setup, Key[] srcKeys, int[] fileChunkOffsets,
+               int[] checkHeaders, int rowCol, int col) {
+    super(key, rowLayout, null, setup._column_types[col]);
+    assert rowCol < col;
+    _srcKeys = srcKeys;
+    _fileChunkOffsets = fileChunkOffsets;
+    _checkHeaders = checkHeaders;
+    _parseType = setup._parse_type;
+    _separator = setup._separator;
+    _singleQuotes = setup._single_quotes;
+    _nonDataLineMarkers = setup._nonDataLineMarkers;
+    _chunkSize = setup._chunk_size;
+    _ncols = setup._number_columns;
+    _rowCol = rowCol;
+    _col = col;
+    _ctypes = new byte[]{setup._column_types[rowCol], setup._column_types[col]};
+    _naStrings = setup._na_strings == null ? null : new String[][]{setup._na_strings[rowCol], setup._na_strings[col]};
+  }
+
+  /** The file column this Vec is parsed from */
+  public int fileColumn() { return _col; }
+
+  /** True once the rollup stats were computed, all Chunks were parsed then.  Code which only looks
+   *  at a frame, such as its listing, should not compute anything over columns for which this is false. */
+  public boolean isParsed() { return hasRollupStats(); }
+
+  /** True for a column of a lazily parsed frame which can still have Chunks to parse. */
+  public static boolean isUnparsed(Vec vec) {
+    return vec instanceof LazyParseVec && !((LazyParseVec) vec).isParsed();
+  }
+
+  @Override public Chunk chunkForChunkIdx(int cidx) {
+    if( DKV.get(chunkKey(cidx)) == null )
+      parseChunk(cidx); // Racing parses of the same Chunk put identical Chunks
+    return super.chunkForChunkIdx(cidx);
+  }
+
+  // Parse the Chunk from its source file and put it in the DKV
+  private void parseChunk(int cidx) {
+    int file = _fileChunkOffsets.length - 1;
+    while( _fileChunkOffsets[file] > cidx ) file--;
+    final ByteVec src = DKV.get(_srcKeys[file]) == null ? null : ParseDataset.getByteVec(_srcKeys[file]);
+    final int srcChunks = (file + 1 < _fileChunkOffsets.length ? _fileChunkOffsets[file + 1] : nChunks()) - _fileChunkOffsets[file];
+    if( src == null || src.nChunks() != srcChunks )
+      throw new IllegalStateException("Cannot parse column " + (_col + 1) + " of lazily parsed frame: source " +
+              _srcKeys[file] + " was removed or its chunk size changed.");
+    final int srcCidx = cidx - _fileChunkOffsets[file];
+
+    ParseSetup setup = columnSetup(_checkHeaders[file]);
+    Parser p = setup.parser(null);
+    AppendableVec[] avs = new AppendableVec[]{
+            new AppendableVec(Vec.newKey(), new long[1], _ctypes[0], cidx), // The row column is never closed
+            new AppendableVec(_key, new long[1], _ctypes[1], cidx)
+    };
+    Categorical[] categoricals = new Categorical[]{new Categorical(), new Categorical()};
+    FVecParseWriter dout = new FVecParseWriter(null, cidx, categoricals, _ctypes.clone(), _chunkSize, avs,
+            setup._parse_columns_indices, null);
+    p.parseChunk(srcCidx, new FVecParseReader(src.chunkForChunkIdx(srcCidx)), dout);
+    long rows = espc()[cidx + 1] - espc()[cidx];
+    if( dout.lineNum() != rows )
+      throw new IllegalStateException("Parsed " + dout.lineNum() + " rows instead of " + rows + " in chunk " + cidx +
+              " of column " + (_col + 1) + " of lazily parsed frame, was source " + _srcKeys[file] + " changed?");
+    Futures fs = new Futures();
+    dout.getNvs()[1].close(cidx, fs);
+    fs.blockForPending();
+  }
+
+  // Setup parsing just the row column and this column
+  private ParseSetup columnSetup(int checkHeader) {
+    int[] skipped = new int[_ncols - 2];
+    for( int i = 0, n = 0; i < _ncols; i++ )
+      if( i != _rowCol && i != _col ) skipped[n++] = i;
+    byte[] ctypes = new byte[_ncols];
+    Arrays.fill(ctypes, Vec.T_NUM);
+    ctypes[_rowCol] = _ctypes[0];
+    ctypes[_col] = _ctypes[1];
+    // Note: the NA strings are looked up by the index of the parsed column
+    return new ParseSetup(_parseType, _separator, _singleQuotes, checkHeader, _ncols, null, ctypes, null,
+            _naStrings, null, new ParseWriter.ParseErr[0], _chunkSize, null, skipped, _nonDataLineMarkers);
+  }
+
+}
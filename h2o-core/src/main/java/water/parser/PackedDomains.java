@@ -3,6 +3,8 @@ package water.parser;
 import water.MemoryManager;
 import water.util.StringUtils;
 
+import java.util.Arrays;
+
 import static water.util.ArrayUtils.*;
 
 public class PackedDomains {
@@ -128,4 +130,53 @@ public class PackedDomains {
     return data;
   }
 
+  /**
+   * Maps node-local categorical ids to ordinals of the global domain.
+   *
+   * Both domains are sorted, and the local one is a subset of the global one,
+   * so a single merge-like walk over the two packed domains does it - no
+   * hashing and no unpacking of the (possibly huge) global domain.
+   *
+   * @param local packed sorted node-local domain
+   * @param localIds node-local id of every value of the local domain
+   * @param maxId largest node-local id
+   * @param global packed sorted global domain
+   * @return global ordinal by node-local id, -1 for ids without a value in
+   *         the global domain
+   */
+  public static int[] ordinalMap(byte[] local, int[] localIds, int maxId, byte[] global) {
+    int[] map = MemoryManager.malloc4(maxId + 1);
+    Arrays.fill(map, -1);
+    final int n = sizeOf(local);
+    int pL = 4;
+    int pG = 4;
+    int ordinal = 0;
+    for (int i = 0; i < n; i++) {
+      int sizeL = encodeAsInt(local, pL);
+      while (pG < global.length) {
+        int sizeG = encodeAsInt(global, pG);
+        int x = compare(local, pL + 4, sizeL, global, pG + 4, sizeG);
+        if (x < 0) break; // Not in the global domain
+        pG += sizeG + 4;
+        if (x == 0) {
+          map[localIds[i]] = ordinal++;
+          break;
+        }
+        ordinal++;
+      }
+      pL += sizeL + 4;
+    }
+    return map;
+  }
+
+  // Same order as BufferedString.compareTo
+  private static int compare(byte[] a, int offA, int lenA, byte[] b, int offB, int lenB) {
+    int l = Math.min(lenA, lenB);
+    for (int i = 0; i < l; i++) {
+      int x = (0xFF & a[offA + i]) - (0xFF & b[offB + i]);
+      if (x != 0) return x;
+    }
+    return lenA - lenB;
+  }
+
 }
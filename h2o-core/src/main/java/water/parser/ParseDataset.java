@@ -180,6 +180,206 @@ public final class ParseDataset {
     return pds;
   }
 
+  /**
+   * Parses the input keys and appends the rows to the existing frame, instead of creating a new one.
+   *
+   * The columns are parsed with the types of the frame's columns; categorical domains of the
+   * frame grow by the unseen levels. The new rows become new chunks of the frame's Vecs, the
+   * existing chunks are not copied (see {@link FrameAppender}), so e.g. a training frame can be
+   * extended by a day of new files without re-importing and rbind-ing the whole history.
+   *
+   * @param dest  existing frame to append to
+   * @param keys  input keys
+   * @param parseSetup  a generic parser setup; the parsed columns need to match the columns of the frame
+   * @param deleteOnDone  delete input data when finished
+   * @return a new append job, the frame is write-locked until the job finishes
+   */
+  public static Job<Frame> forkAppend(final Key<Frame> dest, final Key[] keys, final ParseSetup parseSetup, final boolean deleteOnDone) {
+    final Frame target = DKV.getGet(dest);
+    if( target == null )
+      throw new H2OIllegalArgumentException("Frame " + dest + " to append to does not exist.");
+    final ParseSetup setup = appendSetup(target, parseSetup);
+    final Job<Frame> job = new Job<>(dest, Frame.class.getName(), "Parse and append");
+    target.write_lock(job._key); // Write-Lock BEFORE returning
+    return job.start(new H2OCountedCompleter() {
+      @Override public void compute2() {
+        Key<Frame> tmp = Key.make();
+        Frame rows = null;
+        try {
+          job.update(0, "Parsing the appended files.");
+          rows = parse(tmp, keys, deleteOnDone, setup);
+          job.update(0, "Appending " + rows.numRows() + " rows.");
+          FrameAppender.append(target, rows);
+          target.update(job._key);
+          job.update(1);
+        } finally {
+          target.unlock(job._key);
+          if( rows != null ) rows.delete();
+        }
+        tryComplete();
+      }
+    }, 1);
+  }
+
+  /** Parse the input keys and append the rows to the existing frame, blocking; see {@link #forkAppend} */
+  public static Frame append(Key<Frame> dest, Key[] keys, ParseSetup parseSetup, boolean deleteOnDone) {
+    return forkAppend(dest, keys, parseSetup, deleteOnDone).get();
+  }
+
+  // The setup with the column types of the frame the rows are appended to
+  static ParseSetup appendSetup(Frame target, ParseSetup parseSetup) {
+    ParseSetup setup = (ParseSetup) parseSetup.clone(); // Shallow, the arrays changed below are replaced
+    final int ncols = setup.getNumberColumns();
+    setup.setParseColumnIndices(ncols, setup.getSkippedColumns());
+    final int[] parsed = setup.get_parse_columns_indices();
+    final int nsynthetic = setup._synthetic_column_names == null ? 0 : setup._synthetic_column_names.length;
+    if( parsed.length + nsynthetic != target.numCols() )
+      throw new H2OIllegalArgumentException("Cannot append " + (parsed.length + nsynthetic) + " parsed columns to frame " +
+              target._key + " with " + target.numCols() + " columns.");
+    byte[] types = setup._column_types == null ? new byte[ncols] : Arrays.copyOf(setup._column_types, ncols);
+    for( int i = 0; i < parsed.length; i++ ) {
+      Vec v = target.vec(i);
+      if( v.get_type() != Vec.T_BAD ) // Parse all-NA columns with the guessed type
+        types[parsed[i]] = v.get_type();
+    }
+    setup.setColumnTypes(types);
+    return setup;
+  }
+
+  /**
+   * Parses the input keys into a frame whose columns are parsed on demand.
+   *
+   * Only the first parsed column, which defines the rows of every chunk, and the columns which
+   * need a pass over all the data (categoricals for their domains, columns of unknown type) are
+   * parsed right away. The other columns are {@link LazyParseVec}s: a chunk of such a column is
+   * parsed from the source the first time an MRTask or a Rapids expression reads it, chunks nobody
+   * reads never get to the DKV. Importing a wide file to model on a few of its columns then costs
+   * about one tokenizing pass instead of building and storing all the columns.
+   *
+   * Supported are uncompressed, unencrypted CSV files parsed in parallel. The input keys are
+   * kept, they are read again whenever a column is used the first time.
+   *
+   * @param dest  name for destination key
+   * @param keys  input keys
+   * @param parseSetup  a generic parser setup
+   * @return a new parse job
+   */
+  public static Job<Frame> forkParseLazy(final Key<Frame> dest, final Key[] keys, final ParseSetup parseSetup) {
+    final ParseSetup setup = parseSetup.getFinalSetup(keys, parseSetup);
+    checkLazySetup(keys, setup);
+    final ParseSetup eagerSetup = eagerSetup(setup);
+    final Job<Frame> job = new Job<>(dest, Frame.class.getName(), "Lazy parse");
+    new Frame(dest, new String[0], new Vec[0]).delete_and_lock(job); // Write-Lock BEFORE returning
+    return job.start(new H2OCountedCompleter() {
+      @Override public void compute2() {
+        Key<Frame> tmp = Key.make();
+        job.update(0, "Parsing the row defining and categorical columns.");
+        Frame eager = parse(tmp, keys, false, eagerSetup);
+        Frame fr;
+        try {
+          job.update(0, "Creating the lazily parsed columns.");
+          fr = lazyFrame(dest, keys, setup, eager);
+        } catch (RuntimeException e) {
+          eager.delete();
+          throw e;
+        }
+        DKV.remove(tmp); // The Vecs live on in the new frame
+        fr.update(job);
+        fr.unlock(job);
+        job.update(1);
+        tryComplete();
+      }
+      @Override public boolean onExceptionalCompletion(Throwable ex, CountedCompleter caller) {
+        Keyed.remove(dest, new Futures(), true).blockForPending();
+        return true;
+      }
+    }, 1);
+  }
+
+  /** Parse the input keys into a frame whose columns are parsed on demand, blocking; see {@link #forkParseLazy} */
+  public static Frame parseLazy(Key<Frame> dest, Key[] keys, ParseSetup parseSetup) {
+    return forkParseLazy(dest, keys, parseSetup).get();
+  }
+
+  // Column types a LazyParseVec can have: ones parsed chunk by chunk, without any global state
+  static boolean isLazyType(byte type) {
+    return type == Vec.T_NUM || type == Vec.T_STR || type == Vec.T_TIME || type == Vec.T_UUID;
+  }
+
+  private static void checkLazySetup(Key[] keys, ParseSetup setup) {
+    if( !DefaultParserProviders.CSV_INFO.equals(setup._parse_type) )
+      throw new H2OIllegalArgumentException("Lazy parse supports CSV files only, not " + setup._parse_type.name() + ".");
+    if( setup._synthetic_column_names != null )
+      throw new H2OIllegalArgumentException("Lazy parse does not support synthetic columns.");
+    for( Key k : keys ) {
+      ByteVec vec = getByteVec(k);
+      if( ZipUtil.guessCompressionMethod(vec.getFirstBytes()) != ZipUtil.Compression.NONE ||
+              setup.parseMethod(keys.length, vec) != ParserInfo.ParseMethod.DistributedParse )
+        throw new H2OIllegalArgumentException("Lazy parse needs files parsed in parallel, " + k +
+                " is compressed, encrypted or too small.");
+    }
+  }
+
+  // The setup of the eager part of a lazy parse, the lazy columns are skipped
+  static ParseSetup eagerSetup(ParseSetup setup) {
+    ParseSetup eager = (ParseSetup) setup.clone(); // Shallow, the arrays changed below are replaced
+    final int ncols = setup.getNumberColumns();
+    setup.setParseColumnIndices(ncols, setup.getSkippedColumns());
+    final int[] parsed = setup.get_parse_columns_indices();
+    int[] skipped = setup.getSkippedColumns() == null ? new int[0] : setup.getSkippedColumns().clone();
+    String[][] naStrings = setup._na_strings == null ? null : new String[ncols][];
+    for( int i = 0, n = 0; i < parsed.length; i++ ) {
+      if( i > 0 && isLazyType(setup._column_types[parsed[i]]) )
+        skipped = ArrayUtils.append(skipped, parsed[i]);
+      else if( naStrings != null ) // The parser looks the NA strings up by the index of the parsed column
+        naStrings[n++] = setup._na_strings[parsed[i]];
+    }
+    Arrays.sort(skipped);
+    eager.setSkippedColumns(skipped);
+    eager.setParseColumnIndices(ncols, skipped);
+    eager._na_strings = naStrings;
+    return eager;
+  }
+
+  // The frame of the eagerly parsed Vecs and new LazyParseVecs for the other parsed columns
+  static Frame lazyFrame(Key<Frame> dest, Key[] keys, ParseSetup setup, Frame eager) {
+    final int[] fileChunkOffsets = new int[keys.length];
+    final int[] checkHeaders = new int[keys.length];
+    int nchunks = 0;
+    for( int i = 0; i < keys.length; i++ ) {
+      ByteVec vec = getByteVec(keys[i]);
+      fileChunkOffsets[i] = nchunks;
+      nchunks += vec.nChunks();
+      checkHeaders[i] = setup._check_header;
+      if( setup._check_header == ParseSetup.HAS_HEADER ) { // Same check as MultiFileParseTask.map does per file
+        ParseSetup localSetup = (ParseSetup) setup.clone();
+        checkHeaders[i] = localSetup.parser(null).fileHasHeader(vec.getFirstBytes(), localSetup);
+      }
+    }
+    final Vec layout = eager.anyVec();
+    if( layout.nChunks() != nchunks )
+      throw new H2OIllegalArgumentException("Lazy parse produced " + layout.nChunks() + " chunks from " + nchunks +
+              " input chunks.");
+    final int[] parsed = setup.get_parse_columns_indices();
+    final String[] names = getColumnNames(setup.getNumberColumns(), setup._column_names);
+    int nlazy = parsed.length - eager.numCols();
+    Key<Vec>[] lazyKeys = layout.group().addVecs(nlazy);
+    String[] frNames = new String[parsed.length];
+    Vec[] vecs = new Vec[parsed.length];
+    Futures fs = new Futures();
+    for( int i = 0, e = 0, l = 0; i < parsed.length; i++ ) {
+      frNames[i] = names[parsed[i]];
+      if( i == 0 || !isLazyType(setup._column_types[parsed[i]]) )
+        vecs[i] = eager.vec(e++);
+      else
+        DKV.put(vecs[i] = new LazyParseVec(lazyKeys[l++], layout._rowLayout, setup, keys, fileChunkOffsets,
+                checkHeaders, parsed[0], parsed[i]), fs);
+    }
+    fs.blockForPending();
+    Log.info("Lazy parse of " + parsed.length + " columns, " + nlazy + " of them are parsed on demand.");
+    return new Frame(dest, frNames, vecs);
+  }
+
   // Setup a private background parse job
   private ParseDataset(Key<Frame> dest) {
     _job = new Job<>(dest, Frame.class.getName(), "Parse");
@@ -301,11 +501,13 @@ public final class ParseDataset {
     ParseFinalizer finalizer = ParseFinalizer.get(setup);
     // If we have any, go gather unified categorical domains
     if( n > 0 ) {
+      byte[][] packedDomains = null; // Global domains as sorted packed domains
       if (!setup.getParseType().isDomainProvided) { // Domains are not provided via setup we need to collect them
         job.update(0, "Collecting categorical domains across nodes.");
         {
           GatherCategoricalDomainsTask gcdt = new GatherCategoricalDomainsTask(mfpt._cKey, ecols,
                   mfpt._parseSetup._parse_columns_indices).doAllNodes();
+          packedDomains = gcdt._packedDomains;
           //Test domains for excessive length.
           List<String> offendingColNames = new ArrayList<>();
           for (int i = 0; i < ecols.length; i++) {
@@ -324,7 +526,8 @@ public final class ParseDataset {
       } else {
         // Ignore offending domains
         for (int i = 0; i < ecols.length; i++) {
-          avs[ecols[i]].setDomain(setup._domains[ecols[i]]);
+          int dcol = setup._domains.length == parseCols ? ecols[i] : setup._parse_columns_indices[ecols[i]];
+          avs[ecols[i]].setDomain(setup._domains[dcol]);
         }
       }
 
@@ -346,7 +549,7 @@ public final class ParseDataset {
           RPC[] rpcs = new RPC[H2O.CLOUD.size()];
           for (int i = 0; i < fcdt.length; i++){
             H2ONode[] nodes = H2O.CLOUD.members();
-            fcdt[i] = new CreateParse2GlobalCategoricalMaps(mfpt._cKey, fr._key, ecols, mfpt._parseSetup._parse_columns_indices);
+            fcdt[i] = new CreateParse2GlobalCategoricalMaps(mfpt._cKey, packedDomains);
             rpcs[i] = new RPC<>(nodes[i], fcdt[i]).call();
           }
           for (RPC rpc : rpcs)
@@ -402,6 +605,10 @@ public final class ParseDataset {
         Log.warn(warns[i++] = err.toString());
       job.setWarnings(warns);
     }
+    if( REBALANCE_AFTER_PARSE ) {
+      job.update(0,"Rebalancing chunks.");
+      rebalance(job, fr);
+    }
     job.update(0,"Calculating data summary.");
     logParseResults(fr);
     // Release the frame for overwriting
@@ -417,51 +624,83 @@ public final class ParseDataset {
       }
     return pds;
   }
+  /** Rebalance parsed frames whose chunk count is far from the balanced one, see {@link #rebalance} */
+  static final boolean REBALANCE_AFTER_PARSE = H2O.getSysBoolProperty("parse.rebalance", false);
+  /** Decompress and parse BGZF (blocked gzip) files in parallel, see {@link ZipUtil#inflateBgzf} */
+  static final boolean PARALLEL_BGZF = H2O.getSysBoolProperty("parse.gzip.parallel", true);
+  /** Overlap the inflating of gzip files with the parsing, see {@link DecompressAheadInputStream} */
+  static final boolean GZIP_DECOMPRESS_AHEAD = H2O.getSysBoolProperty("parse.gzip.decompress_ahead", true);
+
+  /**
+   * Rebalances the parsed frame into the chunk count {@link FileVec#balancedChunksPerNode} gives
+   * for its actual (compressed) size, if the current count is far enough from it to pay for
+   * a copy of the data.  The parse decides chunk boundaries from a guess made before any row was
+   * parsed, the parsed frame knows its real size.
+   *
+   * @param fr parsed frame, write-locked by the job; its Vecs are replaced
+   */
+  static void rebalance(Job<Frame> job, Frame fr) {
+    final long rows = fr.numRows();
+    if( rows == 0 || fr.numCols() == 0 ) return;
+    final int cloudSize = H2O.getCloudSize();
+    final int chunks = fr.anyVec().nChunks();
+    final int balanced = FileVec.balancedChunksPerNode(rows, fr.numCols(), (double) fr.byteSize() / rows,
+            H2O.NUMCPUS, cloudSize, 0) * cloudSize;
+    if( !needsRebalance(chunks, balanced, H2O.NUMCPUS * cloudSize) ) return;
+    Log.info("Rebalancing parsed frame " + fr._key + " from " + chunks + " to " + balanced + " chunks.");
+    Key<Frame> tmp = Key.make();
+    RebalanceDataSet rb = new RebalanceDataSet(fr, tmp, balanced, null, job._key);
+    H2O.submitTask(rb).join();
+    Frame rebalanced = DKV.getGet(tmp);
+    Vec[] old = fr.vecs();
+    fr.restructure(fr.names().clone(), rebalanced.vecs());
+    DKV.remove(tmp);
+    Futures fs = new Futures();
+    for( Vec v : old ) v.remove(fs);
+    fs.blockForPending();
+    fr.update(job);
+  }
+
+  // Whether the chunk count is far enough from the balanced one: more than 2x off, or the last
+  // wave of chunks over all cores leaves a quarter of the cores idle
+  static boolean needsRebalance(int chunks, int balanced, int totalCores) {
+    if( chunks > 2 * balanced || 2 * chunks < balanced ) return true;
+    if( chunks <= totalCores ) return false;
+    double waves = (double) chunks / totalCores;
+    return Math.ceil(waves) / waves > 1.25;
+  }
+
   private static class CreateParse2GlobalCategoricalMaps extends DTask<CreateParse2GlobalCategoricalMaps> {
     private final Key   _parseCatMapsKey;
-    private final Key   _frKey;
-    private final int[] _ecol;
-    private final int[] _parseColumns;
+    private final byte[][] _packedDomains; // Global domains of the categorical columns, null if all are NA
 
-    private CreateParse2GlobalCategoricalMaps(Key parseCatMapsKey, Key key, int[] ecol, int[] parseColumns) {
+    private CreateParse2GlobalCategoricalMaps(Key parseCatMapsKey, byte[][] packedDomains) {
       _parseCatMapsKey = parseCatMapsKey;
-      _frKey = key;
-      _ecol = ecol; // contains the categoricals column indices only
-      _parseColumns = parseColumns;
+      _packedDomains = packedDomains;
     }
 
     @Override public void compute2() {
-      Frame _fr = DKV.getGet(_frKey); // does not contain skipped columns
-      // get the node local category->ordinal maps for each column from initial parse pass
-      if( !MultiFileParseTask._categoricals.containsKey(_parseCatMapsKey) ) {
+      // get the node local sorted domains from the domain gathering pass
+      final GatherCategoricalDomainsTask.LocalDomains local = GatherCategoricalDomainsTask._localDomains.remove(_parseCatMapsKey);
+      if( local == null ) {
         tryComplete();
         return;
       }
-        final Categorical[] parseCatMaps = MultiFileParseTask._categoricals.get(_parseCatMapsKey); // include skipped columns
-        int[][] _nodeOrdMaps = new int[_ecol.length][];
-
-        // create old_ordinal->new_ordinal map for each cat column
-        for (int eColIdx = 0; eColIdx < _ecol.length; eColIdx++) {
-          int colIdx = _parseColumns[_ecol[eColIdx]];
-          if (parseCatMaps[colIdx].size() != 0) {
-            _nodeOrdMaps[eColIdx] = MemoryManager.malloc4(parseCatMaps[colIdx].maxId() + 1);
-            Arrays.fill(_nodeOrdMaps[eColIdx], -1);
-            //Bulk String->BufferedString conversion is slightly faster, but consumes memory
-            final BufferedString[] unifiedDomain = _fr.vec(_ecol[eColIdx]).isCategorical()?
-                    BufferedString.toBufferedString(_fr.vec(_ecol[eColIdx]).domain()):new BufferedString[0];
-            //final String[] unifiedDomain = _fr.vec(colIdx).domain();
-            for (int i = 0; i < unifiedDomain.length; i++) {
-              //final BufferedString cat = new BufferedString(unifiedDomain[i]);
-              if (parseCatMaps[colIdx].containsKey(unifiedDomain[i])) {
-                _nodeOrdMaps[eColIdx][parseCatMaps[colIdx].getTokenId(unifiedDomain[i])] = i;
-              }
-            }
-          } else {
-            Log.debug("Column " + colIdx + " was marked as categorical but categorical map is empty!");
-          }
+      int[][] _nodeOrdMaps = new int[local._packed.length][];
+
+      // create old_ordinal->new_ordinal map for each cat column by walking the
+      // sorted local and global domains side by side
+      for (int eColIdx = 0; eColIdx < _nodeOrdMaps.length; eColIdx++) {
+        if (local._ids[eColIdx].length != 0) {
+          final byte[] unifiedDomain = _packedDomains != null && _packedDomains[eColIdx] != null ?
+                  _packedDomains[eColIdx] : PackedDomains.pack(new BufferedString[0]);
+          _nodeOrdMaps[eColIdx] = PackedDomains.ordinalMap(local._packed[eColIdx], local._ids[eColIdx], local._maxIds[eColIdx], unifiedDomain);
+        } else {
+          Log.debug("Categorical column " + eColIdx + " was marked as categorical but categorical map is empty!");
         }
-        // Store the local->global ordinal maps in DKV by node parse categorical key and node index
-        DKV.put(Key.make(_parseCatMapsKey.toString() + "parseCatMapNode" + H2O.SELF.index()), new CategoricalUpdateMap(_nodeOrdMaps));
+      }
+      // Store the local->global ordinal maps in DKV by node parse categorical key and node index
+      DKV.put(Key.make(_parseCatMapsKey.toString() + "parseCatMapNode" + H2O.SELF.index()), new CategoricalUpdateMap(_nodeOrdMaps));
       tryComplete();
     }
   }
@@ -487,27 +726,34 @@ public final class ParseDataset {
         throw new H2OIllegalValueException("Missing categorical update map",this);
       int[][] _parse2GlobalCatMaps = temp.map;
 
-      //update the chunk with the new map
+      //update the chunk with the new map: decode the chunk in bulk and stream
+      //the remapped values into a fresh NewChunk, instead of setting values
+      //one by one into the inflated chunk
       final int cidx = chks[0].cidx();
+      double[] vals = null;
       for(int i = 0; i < chks.length; ++i) {
         Chunk chk = chks[i];
-        if (!(chk instanceof CStrChunk)) {
-          for( int j = 0; j < chk._len; ++j){
-            if( chk.isNA(j) )continue;
-            final int old = (int) chk.at8(j);
-            if (old < 0 || (_parse2GlobalCatMaps[i] != null && old >= _parse2GlobalCatMaps[i].length))
-              chk.reportBrokenCategorical(i, j, old, _parse2GlobalCatMaps[i], _fr.vec(i).domain().length);
-            if(_parse2GlobalCatMaps[i] != null && _parse2GlobalCatMaps[i][old] < 0)
-              throw new H2OParseException("Error in unifying categorical values. This is typically "
-                  +"caused by unrecognized characters in the data.\n The problem categorical value "
-                  +"occurred in the " + PrettyPrint.withOrdinalIndicator(i+1)+ " categorical col, "
-                  +PrettyPrint.withOrdinalIndicator(chk.start() + j) +" row.");
-            if (_parse2GlobalCatMaps[i] != null)
-              chk.set(j, _parse2GlobalCatMaps[i][old]);
+        final int[] map = _parse2GlobalCatMaps[i];
+        if (chk instanceof CStrChunk || map == null) continue;
+        vals = chk.getDoubles(vals == null || vals.length < chk._len ? MemoryManager.malloc8d(chk._len) : vals, 0, chk._len);
+        NewChunk nc = new NewChunk(chk.vec(), cidx);
+        for( int j = 0; j < chk._len; ++j){
+          if( Double.isNaN(vals[j]) ) {
+            nc.addNA();
+            continue;
           }
-          Log.trace("Updated domains for "+PrettyPrint.withOrdinalIndicator(i+1)+ " categorical column.");
+          final int old = (int) vals[j];
+          if (old < 0 || old >= map.length)
+            chk.reportBrokenCategorical(i, j, old, map, _fr.vec(i).domain().length);
+          if (map[old] < 0)
+            throw new H2OParseException("Error in unifying categorical values. This is typically "
+                +"caused by unrecognized characters in the data.\n The problem categorical value "
+                +"occurred in the " + PrettyPrint.withOrdinalIndicator(i+1)+ " categorical col, "
+                +PrettyPrint.withOrdinalIndicator(chk.start() + j) +" row.");
+          nc.addNum(map[old], 0);
         }
-        chk.close(cidx, _fs);
+        nc.close(cidx, _fs);
+        Log.trace("Updated domains for "+PrettyPrint.withOrdinalIndicator(i+1)+ " categorical column.");
       }
     }
     @Override public void postGlobal() {
@@ -516,6 +762,21 @@ public final class ParseDataset {
     }
   }
   private static class GatherCategoricalDomainsTask extends MRTask<GatherCategoricalDomainsTask> {
+    // Node-local sorted domains of the categorical columns, kept from this
+    // pass until the local->global ordinal maps are built
+    private static final NonBlockingHashMap<Key, LocalDomains> _localDomains = new NonBlockingHashMap<>();
+
+    static final class LocalDomains {
+      final byte[][] _packed; // Sorted packed domain per categorical column
+      final int[][] _ids;     // Node-local id of every domain value
+      final int[] _maxIds;    // Largest node-local id per categorical column
+      LocalDomains(int ncols) {
+        _packed = new byte[ncols][];
+        _ids = new int[ncols][];
+        _maxIds = new int[ncols];
+      }
+    }
+
     private final Key _k;
     private final int[] _catColIdxs;
     private byte[][] _packedDomains;
@@ -533,14 +794,25 @@ public final class ParseDataset {
       _packedDomains = new byte[_catColIdxs.length][];
       final BufferedString[][] _perColDomains = new BufferedString[_catColIdxs.length][];
       final Categorical[] _colCats = MultiFileParseTask._categoricals.get(_k); // still refer to all columns
+      final LocalDomains local = new LocalDomains(_catColIdxs.length);
       int i = 0;
       for (int col : _catColIdxs) {
-        _colCats[_parseColumns[col]].convertToUTF8(_parseColumns[col] + 1);
-        _perColDomains[i] = _colCats[_parseColumns[col]].getColumnDomain();
+        final Categorical cat = _colCats[_parseColumns[col]];
+        cat.convertToUTF8(_parseColumns[col] + 1);
+        _perColDomains[i] = cat.getColumnDomain();
         Arrays.sort(_perColDomains[i]);
         _packedDomains[i] = PackedDomains.pack(_perColDomains[i]);
+        local._packed[i] = _packedDomains[i];
+        local._ids[i] = new int[_perColDomains[i].length];
+        for (int j = 0; j < _perColDomains[i].length; j++)
+          local._ids[i][j] = cat.getTokenId(_perColDomains[i][j]);
+        local._maxIds[i] = cat.maxId();
+        _perColDomains[i] = null;
         i++;
       }
+      // The sorted packed domains replace the hash maps from now on
+      _localDomains.put(_k, local);
+      MultiFileParseTask._categoricals.remove(_k);
       Log.trace("Done locally collecting domains on each node.");
     }
     
@@ -830,11 +1102,39 @@ public final class ParseDataset {
           break;
         }
         case GZIP: {
+          if (PARALLEL_BGZF && vec.nChunks() > 1 && ZipUtil.isBgzf(zips)) {
+            // Blocked gzip; inflate the blocks in parallel and parse the inflated chunks in parallel
+            ByteVec inflated = ZipUtil.inflateBgzf(vec);
+            if (inflated != null) {
+              try {
+                if (localSetup.parseMethod(_keys.length, inflated) == ParserInfo.ParseMethod.DistributedParse) {
+                  Log.info("Key " + key + " is BGZF compressed, it will be decompressed and parsed in parallel.");
+                  new DistributedParse(_vg, localSetup, _vecIdStart, chunkStartIdx, this, key, vec.nChunks()).dfork(inflated).getResult(false);
+                  // The inflated file can have fewer chunks, the rest of the output chunks stay empty
+                  for( int i = 0; i < vec.nChunks(); ++i )
+                    _chunk2ParseNodeMap[chunkStartIdx + i] = i < inflated.nChunks() ? inflated.chunkKey(i).home_node().index() : H2O.SELF.index();
+                  break;
+                }
+              } finally {
+                inflated.remove();
+              }
+            }
+          }
           localSetup = ParserService.INSTANCE.getByInfo(localSetup._parse_type).setupLocal(vec,localSetup);
           InputStream bvs = vec.openStream(_jobKey);
+          InputStream gzis = new GZIPInputStream(bvs);
+          if (GZIP_DECOMPRESS_AHEAD) { // Inflate on another thread while this one parses
+            DecompressAheadInputStream dais = new DecompressAheadInputStream(gzis, bvs);
+            gzis = dais;
+            bvs = dais.chunkIndexStream();
+          }
           // Zipped file; no parallel decompression;
-          _dout[_lo] = streamParse(decryptionTool.decryptInputStream(new GZIPInputStream(bvs)),
-                  localSetup, makeDout(localSetup,chunkStartIdx,vec.nChunks()),bvs);
+          try {
+            _dout[_lo] = streamParse(decryptionTool.decryptInputStream(gzis),
+                    localSetup, makeDout(localSetup,chunkStartIdx,vec.nChunks()),bvs);
+          } finally {
+            gzis.close(); // Also stops decompressing ahead when the parse fails
+          }
           _errors = _dout[_lo].removeErrors();
           // set this node as the one which processed all the chunks
           chunksAreLocal(vec,chunkStartIdx,key);
@@ -967,11 +1267,10 @@ public final class ParseDataset {
                   _setup._chunk_size, avs, _setup._parse_columns_indices, _jobKey);
           break;
         }
-        if ((_setup.getParseType().name().toLowerCase().equals("svmlight") ||
-                (_setup.getParseType().name().toLowerCase().equals("avro") ))
+        if (_setup.getParseType().name().toLowerCase().equals("svmlight")
                 && ((_setup.getSkippedColumns() != null) && (_setup.getSkippedColumns().length >0)))
           throw new H2OIllegalArgumentException("Parser: skipped_columns are not supported for " +
-                  "SVMlight or Avro parsers.");
+                  "SVMlight parser.");
 
         if (_setup.getSkippedColumns() !=null &&
                 ((_setup.get_parse_columns_indices()==null) || (_setup.get_parse_columns_indices().length==0)))
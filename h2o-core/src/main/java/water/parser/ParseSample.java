@@ -0,0 +1,161 @@
+package water.parser;
+
+import water.Iced;
+import water.fvec.Chunk;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+import water.util.Log;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Measurements taken by parsing a sample of a file with its guessed setup: the input bytes per
+ * row, the bytes of the compressed Chunks per row and the parse time per byte.  The chunk
+ * sizing uses them instead of guessing the rows from the line length and the Chunk sizes from
+ * the column count, see {@link water.fvec.FileVec#calcAdaptiveChunkSize}.
+ *
+ * Only plain (uncompressed) text files are sampled.  The sample is parsed on the calling node
+ * into NewChunks which are compressed and thrown away, nothing gets to the DKV.
+ */
+final class ParseSample extends Iced<ParseSample> {
+
+  /** Sample at most this many bytes of the start of a file */
+  static final int MAX_SAMPLE_BYTES = 1 << 20;
+  /** A sample with fewer rows does not say much */
+  static final int MIN_SAMPLE_ROWS = 100;
+
+  long _bytes;      // Parsed bytes
+  long _rows;       // Parsed rows
+  long _nanos;      // Parse time
+  long _chunkBytes; // Size of the compressed Chunks of the parsed rows
+
+  double inBytesPerRow()    { return (double) _bytes / _rows; }
+  double chunkBytesPerRow() { return (double) _chunkBytes / _rows; }
+  double nanosPerByte()     { return (double) _nanos / _bytes; }
+
+  /**
+   * Parse the start of the file with the final setup.  The sample is parsed twice and the time of
+   * the second (warmed-up) run is kept, the first run pays for class loading and JIT compilation.
+   *
+   * @param setup final setup of the parse, with column types
+   * @param bits first bytes of the file
+   * @return the measurements, or null if the file cannot be sampled
+   */
+  static ParseSample measure(ParseSetup setup, byte[] bits) {
+    if (bits == null || !DefaultParserProviders.CSV_INFO.equals(setup._parse_type) || setup._column_types == null ||
+            ZipUtil.guessCompressionMethod(bits) != ZipUtil.Compression.NONE)
+      return null;
+    int len = Math.min(bits.length, MAX_SAMPLE_BYTES);
+    while (len > 0 && bits[len - 1] != '\n') len--; // Whole lines only
+    if (len == 0)
+      return null;
+    byte[] sample = len == bits.length ? bits : Arrays.copyOf(bits, len);
+    try {
+      Parser p = setup.parser(null);
+      p.parseChunk(0, new Parser.ByteAryData(sample, 0), new SampleWriter(setup, p._keepColumns));
+      SampleWriter w = new SampleWriter(setup, p._keepColumns);
+      long start = System.nanoTime();
+      p.parseChunk(0, new Parser.ByteAryData(sample, 0), w);
+      long nanos = System.nanoTime() - start;
+      if (w._rows < MIN_SAMPLE_ROWS)
+        return null;
+      ParseSample ps = new ParseSample();
+      ps._bytes = len;
+      ps._rows = w._rows;
+      ps._nanos = Math.max(nanos, 1);
+      ps._chunkBytes = w.chunkBytes();
+      return ps;
+    } catch (RuntimeException e) { // Sampling is best effort, the parse itself reports the problems
+      Log.debug("Parse sample failed, using the default chunk size heuristic.", e);
+      return null;
+    }
+  }
+
+  // Writes the parsed values into NewChunks the same way FVecParseWriter does, but without any Vecs
+  private static final class SampleWriter extends Iced implements ParseWriter {
+    private final transient byte[] _ctypes; // Types of the parsed columns
+    private final transient NewChunk[] _nvs;
+    private final transient HashMap<BufferedString, Integer>[] _categoricals;
+    private transient int _col = -1;
+    transient long _rows;
+
+    @SuppressWarnings("unchecked")
+    SampleWriter(ParseSetup setup, boolean[] keepColumns) {
+      int n = 0;
+      byte[] ctypes = new byte[setup._column_types.length];
+      for (int i = 0; i < ctypes.length; i++)
+        if (keepColumns == null || i >= keepColumns.length || keepColumns[i]) ctypes[n++] = setup._column_types[i];
+      _ctypes = Arrays.copyOf(ctypes, n);
+      _nvs = new NewChunk[n];
+      _categoricals = new HashMap[n];
+      for (int i = 0; i < n; i++) {
+        _nvs[i] = new NewChunk(null, -1);
+        if (_ctypes[i] == Vec.T_CAT) _categoricals[i] = new HashMap<>();
+      }
+    }
+
+    long chunkBytes() {
+      long bytes = 0;
+      for (NewChunk nv : _nvs) {
+        Chunk c = nv.compress();
+        bytes += c.byteSize();
+      }
+      return bytes;
+    }
+
+    @Override public void setColumnNames(String[] names) {}
+    @Override public void newLine() {
+      if (_col >= 0) {
+        ++_rows;
+        for (int i = _col + 1; i < _nvs.length; ++i)
+          addInvalidCol(i);
+      }
+      _col = -1;
+    }
+    @Override public boolean isString(int colIdx) {
+      return colIdx < _nvs.length && (_ctypes[colIdx] == Vec.T_CAT || _ctypes[colIdx] == Vec.T_STR);
+    }
+    @Override public void addNumCol(int colIdx, long number, int exp) {
+      if (colIdx < _nvs.length) _nvs[_col = colIdx].addNum(number, exp);
+    }
+    @Override public void addNumCol(int colIdx, double d) {
+      if (Double.isNaN(d) || Double.isInfinite(d)) addInvalidCol(colIdx);
+      else if (colIdx < _nvs.length) _nvs[_col = colIdx].addNumDecompose(d);
+    }
+    @Override public void addInvalidCol(int colIdx) {
+      if (colIdx < _nvs.length) _nvs[_col = colIdx].addNA();
+    }
+    @Override public void addNAs(int colIdx, int nrow) {
+      if (colIdx < _nvs.length) _nvs[colIdx].addNAs(nrow);
+    }
+    @Override public void addStrCol(int colIdx, BufferedString str) {
+      if (colIdx >= _nvs.length) return;
+      switch (_ctypes[colIdx]) {
+        case Vec.T_STR:
+          _nvs[_col = colIdx].addStr(str);
+          break;
+        case Vec.T_CAT:
+          Integer id = _categoricals[colIdx].get(str);
+          if (id == null) _categoricals[colIdx].put(new BufferedString(str.toString()), id = _categoricals[colIdx].size());
+          _nvs[_col = colIdx].addNum(id, 0);
+          break;
+        case Vec.T_TIME:
+          long l = ParseTime.attemptTimeParse(str);
+          if (l == Long.MIN_VALUE) addInvalidCol(colIdx);
+          else _nvs[_col = colIdx].addNum(l, 0);
+          break;
+        default:
+          addInvalidCol(colIdx);
+      }
+    }
+    @Override public void rollbackLine() {}
+    @Override public void invalidLine(ParseErr err) { newLine(); }
+    @Override public void addError(ParseErr err) {}
+    @Override public void setIsAllASCII(int colIdx, boolean b) {}
+    @Override public boolean hasErrors() { return false; }
+    @Override public ParseErr[] removeErrors() { return new ParseErr[0]; }
+    @Override public long lineNum() { return _rows; }
+  }
+
+}
@@ -49,6 +49,8 @@ public class ParseSetup extends Iced {
   String[][] _synthetic_column_values; // For each imported file contains array of values for each synthetic column
   byte _synthetic_column_type = Vec.T_STR; // By default, all synthetic columns are treated as strings
 
+  String _pushdown_predicate; // Row group filter of columnar formats, see PushdownPredicate
+
   String [] _fileNames = new String[]{"unknown"};
   public boolean disableParallelParse;
   Key<DecryptionTool> _decrypt_tool;
@@ -134,6 +136,16 @@ public class ParseSetup extends Iced {
     _synthetic_column_type = synthetic_column_type;
   }
 
+  /**
+   * Sets the predicate used by parsers of columnar formats to skip row groups
+   * which cannot contain a matching row, see {@link PushdownPredicate}.
+   */
+  public void setPushdownPredicate(String predicate) {
+    _pushdown_predicate = predicate;
+  }
+
+  public String getPushdownPredicate() { return _pushdown_predicate; }
+
   /**
    * Create a ParseSetup with parameters from the client.
    *
@@ -278,6 +290,8 @@ public class ParseSetup extends Iced {
       ParseSetup ps = pp.createParserSetup(inputKeys, demandedSetup);
       if (demandedSetup._decrypt_tool != null)
         ps._decrypt_tool = demandedSetup._decrypt_tool;
+      if (demandedSetup._pushdown_predicate != null)
+        ps._pushdown_predicate = demandedSetup._pushdown_predicate;
       ps.setSkippedColumns(demandedSetup.getSkippedColumns());
       ps.setParseColumnIndices(demandedSetup.getNumberColumns(), demandedSetup.getSkippedColumns()); // final consistent check between skipped_columns and parse_columns_indices
       return ps;
@@ -368,12 +382,21 @@ public class ParseSetup extends Iced {
     if (ice instanceof Frame && ((Frame) ice).vec(0) instanceof UploadFileVec) {
       t._gblSetup._chunk_size = FileVec.DFLT_CHUNK_SIZE;
     } else {
-      t._gblSetup._chunk_size = FileVec.calcOptimalChunkSize(t._totalParseSize, t._gblSetup._number_columns, t._maxLineLength,
-              Runtime.getRuntime().availableProcessors(), H2O.getCloudSize(), false /*use new heuristic*/, true);
+      ParseSample sample = ADAPTIVE_CHUNK_SIZE ? ParseSample.measure(t._gblSetup, ParseDataset.getByteVec(fkeys[0]).getFirstBytes()) : null;
+      if (sample != null)
+        t._gblSetup._chunk_size = FileVec.calcAdaptiveChunkSize(t._totalParseSize, t._gblSetup._number_columns, t._maxLineLength,
+                Runtime.getRuntime().availableProcessors(), H2O.getCloudSize(),
+                sample.inBytesPerRow(), sample.chunkBytesPerRow(), sample.nanosPerByte(), true);
+      else
+        t._gblSetup._chunk_size = FileVec.calcOptimalChunkSize(t._totalParseSize, t._gblSetup._number_columns, t._maxLineLength,
+                Runtime.getRuntime().availableProcessors(), H2O.getCloudSize(), false /*use new heuristic*/, true);
     }
     return t._gblSetup;
   }
 
+  /** Size parse chunks from a parsed sample of the first file, see {@link ParseSample} */
+  static final boolean ADAPTIVE_CHUNK_SIZE = H2O.getSysBoolProperty("parse.adaptive_chunk_size", false);
+
   /**
    * Try to determine the ParseSetup on a file by file basis
    * and merge results.
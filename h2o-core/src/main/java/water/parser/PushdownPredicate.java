@@ -0,0 +1,191 @@
+package water.parser;
+
+import water.exceptions.H2OIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Predicate on column values which parsers of columnar file formats push down
+ * to their readers: row groups (Parquet) and stripes and row groups (ORC) whose
+ * column statistics show that no row can satisfy the predicate are not read at all.
+ *
+ * The predicate prunes I/O, it is not a row filter - all rows of the row
+ * groups which are read are imported.
+ *
+ * Syntax: comparisons {@code column op literal}, op being one of
+ * {@code == != < <= > >=}, combined with {@code &} and {@code |} and grouped
+ * by parentheses; {@code &} binds tighter than {@code |}.  Column names made of
+ * other characters than letters, digits, '_' and '.' are quoted in backticks,
+ * string literals in double quotes.  For example
+ * <pre>  year >= 2017 & (country == "CZ" | `country code` == "US")</pre>
+ */
+public abstract class PushdownPredicate {
+
+  public enum Op {
+    EQ("=="), NE("!="), LT("<"), LE("<="), GT(">"), GE(">=");
+    final String _symbol;
+    Op(String symbol) { _symbol = symbol; }
+  }
+
+  public interface Visitor<T> {
+    T visitAnd(And and);
+    T visitOr(Or or);
+    T visitCompare(Compare cmp);
+  }
+
+  public abstract <T> T accept(Visitor<T> visitor);
+
+  public static final class And extends PushdownPredicate {
+    public final PushdownPredicate[] _children;
+    And(PushdownPredicate[] children) { _children = children; }
+    @Override public <T> T accept(Visitor<T> visitor) { return visitor.visitAnd(this); }
+    @Override public String toString() { return join(_children, " & "); }
+  }
+
+  public static final class Or extends PushdownPredicate {
+    public final PushdownPredicate[] _children;
+    Or(PushdownPredicate[] children) { _children = children; }
+    @Override public <T> T accept(Visitor<T> visitor) { return visitor.visitOr(this); }
+    @Override public String toString() { return join(_children, " | "); }
+  }
+
+  /** Comparison of a column with a numeric or string literal */
+  public static final class Compare extends PushdownPredicate {
+    public final String _column;
+    public final Op _op;
+    public final String _value;     // Literal as written, without the quotes of a string
+    public final boolean _isString;
+    Compare(String column, Op op, String value, boolean isString) {
+      _column = column; _op = op; _value = value; _isString = isString;
+    }
+    @Override public <T> T accept(Visitor<T> visitor) { return visitor.visitCompare(this); }
+    /** The literal as a double, for a numeric literal only */
+    public double doubleValue() { return Double.parseDouble(_value); }
+    /** True if the literal is a number without a fraction which fits in a long */
+    public boolean isIntegral() {
+      if( _isString ) return false;
+      try { Long.parseLong(_value); return true; } catch( NumberFormatException e ) { return false; }
+    }
+    public long longValue() { return Long.parseLong(_value); }
+    @Override public String toString() {
+      return "`" + _column + "` " + _op._symbol + " " + (_isString ? "\"" + _value + "\"" : _value);
+    }
+  }
+
+  private static String join(PushdownPredicate[] children, String sep) {
+    StringBuilder sb = new StringBuilder("(");
+    for( int i = 0; i < children.length; i++ ) {
+      if( i > 0 ) sb.append(sep);
+      sb.append(children[i]);
+    }
+    return sb.append(")").toString();
+  }
+
+  /**
+   * Parses the predicate.
+   *
+   * @return the predicate, or null for a null or blank expression
+   * @throws H2OIllegalArgumentException on a syntax error
+   */
+  public static PushdownPredicate parse(String expr) {
+    if( expr == null || expr.trim().isEmpty() ) return null;
+    ExprParser p = new ExprParser(expr);
+    PushdownPredicate pred = p.or();
+    p.skipSpaces();
+    if( p._pos != expr.length() ) throw p.error("unexpected '" + expr.charAt(p._pos) + "'");
+    return pred;
+  }
+
+  // Recursive descent over: or := and ('|' and)*; and := atom ('&' atom)*;
+  // atom := '(' or ')' | column op literal
+  private static final class ExprParser {
+    private final String _expr;
+    private int _pos;
+    ExprParser(String expr) { _expr = expr; }
+
+    PushdownPredicate or() {
+      List<PushdownPredicate> children = new ArrayList<>();
+      children.add(and());
+      while( accept("|") ) children.add(and());
+      return children.size() == 1 ? children.get(0) : new Or(children.toArray(new PushdownPredicate[0]));
+    }
+
+    PushdownPredicate and() {
+      List<PushdownPredicate> children = new ArrayList<>();
+      children.add(atom());
+      while( accept("&") ) children.add(atom());
+      return children.size() == 1 ? children.get(0) : new And(children.toArray(new PushdownPredicate[0]));
+    }
+
+    PushdownPredicate atom() {
+      if( accept("(") ) {
+        PushdownPredicate pred = or();
+        if( !accept(")") ) throw error("missing ')'");
+        return pred;
+      }
+      String column = column();
+      Op op = op();
+      skipSpaces();
+      if( _pos < _expr.length() && _expr.charAt(_pos) == '"' ) {
+        int end = _expr.indexOf('"', _pos + 1);
+        if( end < 0 ) throw error("unterminated string literal");
+        String value = _expr.substring(_pos + 1, end);
+        _pos = end + 1;
+        return new Compare(column, op, value, true);
+      }
+      int start = _pos;
+      while( _pos < _expr.length() && "+-.0123456789eE".indexOf(_expr.charAt(_pos)) >= 0 ) _pos++;
+      String value = _expr.substring(start, _pos);
+      try {
+        Double.parseDouble(value);
+      } catch( NumberFormatException e ) {
+        _pos = start;
+        throw error("expected a number or a string literal");
+      }
+      return new Compare(column, op, value, false);
+    }
+
+    String column() {
+      skipSpaces();
+      if( _pos < _expr.length() && _expr.charAt(_pos) == '`' ) {
+        int end = _expr.indexOf('`', _pos + 1);
+        if( end < 0 ) throw error("unterminated column name");
+        String name = _expr.substring(_pos + 1, end);
+        _pos = end + 1;
+        return name;
+      }
+      int start = _pos;
+      while( _pos < _expr.length() && (Character.isLetterOrDigit(_expr.charAt(_pos)) || _expr.charAt(_pos) == '_' || _expr.charAt(_pos) == '.') ) _pos++;
+      if( start == _pos ) throw error("expected a column name");
+      return _expr.substring(start, _pos);
+    }
+
+    Op op() {
+      // Two character operators first
+      if( accept("==") ) return Op.EQ;
+      if( accept("!=") ) return Op.NE;
+      if( accept("<=") ) return Op.LE;
+      if( accept(">=") ) return Op.GE;
+      if( accept("<") ) return Op.LT;
+      if( accept(">") ) return Op.GT;
+      throw error("expected a comparison operator");
+    }
+
+    boolean accept(String token) {
+      skipSpaces();
+      if( !_expr.startsWith(token, _pos) ) return false;
+      _pos += token.length();
+      return true;
+    }
+
+    void skipSpaces() {
+      while( _pos < _expr.length() && Character.isWhitespace(_expr.charAt(_pos)) ) _pos++;
+    }
+
+    H2OIllegalArgumentException error(String msg) {
+      return new H2OIllegalArgumentException("Invalid pushdown predicate '" + _expr + "': " + msg + " at position " + _pos);
+    }
+  }
+
+}
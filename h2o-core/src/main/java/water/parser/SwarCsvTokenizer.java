@@ -0,0 +1,210 @@
+package water.parser;
+
+import water.util.UnsafeUtils;
+
+import java.nio.ByteOrder;
+
+/**
+ * Fast path of the {@link CsvParser} for plain numeric lines.
+ *
+ * The line is first split into fields: the positions of separators, quotes
+ * and line ends are found 8 bytes at a time with SWAR ("SIMD within a
+ * register") bit tricks instead of a byte-at-a-time state machine.  The fields
+ * are then parsed by a number parser which converts runs of 8 digits at once,
+ * and handed to the {@link ParseWriter} - for a parse into a Frame that is
+ * straight into the column's NewChunk.
+ *
+ * Only lines made purely of unquoted numbers and empty fields, with exactly
+ * one field per column, are accepted; the numbers are the same mantissa and
+ * exponent the state machine produces.  Anything else - quotes, strings,
+ * spaces, currency and percent signs, numbers of more than 18 digits, a line
+ * crossing the end of the chunk - makes {@link #parseLine} give up, and the
+ * caller parses the line with the state machine.
+ */
+final class SwarCsvTokenizer {
+
+  // Word loads are done in the native order, the bit tricks below assume the
+  // first byte of a line lands in the low byte of the word
+  static final boolean SUPPORTED = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+  private static final long ONES = 0x0101010101010101L;
+  private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+  private static final long PATTERN_CR = ONES * Parser.CHAR_CR;
+  private static final long PATTERN_LF = ONES * Parser.CHAR_LF;
+  private static final long PATTERN_DQ = ONES * Parser.CHAR_DOUBLE_QUOTE;
+  private static final long PATTERN_SQ = ONES * Parser.CHAR_SINGLE_QUOTE;
+  // 8 digit runs are only taken at once when the result cannot reach LARGEST_DIGIT_NUMBER
+  private static final long EIGHT_DIGITS_LIMIT = Parser.LARGEST_DIGIT_NUMBER / 100000000L;
+
+  private final byte _sep;
+  private final long _patternSep;
+  private final long _patternQuote; // Quote characters, single quote only if enabled
+  private final boolean[] _strCols; // Columns forced to strings or categoricals, null if none
+  private final int _ncols;
+  private final int[] _ends;      // End of every field of the current line
+  private final long[] _numbers;  // Mantissa of every field
+  private final int[] _exps;      // Exponent of every field
+  private final boolean[] _nas;   // Empty fields
+
+  SwarCsvTokenizer(byte sep, boolean singleQuotes, int ncols, boolean[] strCols) {
+    _sep = sep;
+    _patternSep = ONES * (sep & 0xFF);
+    _patternQuote = singleQuotes ? PATTERN_SQ : PATTERN_DQ;
+    _strCols = strCols;
+    _ncols = ncols;
+    _ends = new int[ncols];
+    _numbers = new long[ncols];
+    _exps = new int[ncols];
+    _nas = new boolean[ncols];
+  }
+
+  /** Separators the fast path can split on: anything that cannot be part of a number */
+  static boolean canSplitOn(byte sep) {
+    return !((sep >= '0' && sep <= '9') || sep == '-' || sep == '+' || sep == '.' || sep == 'e' || sep == 'E' ||
+             sep == Parser.CHAR_SPACE || Parser.isEOL(sep) ||
+             sep == Parser.CHAR_DOUBLE_QUOTE || sep == Parser.CHAR_SINGLE_QUOTE);
+  }
+
+  // High bit set in every byte of the word equal to the pattern's byte; exact
+  // for every byte, unlike the classic has-zero-byte test
+  private static long matches(long word, long pattern) {
+    long x = word ^ pattern;
+    return ~(((x & LOW7) + LOW7) | x | LOW7);
+  }
+
+  /**
+   * Tokenizes and parses the line starting at the given offset.
+   *
+   * @return offset of the CR or LF ending the line, or -1 if the line must be
+   *         parsed by the state machine; nothing was written to the
+   *         ParseWriter either way
+   */
+  int parseLine(byte[] bits, int offset, ParseWriter dout) {
+    if( offset >= bits.length || Parser.isEOL(bits[offset]) ) return -1; // Empty line
+    // Split into fields
+    int nfields = 0;
+    int eol = -1;
+    int i = offset;
+    WORDS:
+    for( ; i + 8 <= bits.length; i += 8 ) {
+      long word = UnsafeUtils.get8(bits, i);
+      long quotes = matches(word, PATTERN_DQ) | matches(word, _patternQuote);
+      long hits = matches(word, _patternSep) | matches(word, PATTERN_CR) | matches(word, PATTERN_LF);
+      if( quotes != 0 ) {
+        // Quotes after the end of the line are none of our business
+        long eols = hits & ~matches(word, _patternSep);
+        if( Long.numberOfTrailingZeros(eols) > Long.numberOfTrailingZeros(quotes) ) return -1;
+      }
+      while( hits != 0 ) {
+        int pos = i + (Long.numberOfTrailingZeros(hits) >>> 3);
+        if( nfields == _ncols ) return -1; // Too many fields
+        _ends[nfields++] = pos;
+        if( bits[pos] != _sep ) { eol = pos; break WORDS; }
+        hits &= hits - 1;
+      }
+    }
+    if( eol < 0 ) {
+      for( ; i < bits.length; i++ ) { // Tail shorter than a word
+        byte c = bits[i];
+        if( c == Parser.CHAR_DOUBLE_QUOTE || (_patternQuote == PATTERN_SQ && c == Parser.CHAR_SINGLE_QUOTE) ) return -1;
+        if( c == _sep || Parser.isEOL(c) ) {
+          if( nfields == _ncols ) return -1;
+          _ends[nfields++] = i;
+          if( c != _sep ) { eol = i; break; }
+        }
+      }
+      if( eol < 0 ) return -1; // Line continues in the next chunk
+    }
+    if( nfields != _ncols ) return -1;
+    // Parse the fields
+    int start = offset;
+    for( int col = 0; col < _ncols; col++ ) {
+      int end = _ends[col];
+      _nas[col] = start == end;
+      if( !_nas[col] && (dout.isString(col) || (_strCols != null && _strCols[col]) || !parseNumber(bits, start, end, col)) )
+        return -1;
+      start = end + 1;
+    }
+    for( int col = 0; col < _ncols; col++ ) {
+      if( _nas[col] ) dout.addInvalidCol(col);
+      else dout.addNumCol(col, _numbers[col], _exps[col]);
+    }
+    dout.newLine();
+    return eol;
+  }
+
+  // True if all 8 bytes of the word are ASCII digits
+  private static boolean isEightDigits(long word) {
+    return ((word & 0xF0F0F0F0F0F0F0F0L) | (((word + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4)) == 0x3333333333333333L;
+  }
+
+  // Value of 8 ASCII digits, the first digit in the low byte
+  private static long eightDigits(long word) {
+    word = (word & 0x0F0F0F0F0F0F0F0FL) * 2561 >>> 8;
+    word = (word & 0x00FF00FF00FF00FFL) * 6553601 >>> 16;
+    return (word & 0x0000FFFF0000FFFFL) * 42949672960001L >>> 32;
+  }
+
+  /**
+   * Parses [start,end) as [+-]digits[.digits][(e|E)[+-]digits] with at least
+   * one mantissa digit, into the mantissa and exponent the state machine
+   * would produce.  Returns false on anything else, and on mantissas the state
+   * machine would truncate.
+   */
+  private boolean parseNumber(byte[] bits, int start, int end, int col) {
+    int i = start;
+    boolean neg = false;
+    if( bits[i] == '-' ) { neg = true; i++; }
+    else if( bits[i] == '+' ) i++;
+    long number = 0;
+    int ndigits = 0;
+    // Integer part
+    int s = i;
+    while( i + 8 <= end && number < EIGHT_DIGITS_LIMIT ) {
+      long word = UnsafeUtils.get8(bits, i);
+      if( !isEightDigits(word) ) break;
+      number = number * 100000000L + eightDigits(word);
+      i += 8;
+    }
+    for( byte c; i < end && (c = bits[i]) >= '0' && c <= '9'; i++ ) {
+      if( number >= Parser.LARGEST_DIGIT_NUMBER ) return false;
+      number = number * 10 + (c - '0');
+    }
+    ndigits += i - s;
+    // Fraction
+    int fractionDigits = 0;
+    if( i < end && bits[i] == '.' ) {
+      s = ++i;
+      while( i + 8 <= end && number < EIGHT_DIGITS_LIMIT ) {
+        long word = UnsafeUtils.get8(bits, i);
+        if( !isEightDigits(word) ) break;
+        number = number * 100000000L + eightDigits(word);
+        i += 8;
+      }
+      for( byte c; i < end && (c = bits[i]) >= '0' && c <= '9'; i++ ) {
+        if( number >= Parser.LARGEST_DIGIT_NUMBER ) return false;
+        number = number * 10 + (c - '0');
+      }
+      fractionDigits = i - s;
+      ndigits += fractionDigits;
+    }
+    if( ndigits == 0 ) return false;
+    // Exponent
+    int exp = 0;
+    if( i < end && (bits[i] == 'e' || bits[i] == 'E') ) {
+      i++;
+      boolean negExp = false;
+      if( i < end && bits[i] == '-' ) { negExp = true; i++; }
+      else if( i < end && bits[i] == '+' ) i++;
+      s = i;
+      for( byte c; i < end && (c = bits[i]) >= '0' && c <= '9'; i++ )
+        exp = exp * 10 + (c - '0');
+      if( i == s || i - s > 9 ) return false; // No exponent digits, or int overflow
+      if( negExp ) exp = -exp;
+    }
+    if( i != end ) return false;
+    _numbers[col] = neg ? -number : number;
+    _exps[col] = exp - fractionDigits;
+    return true;
+  }
+}
@@ -1,12 +1,17 @@
 package water.parser;
 
 import water.DKV;
+import water.Futures;
 import water.Iced;
 import water.Key;
+import water.MRTask;
 import water.exceptions.H2OIllegalArgumentException;
 import water.fvec.ByteVec;
+import water.fvec.C1NChunk;
+import water.fvec.Chunk;
 import water.fvec.FileVec;
 import water.fvec.Frame;
+import water.fvec.Vec;
 import water.util.Log;
 import water.util.UnsafeUtils;
 
@@ -159,6 +164,228 @@ abstract class ZipUtil {
     return Compression.NONE;
   }
 
+  /** Size of the header of a BGZF block: the gzip header with a single "BC" extra subfield */
+  static final int BGZF_HEADER_SIZE = 18;
+  /** Size of the gzip trailer: CRC32 and ISIZE */
+  static final int GZIP_TRAILER_SIZE = 8;
+  /** A BGZF block is never bigger than this */
+  static final int MAX_BGZF_BLOCK_SIZE = 1 << 16;
+
+  /**
+   * True if the bytes start with a BGZF block. BGZF (blocked gzip, written by bgzip and htslib)
+   * is a multi-member gzip file of members of at most 64KB which carry their compressed size in
+   * the "BC" extra subfield of the header; it is a plain gzip file for everyone else, but the
+   * members can be found without inflating the file and inflated independently.
+   */
+  static boolean isBgzf(byte[] bits) {
+    return bits != null && bgzfBlockSize(bits, 0) > 0;
+  }
+
+  /**
+   * @return total size of the BGZF block starting at the offset, or -1 if there is no BGZF header
+   */
+  static int bgzfBlockSize(byte[] bits, int off) {
+    if (off < 0 || off + BGZF_HEADER_SIZE > bits.length)
+      return -1;
+    if ((UnsafeUtils.get2(bits, off) & 0xffff) != GZIPInputStream.GZIP_MAGIC || bits[off + 2] != Deflater.DEFLATED ||
+            bits[off + 3] != 4 /*FEXTRA only*/)
+      return -1;
+    if ((UnsafeUtils.get2(bits, off + 10) & 0xffff) != 6 || bits[off + 12] != 'B' || bits[off + 13] != 'C' ||
+            (UnsafeUtils.get2(bits, off + 14) & 0xffff) != 2)
+      return -1;
+    return (UnsafeUtils.get2(bits, off + 16) & 0xffff) + 1;
+  }
+
+  /**
+   * Inflates a BGZF file in parallel into a new ByteVec: every chunk of the compressed ByteVec
+   * inflates the blocks starting in it, on the node holding it, into one chunk of the new
+   * ByteVec (chunks without any data do not get one).
+   *
+   * The blocks are located by a first pass which looks for the first BGZF header of every chunk
+   * and follows the block sizes from there. The file is only accepted if the blocks of all the
+   * chunks form one chain from the start to the end of the file, which also rules out a
+   * compressed byte sequence that happens to look like a header.
+   *
+   * @param vec compressed file
+   * @return inflated ByteVec (the caller removes it), or null if the file is not a valid BGZF file
+   */
+  static ByteVec inflateBgzf(ByteVec vec) {
+    final int nchunks = vec.nChunks();
+    BgzfIndexTask index = new BgzfIndexTask(nchunks).doAll(vec);
+    int[] outIdx = new int[nchunks];
+    long[] espc = new long[nchunks + 1];
+    int n = 0;
+    long next = 0;
+    for (int i = 0; i < nchunks; i++) {
+      outIdx[i] = -1;
+      if (index._first[i] == -1) continue; // No block starts in this chunk
+      if (index._first[i] != next) return notBgzf(vec);
+      next = index._end[i];
+      if (index._sizes[i] > 0) {
+        outIdx[i] = n;
+        espc[n + 1] = espc[n] + index._sizes[i];
+        n++;
+      }
+    }
+    if (next != vec.length() || n == 0)
+      return notBgzf(vec);
+    Key<Vec> key = Vec.newKey();
+    BgzfInflateTask inflate = new BgzfInflateTask(key, index._first, outIdx).doAll(vec);
+    if (inflate._failed) {
+      Futures fs = new Futures();
+      for (int i = 0; i < n; i++) DKV.remove(Vec.chunkKey(key, i), fs);
+      fs.blockForPending();
+      return notBgzf(vec);
+    }
+    ByteVec inflated = new ByteVec(key, Vec.ESPC.rowLayout(key, Arrays.copyOf(espc, n + 1)));
+    DKV.put(key, inflated);
+    return inflated;
+  }
+
+  private static ByteVec notBgzf(ByteVec vec) {
+    Log.info("Cannot split " + vec._key + " into BGZF blocks, it will be decompressed as one stream.");
+    return null;
+  }
+
+  // Bytes of the chunk followed by enough bytes of the next chunks to cover a block starting at the end of the chunk
+  private static byte[] withTail(Chunk c) {
+    final Vec vec = c.vec();
+    byte[] bits = Arrays.copyOf(c.getBytes(), c._len + MAX_BGZF_BLOCK_SIZE);
+    int pos = c._len;
+    for (int cidx = c.cidx() + 1; pos < bits.length && cidx < vec.nChunks(); cidx++) {
+      Chunk next = vec.chunkForChunkIdx(cidx);
+      int n = Math.min(next._len, bits.length - pos);
+      System.arraycopy(next.getBytes(), 0, bits, pos, n);
+      pos += n;
+    }
+    return pos == bits.length ? bits : Arrays.copyOf(bits, pos);
+  }
+
+  // Size of a complete BGZF block at the offset, -1 if the offset is not a block boundary or the block is cut off
+  private static int completeBlockSize(byte[] bits, int off) {
+    int size = bgzfBlockSize(bits, off);
+    return size < BGZF_HEADER_SIZE + GZIP_TRAILER_SIZE || off + size > bits.length ? -1 : size;
+  }
+
+  // Locates the BGZF blocks starting in every chunk. Per chunk: offset of the first block (-1 if no block
+  // starts in the chunk, -2 if the blocks cannot be followed), offset after the last block and the inflated
+  // size of the blocks; the arrays are shared by all the tasks of a node
+  private static class BgzfIndexTask extends MRTask<BgzfIndexTask> {
+    long[] _first;
+    long[] _end;
+    long[] _sizes;
+
+    BgzfIndexTask(int nchunks) {
+      _first = new long[nchunks];
+      _end = new long[nchunks];
+      _sizes = new long[nchunks];
+    }
+
+    @Override
+    public void map(Chunk c) {
+      final int cidx = c.cidx();
+      final int len = c._len;
+      final byte[] bits = withTail(c);
+      int first = 0;
+      while (first < len && bgzfBlockSize(bits, first) < 0) first++;
+      if (first == len) {
+        _first[cidx] = -1;
+        return;
+      }
+      long total = 0;
+      int off = first;
+      while (off < len) {
+        int size = completeBlockSize(bits, off);
+        if (size < 0) {
+          _first[cidx] = -2;
+          return;
+        }
+        total += UnsafeUtils.get4(bits, off + size - 4) & 0xFFFFFFFFL;
+        off += size;
+      }
+      _first[cidx] = total > Integer.MAX_VALUE - 8 ? -2 : c.start() + first;
+      _end[cidx] = c.start() + off;
+      _sizes[cidx] = total;
+    }
+
+    @Override
+    public void reduce(BgzfIndexTask t) {
+      if (_first != t._first) { // Not sharing the arrays of this node
+        for (int i = 0; i < _first.length; i++) {
+          if (t._first[i] != 0) _first[i] = t._first[i];
+          if (t._end[i] != 0) _end[i] = t._end[i];
+          if (t._sizes[i] != 0) _sizes[i] = t._sizes[i];
+        }
+      }
+    }
+  }
+
+  // Inflates the BGZF blocks starting in a chunk into a chunk of the output ByteVec
+  private static class BgzfInflateTask extends MRTask<BgzfInflateTask> {
+    private final Key<Vec> _outKey;
+    private final long[] _first;  // Offset of the first block of a chunk
+    private final int[] _outIdx;  // Index of the output chunk of a chunk, -1 if no output chunk
+    boolean _failed;
+
+    BgzfInflateTask(Key<Vec> outKey, long[] first, int[] outIdx) {
+      _outKey = outKey;
+      _first = first;
+      _outIdx = outIdx;
+    }
+
+    @Override
+    public void map(Chunk c) {
+      final int cidx = c.cidx();
+      if (_outIdx[cidx] == -1) return;
+      final int len = c._len;
+      final byte[] bits = withTail(c);
+      long total = 0;
+      for (int off = (int) (_first[cidx] - c.start()); off < len; off += completeBlockSize(bits, off))
+        total += UnsafeUtils.get4(bits, off + completeBlockSize(bits, off) - 4) & 0xFFFFFFFFL;
+      byte[] out = new byte[(int) total];
+      Inflater inflater = new Inflater(true);
+      CRC32 crc = new CRC32();
+      try {
+        int pos = 0;
+        for (int off = (int) (_first[cidx] - c.start()); off < len; ) {
+          int size = completeBlockSize(bits, off);
+          int isize = UnsafeUtils.get4(bits, off + size - 4);
+          if (isize > 0) { // Skip empty blocks, eg. the EOF marker
+            inflater.reset();
+            inflater.setInput(bits, off + BGZF_HEADER_SIZE, size - BGZF_HEADER_SIZE - GZIP_TRAILER_SIZE);
+            int n = 0;
+            while (n < isize && !inflater.finished()) {
+              int k = inflater.inflate(out, pos + n, isize - n);
+              if (k == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+              n += k;
+            }
+            crc.reset();
+            crc.update(out, pos, n);
+            if (n != isize || (int) crc.getValue() != UnsafeUtils.get4(bits, off + size - GZIP_TRAILER_SIZE)) {
+              Log.debug("Corrupt BGZF block at offset " + (c.start() + off) + " of " + c.vec()._key);
+              _failed = true;
+              return;
+            }
+            pos += n;
+          }
+          off += size;
+        }
+      } catch (DataFormatException e) {
+        Log.debug("Corrupt BGZF block in chunk " + cidx + " of " + c.vec()._key, e);
+        _failed = true;
+        return;
+      } finally {
+        inflater.end();
+      }
+      DKV.put(Vec.chunkKey(_outKey, _outIdx[cidx]), new C1NChunk(out), _fs);
+    }
+
+    @Override
+    public void reduce(BgzfInflateTask t) {
+      _failed |= t._failed;
+    }
+  }
+
   static float decompressionRatio(ByteVec bv) {
     byte[] zips = bv.getFirstBytes();
     ZipUtil.Compression cpr = ZipUtil.guessCompressionMethod(zips);
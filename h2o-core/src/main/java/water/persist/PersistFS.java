@@ -15,6 +15,7 @@ import water.util.Log;
 public final class PersistFS extends Persist {
   final File _root;
   final File _dir;
+  private final SwapSegments _swap; // Segmented swap tier, null if disabled
 
   PersistFS(File root) {
     _root = root;
@@ -24,9 +25,21 @@ public final class PersistFS extends Persist {
     root.mkdirs();
     if( !(root.isDirectory() && root.canRead() && root.canWrite()) )
       H2O.die("ice_root not a read/writable directory");
+    _swap = SwapSegments.isEnabled() ? new SwapSegments(new File(_dir, "swap_segments")) : null;
   }
 
-  public void cleanUp() { deleteRecursive(_dir); }
+  public void cleanUp() {
+    if( _swap != null ) _swap.cleanUp();
+    deleteRecursive(_dir);
+  }
+
+  /** Segmented swap tier used for user-mode swapping, or null if not enabled. */
+  public SwapSegments getSwapSegments() { return _swap; }
+
+  /** Compact the segmented swap tier, if enabled; called by the Cleaner after each sweep. */
+  public void compactSwap() {
+    if( _swap != null ) _swap.compact();
+  }
 
   private static void deleteRecursive(File path) {
     if( !path.exists() ) return;
@@ -47,6 +60,11 @@ public final class PersistFS extends Persist {
   }
 
   @Override public byte[] load(Value v) throws IOException {
+    if( _swap != null ) {
+      byte[] b = _swap.load(v);
+      if( b != null ) return b;
+      // Not in the swap tier, might have been spilled before it was enabled
+    }
     File f = getFile(v);
     if( f.length() < v._max ) { // Should be fully on disk...
       // or it's a racey delete of a spilled value
@@ -65,6 +83,15 @@ public final class PersistFS extends Persist {
   @Override
   public void store(Value v) throws IOException {
     assert !v.isPersisted();
+    if( _swap != null ) {
+      byte[] m = v.memOrLoad();
+      if( m != null && m.length != v._max ) {
+        Log.warn("Value size mismatch? " + v._key + " byte[].len=" + m.length + " v._max=" + v._max);
+        v._max = m.length;
+      }
+      _swap.store(v, m);
+      return;
+    }
     File dirs = new File(_dir, getIceDirectory(v._key));
     if (!dirs.mkdirs() && !dirs.exists())
       throw new java.io.IOException("mkdirs failed making " + dirs);
@@ -86,6 +113,10 @@ public final class PersistFS extends Persist {
   }
 
   @Override public void delete(Value v) {
+    if( _swap != null && _swap.contains(v) ) {
+      _swap.delete(v);
+      return;
+    }
     getFile(v).delete();        // Silently ignore errors
     // Attempt to delete empty containing directory
     new File(_dir, getIceDirectory(v._key)).delete();
@@ -178,6 +209,11 @@ public final class PersistFS extends Persist {
     return new File(URI.create(path)).exists();
   }
 
+  @Override
+  public long length(String path) {
+    return new File(URI.create(path)).length();
+  }
+
   @Override
   public String getParent(String path) {
     return new File(URI.create(path)).getParentFile().toURI().toString();
@@ -0,0 +1,295 @@
+package water.persist;
+
+import water.H2O;
+import water.Key;
+import water.Value;
+import water.fvec.*;
+import water.nbhm.NonBlockingHashMap;
+import water.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Segmented swap tier for user-mode swapping.
+ *
+ * Instead of writing one file per swapped-out Value, the serialized bytes are
+ * appended into a few large segment files.  Each payload is optionally
+ * compressed (the codec is picked by the Chunk type: bit-packed, sparse and
+ * constant chunks are stored raw, byte-aligned numeric chunks are deflated).
+ * Once a segment is full it is sealed and memory-mapped read-only, swap-in of
+ * a raw payload is then a single copy from the page cache into the Value's
+ * byte[].  Segments with a low fraction of live bytes are compacted by the
+ * Cleaner thread in the background.
+ *
+ * Enabled with the {@code sys.ai.h2o.swap.segments.enabled} system property.
+ */
+public final class SwapSegments {
+
+  static final String ENABLED_PROP = "swap.segments.enabled";
+  static final String SEGMENT_SIZE_PROP = "swap.segments.size";
+  static final String COMPACT_RATIO_PROP = "swap.segments.compactRatio";
+
+  static final byte CODEC_RAW = 0;
+  static final byte CODEC_DEFLATE = 1;
+
+  static boolean isEnabled() {
+    return H2O.getSysBoolProperty(ENABLED_PROP, false);
+  }
+
+  private final File _dir;
+  private final long _segmentSize;
+  private final double _compactRatio;
+
+  private final NonBlockingHashMap<Key, Entry> _index = new NonBlockingHashMap<>();
+  private final ConcurrentHashMap<Integer, Segment> _segments = new ConcurrentHashMap<>();
+  private Segment _active; // Guarded by this
+  private int _nextId;     // Guarded by this
+
+  // Statistics reported through WaterMeterIo
+  private final AtomicLong _hits = new AtomicLong();
+  private final AtomicLong _misses = new AtomicLong();
+  private final AtomicLong _rawBytes = new AtomicLong();
+  private final AtomicLong _storedBytes = new AtomicLong();
+  private final AtomicLong _compactions = new AtomicLong();
+
+  SwapSegments(File dir) {
+    this(dir,
+         Long.parseLong(H2O.getSysProperty(SEGMENT_SIZE_PROP, String.valueOf(256L << 20))),
+         Double.parseDouble(H2O.getSysProperty(COMPACT_RATIO_PROP, "0.5")));
+  }
+
+  SwapSegments(File dir, long segmentSize, double compactRatio) {
+    _dir = dir;
+    _segmentSize = Math.min(segmentSize, 1L << 30); // Sealed segments are mapped as a single buffer
+    _compactRatio = compactRatio;
+  }
+
+  /** Location of one payload inside a segment */
+  private static final class Entry {
+    final Segment _seg;
+    final long _off;   // Offset of the payload in the segment file
+    final int _len;    // Stored (possibly compressed) length
+    final int _max;    // Length of the serialized Value
+    final byte _codec;
+    Entry(Segment seg, long off, int len, int max, byte codec) {
+      _seg = seg; _off = off; _len = len; _max = max; _codec = codec;
+    }
+  }
+
+  /** One append-only segment file */
+  private static final class Segment {
+    final int _id;
+    final File _file;
+    final RandomAccessFile _raf;
+    final FileChannel _ch;
+    final AtomicLong _live = new AtomicLong(); // Bytes still referenced from the index
+    long _size;                                 // Bytes appended so far; guarded by SwapSegments.this
+    volatile MappedByteBuffer _map;             // Set once the segment is sealed
+    Segment(int id, File file) throws IOException {
+      _id = id;
+      _file = file;
+      _raf = new RandomAccessFile(file, "rw");
+      _ch = _raf.getChannel();
+    }
+    boolean isSealed() { return _map != null; }
+    void seal() throws IOException {
+      _map = _ch.map(FileChannel.MapMode.READ_ONLY, 0, _size);
+    }
+    void read(long off, byte[] dst, int len) throws IOException {
+      MappedByteBuffer map = _map;
+      if (map != null) { // Sealed: copy straight out of the page cache
+        ByteBuffer bb = map.duplicate();
+        bb.position((int) off);
+        bb.get(dst, 0, len);
+      } else {
+        ByteBuffer bb = ByteBuffer.wrap(dst, 0, len);
+        while (bb.hasRemaining()) {
+          int n = _ch.read(bb, off + bb.position());
+          if (n < 0) throw new IOException("Unexpected end of swap segment " + _file);
+        }
+      }
+    }
+    void close() {
+      try { _raf.close(); } catch (IOException ignore) { }
+      if (!_file.delete())
+        Log.debug("Unable to delete swap segment " + _file);
+    }
+  }
+
+  /** Pick a codec for a Value based on the type of its POJO.  Bit-packed,
+   *  sparse, run-length and constant chunks do not compress well and are
+   *  stored raw. */
+  static byte codecFor(Value v) {
+    if (!Value.isSubclassOf(v.type(), Chunk.class)) return CODEC_DEFLATE;
+    Class<?> clz = v.theFreezableClass();
+    if (CBSChunk.class.isAssignableFrom(clz) || CXIChunk.class.isAssignableFrom(clz) ||
+        CRLEChunk.class == clz || C0LChunk.class == clz || C0DChunk.class == clz)
+      return CODEC_RAW;
+    return CODEC_DEFLATE;
+  }
+
+  /** Append a Value's serialized bytes into the active segment. */
+  void store(Value v, byte[] m) throws IOException {
+    byte codec = codecFor(v);
+    byte[] payload = m;
+    int len = m.length;
+    if (codec == CODEC_DEFLATE) {
+      byte[] buf = new byte[m.length];
+      Deflater def = new Deflater(Deflater.BEST_SPEED);
+      try {
+        def.setInput(m);
+        def.finish();
+        int n = def.deflate(buf);
+        if (def.finished() && n < m.length - (m.length >> 3)) { // Keep only if it saves >1/8
+          payload = buf;
+          len = n;
+        } else {
+          codec = CODEC_RAW;
+        }
+      } finally {
+        def.end();
+      }
+    }
+    Entry e = append(payload, len, m.length, codec);
+    Entry old = _index.put(v._key, e);
+    if (old != null) release(old);
+    _rawBytes.addAndGet(m.length);
+    _storedBytes.addAndGet(len);
+  }
+
+  private synchronized Entry append(byte[] payload, int len, int max, byte codec) throws IOException {
+    if (_active == null || _active._size + len > _segmentSize && _active._size > 0)
+      roll();
+    Segment seg = _active;
+    long off = seg._size;
+    ByteBuffer bb = ByteBuffer.wrap(payload, 0, len);
+    while (bb.hasRemaining())
+      seg._ch.write(bb, off + bb.position());
+    seg._size += len;
+    seg._live.addAndGet(len);
+    return new Entry(seg, off, len, max, codec);
+  }
+
+  // Seal the active segment and start a new one
+  private void roll() throws IOException {
+    if (_active != null) {
+      _active.seal();
+      maybeDrop(_active);
+    }
+    if (!_dir.mkdirs() && !_dir.exists())
+      throw new IOException("mkdirs failed making " + _dir);
+    int id = _nextId++;
+    Segment seg = new Segment(id, new File(_dir, "segment_" + id + ".swp"));
+    _segments.put(id, seg);
+    _active = seg;
+  }
+
+  /** Load a Value's bytes, or null if this swap tier does not hold it. */
+  byte[] load(Value v) throws IOException {
+    Entry e = _index.get(v._key);
+    if (e == null) {
+      _misses.incrementAndGet();
+      return null;
+    }
+    _hits.incrementAndGet();
+    if (e._codec == CODEC_RAW) {
+      byte[] b = new byte[e._max];
+      e._seg.read(e._off, b, e._len);
+      return b;
+    }
+    byte[] z = new byte[e._len];
+    e._seg.read(e._off, z, e._len);
+    byte[] b = new byte[e._max];
+    Inflater inf = new Inflater();
+    try {
+      inf.setInput(z);
+      int n = inf.inflate(b);
+      if (n != e._max)
+        throw new IOException("Corrupted swap entry for " + v._key + ": inflated " + n + " of " + e._max + " bytes");
+    } catch (DataFormatException dfe) {
+      throw new IOException(dfe);
+    } finally {
+      inf.end();
+    }
+    return b;
+  }
+
+  /** Whether the given Value is held in this swap tier */
+  boolean contains(Value v) {
+    return _index.containsKey(v._key);
+  }
+
+  void delete(Value v) {
+    Entry e = _index.remove(v._key);
+    if (e != null) release(e);
+  }
+
+  private void release(Entry e) {
+    e._seg._live.addAndGet(-e._len);
+    maybeDrop(e._seg);
+  }
+
+  // Sealed segments without any live payload can go right away
+  private void maybeDrop(Segment seg) {
+    if (seg.isSealed() && seg._live.get() == 0 && _segments.remove(seg._id, seg))
+      seg.close();
+  }
+
+  /**
+   * Rewrite the live payloads of sparsely populated sealed segments into the
+   * active segment and drop the old files.  Runs on the Cleaner thread; racing
+   * loads keep reading the old mapping, racing deletes/overwrites simply win.
+   */
+  void compact() {
+    Set<Segment> victims = new HashSet<>();
+    for (Segment seg : _segments.values())
+      if (seg.isSealed() && seg._live.get() < seg._size * _compactRatio)
+        victims.add(seg);
+    if (victims.isEmpty()) return;
+    for (Object o : _index.keySet().toArray()) {
+      Key k = (Key) o;
+      Entry e = _index.get(k);
+      if (e == null || !victims.contains(e._seg)) continue;
+      try {
+        byte[] payload = new byte[e._len];
+        e._seg.read(e._off, payload, e._len);
+        Entry moved = append(payload, e._len, e._max, e._codec);
+        if (_index.replace(k, e, moved)) release(e);
+        else release(moved); // Lost a race with delete/overwrite
+      } catch (IOException ioe) {
+        Log.warn("Swap segment compaction failed: " + ioe.getMessage());
+        return;
+      }
+    }
+    _compactions.incrementAndGet();
+    for (Segment seg : victims)
+      maybeDrop(seg);
+  }
+
+  synchronized void cleanUp() {
+    for (Segment seg : _segments.values())
+      seg.close();
+    _segments.clear();
+    _index.clear();
+    _active = null;
+  }
+
+  public long hitCount() { return _hits.get(); }
+  public long missCount() { return _misses.get(); }
+  public long rawBytes() { return _rawBytes.get(); }
+  public long storedBytes() { return _storedBytes.get(); }
+  public long compactionCount() { return _compactions.get(); }
+  public int segmentCount() { return _segments.size(); }
+}
@@ -34,6 +34,9 @@ public class ChunkSummary extends MRTask<ChunkSummary> {
       {"CStr","Strings"},
       {"CUD","Unique Reals"},
       {"C8D","64-bit Reals"},
+      {"CRLE","Run-Length Encoded"},
+      {"CDict","Dictionary Encoded"},
+      {"OffHeap","Off-Heap Numbers"},
   };
 
 
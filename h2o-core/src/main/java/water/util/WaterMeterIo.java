@@ -3,7 +3,9 @@ package water.util;
 import water.*;
 import water.api.API;
 import water.api.schemas3.SchemaV3;
+import water.persist.PersistFS;
 import water.persist.PersistManager;
+import water.persist.SwapSegments;
 
 public class WaterMeterIo extends Iced {
 
@@ -25,6 +27,18 @@ public class WaterMeterIo extends Iced {
 
     @API(help="Cumulative loaded bytes", direction = API.Direction.OUTPUT)
     public long load_bytes;
+
+    @API(help="Number of loads served by the segmented swap tier", direction = API.Direction.OUTPUT)
+    public long swap_hit_count;
+
+    @API(help="Number of loads not found in the segmented swap tier", direction = API.Direction.OUTPUT)
+    public long swap_miss_count;
+
+    @API(help="Cumulative bytes written to the segmented swap tier before compression", direction = API.Direction.OUTPUT)
+    public long swap_raw_bytes;
+
+    @API(help="Cumulative bytes written to the segmented swap tier after compression", direction = API.Direction.OUTPUT)
+    public long swap_stored_bytes;
   }
 
   // Input
@@ -56,6 +70,10 @@ public class WaterMeterIo extends Iced {
         persist_stats[j].delete_count += io.persist_stats[j].delete_count;
         persist_stats[j].load_count += io.persist_stats[j].load_count;
         persist_stats[j].load_bytes += io.persist_stats[j].load_bytes;
+        persist_stats[j].swap_hit_count += io.persist_stats[j].swap_hit_count;
+        persist_stats[j].swap_miss_count += io.persist_stats[j].swap_miss_count;
+        persist_stats[j].swap_raw_bytes += io.persist_stats[j].swap_raw_bytes;
+        persist_stats[j].swap_stored_bytes += io.persist_stats[j].swap_stored_bytes;
       }
     }
   }
@@ -106,6 +124,15 @@ public class WaterMeterIo extends Iced {
         dest_e.delete_count = src_e.delete_count.get();
         dest_e.load_count = src_e.load_count.get();
         dest_e.load_bytes = src_e.load_bytes.get();
+        if (j == Value.ICE && H2O.getPM().getIce() instanceof PersistFS) {
+          SwapSegments swap = ((PersistFS) H2O.getPM().getIce()).getSwapSegments();
+          if (swap != null) {
+            dest_e.swap_hit_count = swap.hitCount();
+            dest_e.swap_miss_count = swap.missCount();
+            dest_e.swap_raw_bytes = swap.rawBytes();
+            dest_e.swap_stored_bytes = swap.storedBytes();
+          }
+        }
       }
 
       int[] backendsToZeroCheck = new int[] {0, 5, 6, 7};
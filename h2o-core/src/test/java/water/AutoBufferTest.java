@@ -5,7 +5,10 @@ import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import static org.junit.Assert.*;
@@ -95,6 +98,48 @@ public class AutoBufferTest extends TestUtil {
     String s = "hi";
   }
 
+  @Test
+  public void testPutDirectToFileChannel() throws Exception {
+    File f = File.createTempFile("autobuffer", ".bin");
+    try {
+      for (int n : new int[]{100, AutoBuffer.ZERO_COPY_MIN, 3 * AutoBuffer.BBP_BIG._size + 17}) {
+        byte[] data = new byte[n];
+        for (int i = 0; i < n; i++) data[i] = (byte) (i * 31);
+        ByteBuffer direct = ByteBuffer.allocateDirect(n);
+        direct.put(data).flip();
+        try (RandomAccessFile raf = new RandomAccessFile(f, "rw")) {
+          raf.setLength(0);
+          AutoBuffer ab = new AutoBuffer(raf.getChannel(), false, Value.ICE);
+          ab.put4(42).putDirect(direct).put4(43);
+          ab.close();
+        }
+        assertFalse(direct.hasRemaining());
+        try (RandomAccessFile raf = new RandomAccessFile(f, "r")) {
+          assertEquals(n + 8, raf.length());
+          AutoBuffer ab = new AutoBuffer(raf.getChannel(), true, Value.ICE);
+          assertEquals(42, ab.get4());
+          assertArrayEquals(data, ab.getA1(n));
+          assertEquals(43, ab.get4());
+          ab.close();
+        }
+      }
+    } finally {
+      assertTrue(f.delete());
+    }
+  }
+
+  @Test
+  public void testPutDirectInMemory() {
+    ByteBuffer direct = ByteBuffer.allocateDirect(AutoBuffer.ZERO_COPY_MIN * 2);
+    for (int i = 0; direct.hasRemaining(); i++) direct.put((byte) i);
+    direct.flip();
+    AutoBuffer ab = new AutoBuffer().put1(1).putDirect(direct);
+    AutoBuffer read = new AutoBuffer(ab.buf());
+    assertEquals(1, read.get1());
+    byte[] bytes = read.getA1(AutoBuffer.ZERO_COPY_MIN * 2);
+    for (int i = 0; i < bytes.length; i++) assertEquals((byte) i, bytes[i]);
+  }
+
   @Test
   public void testNameOfClass() throws Exception {
 
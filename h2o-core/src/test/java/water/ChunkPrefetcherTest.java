@@ -0,0 +1,49 @@
+package water;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.fvec.Chunk;
+import water.fvec.Vec;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class ChunkPrefetcherTest extends TestUtil {
+
+  @BeforeClass()
+  public static void setup() { stall_till_cloudsize(1); }
+
+  static class SumTask extends MRTask<SumTask> {
+    double _sum;
+    @Override public void map(Chunk c) {
+      for (int r = 0; r < c._len; r++) _sum += c.atd(r);
+    }
+    @Override public void reduce(SumTask mrt) { _sum += mrt._sum; }
+  }
+
+  @Test
+  public void testPrefetchSwappedChunks() throws IOException {
+    Vec v = Vec.makeConN(8000, 8);
+    try {
+      for (int i = 0; i < v.nChunks(); i++) { // Swap out all chunks
+        Value val = DKV.get(v.chunkKey(i));
+        val.storePersist();
+        val.freePOJO();
+        val.freeMem();
+      }
+      assertEquals(0, new SumTask().doAll(v)._sum, 0);
+      ChunkPrefetcher.Stats stats = ChunkPrefetcher.stats().get(SumTask.class.getName());
+      assertNotNull(stats);
+      assertEquals(v.nChunks(), stats.issued());
+      assertEquals(stats.issued(), stats.hits() + stats.misses());
+      assertEquals(0, stats.coldMisses());
+      // All chunks are in memory now, nothing more to prefetch
+      new SumTask().doAll(v);
+      assertEquals(v.nChunks(), stats.issued());
+      assertEquals(0, stats.coldMisses());
+    } finally {
+      v.remove();
+    }
+  }
+}
@@ -154,5 +154,82 @@ public class MRTaskTest extends TestUtil {
     }
   }
 
+
+  // Sums the values by (row mod len) into a large array, reduced by MRTask
+  static class SumByRowTask extends MRTask<SumByRowTask> {
+    final int _len;
+    final int _fanout;
+    double[] _sums;
+    long _nrows;
+    SumByRowTask(int len, int fanout) { _len = len; _fanout = fanout; }
+    @Override protected int nodeFanout() { return _fanout; }
+    @Override public void map(Chunk c) {
+      _sums = new double[_len];
+      for (int i = 0; i < c._len; i++)
+        _sums[(int) ((c.start() + i) % _len)] += c.atd(i);
+      _nrows = c._len;
+    }
+    @Override public void reduce(SumByRowTask mrt) { throw new AssertionError("Summable result expected"); }
+    @Override protected double[][] summableResult() { return _sums == null ? null : new double[][]{_sums}; }
+    @Override protected void reduceRest(SumByRowTask mrt) { _nrows += mrt._nrows; }
+  }
+
+  @Test public void testSummableResultWithFanout() {
+    final int len = MRTask.PAR_SUM_MIN * 2; // Large enough to be summed by segment
+    Vec v = null;
+    try {
+      v = Vec.makeSeq(2L * len, true);
+      for (int fanout : new int[]{2, 3, 8}) {
+        SumByRowTask t = new SumByRowTask(len, fanout).doAll(v);
+        assertEquals(2L * len, t._nrows);
+        for (int j = 0; j < len; j++) // Rows j and j+len hold j+1 and j+1+len
+          assertEquals(2.0 * (j + 1) + len, t._sums[j], 0);
+      }
+    } finally {
+      if (v != null) v.remove();
+    }
+  }
+
+  // Every remote result of a fan-out above two is reduced once, before the task completes
+  @Test public void testRemoteReducesWithFanout() {
+    assertTrue("Needs a multi-node cloud", H2O.CLOUD.size() >= 3);
+    final int len = 1024;
+    final long nrows = 1L << 20;
+    Vec v = null;
+    try {
+      v = Vec.makeSeq(nrows, true);
+      assertTrue(v.nChunks() >= H2O.CLOUD.size());
+      for (int fanout : new int[]{3, 4, 8}) {
+        for (int i = 0; i < 10; i++) {
+          SumByRowTask t = new SumByRowTask(len, fanout).doAll(v);
+          assertEquals(nrows, t._nrows);
+          double sum = 0;
+          for (double d : t._sums) sum += d;
+          assertEquals(nrows * (nrows + 1) / 2.0, sum, 0);
+        }
+      }
+    } finally {
+      if (v != null) v.remove();
+    }
+  }
+
+  @Test public void testSumSegments() {
+    double[][] dst = new double[][]{new double[MRTask.PAR_SUM_MIN], null, new double[17], new double[MRTask.PAR_SUM_MIN + 3]};
+    double[][] src = new double[][]{new double[MRTask.PAR_SUM_MIN], null, new double[17], new double[MRTask.PAR_SUM_MIN + 3]};
+    for (int i = 0; i < dst.length; i++)
+      if (dst[i] != null)
+        for (int j = 0; j < dst[i].length; j++) { dst[i][j] = j; src[i][j] = i; }
+    // Large sums are split over threads only on the FJ pool, where reductions run
+    H2O.submitTask(new H2O.H2OCountedCompleter() {
+      @Override public void compute2() {
+        MRTask.sumSegments(dst, src);
+        tryComplete();
+      }
+    }).join();
+    for (int i = 0; i < dst.length; i++)
+      if (dst[i] != null)
+        for (int j = 0; j < dst[i].length; j++)
+          assertEquals(j + i, dst[i][j], 0);
+  }
 }
 
@@ -0,0 +1,76 @@
+package water;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RPCCompressionTest extends TestUtil {
+
+  @BeforeClass()
+  public static void setup() { stall_till_cloudsize(1); }
+
+  static class PayloadTask extends MRTask<PayloadTask> {
+    double[] _vals;
+    PayloadTask() {}
+    PayloadTask(int n) {
+      _vals = new double[n];
+      for (int i = 0; i < n; i++) _vals[i] = i % 10;
+    }
+  }
+
+  @Test
+  public void testDeflateRoundTrip() {
+    byte[] bytes = new AutoBuffer().put(new PayloadTask(10000)).buf();
+    byte[] z = RPCCompression.deflate(bytes);
+    assertNotNull(z);
+    assertTrue(z.length < bytes.length / 2);
+    assertArrayEquals(bytes, RPCCompression.inflate(z, bytes.length));
+    assertNull(RPCCompression.inflate(z, bytes.length + 1));
+  }
+
+  @Test
+  public void testIncompressibleIsRejected() {
+    byte[] bytes = new byte[100000];
+    new Random(42).nextBytes(bytes);
+    assertNull(RPCCompression.deflate(bytes));
+  }
+
+  @Test
+  public void testReadTask() {
+    PayloadTask task = new PayloadTask(10000);
+    byte[] raw = new AutoBuffer().put(task).buf();
+    byte[] z = RPCCompression.deflate(raw);
+    AutoBuffer plain = new AutoBuffer(new AutoBuffer().put1(RPCCompression.CODEC_PLAIN).put(task).buf());
+    AutoBuffer deflated = new AutoBuffer(new AutoBuffer().put1(RPCCompression.CODEC_DEFLATE).putInt(raw.length).putA1(z).buf());
+    for (AutoBuffer ab : new AutoBuffer[]{plain, deflated}) {
+      PayloadTask read = (PayloadTask) RPCCompression.readTask(ab);
+      assertArrayEquals(task._vals, read._vals, 0);
+    }
+    assertNotNull(RPCCompression.stats().get(PayloadTask.class.getName()));
+  }
+
+  @Test
+  public void testReadInto() {
+    PayloadTask task = new PayloadTask(20000);
+    byte[] raw = task.write(new AutoBuffer()).buf();
+    byte[] z = RPCCompression.deflate(raw);
+    AutoBuffer ab = new AutoBuffer(new AutoBuffer().put1(RPCCompression.CODEC_DEFLATE).putInt(raw.length).putA1(z).buf());
+    PayloadTask read = new PayloadTask();
+    RPCCompression.readInto(ab, read);
+    assertArrayEquals(task._vals, read._vals, 0);
+  }
+
+  @Test(expected = AutoBuffer.AutoBufferException.class)
+  public void testUnknownCodec() {
+    RPCCompression.readTask(new AutoBuffer(new AutoBuffer().put1(42).putInt(0).buf()));
+  }
+
+  @Test
+  public void testLocalNodeIsNotCompressed() {
+    assertFalse(RPCCompression.compressFor(H2O.SELF));
+    assertFalse(RPCCompression.compressFor(null));
+  }
+}
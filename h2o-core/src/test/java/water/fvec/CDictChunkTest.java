@@ -0,0 +1,87 @@
+package water.fvec;
+
+import org.junit.*;
+
+import water.TestUtil;
+
+import java.util.Random;
+
+public class CDictChunkTest extends TestUtil {
+  private static boolean recodeEnabled;
+
+  @BeforeClass() public static void setup() {
+    stall_till_cloudsize(1);
+    recodeEnabled = NewChunk.RECODE_ENABLED;
+    NewChunk.RECODE_ENABLED = true; // opt-in
+  }
+
+  @AfterClass() public static void cleanup() { NewChunk.RECODE_ENABLED = recodeEnabled; }
+
+  @Test
+  public void test_wide_range_longs() {
+    long[] uniques = new long[]{7, 1000000000001L, 5000000000003L, -2999999999999L};
+    Random rnd = new Random(0xCAFE);
+    NewChunk nc = new NewChunk(null, 0);
+    long[] vals = new long[5000];
+    for (int i = 0; i < vals.length; ++i) {
+      if (i % 13 == 0) {
+        vals[i] = Long.MIN_VALUE;
+        nc.addNA();
+      } else {
+        vals[i] = uniques[rnd.nextInt(uniques.length)];
+        nc.addNum(vals[i], 0);
+      }
+    }
+    Chunk cc = nc.compress();
+    Assert.assertTrue(cc.getClass().getSimpleName(), cc instanceof CDictChunk);
+    Assert.assertEquals(5, ((CDictChunk) cc).numValues());
+    Assert.assertFalse(cc.hasFloat());
+    for (int i = 0; i < vals.length; ++i) {
+      if (vals[i] == Long.MIN_VALUE) Assert.assertTrue(cc.isNA(i));
+      else Assert.assertEquals(vals[i], cc.at8(i));
+    }
+    double[] densevals = cc.getDoubles(new double[100], 1000, 1100, -1);
+    for (int i = 0; i < densevals.length; ++i)
+      Assert.assertEquals(vals[i + 1000] == Long.MIN_VALUE ? -1 : vals[i + 1000], densevals[i], 0);
+
+    // Writing a value from the dictionary stays in place, anything else inflates
+    Assert.assertTrue(cc.set_impl(1, uniques[3]));
+    Assert.assertEquals(uniques[3], cc.at8(1));
+    Assert.assertTrue(cc.setNA_impl(2));
+    Assert.assertTrue(cc.isNA(2));
+    Assert.assertFalse(cc.set_impl(3, 42));
+
+    Chunk cc2 = cc.deepCopy();
+    Assert.assertTrue(cc2 instanceof CDictChunk);
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(cc.atd(i), cc2.atd(i), 0);
+  }
+
+  @Test
+  public void test_many_doubles() {
+    Random rnd = new Random(0xBEEF);
+    NewChunk nc = new NewChunk(null, 0);
+    double[] vals = new double[20000];
+    for (int i = 0; i < vals.length; ++i) {
+      vals[i] = rnd.nextInt(1000) * Math.PI;
+      nc.addNum(vals[i]);
+    }
+    Chunk cc = nc.compress();
+    Assert.assertTrue(cc.getClass().getSimpleName(), cc instanceof CDictChunk);
+    Assert.assertTrue(cc.hasFloat());
+    Assert.assertTrue(cc._mem.length < vals.length * 3);
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], cc.atd(i), 0);
+
+    // Writes find the value in the dictionary of 1000 values
+    for (int i = 0; i < 1000; ++i) {
+      vals[i] = vals[vals.length - 1 - i];
+      Assert.assertTrue(cc.set_impl(i, vals[i]));
+    }
+    Assert.assertFalse(cc.set_impl(0, 0.5 * Math.PI));
+    Assert.assertFalse(cc.setNA_impl(0)); // No NAs in the dictionary
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], cc.atd(i), 0);
+
+    nc = cc.extractRows(new NewChunk(null, 0), 0, vals.length);
+    Assert.assertEquals(vals.length, nc._len);
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], nc.atd(i), 0);
+  }
+}
@@ -0,0 +1,75 @@
+package water.fvec;
+
+import org.junit.*;
+
+import water.TestUtil;
+
+public class CRLEChunkTest extends TestUtil {
+  private static boolean recodeEnabled;
+
+  @BeforeClass() public static void setup() {
+    stall_till_cloudsize(1);
+    recodeEnabled = NewChunk.RECODE_ENABLED;
+    NewChunk.RECODE_ENABLED = true; // opt-in
+  }
+
+  @AfterClass() public static void cleanup() { NewChunk.RECODE_ENABLED = recodeEnabled; }
+
+  @Test
+  public void test_sorted_time() {
+    NewChunk nc = new NewChunk(null, 0);
+    long[] vals = new long[10000];
+    for (int i = 0; i < vals.length; ++i) {
+      vals[i] = 1600000000000L + (i / 100) * 1000L; // 100 events per second
+      nc.addNum(vals[i], 0);
+    }
+    Chunk cc = nc.compress();
+    Assert.assertTrue(cc.getClass().getSimpleName(), cc instanceof CRLEChunk);
+    Assert.assertEquals(100, ((CRLEChunk) cc).numRuns());
+    Assert.assertEquals(vals.length, cc._len);
+    Assert.assertFalse(cc.hasFloat());
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], cc.at8(i));
+    for (int i = vals.length - 1; i >= 0; i -= 7) Assert.assertEquals(vals[i], cc.at8(i)); // Out of order access
+    double[] densevals = cc.getDoubles(new double[vals.length - 150], 150, vals.length);
+    for (int i = 0; i < densevals.length; ++i) Assert.assertEquals(vals[i + 150], densevals[i], 0);
+
+    Chunk cc2 = cc.deepCopy();
+    Assert.assertTrue(cc2 instanceof CRLEChunk);
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], cc2.at8(i));
+
+    nc = cc.extractRows(new NewChunk(null, 0), 0, vals.length);
+    Assert.assertEquals(vals.length, nc._len);
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], nc.at8(i));
+  }
+
+  @Test
+  public void test_flags_with_NAs() {
+    NewChunk nc = new NewChunk(null, 0);
+    double[] vals = new double[10000];
+    for (int i = 0; i < vals.length; ++i) {
+      int run = i / 500;
+      vals[i] = run % 3 == 2 ? Double.NaN : run % 3;
+      nc.addNum(vals[i]);
+    }
+    Chunk cc = nc.compress();
+    Assert.assertTrue(cc.getClass().getSimpleName(), cc instanceof CRLEChunk);
+    for (int i = 0; i < vals.length; ++i) {
+      if (Double.isNaN(vals[i])) Assert.assertTrue(cc.isNA(i));
+      else Assert.assertEquals(vals[i], cc.atd(i), 0);
+    }
+    int[] ints = new int[vals.length];
+    long[] naMask = Chunk.naMask(vals.length);
+    Assert.assertEquals(3000, cc.getIntegers(ints, naMask, 0, vals.length)); // Runs 2, 5, 8, 11, 14 and 17
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(Double.isNaN(vals[i]), Chunk.isNA(naMask, i));
+  }
+
+  @Test
+  public void test_set_inflates() {
+    NewChunk nc = new NewChunk(null, 0);
+    for (int i = 0; i < 4096; ++i) nc.addNum(i < 2048 ? 0 : 1, 0);
+    Chunk cc = nc.compress();
+    Assert.assertTrue(cc instanceof CRLEChunk);
+    Assert.assertTrue(cc.set_impl(10, 0));  // Same value, nothing to do
+    Assert.assertFalse(cc.set_impl(10, 1)); // Needs to inflate
+  }
+}
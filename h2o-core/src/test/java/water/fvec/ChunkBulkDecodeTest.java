@@ -0,0 +1,109 @@
+package water.fvec;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.TestUtil;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the (specialized) bulk decoders agree with the per-row accessors.
+ */
+public class ChunkBulkDecodeTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static final int LEN = 1000;
+
+  private static double[] values(int type) {
+    double[] vals = new double[LEN];
+    for (int i = 0; i < LEN; i++) {
+      switch (type) {
+        case 0: vals[i] = i % 200; break;                            // C1N
+        case 1: vals[i] = i % 7 == 0 ? Double.NaN : i % 200; break;  // C1
+        case 2: vals[i] = i & 1; break;                              // CBS, 1 bit
+        case 3: vals[i] = i % 5 == 0 ? Double.NaN : i & 1; break;    // CBS, 2 bits
+        case 4: vals[i] = 42; break;                                 // C0L
+        case 5: vals[i] = Double.NaN; break;                         // C0D, all NAs
+        case 6: vals[i] = i % 97 == 0 ? i : 0; break;                // CXI
+        case 7: vals[i] = i % 97 == 0 ? i + 0.25 : 0; break;         // CXF
+        case 8: vals[i] = i % 97 == 0 ? i : Double.NaN; break;       // CXI, NA-sparse
+        case 9: vals[i] = i * 1e12; break;                           // C8
+        default: throw new IllegalArgumentException();
+      }
+    }
+    return vals;
+  }
+
+  @Test
+  public void testGetDoubles() {
+    for (int type = 0; type < 10; type++) {
+      Chunk c = new NewChunk(values(type)).compress();
+      for (int[] r : new int[][]{{0, LEN}, {3, 517}, {64, 128}, {999, 1000}}) {
+        int from = r[0], to = r[1];
+        double[] vals = c.getDoubles(new double[to - from], from, to, -1);
+        double[] masked = new double[to - from];
+        long[] naMask = Chunk.naMask(to - from);
+        int nas = c.getDoubles(masked, naMask, from, to);
+        int expNAs = 0;
+        for (int i = from; i < to; i++) {
+          String msg = c.getClass().getSimpleName() + " row " + i;
+          if (c.isNA(i)) {
+            expNAs++;
+            assertEquals(msg, -1, vals[i - from], 0);
+            assertTrue(msg, Chunk.isNA(naMask, i - from));
+            assertEquals(msg, 0, masked[i - from], 0);
+          } else {
+            assertEquals(msg, c.atd(i), vals[i - from], 0);
+            assertFalse(msg, Chunk.isNA(naMask, i - from));
+            assertEquals(msg, c.atd(i), masked[i - from], 0);
+          }
+        }
+        assertEquals(expNAs, nas);
+      }
+    }
+  }
+
+  @Test
+  public void testGetIntegersAndLongs() {
+    for (int type : new int[]{0, 1, 2, 3, 4, 5, 6, 8, 9}) {
+      Chunk c = new NewChunk(values(type)).compress();
+      int from = 5, to = 900;
+      long[] longs = c.getLongs(new long[to - from], from, to, Long.MIN_VALUE);
+      long[] naMask = Chunk.naMask(to - from);
+      long[] maskedLongs = new long[to - from];
+      int nas = c.getLongs(maskedLongs, naMask, from, to);
+      int expNAs = 0;
+      for (int i = from; i < to; i++) {
+        String msg = c.getClass().getSimpleName() + " row " + i;
+        if (c.isNA(i)) {
+          expNAs++;
+          assertEquals(msg, Long.MIN_VALUE, longs[i - from]);
+          assertTrue(msg, Chunk.isNA(naMask, i - from));
+        } else {
+          assertEquals(msg, c.at8(i), longs[i - from]);
+          assertEquals(msg, c.at8(i), maskedLongs[i - from]);
+        }
+      }
+      assertEquals(expNAs, nas);
+      if (type == 9) continue; // Does not fit into int
+      int[] ints = c.getIntegers(new int[to - from], from, to, -1);
+      int[] maskedInts = new int[to - from];
+      assertEquals(expNAs, c.getIntegers(maskedInts, naMask, from, to));
+      for (int i = from; i < to; i++) {
+        String msg = c.getClass().getSimpleName() + " row " + i;
+        assertEquals(msg, c.isNA(i), Chunk.isNA(naMask, i - from));
+        assertEquals(msg, c.isNA(i) ? -1 : c.at8(i), ints[i - from]);
+        assertEquals(msg, c.isNA(i) ? 0 : c.at8(i), maskedInts[i - from]);
+      }
+    }
+  }
+
+  @Test
+  public void testChunkTypes() {
+    assertTrue(new NewChunk(values(2)).compress() instanceof CBSChunk);
+    assertTrue(new NewChunk(values(4)).compress() instanceof C0LChunk);
+    assertTrue(new NewChunk(values(5)).compress() instanceof C0DChunk);
+    assertTrue(new NewChunk(values(6)).compress() instanceof CXIChunk);
+    assertTrue(new NewChunk(values(7)).compress() instanceof CXFChunk);
+  }
+}
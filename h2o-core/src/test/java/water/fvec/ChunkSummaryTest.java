@@ -36,5 +36,36 @@ public class ChunkSummaryTest extends TestUtil {
     f.remove();
   }
 
+  @Test public void recodedChunks() {
+    Scope.enter();
+    boolean recodeEnabled = NewChunk.RECODE_ENABLED;
+    NewChunk.RECODE_ENABLED = true; // opt-in, the chunks are compressed on this node by TestFrameBuilder
+    try {
+      // One chunk of 4096 rows: long runs in the first column, few distinct wide-range longs in the second
+      double[] runs = new double[4096];
+      double[] dictVals = new double[4096];
+      double[] dict = {7, 1e12 + 1, -3e12 + 1};
+      for (int row = 0; row < 4096; row++) {
+        runs[row] = row < 2048 ? 0.5 : 1e10;
+        dictVals[row] = dict[row % dict.length];
+      }
+      Frame f = new TestFrameBuilder()
+              .withColNames("runs", "dict")
+              .withVecTypes(Vec.T_NUM, Vec.T_NUM)
+              .withDataForCol(0, runs)
+              .withDataForCol(1, dictVals)
+              .build();
+      Assert.assertEquals(1, f.anyVec().nChunks());
+      Assert.assertTrue(f.vec(0).chunkForChunkIdx(0) instanceof CRLEChunk);
+      Assert.assertTrue(f.vec(1).chunkForChunkIdx(0) instanceof CDictChunk);
+      String table = FrameUtils.chunkSummary(f).toTwoDimTableChunkTypes().toString();
+      Assert.assertTrue(table.contains("CRLE"));
+      Assert.assertTrue(table.contains("CDict"));
+    } finally {
+      NewChunk.RECODE_ENABLED = recodeEnabled;
+      Scope.exit();
+    }
+  }
+
 }
 
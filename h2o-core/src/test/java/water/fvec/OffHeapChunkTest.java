@@ -0,0 +1,69 @@
+package water.fvec;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.AutoBuffer;
+import water.TestUtil;
+
+public class OffHeapChunkTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static final double[][] DATA = new double[][]{
+          {0, 1, 2, 3, 255},                       // C1N
+          {0, 1, Double.NaN, 3, 254},              // C1
+          {-1000, 20000, Double.NaN, 3},           // C2
+          {-1e6, 2e9, Double.NaN, 7},              // C4
+          {1L << 40, -3, Double.NaN},            // C8
+          {1.5, 2.25, Double.NaN, -8.125},         // C1S/C2S or doubles
+          {Math.PI, Math.E, Double.NaN, 1e300},    // C8D
+  };
+
+  @Test
+  public void testSameValuesAsHeapChunk() {
+    for (double[] vals : DATA) {
+      Chunk heap = new NewChunk(vals).compress();
+      Chunk off = OffHeapChunk.wrap(heap);
+      Assert.assertTrue("Unsupported chunk " + heap.getClass(), off instanceof OffHeapChunk);
+      assertSameValues(heap, off);
+      Assert.assertEquals(heap.hasFloat(), off.hasFloat());
+    }
+  }
+
+  @Test
+  public void testSerializationRoundTrip() {
+    for (double[] vals : DATA) {
+      Chunk heap = new NewChunk(vals).compress();
+      Chunk off = OffHeapChunk.wrap(heap);
+      byte[] bytes = new AutoBuffer().put(off).buf();
+      Chunk read = new AutoBuffer(bytes).get();
+      Assert.assertTrue(read instanceof OffHeapChunk);
+      assertSameValues(heap, read);
+      assertSameValues(heap, off.deepCopy());
+    }
+  }
+
+  @Test
+  public void testInflate() {
+    for (double[] vals : DATA) {
+      Chunk heap = new NewChunk(vals).compress();
+      Chunk off = OffHeapChunk.wrap(heap);
+      NewChunk nc = off.inflate();
+      Assert.assertEquals(heap._len, nc._len);
+      for (int i = 0; i < heap._len; i++)
+        Assert.assertEquals(heap.atd(i), nc.atd(i), 0);
+    }
+  }
+
+  private static void assertSameValues(Chunk expected, Chunk actual) {
+    Assert.assertEquals(expected._len, actual._len);
+    double[] dense = actual.getDoubles(new double[actual._len], 0, actual._len);
+    for (int i = 0; i < expected._len; i++) {
+      Assert.assertEquals(expected.isNA(i), actual.isNA(i));
+      Assert.assertEquals(expected.atd(i), actual.atd(i), 0);
+      Assert.assertEquals(expected.atd(i), dense[i], 0);
+      if (!expected.isNA(i))
+        Assert.assertEquals(expected.at8(i), actual.at8(i));
+    }
+  }
+}
@@ -32,6 +32,26 @@ public class VecTest extends TestUtil {
     vec.remove();
   }
 
+  @Test public void testChunkKeyIndex() {
+    Vec v = makeConN(1000, 4);
+    try {
+      for (int i = 0; i < v.nChunks(); i++) {
+        Key k = v.chunkKey(i);
+        assertEquals(Vec.chunkKey(v._key, i), k);
+        if (k.home()) assertSame(k, v.chunkKey(i)); // Home chunk keys are indexed
+        else assertEquals(k, v.chunkKey(i));
+      }
+      assertEquals(Vec.chunkKey(v._key, -2), v.rollupStatsKey());
+      // A re-keyed copy must not hand out the chunk keys of the original
+      Vec copy = v.clone();
+      copy._key = Vec.newKey();
+      assertEquals(Vec.chunkKey(copy._key, 1), copy.chunkKey(1));
+      assertEquals(Vec.chunkKey(v._key, 1), v.chunkKey(1));
+    } finally {
+      v.remove();
+    }
+  }
+
   @Test public void makeCopy() {
     Vec copyOfVec = null;
     Vec expected = null;
@@ -9,15 +9,16 @@ import water.DKV;
 import water.Key;
 import water.Scope;
 import water.fvec.Frame;
+import water.fvec.SnapshotVec;
 import water.fvec.Vec;
 import water.runner.CloudSize;
 import water.runner.H2ORunner;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 
-import static org.junit.Assert.assertArrayEquals;
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 import static water.TestUtil.*;
 
 @RunWith(H2ORunner.class)
@@ -91,6 +92,101 @@ public class FramePersistTest {
         }
     }
 
+    @Test
+    public void testLoadIsLazy() throws IOException {
+        Scope.enter();
+        try {
+            Vec v = Scope.track(createRandomDoubleVec(10_000, 42));
+            DKV.put(v);
+            Frame f = Scope.track(new Frame(Key.make(), new Vec[] { v }));
+            DKV.put(f);
+            double mean = v.mean();
+            Frame copy = Scope.track(f.deepCopy("lazy_copy"));
+            File dest = temp.newFolder();
+            new FramePersist(f).saveTo(dest.getAbsolutePath(), false).get();
+            f.remove(true);
+            Frame loaded = Scope.track(FramePersist.loadFrom(f._key, dest.getAbsolutePath()).get());
+            Vec lv = loaded.vec(0);
+            assertTrue(lv instanceof SnapshotVec);
+            // rollups come from the snapshot
+            assertEquals(mean, lv.mean(), 0);
+            assertNull(DKV.get(lv.chunkKey(0)));
+            assertEquals(copy.vec(0).at(0), lv.at(0), 0);
+            assertNotNull(DKV.get(lv.chunkKey(0)));
+            assertFrameEquals(copy, loaded, 0);
+        } finally {
+            Scope.exit();
+        }
+    }
+
+    @Test
+    public void testEagerLoadAndOverwrite() throws IOException {
+        Scope.enter();
+        try {
+            Frame f = Scope.track(createTestFrame());
+            Frame copy = Scope.track(f.deepCopy("eager_copy"));
+            File dest = temp.newFolder();
+            new FramePersist(f).saveTo(dest.getAbsolutePath(), false).get();
+            String[] files = new FramePersist(f).saveToAndWait(dest.getAbsolutePath(), true);
+            assertEquals(2, files.length);
+            f.remove(true);
+            Frame loaded = Scope.track(FramePersist.loadFrom(f._key, dest.getAbsolutePath(), false).get());
+            for (Vec v : loaded.vecs()) {
+                for (int i = 0; i < v.nChunks(); i++) {
+                    assertNotNull(DKV.get(v.chunkKey(i)));
+                }
+            }
+            assertFrameEquals(copy, loaded, 0);
+        } finally {
+            Scope.exit();
+        }
+    }
+
+    @Test
+    public void testOverwriteDeletesPreviousDataFiles() throws IOException {
+        Scope.enter();
+        try {
+            Frame f = Scope.track(createTestFrame());
+            File dest = temp.newFolder();
+            new FramePersist(f).saveToAndWait(dest.getAbsolutePath(), false);
+            new FramePersist(f).saveToAndWait(dest.getAbsolutePath(), true);
+            String[] files = new FramePersist(f).saveToAndWait(dest.getAbsolutePath(), true);
+            String[] onDisk = dest.list();
+            assertNotNull(onDisk);
+            assertEquals(files.length, onDisk.length);
+            for (String file : files) {
+                assertTrue(new File(URI.create(file)).exists());
+            }
+        } finally {
+            Scope.exit();
+        }
+    }
+
+    @Test
+    public void testOverwriteKeepsLazyFramesReadable() throws IOException {
+        Scope.enter();
+        try {
+            Frame f = Scope.track(createTestFrame());
+            Frame copy = Scope.track(f.deepCopy("overwrite_copy"));
+            File dest = temp.newFolder();
+            new FramePersist(f).saveTo(dest.getAbsolutePath(), false).get();
+            f.remove(true);
+            Frame loaded = Scope.track(FramePersist.loadFrom(f._key, dest.getAbsolutePath()).get());
+            assertNull(DKV.get(loaded.vec(0).chunkKey(0)));
+            // Overwrite the snapshot the frame is still loading from
+            Frame other = new Frame(loaded._key, copy.names(), copy.vecs());
+            new FramePersist(other).saveToAndWait(dest.getAbsolutePath(), true);
+            for (Vec v : loaded.vecs()) {
+                for (int i = 0; i < v.nChunks(); i++) {
+                    assertNotNull(DKV.get(v.chunkKey(i)));
+                }
+            }
+            assertFrameEquals(copy, loaded, 0);
+        } finally {
+            Scope.exit();
+        }
+    }
+
     private static Frame createTestFrame() {
         CreateFrame cf = new CreateFrame();
         cf.rows = 10_000;
@@ -13,14 +13,21 @@ import water.fvec.Vec;
 import java.io.File;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.sql.Timestamp;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class SQLManagerIntegTest extends TestUtil {
 
   private static final File BUILD_DIR = new File("build").getAbsoluteFile();
 
+  private static final int PARTITIONED_ROWS = 1000;
+
   private String connectionString;
 
   @BeforeClass
@@ -42,6 +49,16 @@ public class SQLManagerIntegTest extends TestUtil {
 
       stmt.executeUpdate("CREATE TABLE TestData (ID INT PRIMARY KEY, NAME VARCHAR(12))");
       stmt.executeUpdate("INSERT INTO TestData VALUES (1,'TOM'),(2,'BILL'),(3,'AMY'),(4,'OWEN')");
+
+      stmt.executeUpdate("CREATE TABLE TestPartitions (ID INT, VAL DOUBLE, TS TIMESTAMP)");
+      try (PreparedStatement insert = conn.prepareStatement("INSERT INTO TestPartitions VALUES (?, ?, ?)")) {
+        for (int i = 0; i < PARTITIONED_ROWS; i++) {
+          insert.setObject(1, i % 10 == 0 ? null : i * i);
+          insert.setDouble(2, i / 2.0);
+          insert.setTimestamp(3, new Timestamp(1500000000000L + i * 3600000L));
+          insert.executeUpdate();
+        }
+      }
     }
   }
   
@@ -94,4 +111,40 @@ public class SQLManagerIntegTest extends TestUtil {
     }
   }
 
+  @Test
+  public void importSqlTablePartitioned() {
+    checkPartitionedImport("ID"); // skewed integer column with nulls
+    checkPartitionedImport("TS");
+    checkPartitionedImport("VAL");
+  }
+
+  private void checkPartitionedImport(String partitionColumn) {
+    Scope.enter();
+    try {
+      Job<Frame> j = SQLManager.importSqlTable(
+          connectionString, "TestPartitions", "", "", "", "*",
+          null, null,
+          SqlFetchMode.PARTITIONED, 7, partitionColumn
+      );
+      Frame fr = Scope.track(j.get());
+
+      assertArrayEquals(new String[]{"ID", "VAL", "TS"}, fr._names);
+      assertEquals(PARTITIONED_ROWS, fr.numRows());
+      // the order of the rows is not defined, every row needs to be there exactly once
+      boolean[] seen = new boolean[PARTITIONED_ROWS];
+      for (long r = 0; r < fr.numRows(); r++) {
+        int i = (int) (fr.vec("VAL").at(r) * 2);
+        assertFalse(seen[i]);
+        seen[i] = true;
+        if (i % 10 == 0)
+          assertTrue(fr.vec("ID").isNA(r));
+        else
+          assertEquals((long) i * i, fr.vec("ID").at8(r));
+        assertEquals(1500000000000L + i * 3600000L, fr.vec("TS").at8(r));
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
 }
@@ -6,6 +6,7 @@ import org.junit.Test;
 import water.TestUtil;
 import water.Value;
 import water.fvec.FileVec;
+import water.fvec.Vec;
 import water.util.Log;
 import water.util.PrettyPrint;
 
@@ -138,5 +139,57 @@ public class ChunksizeTest extends TestUtil {
         }
       }
   }
+
+  @Test
+  public void testBalancedChunksPerNode() {
+    // Plenty of data: a multiple of the cores
+    for (int cores : new int[]{4, 6, 32}) {
+      int chunks = FileVec.balancedChunksPerNode(100_000_000L, 10, 40, cores, 1, 0);
+      Assert.assertEquals(0, chunks % cores);
+      Assert.assertTrue(chunks >= cores);
+    }
+    // Wide data: Chunks of a column don't get smaller than MIN_COLUMN_CHUNK_BYTES
+    int wide = FileVec.balancedChunksPerNode(100_000, 5000, 5000 * 2, 32, 1, 0);
+    Assert.assertTrue(100_000.0 / wide * 2 >= FileVec.MIN_COLUMN_CHUNK_BYTES / 2);
+    // Narrow data: Chunks of a column don't get larger than MAX_COLUMN_CHUNK_BYTES
+    int narrow = FileVec.balancedChunksPerNode(10_000_000_000L, 1, 8, 4, 1, 0);
+    Assert.assertTrue(10_000_000_000.0 / narrow * 8 <= FileVec.MAX_COLUMN_CHUNK_BYTES * 1.5);
+    // Tiny data: a single chunk
+    Assert.assertEquals(1, FileVec.balancedChunksPerNode(100, 3, 12, 8, 1, 0));
+  }
+
+  @Test
+  public void testAdaptiveChunkSize() {
+    int chunkSize = FileVec.calcAdaptiveChunkSize(1L << 30, 20, 200, 8, 2, 100, 40, 10, false);
+    long chunks = ((1L << 30) / 2 + chunkSize - 1) / chunkSize;
+    Assert.assertEquals(0, chunks % 8);
+    // Slow parse: a chunk is at least MIN_PARSE_TASK_NANOS worth of parsing
+    chunkSize = FileVec.calcAdaptiveChunkSize(1L << 22, 2, 20, 8, 1, 10, 2, 1000, false);
+    Assert.assertTrue(chunkSize * 1000.0 >= FileVec.MIN_PARSE_TASK_NANOS);
+  }
+
+  @Test
+  public void testParseSample() {
+    StringBuilder sb = new StringBuilder("a,b,c\n");
+    for (int i = 0; i < 1000; i++)
+      sb.append(i).append(',').append(i % 3 == 0 ? "x" : "y").append(',').append(i * 0.5).append('\n');
+    byte[] bits = sb.toString().getBytes();
+    ParseSetup setup = new ParseSetup(DefaultParserProviders.CSV_INFO, (byte) ',', false, ParseSetup.HAS_HEADER, 3,
+            new String[]{"a", "b", "c"}, new byte[]{Vec.T_NUM, Vec.T_CAT, Vec.T_NUM}, null, null, null);
+    ParseSample sample = ParseSample.measure(setup, bits);
+    Assert.assertNotNull(sample);
+    Assert.assertEquals(1000, sample._rows);
+    Assert.assertEquals(bits.length / 1000.0, sample.inBytesPerRow(), 1);
+    Assert.assertTrue(sample.chunkBytesPerRow() > 0 && sample.chunkBytesPerRow() < sample.inBytesPerRow());
+    Assert.assertTrue(sample.nanosPerByte() > 0);
+  }
+
+  @Test
+  public void testNeedsRebalance() {
+    Assert.assertFalse(ParseDataset.needsRebalance(16, 16, 8));
+    Assert.assertTrue(ParseDataset.needsRebalance(9, 16, 8));   // last wave keeps 7 of 8 cores idle
+    Assert.assertTrue(ParseDataset.needsRebalance(100, 16, 8)); // far too many
+    Assert.assertFalse(ParseDataset.needsRebalance(3, 4, 8));   // fewer chunks than cores, close enough
+  }
 }
 
@@ -387,6 +387,86 @@ public class CsvParserTest extends TestUtil {
   }
 
 
+  public static final class CsvFastPathTest extends CsvParserTest {
+
+    // Records everything the parser writes
+    private static class LogWriter extends PreviewParseWriter {
+      final StringBuilder _log = new StringBuilder();
+      LogWriter(int ncols) { super(ncols); }
+      @Override public void newLine() { super.newLine(); _log.append('\n'); }
+      @Override public void addNumCol(int colIdx, long number, int exp) { _log.append(colIdx).append(':').append(number).append('e').append(exp).append(' '); }
+      @Override public void addInvalidCol(int colIdx) { _log.append(colIdx).append(":NA "); }
+      @Override public void addStrCol(int colIdx, BufferedString str) { _log.append(colIdx).append(":'").append(str).append("' "); }
+      @Override public void rollbackLine() { super.rollbackLine(); _log.append("<rollback>"); }
+      @Override public void invalidLine(ParseErr err) { super.invalidLine(err); _log.append("<invalid>"); }
+    }
+
+    private static String parse(String data, int ncols, byte sep, boolean fast, byte[] types) {
+      ParseSetup parseSetup = new ParseSetup();
+      parseSetup._parse_type = DefaultParserProviders.CSV_INFO;
+      parseSetup._check_header = ParseSetup.NO_HEADER;
+      parseSetup._separator = sep;
+      parseSetup._column_types = types;
+      parseSetup._number_columns = ncols;
+      parseSetup._single_quotes = false;
+      CsvParser csvParser = new CsvParser(parseSetup, null);
+      csvParser._fastPath = fast;
+      LogWriter writer = new LogWriter(ncols);
+      csvParser.parseChunk(0, new Parser.ByteAryData(StringUtils.bytesOf(data), 0), writer);
+      return writer._log.toString();
+    }
+
+    private static void assertSameParse(String data, int ncols, byte sep) {
+      assertEquals(parse(data, ncols, sep, false, null), parse(data, ncols, sep, true, null));
+    }
+
+    @Test
+    public void testNumbers() {
+      assertSameParse("1,2,3\n-4.5,+6.25,7e3\n1.5E-2,.5,8.\n", 3, (byte) ',');
+      assertSameParse("123456789012345678,12345678.87654321,-0.000000001\r\n0,-0,00000000000000001\r\n", 3, (byte) ',');
+      assertSameParse("1234567890123456789,99999999999999999999.5,1e-400\n", 3, (byte) ','); // Too many digits
+      assertSameParse("1;2\n3;4", 2, (byte) ';'); // Last line without EOL
+      assertSameParse("1\t2\n\n\n3\t4\n", 2, (byte) '\t');
+      assertSameParse("1|2\r\r\n3|4\r", 2, (byte) '|');
+    }
+
+    @Test
+    public void testFallback() {
+      assertSameParse("1,2,3\n\"4\",5,6\n7,8,\"9,\"\n10,11,12\n", 3, (byte) ',');
+      assertSameParse("1,2,3\na,b,c\n 1,2 ,3\n$4,5%,6\n", 3, (byte) ',');
+      assertSameParse("1,,3\n,,\n1,2\n1,2,3,4\n-,+,.\n1e,1e+,1e5x\n", 3, (byte) ',');
+      assertSameParse("1,2,3\n#4,5,6\n7,8,9\n", 3, (byte) ',');
+    }
+
+    @Test
+    public void testForcedStringColumns() {
+      String data = "1,2,3\n4,,6\n";
+      byte[] types = new byte[]{Vec.T_NUM, Vec.T_STR, Vec.T_CAT};
+      assertEquals(parse(data, 3, (byte) ',', false, types), parse(data, 3, (byte) ',', true, types));
+    }
+
+    @Test
+    public void testRandomNumbers() {
+      Random r = new Random(0xC5F);
+      StringBuilder sb = new StringBuilder();
+      for (int row = 0; row < 1000; row++) {
+        for (int col = 0; col < 7; col++) {
+          if (col > 0) sb.append(',');
+          switch (r.nextInt(5)) {
+            case 0: break;
+            case 1: sb.append(r.nextLong()); break;
+            case 2: sb.append(r.nextInt(1000)); break;
+            case 3: sb.append(r.nextDouble() * r.nextInt(100000)); break;
+            default: sb.append(-r.nextFloat()); break;
+          }
+        }
+        sb.append(r.nextBoolean() ? "\n" : "\r\n");
+      }
+      assertSameParse(sb.toString(), 7, (byte) ',');
+    }
+  }
+
+
   @RunWith(Parameterized.class)
   public static final class CsvParserIntegrationTest extends CsvParserTest {
 
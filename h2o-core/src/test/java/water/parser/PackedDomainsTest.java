@@ -119,6 +119,17 @@ public class PackedDomainsTest {
     assertArrayEquals(pack(third), merge(third, third));
   }
 
+  @Test
+  public void testOrdinalMap() throws Exception {
+    // Node-local ids in order of appearance, the domain sorted
+    final int[] ids = new int[]{4, 1, 3, 5, 2};
+    int[] map = ordinalMap(pack(third), ids, 6, pack(allWords));
+    assertArrayEquals(new int[]{-1, 4, 10, 7, 0, 8, -1}, map);
+    map = ordinalMap(pack(third), ids, 5, pack(third));
+    assertArrayEquals(new int[]{-1, 1, 4, 2, 0, 3}, map);
+    assertArrayEquals(new int[]{-1, -1}, ordinalMap(pack(empty), new int[0], 1, pack(allWords)));
+  }
+
   private static byte[] merge(String[] s1, String[] s2) {
     return PackedDomains.merge(pack(s1), pack(s2));
   }
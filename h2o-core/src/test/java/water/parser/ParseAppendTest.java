@@ -0,0 +1,93 @@
+package water.parser;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.*;
+import water.exceptions.H2OIllegalArgumentException;
+import water.fvec.FVecFactory;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import static org.junit.Assert.*;
+
+public class ParseAppendTest extends TestUtil {
+
+  @BeforeClass
+  public static void setup() { stall_till_cloudsize(1); }
+
+  private static final String DAY1 = "cat,num,int\n" +
+          "a,1.5,1\n" +
+          "b,-2.25,2\n" +
+          "a,,3\n" +
+          "b,4,4\n";
+  private static final String DAY2 = "cat,num,int\n" +
+          "c,10,5\n" +
+          "a,0,6\n" +
+          ",7.125,7\n";
+
+  @Test
+  public void testAppend() {
+    try {
+      Scope.enter();
+      Frame fr = Scope.track(ParseDataset.parse(Key.make("append_target"), FVecFactory.makeByteVec(DAY1)));
+      Frame all = Scope.track(ParseDataset.parse(Key.make("append_expected"), FVecFactory.makeByteVec(DAY1 + DAY2.substring(DAY2.indexOf('\n') + 1))));
+      Vec cat = fr.vec("cat");
+      fr.vec("num").mean(); // Compute the rollups of the old rows, they get updated by the append
+      final int nchunks = cat.nChunks();
+
+      Key k = FVecFactory.makeByteVec(DAY2);
+      ParseSetup setup = ParseSetup.guessSetup(new Key[]{k}, false, ParseSetup.HAS_HEADER);
+      Frame appended = ParseDataset.append(fr._key, new Key[]{k}, setup, true);
+
+      assertEquals(7, appended.numRows());
+      assertEquals(cat._key, appended.vec("cat")._key); // Same Vecs, no copy
+      assertTrue(appended.vec("cat").nChunks() > nchunks);
+      assertArrayEquals(new String[]{"a", "b", "c"}, appended.vec("cat").domain());
+      assertEquals("c", appended.vec("cat").stringAt(4));
+      assertEquals("a", appended.vec("cat").stringAt(5));
+      assertTrue(appended.vec("cat").isNA(6));
+      assertEquals("a", appended.vec("cat").stringAt(2)); // Old codes stay valid
+      assertEquals(7, appended.vec("int").at8(6));
+
+      Frame reloaded = DKV.getGet(fr._key);
+      assertEquals(7, reloaded.numRows());
+      for (String name : all.names()) {
+        Vec v = reloaded.vec(name), e = all.vec(name);
+        assertEquals(name, e.naCnt(), v.naCnt());
+        assertEquals(name, e.nzCnt(), v.nzCnt());
+        assertEquals(name, e.min(), v.min(), 0);
+        assertEquals(name, e.max(), v.max(), 0);
+        if (!v.isCategorical()) {
+          assertEquals(name, e.mean(), v.mean(), 1e-10);
+          assertEquals(name, e.sigma(), v.sigma(), 1e-10);
+        }
+      }
+      assertTrue(reloaded.vec("cat").isCategorical());
+      assertTrue(Double.isNaN(reloaded.vec("cat").mean())); // More than 2 levels now
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testAppendColumnMismatch() {
+    try {
+      Scope.enter();
+      Frame fr = Scope.track(ParseDataset.parse(Key.make("append_target"), FVecFactory.makeByteVec(DAY1)));
+      Key k = FVecFactory.makeByteVec("cat,num\na,1\n");
+      ParseSetup setup = ParseSetup.guessSetup(new Key[]{k}, false, ParseSetup.HAS_HEADER);
+      try {
+        ParseDataset.append(fr._key, new Key[]{k}, setup, false);
+        fail("Expected the append to fail");
+      } catch (H2OIllegalArgumentException e) {
+        assertTrue(e.getMessage().contains("Cannot append 2 parsed columns"));
+      } finally {
+        DKV.remove(k);
+      }
+      assertEquals(4, ((Frame) DKV.getGet(fr._key)).numRows());
+    } finally {
+      Scope.exit();
+    }
+  }
+
+}
@@ -0,0 +1,184 @@
+package water.parser;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.*;
+import water.fvec.*;
+import water.util.UnsafeUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+public class ParseGzipTest extends TestUtil {
+
+  @BeforeClass
+  public static void setup() { stall_till_cloudsize(1); }
+
+  private static byte[] csv(int rows) {
+    StringBuilder sb = new StringBuilder("id,num,cat\n");
+    for (int i = 0; i < rows; i++)
+      sb.append(i).append(',').append(i * 0.25 - 100).append(',').append((char) ('a' + i % 7)).append('\n');
+    return sb.toString().getBytes();
+  }
+
+  // Compresses the data into BGZF blocks of the given uncompressed size, followed by the EOF block
+  private static byte[] bgzf(byte[] data, int blockSize) {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    for (int off = 0; off <= data.length; off += blockSize) {
+      int len = Math.min(blockSize, data.length - off);
+      Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+      deflater.setInput(data, off, len);
+      deflater.finish();
+      byte[] deflated = new byte[len + 1024];
+      int dlen = deflater.deflate(deflated);
+      deflater.end();
+      CRC32 crc = new CRC32();
+      crc.update(data, off, len);
+      byte[] block = new byte[ZipUtil.BGZF_HEADER_SIZE + dlen + ZipUtil.GZIP_TRAILER_SIZE];
+      block[0] = 0x1f; block[1] = (byte) 0x8b; block[2] = 8; block[3] = 4; block[9] = (byte) 0xff;
+      block[10] = 6; block[12] = 'B'; block[13] = 'C'; block[14] = 2;
+      UnsafeUtils.set2(block, 16, (short) (block.length - 1));
+      System.arraycopy(deflated, 0, block, ZipUtil.BGZF_HEADER_SIZE, dlen);
+      UnsafeUtils.set4(block, block.length - 8, (int) crc.getValue());
+      UnsafeUtils.set4(block, block.length - 4, len);
+      bos.write(block, 0, block.length);
+      if (len == 0) break; // Written the EOF block
+    }
+    return bos.toByteArray();
+  }
+
+  static byte[] gzip(byte[] data) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (GZIPOutputStream gos = new GZIPOutputStream(bos)) {
+      gos.write(data);
+    }
+    return bos.toByteArray();
+  }
+
+  // ByteVec of the bytes split into chunks of the given size
+  static Key<Vec> makeByteVec(byte[] bits, int chunkSize) {
+    int nchunks = (bits.length + chunkSize - 1) / chunkSize;
+    long[] espc = new long[nchunks + 1];
+    for (int i = 0; i < nchunks; i++) espc[i + 1] = Math.min(bits.length, espc[i] + chunkSize);
+    Key<Vec> key = Vec.newKey();
+    ByteVec bv = new ByteVec(key, Vec.ESPC.rowLayout(key, espc));
+    Futures fs = new Futures();
+    for (int i = 0; i < nchunks; i++)
+      DKV.put(bv.chunkKey(i), new C1NChunk(Arrays.copyOfRange(bits, (int) espc[i], (int) espc[i + 1])), fs);
+    DKV.put(key, bv, fs);
+    fs.blockForPending();
+    return key;
+  }
+
+  @Test
+  public void testIsBgzf() throws IOException {
+    byte[] data = csv(100);
+    byte[] bgzf = bgzf(data, 1000);
+    assertTrue(ZipUtil.isBgzf(bgzf));
+    assertFalse(ZipUtil.isBgzf(gzip(data)));
+    assertFalse(ZipUtil.isBgzf(data));
+    assertEquals(ZipUtil.Compression.GZIP, ZipUtil.guessCompressionMethod(bgzf));
+    int size = ZipUtil.bgzfBlockSize(bgzf, 0);
+    assertTrue(ZipUtil.bgzfBlockSize(bgzf, size) > 0);
+    assertEquals(-1, ZipUtil.bgzfBlockSize(bgzf, size - 1));
+  }
+
+  @Test
+  public void testInflateBgzf() throws IOException {
+    Scope.enter();
+    try {
+      byte[] data = csv(5000);
+      byte[] bgzf = bgzf(data, 3000);
+      ByteVec bv = DKV.getGet(makeByteVec(bgzf, 4096));
+      Scope.track(bv);
+      ByteVec inflated = ZipUtil.inflateBgzf(bv);
+      assertNotNull(inflated);
+      Scope.track(inflated);
+      assertTrue(inflated.nChunks() > 1 && inflated.nChunks() <= bv.nChunks());
+      assertEquals(data.length, inflated.length());
+      ByteArrayOutputStream bos = new ByteArrayOutputStream();
+      try (InputStream is = inflated.openStream(null)) {
+        byte[] buf = new byte[1000];
+        for (int n; (n = is.read(buf, 0, buf.length)) > 0; ) bos.write(buf, 0, n);
+      }
+      assertArrayEquals(data, bos.toByteArray());
+      // Plain gzip cannot be split
+      ByteVec gz = DKV.getGet(makeByteVec(gzip(data), 4096));
+      Scope.track(gz);
+      assertNull(ZipUtil.inflateBgzf(gz));
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testParseBgzf() {
+    checkParse(bgzf(csv(20000), 10000), 7001);
+  }
+
+  @Test
+  public void testParseGzipDecompressAhead() throws IOException {
+    checkParse(gzip(csv(20000)), 7001);
+  }
+
+  private static void checkParse(byte[] compressed, int chunkSize) {
+    Scope.enter();
+    try {
+      Frame expected = Scope.track(ParseDataset.parse(Key.make(), FVecFactory.makeByteVec(new String(csv(20000)))));
+      Frame actual = Scope.track(ParseDataset.parse(Key.make(), makeByteVec(compressed, chunkSize)));
+      assertEquals(20000, actual.numRows());
+      assertArrayEquals(expected.names(), actual.names());
+      assertArrayEquals(expected.vec("cat").domain(), actual.vec("cat").domain());
+      assertBitIdentical(expected, actual);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testDecompressAhead() throws IOException {
+    byte[] data = csv(10000);
+    byte[] gz = gzip(data);
+    DecompressAheadInputStream is = new DecompressAheadInputStream(new GZIPInputStream(new ByteArrayInputStream(gz)),
+            null, 1000, 2);
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    byte[] buf = new byte[777];
+    while (is.available() > 0) {
+      int n = is.read(buf, 0, buf.length);
+      bos.write(buf, 0, n);
+    }
+    assertEquals(-1, is.read());
+    assertEquals(-1, is.chunkIndexStream().read(null, 0, 0));
+    is.close();
+    assertArrayEquals(data, bos.toByteArray());
+  }
+
+  @Test
+  public void testDecompressAheadStopsWhenClosed() throws Exception {
+    final AtomicBoolean closed = new AtomicBoolean();
+    InputStream gzis = new GZIPInputStream(new ByteArrayInputStream(gzip(csv(10000)))) {
+      @Override
+      public void close() throws IOException {
+        closed.set(true);
+        super.close();
+      }
+    };
+    DecompressAheadInputStream is = new DecompressAheadInputStream(gzis, null, 100, 2);
+    assertTrue(is.read() >= 0);
+    is.close(); // The producer is blocked on a full queue
+    for (int i = 0; i < 100 && !closed.get(); i++)
+      Thread.sleep(50);
+    assertTrue(closed.get());
+  }
+
+}
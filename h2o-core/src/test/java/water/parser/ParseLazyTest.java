@@ -0,0 +1,135 @@
+package water.parser;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.*;
+import water.api.schemas3.FrameV3;
+import water.exceptions.H2OIllegalArgumentException;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import static org.junit.Assert.*;
+
+public class ParseLazyTest extends TestUtil {
+
+  @BeforeClass
+  public static void setup() { stall_till_cloudsize(1); }
+
+  private static byte[] csv(int rows) {
+    StringBuilder sb = new StringBuilder("id,cat,num,str,time,sparse\n");
+    for (int i = 0; i < rows; i++)
+      sb.append(i).append(',')
+        .append((char) ('a' + i % 5)).append(',')
+        .append(i % 7 == 0 ? "" : String.valueOf(i * 0.5 - 100)).append(',')
+        .append("s").append(i % 100).append(',')
+        .append("2020-01-").append(10 + i % 19).append(',')
+        .append(i % 50 == 0 ? "1" : "0").append('\n');
+    return sb.toString().getBytes();
+  }
+
+  private static ParseSetup setup(Key k) {
+    ParseSetup setup = ParseSetup.guessSetup(new Key[]{k}, false, ParseSetup.HAS_HEADER);
+    byte[] types = setup.getColumnTypes().clone();
+    types[3] = Vec.T_STR;
+    return setup.setColumnTypes(types);
+  }
+
+  @Test
+  public void testParseLazy() {
+    Scope.enter();
+    try {
+      Key<Vec> k = ParseGzipTest.makeByteVec(csv(10000), 7001);
+      Scope.track((Vec) DKV.getGet(k));
+      ParseSetup setup = setup(k);
+      Frame expected = Scope.track(ParseDataset.parse(Key.make(), new Key[]{k}, false, setup));
+      Frame lazy = Scope.track(ParseDataset.parseLazy(Key.make(), new Key[]{k}, setup));
+
+      assertArrayEquals(expected.names(), lazy.names());
+      assertArrayEquals(expected.types(), lazy.types());
+      assertTrue(lazy.anyVec().nChunks() > 1);
+      assertFalse(lazy.vec("id") instanceof LazyParseVec); // Defines the rows
+      assertFalse(lazy.vec("cat") instanceof LazyParseVec); // Needs the domain
+      for (String name : new String[]{"num", "str", "time", "sparse"}) {
+        Vec v = lazy.vec(name);
+        assertTrue(name, v instanceof LazyParseVec);
+        for (int c = 0; c < v.nChunks(); c++)
+          assertNull(name + " is not parsed yet", DKV.get(v.chunkKey(c)));
+      }
+
+      // Reading a column parses just that column
+      assertEquals(expected.vec("num").mean(), lazy.vec("num").mean(), 1e-10);
+      assertNotNull(DKV.get(lazy.vec("num").chunkKey(0)));
+      assertNull(DKV.get(lazy.vec("sparse").chunkKey(0)));
+
+      assertFrameEquals(expected, lazy, 0.0);
+      assertArrayEquals(expected.vec("cat").domain(), lazy.vec("cat").domain());
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testListingDoesNotParse() {
+    Scope.enter();
+    try {
+      Key<Vec> k = ParseGzipTest.makeByteVec(csv(10000), 7001);
+      Scope.track((Vec) DKV.getGet(k));
+      Frame lazy = Scope.track(ParseDataset.parseLazy(Key.make(), new Key[]{k}, setup(k)));
+      Vec num = lazy.vec("num");
+      assertTrue(num.nChunks() > 1);
+      FrameV3 listing = new FrameV3(lazy, 0, 10, 0, -1, -1, true);
+      // Only the displayed rows were parsed
+      assertNotNull(DKV.get(num.chunkKey(0)));
+      for (int c = 1; c < num.nChunks(); c++)
+        assertNull(DKV.get(num.chunkKey(c)));
+      assertFalse(((LazyParseVec) num).isParsed());
+      int col = lazy.find("num");
+      assertTrue(Double.isNaN(listing.columns[col].mean));
+      assertEquals(lazy.vec("id").mean(), listing.columns[lazy.find("id")].mean, 0);
+      assertNotNull(listing.chunk_summary);
+
+      // Once parsed, the column is listed like any other
+      double mean = num.mean();
+      assertTrue(((LazyParseVec) num).isParsed());
+      assertEquals(mean, new FrameV3(lazy, 0, 10, 0, -1, -1, true).columns[col].mean, 0);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testParseLazySkippedColumns() {
+    Scope.enter();
+    try {
+      Key<Vec> k = ParseGzipTest.makeByteVec(csv(5000), 5003);
+      Scope.track((Vec) DKV.getGet(k));
+      ParseSetup setup = setup(k).setSkippedColumns(new int[]{0, 4});
+      Frame lazy = Scope.track(ParseDataset.parseLazy(Key.make(), new Key[]{k}, setup));
+      assertArrayEquals(new String[]{"cat", "num", "str", "sparse"}, lazy.names());
+      assertFalse(lazy.vec("cat") instanceof LazyParseVec);
+      assertTrue(lazy.vec("num") instanceof LazyParseVec);
+      assertTrue(lazy.vec("str") instanceof LazyParseVec);
+      assertEquals(5000, lazy.numRows());
+      for (int row = 0; row < 5000; row += 97) {
+        assertEquals("s" + row % 100, lazy.vec("str").stringAt(row));
+        assertEquals(row % 50 == 0 ? 1 : 0, lazy.vec("sparse").at8(row));
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testParseLazyCompressed() throws Exception {
+    Key<Vec> k = ParseGzipTest.makeByteVec(ParseGzipTest.gzip(csv(100)), 1000);
+    try {
+      ParseDataset.parseLazy(Key.make(), new Key[]{k}, setup(k));
+      fail("Lazy parse of a compressed file should fail");
+    } catch (H2OIllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("compressed"));
+    } finally {
+      DKV.<Vec>getGet(k).remove();
+    }
+  }
+
+}
@@ -0,0 +1,48 @@
+package water.parser;
+
+import org.junit.Test;
+import water.exceptions.H2OIllegalArgumentException;
+
+import static org.junit.Assert.*;
+
+public class PushdownPredicateTest {
+
+  @Test
+  public void testParse() {
+    assertNull(PushdownPredicate.parse(null));
+    assertNull(PushdownPredicate.parse("  "));
+    assertEquals("`x` == 5", PushdownPredicate.parse("x==5").toString());
+    assertEquals("`a b` != \"x y\"", PushdownPredicate.parse(" `a b` != \"x y\" ").toString());
+    assertEquals("(`a` < -1.5e3 | (`b` >= 2 & `c` <= 3) | `d` > 4)",
+            PushdownPredicate.parse("a < -1.5e3 | b >= 2 & c <= 3 | d > 4").toString());
+    assertEquals("((`a` == 1 | `b` == 2) & `c` == \"x\")",
+            PushdownPredicate.parse("(a == 1 | b == 2) & c == \"x\"").toString());
+  }
+
+  @Test
+  public void testLiterals() {
+    PushdownPredicate.Compare cmp = (PushdownPredicate.Compare) PushdownPredicate.parse("x > 12");
+    assertEquals(PushdownPredicate.Op.GT, cmp._op);
+    assertTrue(cmp.isIntegral());
+    assertEquals(12, cmp.longValue());
+    cmp = (PushdownPredicate.Compare) PushdownPredicate.parse("x > 1.5");
+    assertFalse(cmp.isIntegral());
+    assertEquals(1.5, cmp.doubleValue(), 0);
+    cmp = (PushdownPredicate.Compare) PushdownPredicate.parse("x > \"12\"");
+    assertTrue(cmp._isString);
+    assertFalse(cmp.isIntegral());
+  }
+
+  @Test
+  public void testSyntaxErrors() {
+    for (String expr : new String[]{"x", "x = 1", "x == ", "x == abc", "(x == 1", "x == 1 )", "x == \"a", "`x == 1", "x == 1 & "}) {
+      try {
+        PushdownPredicate.parse(expr);
+        fail("Expected a syntax error in " + expr);
+      } catch (H2OIllegalArgumentException e) {
+        assertTrue(e.getMessage().startsWith("Invalid pushdown predicate"));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,79 @@
+package water.persist;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import water.Key;
+import water.Value;
+import water.fvec.CBSChunk;
+import water.fvec.NewChunk;
+import water.runner.CloudSize;
+import water.runner.H2ORunner;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+@CloudSize(1)
+@RunWith(H2ORunner.class)
+public class SwapSegmentsTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void testStoreLoadDelete() throws IOException {
+    SwapSegments swap = new SwapSegments(tmp.newFolder("swap"), 1 << 20, 0.5);
+    double[] vals = new double[1000];
+    for (int i = 0; i < vals.length; i++)
+      vals[i] = i % 7;
+    Value v = new Value(Key.make(), new NewChunk(vals).compress());
+    byte[] m = v.memOrLoad();
+
+    swap.store(v, m);
+    assertTrue(swap.contains(v));
+    assertTrue("repetitive chunk should compress", swap.storedBytes() < swap.rawBytes());
+    assertArrayEquals(m, swap.load(v));
+    assertEquals(1, swap.hitCount());
+
+    swap.delete(v);
+    assertFalse(swap.contains(v));
+    assertNull(swap.load(v));
+    assertEquals(1, swap.missCount());
+  }
+
+  @Test
+  public void testBitSetChunksStoredRaw() {
+    Value v = new Value(Key.make(), new CBSChunk(new boolean[]{false, true, true, false}));
+    assertEquals(SwapSegments.CODEC_RAW, SwapSegments.codecFor(v));
+  }
+
+  @Test
+  public void testCompaction() throws IOException {
+    File dir = tmp.newFolder("swap");
+    SwapSegments swap = new SwapSegments(dir, 4096, 0.5);
+    Value[] values = new Value[64];
+    for (int i = 0; i < values.length; i++) {
+      double[] vals = new double[128];
+      for (int j = 0; j < vals.length; j++)
+        vals[j] = Math.sin(i * 31 + j); // Not compressible
+      values[i] = new Value(Key.make(), new NewChunk(vals).compress());
+      swap.store(values[i], values[i].memOrLoad());
+    }
+    int segments = swap.segmentCount();
+    assertTrue(segments > 1);
+    for (int i = 0; i < values.length; i++)
+      if (i % 4 != 0)
+        swap.delete(values[i]);
+    swap.compact();
+    assertEquals(1, swap.compactionCount());
+    assertTrue(swap.segmentCount() < segments);
+    for (int i = 0; i < values.length; i += 4)
+      assertArrayEquals(values[i].memOrLoad(), swap.load(values[i]));
+    swap.cleanUp();
+    assertEquals(0, swap.segmentCount());
+  }
+
+}
@@ -0,0 +1,401 @@
+package water.parser.avro;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileConstants;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import water.parser.BufferedString;
+import water.parser.ParseReader;
+import water.parser.ParseWriter;
+import water.util.ArrayUtils;
+
+/**
+ * Decodes the data blocks of an Avro file straight from the Avro binary encoding into the
+ * ParseWriter, without materializing a GenericRecord per row.
+ *
+ * The decoder is specialized for the writer schema of the file: every field of the top-level
+ * record is either written to a column (primitive types and their unions with null, see
+ * {@link AvroUtil#isSupportedSchema}) or skipped without being decoded - fields of unsupported
+ * types as well as the fields of skipped columns.
+ *
+ * A parse task decodes the blocks whose preceding sync marker starts in its chunk (the first
+ * block is preceded by the sync marker ending the header), so a file is split across as many
+ * parse tasks as it has chunks, at the block boundaries. Only the "null" and "deflate" codecs
+ * are supported, {@link #make} returns null for the others.
+ */
+final class AvroBlockDecoder {
+
+  private static final byte[] MAGIC = DataFileConstants.MAGIC;
+  private static final int SYNC_SIZE = DataFileConstants.SYNC_SIZE;
+
+  private final byte[] _sync;         // Sync marker of the file
+  private final boolean _deflate;     // Blocks are compressed with the deflate codec
+  private final Schema[] _schemas;    // Per record field: schema, for skipping
+  private final Schema.Type[] _types; // Per record field: primitive type of a parsed field
+  private final boolean[] _unions;    // Per record field: the value is preceded by its union branch
+  private final int[] _nullBranches;  // Per record field: union branch of null, -1 if none
+  private final int[] _columns;       // Per record field: parsed column, -1 if the field is skipped
+  private final BinaryInput _in = new BinaryInput();
+  private final BufferedString _bs = new BufferedString();
+  private Inflater _inflater;
+  private byte[] _inflated;
+
+  private AvroBlockDecoder(Schema schema, byte[] sync, boolean deflate, boolean[] keepColumns) {
+    _sync = sync;
+    _deflate = deflate;
+    List<Schema.Field> fields = schema.getFields();
+    final int nfields = fields.size();
+    _schemas = new Schema[nfields];
+    _types = new Schema.Type[nfields];
+    _unions = new boolean[nfields];
+    _nullBranches = new int[nfields];
+    _columns = new int[nfields];
+    int col = 0;     // Column of the file
+    int parsed = 0;  // Column of the parsed frame
+    for (int f = 0; f < nfields; f++) {
+      Schema s = _schemas[f] = fields.get(f).schema();
+      _columns[f] = -1;
+      _nullBranches[f] = -1;
+      if (!AvroUtil.isSupportedSchema(s))
+        continue;
+      boolean keep = keepColumns == null || col >= keepColumns.length || keepColumns[col];
+      col++;
+      if (!keep)
+        continue;
+      _columns[f] = parsed++;
+      _types[f] = AvroUtil.toPrimitiveType(s);
+      if (s.getType() == Schema.Type.UNION) {
+        _unions[f] = true;
+        List<Schema> branches = s.getTypes();
+        for (int b = 0; b < branches.size(); b++)
+          if (branches.get(b).getType() == Schema.Type.NULL) _nullBranches[f] = b;
+      }
+    }
+  }
+
+  /**
+   * @param header header of the Avro file, ending with the sync marker
+   * @param keepColumns columns of the file to parse, null for all
+   * @return decoder for the file, or null if the codec or the schema of the file is not supported
+   */
+  static AvroBlockDecoder make(byte[] header, boolean[] keepColumns) {
+    if (header.length < MAGIC.length + SYNC_SIZE || !Arrays.equals(MAGIC, Arrays.copyOf(header, MAGIC.length)))
+      return null;
+    BinaryInput in = new BinaryInput();
+    in.set(header, MAGIC.length, header.length - SYNC_SIZE);
+    String schema = null;
+    String codec = null;
+    for (long count = in.readLong(); count != 0; count = in.readLong()) { // Metadata map
+      if (count < 0) {
+        count = -count;
+        in.readLong(); // Size of the block
+      }
+      for (long i = 0; i < count; i++) {
+        String key = in.readString();
+        String value = in.readString();
+        if (DataFileConstants.SCHEMA.equals(key)) schema = value;
+        else if (DataFileConstants.CODEC.equals(key)) codec = value;
+      }
+    }
+    boolean deflate = DataFileConstants.DEFLATE_CODEC.equals(codec);
+    if (schema == null || (codec != null && !deflate && !DataFileConstants.NULL_CODEC.equals(codec)))
+      return null;
+    Schema recordSchema = new Schema.Parser().parse(schema);
+    if (recordSchema.getType() != Schema.Type.RECORD)
+      return null;
+    return new AvroBlockDecoder(recordSchema, Arrays.copyOfRange(header, header.length - SYNC_SIZE, header.length),
+            deflate, keepColumns);
+  }
+
+  /**
+   * Decodes the blocks whose sync marker starts in the given chunk.
+   *
+   * @return number of decoded records
+   */
+  long decodeChunk(int cidx, ParseReader din, ParseWriter dout) {
+    final ChunkInput chunks = new ChunkInput(din, cidx);
+    final int chunkLen = chunks._chunkLen;
+    long records = 0;
+    int p = Math.max(din.getChunkDataStart(cidx), 0);
+    while (p < chunkLen && !chunks.syncAt(p, _sync)) p++;
+    try {
+      while (p < chunkLen) {
+        final int blockStart = p + SYNC_SIZE;
+        chunks.ensure(blockStart + 20); // Two longs at most
+        if (chunks._data.length <= blockStart)
+          break; // The sync marker ends the file
+        _in.set(chunks._data, blockStart, chunks._data.length);
+        long count = _in.readLong();
+        long size = _in.readLong();
+        final int dataStart = _in._pos;
+        if (count < 0 || size < 0 || size > Integer.MAX_VALUE - dataStart - SYNC_SIZE)
+          throw corrupt(cidx, blockStart);
+        final int dataEnd = dataStart + (int) size;
+        if (!chunks.syncAt(dataEnd, _sync))
+          throw corrupt(cidx, blockStart);
+        if (_deflate) inflate(chunks._data, dataStart, (int) size, cidx, blockStart);
+        else _in.set(chunks._data, dataStart, dataEnd);
+        for (long r = 0; r < count; r++) {
+          decodeRecord(dout);
+          dout.newLine();
+        }
+        records += count;
+        p = dataEnd;
+      }
+    } finally {
+      if (_inflater != null) _inflater.end();
+    }
+    return records;
+  }
+
+  private static IllegalStateException corrupt(int cidx, int off) {
+    return new IllegalStateException("Failed to read AVRO: corrupt data block at offset " + off + " of chunk " + cidx + ".");
+  }
+
+  // Avro uses raw deflate (no zlib header) for the deflate codec
+  private void inflate(byte[] data, int off, int len, int cidx, int blockStart) {
+    if (_inflater == null) {
+      _inflater = new Inflater(true);
+      _inflated = new byte[Math.max(4 * len, 1 << 16)];
+    }
+    _inflater.reset();
+    _inflater.setInput(data, off, len);
+    int n = 0;
+    try {
+      while (!_inflater.finished()) {
+        if (n == _inflated.length) _inflated = Arrays.copyOf(_inflated, 2 * n);
+        int k = _inflater.inflate(_inflated, n, _inflated.length - n);
+        if (k == 0 && (_inflater.needsInput() || _inflater.needsDictionary()))
+          break;
+        n += k;
+      }
+    } catch (DataFormatException e) {
+      throw new IllegalStateException(corrupt(cidx, blockStart).getMessage(), e);
+    }
+    _in.set(_inflated, 0, n);
+  }
+
+  private void decodeRecord(ParseWriter dout) {
+    final BinaryInput in = _in;
+    for (int f = 0; f < _columns.length; f++) {
+      final int col = _columns[f];
+      if (col < 0) {
+        skip(_schemas[f]);
+        continue;
+      }
+      if (_unions[f] && in.readInt() == _nullBranches[f]) {
+        dout.addInvalidCol(col);
+        continue;
+      }
+      switch (_types[f]) {
+        case BOOLEAN:
+          dout.addNumCol(col, in.readByte() != 0 ? 1 : 0);
+          break;
+        case INT:
+          dout.addNumCol(col, in.readInt(), 0);
+          break;
+        case LONG:
+          dout.addNumCol(col, in.readLong(), 0);
+          break;
+        case FLOAT:
+          dout.addNumCol(col, in.readFloat());
+          break;
+        case DOUBLE:
+          dout.addNumCol(col, in.readDouble());
+          break;
+        case ENUM:
+          // Note: the domain of the column is the list of the enum symbols
+          dout.addNumCol(col, in.readInt());
+          break;
+        case STRING:
+        case BYTES:
+          int len = in.readLength();
+          dout.addStrCol(col, _bs.set(in._buf, in._pos, len));
+          in._pos += len;
+          break;
+        case NULL:
+          dout.addInvalidCol(col);
+          break;
+        default:
+          throw new IllegalStateException("Unexpected Avro type " + _types[f]);
+      }
+    }
+  }
+
+  // Skips a value of any schema without decoding it
+  private void skip(Schema s) {
+    final BinaryInput in = _in;
+    switch (s.getType()) {
+      case NULL:
+        break;
+      case BOOLEAN:
+        in.skip(1);
+        break;
+      case INT:
+      case LONG:
+      case ENUM:
+        in.readLong();
+        break;
+      case FLOAT:
+        in.skip(4);
+        break;
+      case DOUBLE:
+        in.skip(8);
+        break;
+      case STRING:
+      case BYTES:
+        in.skip(in.readLength());
+        break;
+      case FIXED:
+        in.skip(s.getFixedSize());
+        break;
+      case RECORD:
+        for (Schema.Field f : s.getFields()) skip(f.schema());
+        break;
+      case UNION:
+        int branch = in.readInt();
+        if (branch < 0 || branch >= s.getTypes().size())
+          throw new IllegalStateException("Failed to read AVRO: invalid union branch " + branch + " of " + s + ".");
+        skip(s.getTypes().get(branch));
+        break;
+      case ARRAY:
+        skipItems(s.getElementType(), false);
+        break;
+      case MAP:
+        skipItems(s.getValueType(), true);
+        break;
+      default:
+        throw new IllegalStateException("Unexpected Avro type " + s.getType());
+    }
+  }
+
+  // Arrays and maps are written in blocks of items, a negative count is followed by the size of the block
+  private void skipItems(Schema items, boolean map) {
+    final BinaryInput in = _in;
+    for (long count = in.readLong(); count != 0; count = in.readLong()) {
+      if (count < 0) {
+        in.skip(in.readLength());
+        continue;
+      }
+      for (long i = 0; i < count; i++) {
+        if (map) in.skip(in.readLength());
+        skip(items);
+      }
+    }
+  }
+
+  /** Reads the Avro binary encoding of primitive values from a byte array */
+  private static final class BinaryInput {
+    byte[] _buf;
+    int _pos;
+    int _limit;
+
+    void set(byte[] buf, int pos, int limit) {
+      _buf = buf;
+      _pos = pos;
+      _limit = limit;
+    }
+
+    private IllegalStateException overrun() {
+      return new IllegalStateException("Failed to read AVRO: value crosses the end of the data block.");
+    }
+
+    int readByte() {
+      if (_pos >= _limit) throw overrun();
+      return _buf[_pos++];
+    }
+
+    // Variable-length zig-zag encoding
+    long readLong() {
+      long n = 0;
+      for (int shift = 0; ; shift += 7) {
+        if (shift > 63) throw new IllegalStateException("Failed to read AVRO: invalid variable-length number.");
+        int b = readByte();
+        n |= (long) (b & 0x7f) << shift;
+        if ((b & 0x80) == 0) break;
+      }
+      return (n >>> 1) ^ -(n & 1);
+    }
+
+    int readInt() {
+      return (int) readLong();
+    }
+
+    int readLength() {
+      long len = readLong();
+      if (len < 0 || len > _limit - _pos) throw overrun();
+      return (int) len;
+    }
+
+    void skip(long n) {
+      if (n < 0 || n > _limit - _pos) throw overrun();
+      _pos += n;
+    }
+
+    // Little-endian IEEE 754
+    float readFloat() {
+      if (_limit - _pos < 4) throw overrun();
+      int bits = (_buf[_pos] & 0xff) | (_buf[_pos + 1] & 0xff) << 8 | (_buf[_pos + 2] & 0xff) << 16 | (_buf[_pos + 3] & 0xff) << 24;
+      _pos += 4;
+      return Float.intBitsToFloat(bits);
+    }
+
+    double readDouble() {
+      if (_limit - _pos < 8) throw overrun();
+      long bits = 0;
+      for (int i = 7; i >= 0; i--) bits = bits << 8 | (_buf[_pos + i] & 0xff);
+      _pos += 8;
+      return Double.longBitsToDouble(bits);
+    }
+
+    String readString() {
+      int len = readLength();
+      String s = new String(_buf, _pos, len, StandardCharsets.UTF_8);
+      _pos += len;
+      return s;
+    }
+  }
+
+  /** Data of a chunk, extended by the data of the following chunks as needed */
+  private static final class ChunkInput {
+    private final ParseReader _din;
+    private final int _cidx;
+    private final int _chunkLen;
+    private byte[] _data;
+    private int _loaded; // Following chunks appended to the data
+
+    ChunkInput(ParseReader din, int cidx) {
+      _din = din;
+      _cidx = cidx;
+      byte[] data = din.getChunkData(cidx);
+      _data = data == null ? new byte[0] : data;
+      _chunkLen = _data.length;
+    }
+
+    /** @return true if there is at least the given length of data */
+    boolean ensure(int len) {
+      while (_data.length < len) {
+        byte[] next = _din.getChunkData(_cidx + _loaded + 1);
+        if (next == null || next.length == 0)
+          return false;
+        _data = ArrayUtils.append(_data, next);
+        _loaded++;
+      }
+      return true;
+    }
+
+    boolean syncAt(int p, byte[] sync) {
+      if (!ensure(p + sync.length))
+        return false;
+      for (int i = 0; i < sync.length; i++)
+        if (_data[p + i] != sync[i]) return false;
+      return true;
+    }
+  }
+
+}
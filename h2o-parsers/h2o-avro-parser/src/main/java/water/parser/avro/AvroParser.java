@@ -37,6 +37,9 @@ import static water.parser.avro.AvroUtil.*;
  */
 public class AvroParser extends Parser {
 
+  /** Decode the blocks straight into the ParseWriter, see {@link AvroBlockDecoder} */
+  static final boolean TYPED_DECODING = H2O.getSysBoolProperty("parse.avro.typed_decoding", true);
+
   /** Avro header */
   private final byte[] header;
 
@@ -47,6 +50,17 @@ public class AvroParser extends Parser {
 
   @Override
   protected final ParseWriter parseChunk(int cidx, ParseReader din, ParseWriter dout) {
+    if (TYPED_DECODING) {
+      AvroBlockDecoder decoder = AvroBlockDecoder.make(this.header, _keepColumns);
+      if (decoder != null) {
+        long cnt = decoder.decodeChunk(cidx, din, dout);
+        Log.trace(String.format("Avro: ChunkIdx: %d decoded %d records", cidx, cnt));
+        return dout;
+      }
+    }
+    if (_setup.getSkippedColumns() != null && _setup.getSkippedColumns().length > 0)
+      throw new IllegalArgumentException("Parser: skipped_columns are only supported for Avro files without " +
+              "compression or with the deflate codec.");
     // We will read GenericRecord and load them based on schema
     final DatumReader<GenericRecord> datumReader = new GenericDatumReader<>();
     final H2OSeekableInputAdaptor sbai = new H2OSeekableInputAdaptor(cidx, din);
@@ -3,6 +3,7 @@ package water.parser;
 import com.google.common.io.Files;
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.CodecFactory;
 import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericDatumWriter;
@@ -14,6 +15,8 @@ import water.util.StringUtils;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
 
 @Ignore
 public class AvroFileGenerator {
@@ -135,6 +138,53 @@ public class AvroFileGenerator {
     }
   }
 
+  /** Supported fields mixed with fields of unsupported types; deflate compressed, many small blocks */
+  public static File generateNestedTypes(String filename, int nrows) throws IOException {
+    File parentDir = Files.createTempDir();
+    File f  = new File(parentDir, filename);
+    DatumWriter<GenericRecord> w = new GenericDatumWriter<GenericRecord>();
+    DataFileWriter<GenericRecord> dw = new DataFileWriter<GenericRecord>(w);
+    dw.setCodec(CodecFactory.deflateCodec(1));
+    dw.setSyncInterval(4096);
+
+    Schema nestedSchema = SchemaBuilder.record("nested").fields()
+        .name("a").type("int").noDefault()
+        .name("b").type("string").noDefault()
+        .endRecord();
+    Schema fixedSchema = SchemaBuilder.fixed("four").size(4);
+    Schema
+        schema = SchemaBuilder.builder()
+        .record("test_nested_types").fields()
+          .name("CId").type("long").noDefault()
+          .name("CTags").type().array().items().stringType().noDefault()
+          .name("CName").type("string").noDefault()
+          .name("CProps").type().map().values().intType().noDefault()
+          .name("CNested").type(nestedSchema).noDefault()
+          .name("CFixed").type(fixedSchema).noDefault()
+          .name("CScore").type().optional().doubleType()
+        .endRecord();
+    try {
+      dw.create(schema, f);
+      for (int i = 0; i < nrows; i++) {
+        GenericRecord nested = new GenericData.Record(nestedSchema);
+        nested.put("a", i);
+        nested.put("b", "nested" + i);
+        GenericRecord gr = new GenericData.Record(schema);
+        gr.put("CId", (long) i);
+        gr.put("CTags", i % 3 == 0 ? Collections.<String>emptyList() : Arrays.asList("tag" + i, "x"));
+        gr.put("CName", "name" + i);
+        gr.put("CProps", Collections.singletonMap("p" + i, i));
+        gr.put("CNested", nested);
+        gr.put("CFixed", new GenericData.Fixed(fixedSchema, new byte[]{1, 2, 3, (byte) i}));
+        gr.put("CScore", i % 5 == 0 ? null : i * 0.5);
+        dw.append(gr);
+      }
+      return f;
+    } finally {
+      dw.close();
+    }
+  }
+
   public static String[][] generateSymbols(String[] prefix, int[] num) {
     assert prefix.length == num.length;
     String[][] symbols = new String[prefix.length][];
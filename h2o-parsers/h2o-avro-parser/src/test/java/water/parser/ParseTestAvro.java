@@ -119,6 +119,51 @@ public class ParseTestAvro extends TestUtil {
     }
   }
 
+  @Test public void testParseNestedTypes() {
+    FrameAssertion[] assertions = new FrameAssertion[]{
+        new GenFrameAssertion("nestedTypes.avro", TestUtil.ari(3, 20000)) {
+
+          @Override protected File prepareFile() throws IOException { return AvroFileGenerator.generateNestedTypes(file, nrows()); }
+
+          @Override
+          public void check(Frame f) {
+            assertArrayEquals("Column names need to match!", ar("CId", "CName", "CScore"), f.names());
+            assertArrayEquals("Column types need to match!", ar(Vec.T_NUM, Vec.T_STR, Vec.T_NUM), f.types());
+            assertTrue("Blocks should be parsed by many tasks", f.anyVec().nChunks() > 1);
+            int nrows = nrows();
+            BufferedString bs = new BufferedString();
+            for (int row = 0; row < nrows; row++) {
+              assertEquals("Value in column CId", row, f.vec(0).at8(row));
+              assertEquals("Value in column CName", "name" + row, f.vec(1).atStr(bs, row).toString());
+              if (row % 5 == 0) assertTrue("NA should be in row " + row + " and col CScore", f.vec(2).isNA(row));
+              else assertEquals("Value in column CScore", row * 0.5, f.vec(2).at(row), EPSILON);
+            }
+          }
+        }
+    };
+
+    for (int i = 0; i < assertions.length; ++i) {
+      assertFrameAssertion(assertions[i]);
+    }
+  }
+
+  @Test public void testParseSkippedPrimitiveTypes() throws IOException {
+    File f = AvroFileGenerator.generatePrimitiveTypes("skippedPrimTypes.avro", 100);
+    Frame fr = parse_test_file(f.getCanonicalPath(), new int[]{1, 4, 7});
+    try {
+      assertArrayEquals("Column names need to match!", ar("CString", "CInt", "CLong", "CDouble", "CBoolean"), fr.names());
+      BufferedString bs = new BufferedString();
+      for (int row = 0; row < fr.numRows(); row++) {
+        assertEquals("Value in column CString", String.valueOf(row), fr.vec(0).atStr(bs, row).toString());
+        assertEquals("Value in column CInt", row, fr.vec(1).at8(row));
+        assertEquals("Value in column CDouble", row, fr.vec(3).at(row), EPSILON);
+        assertEquals("Value in column CBoolean", row & 1, fr.vec(4).at8(row));
+      }
+    } finally {
+      fr.delete();
+    }
+  }
+
   @Test public void testParseEnumTypes() {
     FrameAssertion[] assertions = new FrameAssertion[]{
         new GenFrameAssertion("enumTypes.avro", TestUtil.ari(2, 100)) {
@@ -0,0 +1,246 @@
+package water.parser.orc;
+
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+import water.parser.BufferedString;
+import water.parser.FVecParseWriter;
+
+import java.util.Arrays;
+
+/**
+ * Bulk path of the ORC parser: appends whole column vectors of a VectorizedRowBatch to the
+ * NewChunks of the parse instead of going value by value through the ParseWriter.
+ *
+ * The null mask is looked at once per vector - vectors without nulls, vectors of nulls only
+ * and repeated values take loops without any null checks. Strings of dictionary encoded
+ * columns are handed out by ORC as references into the stripe's dictionary buffer, so a
+ * categorical column looks every dictionary entry up in its categorical map only once.
+ *
+ * Only the common conversions are done here (integers and floating point numbers to numeric
+ * columns, strings to categorical and string columns), {@link #write} returns false for the
+ * others and the parser writes them the usual way.
+ */
+final class OrcBulkWriter {
+
+  private final FVecParseWriter _writer;
+  private final DictionaryCache[] _dictionaries; // per parsed column, created lazily
+  private final BufferedString _bs = new BufferedString();
+  private boolean _minValueSeen; // Long.MIN_VALUE was written by the last call
+
+  OrcBulkWriter(FVecParseWriter writer, int ncols) {
+    _writer = writer;
+    _dictionaries = new DictionaryCache[ncols];
+  }
+
+  /**
+   * Appends the first nrows values of the vector to the given column.
+   *
+   * @param orcType ORC type of the column, lower case
+   * @param h2oType type of the column in the parsed frame
+   * @return false if the conversion is not supported by the bulk path and nothing was written
+   */
+  boolean write(ColumnVector vector, String orcType, byte h2oType, int colIdx, int nrows) {
+    _minValueSeen = false;
+    final NewChunk nc = _writer.getNvs()[colIdx];
+    switch (orcType) {
+      case "bigint":
+      case "boolean":
+      case "int":
+      case "smallint":
+      case "tinyint":
+        if (h2oType != Vec.T_NUM) return false;
+        if (!allNulls(vector, nc, nrows)) writeLongs((LongColumnVector) vector, nc, nrows);
+        return true;
+      case "float":
+      case "double":
+        if (h2oType != Vec.T_NUM) return false;
+        if (!allNulls(vector, nc, nrows)) writeDoubles((DoubleColumnVector) vector, nc, nrows);
+        return true;
+      case "string":
+      case "varchar":
+      case "char":
+        if (h2oType == Vec.T_CAT) {
+          if (!allNulls(vector, nc, nrows)) writeCategoricals((BytesColumnVector) vector, nc, colIdx, nrows);
+          return true;
+        } else if (h2oType == Vec.T_STR) {
+          if (!allNulls(vector, nc, nrows)) writeStrings((BytesColumnVector) vector, nc, nrows);
+          return true;
+        }
+        return false;
+      default:
+        return false;
+    }
+  }
+
+  /** True if the last {@link #write} appended Long.MIN_VALUE, which H2O uses as the NA sentinel */
+  boolean minValueSeen() {
+    return _minValueSeen;
+  }
+
+  private static boolean allNulls(ColumnVector vector, NewChunk nc, int nrows) {
+    if (vector.isRepeating && !vector.noNulls && vector.isNull[0]) {
+      nc.addNAs(nrows);
+      return true;
+    }
+    return false;
+  }
+
+  private void writeLongs(LongColumnVector vector, NewChunk nc, int nrows) {
+    final long[] values = vector.vector;
+    long min = Long.MAX_VALUE;
+    if (vector.isRepeating) {
+      min = values[0];
+      for (int i = 0; i < nrows; i++) nc.addNum(min, 0);
+    } else if (vector.noNulls) {
+      for (int i = 0; i < nrows; i++) {
+        long l = values[i];
+        if (l < min) min = l;
+        nc.addNum(l, 0);
+      }
+    } else {
+      final boolean[] isNull = vector.isNull;
+      for (int i = 0; i < nrows; i++) {
+        if (isNull[i]) {
+          nc.addNA();
+        } else {
+          long l = values[i];
+          if (l < min) min = l;
+          nc.addNum(l, 0);
+        }
+      }
+    }
+    _minValueSeen = min == Long.MIN_VALUE;
+  }
+
+  // NaNs and infinities are NAs, just like in FVecParseWriter.addNumCol
+  private static void writeDoubles(DoubleColumnVector vector, NewChunk nc, int nrows) {
+    final double[] values = vector.vector;
+    if (vector.isRepeating) {
+      double d = values[0];
+      if (Double.isNaN(d) || Double.isInfinite(d)) nc.addNAs(nrows);
+      else for (int i = 0; i < nrows; i++) nc.addNumDecompose(d);
+    } else {
+      final boolean[] isNull = vector.noNulls ? null : vector.isNull;
+      for (int i = 0; i < nrows; i++) {
+        double d = values[i];
+        if ((isNull != null && isNull[i]) || Double.isNaN(d) || Double.isInfinite(d)) nc.addNA();
+        else nc.addNumDecompose(d);
+      }
+    }
+  }
+
+  private static void writeStrings(BytesColumnVector vector, NewChunk nc, int nrows) {
+    final BufferedString bs = new BufferedString();
+    if (vector.isRepeating) {
+      bs.set(vector.vector[0], vector.start[0], vector.length[0]);
+      for (int i = 0; i < nrows; i++) nc.addStr(bs);
+    } else {
+      final boolean[] isNull = vector.noNulls ? null : vector.isNull;
+      for (int i = 0; i < nrows; i++) {
+        if (isNull != null && isNull[i]) nc.addNA();
+        else nc.addStr(bs.set(vector.vector[i], vector.start[i], vector.length[i]));
+      }
+    }
+  }
+
+  private void writeCategoricals(BytesColumnVector vector, NewChunk nc, int colIdx, int nrows) {
+    if (vector.isRepeating) {
+      int id = _writer.categoricalId(colIdx, _bs.set(vector.vector[0], vector.start[0], vector.length[0]));
+      for (int i = 0; i < nrows; i++) nc.addNum(id, 0);
+      return;
+    }
+    DictionaryCache dict = _dictionaries[colIdx];
+    if (dict == null) dict = _dictionaries[colIdx] = new DictionaryCache();
+    final boolean[] isNull = vector.noNulls ? null : vector.isNull;
+    for (int i = 0; i < nrows; i++) {
+      if (isNull != null && isNull[i]) {
+        nc.addNA();
+        continue;
+      }
+      byte[] buffer = vector.vector[i];
+      int start = vector.start[i];
+      int length = vector.length[i];
+      int id = dict.get(buffer, start, length);
+      if (id < 0) {
+        id = _writer.categoricalId(colIdx, _bs.set(buffer, start, length));
+        dict.put(start, length, id);
+      }
+      nc.addNum(id, 0);
+    }
+  }
+
+  /**
+   * Categorical ids of the strings of one buffer, by the offset and length of the string in
+   * the buffer (an empty string starts where the next one does). The entries of a dictionary
+   * encoded column all point into the same dictionary buffer; ORC never reuses a buffer for
+   * other data, so when a string from a different buffer comes the cache simply starts over.
+   */
+  static final class DictionaryCache {
+    private byte[] _buffer;
+    private int[] _starts = newTable(64); // open addressing, -1 marks a free slot
+    private int[] _lengths = new int[64];
+    private int[] _ids = new int[64];
+    private int _size;
+
+    private static int[] newTable(int size) {
+      int[] t = new int[size];
+      Arrays.fill(t, -1);
+      return t;
+    }
+
+    /** Cached id of the string at the given offset of the buffer, or -1 */
+    int get(byte[] buffer, int start, int length) {
+      if (buffer != _buffer) {
+        _buffer = buffer;
+        if (_size > 0) {
+          Arrays.fill(_starts, -1);
+          _size = 0;
+        }
+        return -1;
+      }
+      final int mask = _starts.length - 1;
+      for (int slot = hash(start, length) & mask; ; slot = (slot + 1) & mask) {
+        int s = _starts[slot];
+        if (s == start && _lengths[slot] == length) return _ids[slot];
+        if (s == -1) return -1;
+      }
+    }
+
+    /** Caches the id of the string at the given offset of the buffer of the last get */
+    void put(int start, int length, int id) {
+      if (2 * (_size + 1) > _starts.length) grow();
+      insert(_starts, _lengths, _ids, start, length, id);
+      _size++;
+    }
+
+    private void grow() {
+      int[] starts = newTable(_starts.length * 2);
+      int[] lengths = new int[starts.length];
+      int[] ids = new int[starts.length];
+      for (int i = 0; i < _starts.length; i++)
+        if (_starts[i] != -1) insert(starts, lengths, ids, _starts[i], _lengths[i], _ids[i]);
+      _starts = starts;
+      _lengths = lengths;
+      _ids = ids;
+    }
+
+    private static void insert(int[] starts, int[] lengths, int[] ids, int start, int length, int id) {
+      final int mask = starts.length - 1;
+      int slot = hash(start, length) & mask;
+      while (starts[slot] != -1) slot = (slot + 1) & mask;
+      starts[slot] = start;
+      lengths[slot] = length;
+      ids[slot] = id;
+    }
+
+    private static int hash(int start, int length) {
+      int x = (start * 31 + length) * 0x9E3779B9;
+      return x ^ (x >>> 16);
+    }
+  }
+
+}
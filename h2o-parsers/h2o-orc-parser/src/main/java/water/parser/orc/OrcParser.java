@@ -5,6 +5,7 @@ import org.apache.hadoop.hive.ql.exec.vector.*;
 import org.apache.hadoop.hive.ql.io.orc.Reader;
 import org.apache.hadoop.hive.ql.io.orc.RecordReader;
 import org.apache.hadoop.hive.ql.io.orc.StripeInformation;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgument;
 import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
 import org.apache.hadoop.hive.serde2.objectinspector.*;
 import org.joda.time.DateTime;
@@ -55,6 +56,9 @@ public class OrcParser extends Parser {
   private MutableDateTime epoch = new MutableDateTime();  // used to help us out the leap seconds, years
   private ArrayList<String> storeWarnings = new ArrayList<String>();  // store a list of warnings
 
+  // Append whole column vectors straight to the NewChunks, see OrcBulkWriter
+  static final boolean BULK = H2O.getSysBoolProperty("parse.orc.bulk", true);
+
 
   OrcParser(ParseSetup setup, Key<Job> jobKey) {
     super(setup, jobKey);
@@ -116,34 +120,59 @@ public class OrcParser extends Parser {
     // write one stripe of data to H2O frame
     String [] orcTypes = setup.getColumnTypesString();
     boolean[] toInclude = setup.getToInclude();
+    byte[] columnTypes = _setup.getColumnTypes();
+    // stripe-level projection: read only the columns which are not skipped
+    boolean[] readColumns = toInclude.clone();
+    String[] sargColumnNames = new String[toInclude.length]; // ORC column id -> H2O column name
+    for (int id = 1, k = 0; id < toInclude.length; id++) {
+      if (toInclude[id]) {
+        readColumns[id] = _keepColumns[k];
+        sargColumnNames[id] = setup.getColumnNames()[k];
+        k++;
+      }
+    }
+    SearchArgument sarg = OrcPushdown.toSearchArgument(_setup.getPushdownPredicate(), setup.getColumnNames(), orcTypes);
+    OrcBulkWriter bulk = BULK && dout instanceof FVecParseWriter ?
+        new OrcBulkWriter((FVecParseWriter) dout, _setup.get_parse_columns_indices().length) : null;
     try {
       RecordReader perStripe = orcFileReader.rows(thisStripe.getOffset(), thisStripe.getDataLength(),
-          setup.getToInclude(), null, setup.getColumnNames());
+          readColumns, sarg, sargColumnNames);
       VectorizedRowBatch batch = null;
       long rows = 0;
-      long rowCount = thisStripe.getNumberOfRows();
-      while (rows != rowCount) {
+      // with a pushdown predicate row groups of the stripe can be skipped, count what is actually read
+      while (perStripe.hasNext()) {
         batch = perStripe.nextBatch(batch);  // read orc file stripes in vectorizedRowBatch
         long currentBatchRow = batch.count();
         int nrows = (int)currentBatchRow;
         if(currentBatchRow != nrows)
           throw new IllegalArgumentException("got batch with too many records, does not fit in int");
         ColumnVector[] dataVectors = batch.cols;
-        int colIndex = 0;
+        int colIndex = 0;   // index of the column in the setup
+        int parseIndex = 0; // index of the column in the parsed columns
         for (int col = 0; col < batch.numCols; ++col) {  // read one column at a time;
           if (toInclude[col + 1]) { // only write a column if we actually want it
-            if(_setup.getColumnTypes()[colIndex] != Vec.T_BAD)
-              write1column(dataVectors[col], orcTypes[colIndex], colIndex, nrows, dout);
-            else dout.addNAs(col,nrows);
+            if (_keepColumns[colIndex]) {
+              if (columnTypes[colIndex] != Vec.T_BAD) {
+                String orcType = orcTypes[colIndex].toLowerCase();
+                if (bulk != null && bulk.write(dataVectors[col], orcType, columnTypes[colIndex], parseIndex, nrows)) {
+                  if (bulk.minValueSeen())
+                    check_Min_Value(Long.MIN_VALUE, parseIndex, nrows, dout);
+                } else
+                  write1column(dataVectors[col], orcTypes[colIndex], columnTypes[colIndex], parseIndex, nrows, dout);
+              }
+              parseIndex++;
+            }
             colIndex++;
           }
         }
         rows  += currentBatchRow;    // record number of rows of data actually read
       }
-      byte [] col_types = _setup.getColumnTypes();
-      for(int i = 0; i < col_types.length; ++i){
-        if(col_types[i] == Vec.T_BAD)
-          dout.addNAs(i,(int)rowCount);
+      for(int i = 0, parseIndex = 0; i < columnTypes.length; ++i){
+        if (!_keepColumns[i])
+          continue;
+        if(columnTypes[i] == Vec.T_BAD)
+          dout.addNAs(parseIndex,(int)rows);
+        parseIndex++;
       }
       perStripe.close();
     } catch(IOException ioe) {
@@ -158,11 +187,12 @@ public class OrcParser extends Parser {
    *
    * @param oneColumn
    * @param columnType
+   * @param h2oType
    * @param cIdx
    * @param rowNumber
    * @param dout
    */
-  private void write1column(ColumnVector oneColumn, String columnType, int cIdx, int rowNumber,ParseWriter dout) {
+  private void write1column(ColumnVector oneColumn, String columnType, byte h2oType, int cIdx, int rowNumber,ParseWriter dout) {
     if(oneColumn.isRepeating && !oneColumn.noNulls) { // ALL NAs
       for(int i = 0; i < rowNumber; ++i)
         dout.addInvalidCol(cIdx);
@@ -172,18 +202,18 @@ public class OrcParser extends Parser {
       case "int":
       case "smallint":
       case "tinyint":
-        writeLongcolumn((LongColumnVector)oneColumn, cIdx, rowNumber, dout);
+        writeLongcolumn((LongColumnVector)oneColumn, h2oType, cIdx, rowNumber, dout);
         break;
       case "float":
       case "double":
-        writeDoublecolumn((DoubleColumnVector)oneColumn, cIdx, rowNumber, dout);
+        writeDoublecolumn((DoubleColumnVector)oneColumn, h2oType, cIdx, rowNumber, dout);
         break;
       case "numeric":
       case "real":
         if (oneColumn instanceof LongColumnVector)
-          writeLongcolumn((LongColumnVector)oneColumn, cIdx, rowNumber, dout);
+          writeLongcolumn((LongColumnVector)oneColumn, h2oType, cIdx, rowNumber, dout);
         else
-          writeDoublecolumn((DoubleColumnVector)oneColumn, cIdx, rowNumber, dout);
+          writeDoublecolumn((DoubleColumnVector)oneColumn, h2oType, cIdx, rowNumber, dout);
         break;
       case "string":
       case "varchar":
@@ -332,13 +362,13 @@ public class OrcParser extends Parser {
    * This method writes a column of H2O frame for Orc File column type of float or double.
    *
    * @param vec
+   * @param t
    * @param colId
    * @param rowNumber
    * @param dout
    */
-  private void writeDoublecolumn(DoubleColumnVector vec, int colId, int rowNumber, ParseWriter dout) {
+  private void writeDoublecolumn(DoubleColumnVector vec, byte t, int colId, int rowNumber, ParseWriter dout) {
     double[] oneColumn = vec.vector;
-    byte t = _setup.getColumnTypes()[colId];
     switch(t) {
       case Vec.T_CAT:
         if(_toStringMaps.get(colId) == null)
@@ -393,13 +423,13 @@ public class OrcParser extends Parser {
    * tinyint and date.
    *
    * @param vec
+   * @param t
    * @param colId
    * @param rowNumber
    * @param dout
    */
-  private void writeLongcolumn(LongColumnVector vec, int colId, int rowNumber, ParseWriter dout) {
+  private void writeLongcolumn(LongColumnVector vec, byte t, int colId, int rowNumber, ParseWriter dout) {
     long[] oneColumn = vec.vector;
-    byte t = _setup.getColumnTypes()[colId];
     switch(t) {
       case Vec.T_CAT:
         if(_toStringMaps.get(colId) == null)
@@ -0,0 +1,137 @@
+package water.parser.orc;
+
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgument;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgumentFactory;
+import water.exceptions.H2OIllegalArgumentException;
+import water.parser.PushdownPredicate;
+
+/**
+ * Translates a {@link PushdownPredicate} to an ORC SearchArgument. The ORC reader evaluates it
+ * on the stripe and row group statistics and skips the row groups which cannot contain a
+ * matching row.
+ *
+ * Comparisons ORC cannot evaluate on statistics (dates, timestamps, decimals, booleans,
+ * fractional literals for integer columns, ...) are treated as "may match": they are dropped
+ * from a conjunction and make a whole disjunction match everything.
+ */
+class OrcPushdown {
+
+  private final String[] _columnNames;
+  private final String[] _orcTypes;
+
+  private OrcPushdown(String[] columnNames, String[] orcTypes) {
+    _columnNames = columnNames;
+    _orcTypes = orcTypes;
+  }
+
+  /**
+   * @param predicate predicate expression, see {@link PushdownPredicate}
+   * @param columnNames H2O names of the columns of the setup
+   * @param orcTypes ORC types of the columns of the setup
+   * @return search argument, or null if there is no predicate or nothing of it can be pushed down
+   */
+  static SearchArgument toSearchArgument(String predicate, String[] columnNames, String[] orcTypes) {
+    PushdownPredicate pred = PushdownPredicate.parse(predicate);
+    if (pred == null)
+      return null;
+    OrcPushdown pushdown = new OrcPushdown(columnNames, orcTypes);
+    if (!pred.accept(pushdown.new Supported()))
+      return null;
+    SearchArgument.Builder builder = SearchArgumentFactory.newBuilder();
+    pred.accept(pushdown.new Emit(builder));
+    return builder.build();
+  }
+
+  // Literal of the comparison in the type ORC compares with the column's statistics, null if not supported
+  private Object literal(PushdownPredicate.Compare cmp) {
+    switch (_orcTypes[columnIndex(cmp._column)].toLowerCase()) {
+      case "bigint":
+      case "int":
+      case "smallint":
+      case "tinyint":
+        return cmp.isIntegral() ? (Object) cmp.longValue() : null;
+      case "float":
+      case "double":
+        return cmp._isString ? null : (Object) cmp.doubleValue();
+      case "string":
+      case "varchar":
+      case "char":
+        return cmp._isString ? cmp._value : null;
+      default:
+        return null;
+    }
+  }
+
+  private int columnIndex(String name) {
+    for (int i = 0; i < _columnNames.length; i++)
+      if (name.equals(_columnNames[i])) return i;
+    throw new H2OIllegalArgumentException("Column '" + name + "' of the pushdown predicate doesn't exist.");
+  }
+
+  // Whether (a part of) the predicate can be pushed down; an And needs just one of its children
+  private class Supported implements PushdownPredicate.Visitor<Boolean> {
+    @Override
+    public Boolean visitAnd(PushdownPredicate.And and) {
+      for (PushdownPredicate child : and._children)
+        if (child.accept(this)) return true;
+      return false;
+    }
+
+    @Override
+    public Boolean visitOr(PushdownPredicate.Or or) {
+      for (PushdownPredicate child : or._children)
+        if (!child.accept(this)) return false;
+      return true;
+    }
+
+    @Override
+    public Boolean visitCompare(PushdownPredicate.Compare cmp) {
+      return literal(cmp) != null;
+    }
+  }
+
+  // Writes the supported part of the predicate to the builder
+  private class Emit implements PushdownPredicate.Visitor<Void> {
+    private final SearchArgument.Builder _builder;
+    private final Supported _supported = new Supported();
+
+    Emit(SearchArgument.Builder builder) {
+      _builder = builder;
+    }
+
+    @Override
+    public Void visitAnd(PushdownPredicate.And and) {
+      _builder.startAnd();
+      for (PushdownPredicate child : and._children)
+        if (child.accept(_supported)) child.accept(this);
+      _builder.end();
+      return null;
+    }
+
+    @Override
+    public Void visitOr(PushdownPredicate.Or or) {
+      _builder.startOr();
+      for (PushdownPredicate child : or._children)
+        child.accept(this);
+      _builder.end();
+      return null;
+    }
+
+    @Override
+    public Void visitCompare(PushdownPredicate.Compare cmp) {
+      Object literal = literal(cmp);
+      String column = cmp._column;
+      switch (cmp._op) {
+        case EQ: _builder.equals(column, literal); break;
+        case NE: _builder.startNot().equals(column, literal).end(); break;
+        case LT: _builder.lessThan(column, literal); break;
+        case LE: _builder.lessThanEquals(column, literal); break;
+        case GT: _builder.startNot().lessThanEquals(column, literal).end(); break;
+        case GE: _builder.startNot().lessThan(column, literal).end(); break;
+        default: throw new IllegalStateException("Unknown operator " + cmp._op);
+      }
+      return null;
+    }
+  }
+
+}
@@ -1,5 +1,11 @@
 package water.parser.orc;
 
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.ql.io.orc.OrcFile;
+import org.apache.hadoop.hive.ql.io.orc.Writer;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -24,7 +30,9 @@ import water.parser.ParseWriter;
 import water.util.ArrayUtils;
 import water.util.Log;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static water.parser.orc.OrcTestUtils.compareOrcAndH2OFrame;
 import static water.util.FileUtils.*;
 
@@ -145,4 +153,78 @@ public class ParseTestOrc extends TestUtil {
             Scope.exit();
         }
     }
+
+    static class Row {
+        long id;
+        String name;
+        double x;
+        Row(long id, String name, double x) { this.id = id; this.name = name; this.x = x; }
+    }
+
+    // single stripe with row groups of 1000 rows
+    private static File writeOrcFile(int nrows) throws IOException {
+        File f = File.createTempFile("ParseTestOrc", ".orc");
+        if (!f.delete())
+            throw new IOException("Cannot delete " + f);
+        ObjectInspector inspector = ObjectInspectorFactory.getReflectionObjectInspector(Row.class,
+                ObjectInspectorFactory.ObjectInspectorOptions.JAVA);
+        Writer writer = OrcFile.createWriter(new Path(f.getPath()),
+                OrcFile.writerOptions(new Configuration()).inspector(inspector).rowIndexStride(1000));
+        try {
+            for (int i = 0; i < nrows; i++)
+                writer.addRow(new Row(i, "N" + (i % 5), i / 2.0));
+        } finally {
+            writer.close();
+        }
+        return f;
+    }
+
+    @Test
+    public void testSkippedColumns() throws IOException {
+        final int nrows = 5000;
+        File f = writeOrcFile(nrows);
+        Scope.enter();
+        try {
+            Frame fr = Scope.track(parse_test_file(f.getCanonicalPath(), null, new int[]{1}));
+            assertArrayEquals(new String[]{"id", "x"}, fr.names());
+            assertEquals(nrows, fr.numRows());
+            for (int i = 0; i < nrows; i++) {
+                assertEquals(i, fr.vec(0).at8(i));
+                assertEquals(i / 2.0, fr.vec(1).at(i), 0);
+            }
+        } finally {
+            Scope.exit();
+            f.delete();
+        }
+    }
+
+    @Test
+    public void testPushdownPredicate() throws IOException {
+        final int nrows = 5000;
+        File f = writeOrcFile(nrows);
+        Scope.enter();
+        try {
+            Frame fr = Scope.track(parse_test_file(f.getCanonicalPath(), new ParseSetupTransformer() {
+                @Override
+                public ParseSetup transformSetup(ParseSetup guessedSetup) {
+                    guessedSetup.setPushdownPredicate("id >= 4500 | x < 5");
+                    return guessedSetup;
+                }
+            }));
+            assertTrue("Some row groups need to be skipped", fr.numRows() < nrows);
+            assertArrayEquals(new String[]{"N0", "N1", "N2", "N3", "N4"}, fr.vec("name").domain());
+            int matching = 0;
+            for (int i = 0; i < fr.numRows(); i++) {
+                long id = fr.vec("id").at8(i);
+                assertEquals("Rows are read whole", id / 2.0, fr.vec("x").at(i), 0);
+                assertEquals("Rows are read whole", "N" + (id % 5), fr.vec("name").factor(fr.vec("name").at8(i)));
+                if (id >= 4500 || id < 10)
+                    matching++;
+            }
+            assertEquals("All matching rows need to be read", 510, matching);
+        } finally {
+            Scope.exit();
+            f.delete();
+        }
+    }
 }
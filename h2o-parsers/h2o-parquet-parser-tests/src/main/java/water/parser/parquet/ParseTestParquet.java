@@ -396,6 +396,59 @@ public class ParseTestParquet extends TestUtil {
     assertFrameAssertion(assertion);
   }
 
+  @Test
+  public void testParseSkippedColumns() throws IOException {
+    final int nrows = 100;
+    File f = ParquetFileGenerator.generateSparseParquetFile(Files.createTempDir(), "skippedColumns.parquet", nrows);
+    Frame frame = null;
+    try {
+      frame = TestUtil.parse_test_file(f.getCanonicalPath(), psTransformer, new int[]{0, 3});
+      assertArrayEquals("Column names need to match!", ar("string_field", "row"), frame.names());
+      assertArrayEquals("Column types need to match!", ar(Vec.T_CAT, Vec.T_NUM), frame.types());
+      for (int row = 0; row < nrows; row++) {
+        if (row % 10 == 0)
+          assertEquals("Value in column string_field", "CAT_0", frame.vec(0).factor(frame.vec(0).at8(row)));
+        else
+          assertTrue(frame.vec(0).isNA(row));
+        assertEquals("Value in column row", row, frame.vec(1).at8(row));
+      }
+    } finally {
+      if (frame != null) frame.delete();
+      f.delete();
+    }
+  }
+
+  @Test
+  public void testParsePushdownPredicate() throws IOException {
+    final int nrows = 1000;
+    File f = ParquetFileGenerator.generateParquetFile(Files.createTempDir(), "pushdown.parquet", nrows, new Date());
+    Frame frame = null;
+    try {
+      frame = TestUtil.parse_test_file(f.getCanonicalPath(), new ParseSetupTransformer() {
+        @Override
+        public ParseSetup transformSetup(ParseSetup guessedSetup) {
+          guessedSetup = psTransformer.transformSetup(guessedSetup);
+          // int32_field is 32 + row, double_field is 2 + row
+          guessedSetup.setPushdownPredicate("int32_field >= 932 | double_field < 3");
+          return guessedSetup;
+        }
+      });
+      // the file has row groups of about 100 rows, the ones without a matching row are not read
+      assertTrue("Some row groups need to be skipped", frame.numRows() < nrows);
+      int matching = 0;
+      for (int row = 0; row < frame.numRows(); row++) {
+        long int32 = frame.vec("int32_field").at8(row);
+        assertEquals("Rows are read whole", int32 + 32, frame.vec("int64_field").at8(row));
+        if (int32 >= 932 || frame.vec("double_field").at(row) < 3)
+          matching++;
+      }
+      assertEquals("All matching rows need to be read", 101, matching);
+    } finally {
+      if (frame != null) frame.delete();
+      f.delete();
+    }
+  }
+
   @Test
   public void testPubdev5673() {
     Frame actual = null;
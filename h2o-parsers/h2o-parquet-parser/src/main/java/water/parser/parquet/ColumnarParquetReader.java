@@ -0,0 +1,91 @@
+package water.parser.parquet;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.MessageType;
+import water.fvec.Vec;
+import water.parser.ParseWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Columnar counterpart of {@link VecParquetReader}.
+ *
+ * Instead of assembling records and writing them row by row, the pages of a row group are
+ * decoded column by column straight into the writer (and so into the NewChunks of the parse).
+ * Only the column chunks of the parsed columns are read from the file, skipped columns cost
+ * no I/O and no decoding.
+ *
+ * The values are converted by the same converters as in the record path, only the order of
+ * the writes differs; the writer therefore needs to keep the columns independent of each
+ * other, which is the case of the writer of a distributed parse but not of a preview writer.
+ * Only flat schemas are supported, just like in the record path.
+ */
+class ColumnarParquetReader {
+
+  private final Vec _vec;
+  private final ParquetMetadata _metadata;
+  private final WriterDelegate _writer;
+  private final byte[] _chunkSchema; // contains column types of all columns, not just the parsed ones
+  private final boolean[] _keepColumns;
+
+  ColumnarParquetReader(Vec vec, ParquetMetadata metadata, ParseWriter writer, byte[] chunkSchema,
+                        boolean[] keepColumns, int parseColumnNumber) {
+    _vec = vec;
+    _metadata = metadata;
+    _writer = new WriterDelegate(writer, parseColumnNumber);
+    _writer.startColumnar();
+    _chunkSchema = chunkSchema;
+    _keepColumns = keepColumns;
+  }
+
+  /**
+   * Reads all row groups of the metadata.
+   *
+   * @return number of rows read
+   */
+  long readAll() throws IOException {
+    final MessageType fileSchema = _metadata.getFileMetaData().getSchema();
+    final String createdBy = _metadata.getFileMetaData().getCreatedBy();
+    // projection: only the kept columns are requested from the file
+    final List<ColumnDescriptor> allColumns = fileSchema.getColumns();
+    final List<ColumnDescriptor> columns = new ArrayList<>();
+    for (int i = 0; i < allColumns.size(); i++) {
+      if (_keepColumns[i])
+        columns.add(allColumns.get(i)); // the c-th projected column is the c-th parsed column
+    }
+    // converters are resolved through the full file schema, the converter of a skipped column is never asked for
+    final ChunkConverter converter = new ChunkConverter(fileSchema, _chunkSchema, _writer, _keepColumns);
+    final VecReaderEnv env = VecReaderEnv.make(_vec);
+    long rows = 0;
+    try (ParquetFileReader reader = new ParquetFileReader(env.getConf(), _metadata.getFileMetaData(), env.getPath(),
+            _metadata.getBlocks(), columns)) {
+      PageReadStore rowGroup;
+      while ((rowGroup = reader.readNextRowGroup()) != null) {
+        final long rowCount = rowGroup.getRowCount();
+        ColumnReadStoreImpl store = new ColumnReadStoreImpl(rowGroup, converter, fileSchema, createdBy);
+        for (int c = 0; c < columns.size(); c++) {
+          ColumnDescriptor desc = columns.get(c);
+          ColumnReader column = store.getColumnReader(desc);
+          int maxDefinitionLevel = desc.getMaxDefinitionLevel();
+          for (long r = 0; r < rowCount; r++) {
+            if (column.getCurrentDefinitionLevel() < maxDefinitionLevel)
+              _writer.addInvalidCol(c);
+            else
+              column.writeCurrentValueToConverter();
+            column.consume();
+          }
+        }
+        rows += rowCount;
+      }
+    }
+    return rows;
+  }
+
+}
@@ -7,6 +7,7 @@ import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.OriginalType;
 import org.apache.parquet.schema.PrimitiveType;
 import org.apache.parquet.schema.Type;
+import water.H2O;
 import water.Job;
 import water.Key;
 import water.exceptions.H2OUnsupportedDataFileException;
@@ -31,6 +32,9 @@ public class ParquetParser extends Parser {
 
   private static final int MAX_PREVIEW_RECORDS = 1000;
 
+  // Decode the row groups column by column straight into the NewChunks of a distributed parse
+  static final boolean COLUMNAR = H2O.getSysBoolProperty("parse.parquet.columnar", true);
+
   private final byte[] _metadata;
 
   ParquetParser(ParseSetup setup, Key<Job> jobKey) {
@@ -40,7 +44,8 @@ public class ParquetParser extends Parser {
 
   @Override
   protected final StreamParseWriter sequentialParse(Vec vec, final StreamParseWriter dout) {
-    final ParquetMetadata metadata = VecParquetReader.readFooter(_metadata);
+    final ParquetMetadata metadata = RowGroupPushdown.filter(VecParquetReader.readFooter(_metadata),
+            _setup.getPushdownPredicate(), _setup.getColumnNames());
     final int nChunks = vec.nChunks();
     final long totalRecs = totalRecords(metadata);
     final long nChunkRecs = ((totalRecs / nChunks) + (totalRecs % nChunks > 0 ? 1 : 0));
@@ -99,7 +104,23 @@ public class ParquetParser extends Parser {
       Log.trace("Chunk #", cidx, " doesn't contain any Parquet block center.");
       return dout;
     }
+    // skip the row groups which cannot match the user's predicate
+    metadata = RowGroupPushdown.filter(metadata, _setup.getPushdownPredicate(), _setup.getColumnNames());
+    if (metadata.getBlocks().isEmpty()) {
+      Log.trace("All Parquet blocks of chunk #", cidx, " were skipped by the pushdown predicate.");
+      return dout;
+    }
     Log.info("Processing ", metadata.getBlocks().size(), " blocks of chunk #", cidx);
+    if (COLUMNAR && dout instanceof FVecParseWriter) {
+      ColumnarParquetReader reader = new ColumnarParquetReader(vec, metadata, dout, _setup.getColumnTypes(),
+              _keepColumns, _setup.get_parse_columns_indices().length);
+      try {
+        reader.readAll();
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to parse records", e);
+      }
+      return dout;
+    }
     VecParquetReader reader = new VecParquetReader(vec, metadata, dout, _setup.getColumnTypes(), _keepColumns, _setup.get_parse_columns_indices().length);
     try {
       Long recordNumber;
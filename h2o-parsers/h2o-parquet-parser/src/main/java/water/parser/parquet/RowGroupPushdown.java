@@ -0,0 +1,159 @@
+package water.parser.parquet;
+
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import water.exceptions.H2OIllegalArgumentException;
+import water.parser.PushdownPredicate;
+import water.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Translates a {@link PushdownPredicate} to a Parquet filter predicate and uses it to skip
+ * row groups based on their column statistics.
+ *
+ * Comparisons Parquet cannot evaluate on statistics (INT96 and decimal columns, fractional
+ * literals for integer columns, ordering of booleans, ...) are treated as "may match": they are
+ * dropped from a conjunction and make a whole disjunction match everything. The result is a
+ * weaker predicate which never skips a row group with a matching row.
+ */
+class RowGroupPushdown implements PushdownPredicate.Visitor<FilterPredicate> {
+
+  private final MessageType _schema;
+  private final String[] _columnNames; // H2O names of the columns, possibly renamed by the user
+
+  private RowGroupPushdown(MessageType schema, String[] columnNames) {
+    _schema = schema;
+    _columnNames = columnNames;
+  }
+
+  /**
+   * Drops the row groups of the metadata which cannot contain a row satisfying the predicate.
+   *
+   * @param predicate predicate expression, see {@link PushdownPredicate}; null to keep all row groups
+   * @param columnNames column names of the parse setup
+   * @return metadata with only the row groups which need to be read
+   */
+  static ParquetMetadata filter(ParquetMetadata metadata, String predicate, String[] columnNames) {
+    PushdownPredicate pred = PushdownPredicate.parse(predicate);
+    if (pred == null || metadata.getBlocks().isEmpty())
+      return metadata;
+    MessageType schema = metadata.getFileMetaData().getSchema();
+    FilterPredicate filter = pred.accept(new RowGroupPushdown(schema, columnNames));
+    if (filter == null) {
+      Log.debug("Pushdown predicate ", predicate, " cannot be evaluated on Parquet statistics, reading all row groups.");
+      return metadata;
+    }
+    List<BlockMetaData> blocks = RowGroupFilter.filterRowGroups(FilterCompat.get(filter), metadata.getBlocks(), schema);
+    Log.debug("Pushdown predicate ", filter, " skipped ", metadata.getBlocks().size() - blocks.size(), " of ",
+            metadata.getBlocks().size(), " row groups.");
+    return new ParquetMetadata(metadata.getFileMetaData(), blocks);
+  }
+
+  @Override
+  public FilterPredicate visitAnd(PushdownPredicate.And and) {
+    FilterPredicate result = null;
+    for (PushdownPredicate child : and._children) {
+      FilterPredicate p = child.accept(this);
+      if (p != null)
+        result = result == null ? p : FilterApi.and(result, p);
+    }
+    return result;
+  }
+
+  @Override
+  public FilterPredicate visitOr(PushdownPredicate.Or or) {
+    FilterPredicate result = null;
+    for (PushdownPredicate child : or._children) {
+      FilterPredicate p = child.accept(this);
+      if (p == null)
+        return null;
+      result = result == null ? p : FilterApi.or(result, p);
+    }
+    return result;
+  }
+
+  @Override
+  public FilterPredicate visitCompare(PushdownPredicate.Compare cmp) {
+    int colIdx = columnIndex(cmp._column);
+    PrimitiveType type = _schema.getType(colIdx).asPrimitiveType();
+    String path = type.getName();
+    OriginalType ot = type.getOriginalType();
+    if (OriginalType.DECIMAL.equals(ot))
+      return null;
+    switch (type.getPrimitiveTypeName()) {
+      case INT32:
+        if (!cmp.isIntegral() || cmp.longValue() != (int) cmp.longValue())
+          return null;
+        return compare(FilterApi.intColumn(path), cmp._op, (int) cmp.longValue());
+      case INT64:
+        if (!cmp.isIntegral())
+          return null;
+        return compare(FilterApi.longColumn(path), cmp._op, cmp.longValue());
+      case FLOAT:
+        if (cmp._isString)
+          return null;
+        float f = (float) cmp.doubleValue();
+        if (f != cmp.doubleValue())
+          return null; // not representable, comparing rounded values could skip a matching row group
+        return compare(FilterApi.floatColumn(path), cmp._op, f);
+      case DOUBLE:
+        if (cmp._isString)
+          return null;
+        return compare(FilterApi.doubleColumn(path), cmp._op, cmp.doubleValue());
+      case BINARY:
+        if (!cmp._isString || !(OriginalType.UTF8.equals(ot) || OriginalType.ENUM.equals(ot)))
+          return null;
+        return compare(FilterApi.binaryColumn(path), cmp._op, Binary.fromString(cmp._value));
+      case BOOLEAN:
+        if (!cmp._isString || (cmp._op != PushdownPredicate.Op.EQ && cmp._op != PushdownPredicate.Op.NE))
+          return null;
+        // booleans are imported as categoricals "True"/"False"
+        Operators.BooleanColumn col = FilterApi.booleanColumn(path);
+        boolean value = Boolean.parseBoolean(cmp._value);
+        if (!value && !"false".equalsIgnoreCase(cmp._value))
+          return null;
+        return cmp._op == PushdownPredicate.Op.EQ ? FilterApi.eq(col, value) : FilterApi.notEq(col, value);
+      default:
+        return null;
+    }
+  }
+
+  private static <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsLtGt>
+  FilterPredicate compare(C column, PushdownPredicate.Op op, T value) {
+    switch (op) {
+      case EQ: return FilterApi.eq(column, value);
+      case NE: return FilterApi.notEq(column, value);
+      case LT: return FilterApi.lt(column, value);
+      case LE: return FilterApi.ltEq(column, value);
+      case GT: return FilterApi.gt(column, value);
+      case GE: return FilterApi.gtEq(column, value);
+      default: throw new IllegalStateException("Unknown operator " + op);
+    }
+  }
+
+  private int columnIndex(String name) {
+    if (_columnNames != null) {
+      for (int i = 0; i < _columnNames.length; i++)
+        if (name.equals(_columnNames[i])) return i;
+    }
+    List<String> fileColumns = new ArrayList<>();
+    for (String[] path : _schema.getPaths())
+      fileColumns.add(path[0]);
+    int idx = fileColumns.indexOf(name);
+    if (idx < 0)
+      throw new H2OIllegalArgumentException("Column '" + name + "' of the pushdown predicate doesn't exist.");
+    return idx;
+  }
+
+}
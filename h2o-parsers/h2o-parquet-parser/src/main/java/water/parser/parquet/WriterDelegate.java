@@ -20,6 +20,7 @@ final class WriterDelegate {
 
   private ParseWriter _writer;
   private int _col;
+  private boolean _columnar; // values are written column by column, see ColumnarParquetReader
 
   WriterDelegate(ParseWriter writer, int numCols) {
     _maxStringSize = getMaxStringSize();
@@ -43,7 +44,17 @@ final class WriterDelegate {
     _writer.newLine();
   }
 
+  /**
+   * Switches to writing column by column: a whole column of a row group is written before
+   * the next column is started, values are never skipped and there are no line boundaries.
+   */
+  void startColumnar() {
+    _columnar = true;
+  }
+
   private int moveToCol(int colIdx) {
+    if (_columnar)
+      return colIdx;
     for (int c = _col + 1; c < colIdx; c++) _writer.addInvalidCol(c);
     _col = colIdx;
     return _col;
@@ -57,14 +68,23 @@ final class WriterDelegate {
     _writer.addNumCol(moveToCol(colIdx), d);
   }
 
+  void addInvalidCol(int colIdx) {
+    _writer.addInvalidCol(moveToCol(colIdx));
+  }
+
   void addStrCol(int colIdx, BufferedString str) {
-    if (_colRawSize[colIdx] == -1)
+    if (_colRawSize[colIdx] == -1) {
+      if (_columnar)
+        _writer.addInvalidCol(colIdx); // the row still needs a value
       return; // already exceeded max length
+    }
 
     long totalSize = (long) str.length() + _colRawSize[colIdx];
     if (totalSize > _maxStringSize) {
       _colRawSize[colIdx] = -1;
       Log.err("Total String size limit reached: skipping remaining values in column: " + colIdx + "!");
+      if (_columnar)
+        _writer.addInvalidCol(colIdx);
       return;
     }
 
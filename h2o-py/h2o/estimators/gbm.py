@@ -33,7 +33,8 @@ class H2OGradientBoostingEstimator(H2OEstimator):
                    "learn_rate_annealing", "distribution", "quantile_alpha", "tweedie_power", "huber_alpha",
                    "checkpoint", "sample_rate", "sample_rate_per_class", "col_sample_rate",
                    "col_sample_rate_change_per_level", "col_sample_rate_per_tree", "min_split_improvement",
-                   "histogram_type", "max_abs_leafnode_pred", "pred_noise_bandwidth", "categorical_encoding",
+                   "histogram_type", "max_abs_leafnode_pred", "pred_noise_bandwidth", "max_leaves",
+                   "goss_top_rate", "goss_other_rate", "categorical_encoding",
                    "calibrate_model", "calibration_frame", "custom_metric_func", "custom_distribution_func",
                    "export_checkpoints_dir", "monotone_constraints", "check_constant_response", "gainslift_bins",
                    "auc_type"}
@@ -1559,6 +1560,54 @@ class H2OGradientBoostingEstimator(H2OEstimator):
         self._parms["pred_noise_bandwidth"] = pred_noise_bandwidth
 
 
+    @property
+    def max_leaves(self):
+        """
+        Maximum number of leaves of a tree. If positive the trees are grown best-first: the leaves with the largest
+        improvement are split first, max_depth still applies (0 to grow the trees level by level)
+
+        Type: ``int``  (default: ``0``).
+        """
+        return self._parms.get("max_leaves")
+
+    @max_leaves.setter
+    def max_leaves(self, max_leaves):
+        assert_is_type(max_leaves, None, int)
+        self._parms["max_leaves"] = max_leaves
+
+
+    @property
+    def goss_top_rate(self):
+        """
+        Gradient-based one-side sampling: fraction (from 0.0 to 1.0) of the rows with the largest gradients which are
+        kept for each tree (0 to disable). Replaces sample_rate.
+
+        Type: ``float``  (default: ``0``).
+        """
+        return self._parms.get("goss_top_rate")
+
+    @goss_top_rate.setter
+    def goss_top_rate(self, goss_top_rate):
+        assert_is_type(goss_top_rate, None, numeric)
+        self._parms["goss_top_rate"] = goss_top_rate
+
+
+    @property
+    def goss_other_rate(self):
+        """
+        Gradient-based one-side sampling: fraction (from 0.0 to 1.0) of all the rows which is sampled from the rows
+        with the smaller gradients, their weights are scaled up
+
+        Type: ``float``  (default: ``0``).
+        """
+        return self._parms.get("goss_other_rate")
+
+    @goss_other_rate.setter
+    def goss_other_rate(self, goss_other_rate):
+        assert_is_type(goss_other_rate, None, numeric)
+        self._parms["goss_other_rate"] = goss_other_rate
+
+
     @property
     def categorical_encoding(self):
         """
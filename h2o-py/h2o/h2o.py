@@ -622,7 +622,7 @@ def import_hive_table(database=None, table=None, partitions=None, allow_multi_fo
 
 
 def import_sql_table(connection_url, table, username, password, columns=None, optimize=True, 
-                     fetch_mode=None, num_chunks_hint=None):
+                     fetch_mode=None, num_chunks_hint=None, partition_column=None):
     """
     Import SQL table to H2OFrame in memory.
 
@@ -643,8 +643,9 @@ def import_sql_table(connection_url, table, username, password, columns=None, op
     :param password: password for SQL server
     :param optimize: DEPRECATED. Ignored - use fetch_mode instead. Optimize import of SQL table for faster imports.
     :param fetch_mode: Set to DISTRIBUTED to enable distributed import. Set to SINGLE to force a sequential read by a single node
-        from the database.
+        from the database. Set to PARTITIONED to fetch ranges of values of ``partition_column`` concurrently.
     :param num_chunks_hint: Desired number of chunks for the target Frame.
+    :param partition_column: numeric or date column to split the import on, required by the PARTITIONED fetch mode.
 
     :returns: an :class:`H2OFrame` containing data of the specified SQL table.
 
@@ -664,8 +665,9 @@ def import_sql_table(connection_url, table, username, password, columns=None, op
     assert_is_type(optimize, bool)
     assert_is_type(fetch_mode, str, None)
     assert_is_type(num_chunks_hint, int, None)
+    assert_is_type(partition_column, str, None)
     p = {"connection_url": connection_url, "table": table, "username": username, "password": password,
-         "fetch_mode": fetch_mode, "num_chunks_hint": num_chunks_hint}
+         "fetch_mode": fetch_mode, "num_chunks_hint": num_chunks_hint, "partition_column": partition_column}
     if columns:
         p["columns"] = ", ".join(columns)
     j = H2OJob(api("POST /99/ImportSQLTable", data=p), "Import SQL Table").poll()
@@ -673,7 +675,8 @@ def import_sql_table(connection_url, table, username, password, columns=None, op
 
 
 def import_sql_select(connection_url, select_query, username, password, optimize=True,
-                      use_temp_table=None, temp_table_name=None, fetch_mode=None, num_chunks_hint=None):
+                      use_temp_table=None, temp_table_name=None, fetch_mode=None, num_chunks_hint=None,
+                      partition_column=None):
     """
     Import the SQL table that is the result of the specified SQL query to H2OFrame in memory.
 
@@ -695,8 +698,9 @@ def import_sql_select(connection_url, select_query, username, password, optimize
     :param use_temp_table: whether a temporary table should be created from select_query
     :param temp_table_name: name of temporary table to be created from select_query
     :param fetch_mode: Set to DISTRIBUTED to enable distributed import. Set to SINGLE to force a sequential read by a single node
-        from the database.
+        from the database. Set to PARTITIONED to fetch ranges of values of ``partition_column`` concurrently.
     :param num_chunks_hint: Desired number of chunks for the target Frame.
+    :param partition_column: numeric or date column to split the import on, required by the PARTITIONED fetch mode.
 
     :returns: an :class:`H2OFrame` containing data of the specified SQL query.
 
@@ -718,9 +722,10 @@ def import_sql_select(connection_url, select_query, username, password, optimize
     assert_is_type(temp_table_name, str, None)
     assert_is_type(fetch_mode, str, None)
     assert_is_type(num_chunks_hint, int, None)
+    assert_is_type(partition_column, str, None)
     p = {"connection_url": connection_url, "select_query": select_query, "username": username, "password": password,
          "use_temp_table": use_temp_table, "temp_table_name": temp_table_name, "fetch_mode": fetch_mode,
-         "num_chunks_hint": num_chunks_hint}
+         "num_chunks_hint": num_chunks_hint, "partition_column": partition_column}
     j = H2OJob(api("POST /99/ImportSQLTable", data=p), "Import SQL Table").poll()
     return get_frame(j.dest_key)
 